@@ -0,0 +1,62 @@
+package com.areeb.event_booking_system.controllers;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.areeb.event_booking_system.dtos.ResponseDto;
+import com.areeb.event_booking_system.dtos.ballot.BallotDto;
+import com.areeb.event_booking_system.models.user.User;
+import com.areeb.event_booking_system.services.ballot.BallotService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/ballots")
+@RequiredArgsConstructor
+@Tag(name = "Ballots", description = "APIs for entering ballots on oversubscribed events")
+public class BallotController {
+
+    private final BallotService ballotService;
+
+    @PostMapping("/{eventId}")
+    @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
+    @Operation(summary = "Enter an event's ballot", description = "Only events with an open ballot take entries. Entering again returns the existing entry.")
+    public ResponseEntity<ResponseDto<?>> enter(
+            @PathVariable UUID eventId,
+            @Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
+        BallotDto.BallotEntryStatus status = ballotService.enter(eventId, currentUser);
+        return new ResponseEntity<>(ResponseDto.success(status), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{eventId}")
+    @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
+    @Operation(summary = "Get ballot entry", description = "Returns the current user's entry and, once drawn, whether it won.")
+    public ResponseEntity<ResponseDto<?>> getStatus(
+            @PathVariable UUID eventId,
+            @Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
+        return ResponseEntity.ok(ResponseDto.success(ballotService.getStatus(eventId, currentUser)));
+    }
+
+    @DeleteMapping("/{eventId}")
+    @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
+    @Operation(summary = "Withdraw from an event's ballot", description = "Only possible while the ballot is open.")
+    public ResponseEntity<ResponseDto<?>> withdraw(
+            @PathVariable UUID eventId,
+            @Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
+        ballotService.withdraw(eventId, currentUser);
+        return ResponseEntity.ok(ResponseDto.success("Withdrew from the ballot successfully"));
+    }
+}
@@ -1,5 +1,7 @@
 package com.areeb.event_booking_system.controllers;
 
+import java.net.URI;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
@@ -14,13 +16,20 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.areeb.event_booking_system.dtos.BatchItem;
+import com.areeb.event_booking_system.dtos.CursorPage;
 import com.areeb.event_booking_system.dtos.ResponseDto;
 import com.areeb.event_booking_system.dtos.booking.BookingDto;
 import com.areeb.event_booking_system.models.user.User;
 import com.areeb.event_booking_system.services.booking.BookingService;
+import com.areeb.event_booking_system.services.booking.intake.BookingIntake;
+import com.areeb.event_booking_system.services.waitingroom.WaitingRoomService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -39,20 +48,111 @@ import lombok.RequiredArgsConstructor;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final WaitingRoomService waitingRoomService;
+    private final BookingIntake bookingIntake;
 
     @PostMapping
     @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
-    @Operation(summary = "Create a new booking", description = "Allows authenticated users to book an event.")
+    @Operation(summary = "Create a new booking", description = "Allows authenticated users to book an event. With asynchronous intake enabled the request is answered with 202 and a status URL to poll instead.")
     public ResponseEntity<ResponseDto<?>> createBooking(
             @Valid @RequestBody BookingDto.CreateBookingRequest createBookingRequest,
+            @Parameter(description = "Admitted waiting room token, required for events with a waiting room") @RequestHeader(value = "X-Queue-Token", required = false) UUID queueToken,
             @Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
-        BookingDto.BookingResponse createdBooking = bookingService.createBooking(createBookingRequest, currentUser);
-        return new ResponseEntity<>(ResponseDto.success(createdBooking), HttpStatus.CREATED);
+        waitingRoomService.claimAdmission(createBookingRequest.getEventId(), queueToken, currentUser);
+        try {
+            if (bookingIntake.isEnabled()) {
+                BookingDto.BookingIntentResponse intent = bookingIntake.submit(createBookingRequest, currentUser);
+                return ResponseEntity.accepted()
+                        .location(URI.create(intent.getStatusUrl()))
+                        .body(ResponseDto.success(intent));
+            }
+            BookingDto.BookingResponse createdBooking = bookingService.createBooking(createBookingRequest, currentUser);
+            return new ResponseEntity<>(ResponseDto.success(createdBooking), HttpStatus.CREATED);
+        } catch (RuntimeException e) {
+            waitingRoomService.release(queueToken);
+            throw e;
+        }
+    }
+
+    @GetMapping("/intents/{intentId}")
+    @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
+    @Operation(summary = "Get the status of an accepted booking request", description = "Reports whether a booking request answered with 202 is still pending, was booked or was rejected.")
+    public ResponseEntity<ResponseDto<?>> getBookingIntent(
+            @PathVariable UUID intentId,
+            @Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
+        return ResponseEntity.ok(ResponseDto.success(bookingIntake.getStatus(intentId, currentUser)));
+    }
+
+    @PostMapping("/batch")
+    @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
+    @Operation(summary = "Book several events at once", description = "Books one seat at each listed event, either all-or-nothing or best-effort, and reports the outcome per event. Events behind a waiting room have to be booked individually.")
+    public ResponseEntity<ResponseDto<?>> createBookings(
+            @Valid @RequestBody BookingDto.BatchBookingRequest batchBookingRequest,
+            @Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
+        BookingDto.BatchBookingResponse response = bookingService.createBookings(batchBookingRequest, currentUser);
+        HttpStatus status = response.getBooked() > 0 ? HttpStatus.CREATED : HttpStatus.OK;
+        return new ResponseEntity<>(ResponseDto.success(response), status);
+    }
+
+    @PostMapping("/batch/cancel")
+    @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
+    @Operation(summary = "Cancel bookings at several events", description = "Cancels the current user's bookings at every listed event and reports per event whether one was cancelled, there was none, or the cancellation failed.")
+    public ResponseEntity<ResponseDto<?>> cancelBookings(
+            @Valid @RequestBody BookingDto.BatchCancellationRequest batchCancellationRequest,
+            @Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
+        return ResponseEntity.ok(ResponseDto.success(bookingService.cancelBookings(batchCancellationRequest, currentUser)));
+    }
+
+    @PostMapping("/holds")
+    @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
+    @Operation(summary = "Hold a seat", description = "Reserves a seat for a limited time. Confirm the hold to turn it into a booking before it expires.")
+    public ResponseEntity<ResponseDto<?>> createHold(
+            @Valid @RequestBody BookingDto.CreateBookingRequest createBookingRequest,
+            @Parameter(description = "Admitted waiting room token, required for events with a waiting room") @RequestHeader(value = "X-Queue-Token", required = false) UUID queueToken,
+            @Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
+        waitingRoomService.claimAdmission(createBookingRequest.getEventId(), queueToken, currentUser);
+        BookingDto.HoldResponse hold;
+        try {
+            hold = bookingService.createHold(createBookingRequest, currentUser);
+        } catch (RuntimeException e) {
+            waitingRoomService.release(queueToken);
+            throw e;
+        }
+        return new ResponseEntity<>(ResponseDto.success(hold), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/holds/{holdId}/confirm")
+    @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
+    @Operation(summary = "Confirm a seat hold", description = "Turns an unexpired hold into a booking.")
+    public ResponseEntity<ResponseDto<?>> confirmHold(
+            @PathVariable UUID holdId,
+            @Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
+        BookingDto.BookingResponse booking = bookingService.confirmHold(holdId, currentUser);
+        return new ResponseEntity<>(ResponseDto.success(booking), HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
+    @Operation(summary = "Release a seat hold", description = "Gives the held seat back before the hold expires.")
+    public ResponseEntity<ResponseDto<?>> releaseHold(
+            @PathVariable UUID holdId,
+            @Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
+        bookingService.releaseHold(holdId, currentUser);
+        return ResponseEntity.ok(ResponseDto.success("Hold released successfully"));
+    }
+
+    @GetMapping(params = "ids")
+    @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
+    @Operation(summary = "Get bookings by ids", description = "Fetches up to 300 bookings in one query. Results follow the order of ids; an id that does not exist or belongs to another user (unless the caller can manage all bookings) comes back with found=false.")
+    public ResponseEntity<ResponseDto<List<BatchItem<BookingDto.BookingResponse>>>> getBookingsByIds(
+            @Parameter(description = "Comma-separated booking ids", required = true) @RequestParam List<UUID> ids,
+            @Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
+        return ResponseEntity.ok(ResponseDto.success(bookingService.getBookingsByIds(ids, currentUser)));
     }
 
     @GetMapping("/my")
     @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
-    @Operation(summary = "Get current user's bookings", description = "Get a list of bookings for the currentl authenticated user.")
+    @Operation(summary = "Get current user's bookings", description = "Get a list of bookings for the currentl authenticated user. Answers 304 when If-None-Match matches the page.")
     @Parameters({
             @Parameter(name = "page", description = "Page number (0-indexed)", in = ParameterIn.QUERY, schema = @Schema(type = "integer", defaultValue = "0")),
             @Parameter(name = "size", description = "Number of items per page", in = ParameterIn.QUERY, schema = @Schema(type = "integer", defaultValue = "10")),
@@ -60,28 +160,50 @@ public class BookingController {
     })
     public ResponseEntity<ResponseDto<?>> getCurrentUserBookings(
             @Parameter(hidden = true) @AuthenticationPrincipal User currentUser,
-            @Parameter(hidden = true) @PageableDefault(size = 10, sort = "bookingTime") Pageable pageable) {
+            @Parameter(hidden = true) @PageableDefault(size = 10, sort = "bookingTime") Pageable pageable,
+            @Parameter(hidden = true) WebRequest request) {
         Page<BookingDto.BookingResponse> bookingsPage = bookingService.getUserBookings(currentUser.getId(), pageable);
+        if (ConditionalGet.isNotModified(request, ConditionalGet.bookingsTag(bookingsPage), null)) {
+            return ConditionalGet.notModified();
+        }
         return ResponseEntity.ok(ResponseDto.success(bookingsPage));
     }
 
+    @GetMapping("/my/scroll")
+    @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
+    @Operation(summary = "Scroll current user's bookings", description = "The current user's bookings with the booked event's card columns, newest first, continuing after the cursor instead of skipping an offset. Pass nextCursor back as cursor; it is absent on the last page. The total is only counted when includeTotal is set.")
+    public ResponseEntity<ResponseDto<CursorPage<BookingDto.BookingSummary>>> scrollCurrentUserBookings(
+            @Parameter(hidden = true) @AuthenticationPrincipal User currentUser,
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page, at most 100") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Also count the user's bookings") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(ResponseDto.success(
+                bookingService.getUserBookingsAfter(currentUser.getId(), cursor, size, includeTotal)));
+    }
+
     @GetMapping("/{bookingId}")
     @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
-    @Operation(summary = "Get a specific booking by ID", description = "Retrieves a specific booking by its ID. User must own the booking or be an admin.")
+    @Operation(summary = "Get a specific booking by ID", description = "Retrieves a specific booking by its ID. User must own the booking or be an admin. Answers 304 when If-None-Match or If-Modified-Since shows the client's copy is current.")
     public ResponseEntity<ResponseDto<?>> getBookingById(
             @PathVariable UUID bookingId,
-            @Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
+            @Parameter(hidden = true) @AuthenticationPrincipal User currentUser,
+            @Parameter(hidden = true) WebRequest request) {
         BookingDto.BookingResponse booking = bookingService.getBookingById(bookingId, currentUser);
+        if (ConditionalGet.isNotModified(request, ConditionalGet.bookingTag(booking),
+                ConditionalGet.lastModified(booking))) {
+            return ConditionalGet.notModified();
+        }
         return ResponseEntity.ok(ResponseDto.success(booking));
     }
 
     @DeleteMapping("/{bookingId}")
     @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
-    @Operation(summary = "Cancel a booking", description = "Allows authenticated users to cancel their own booking.")
+    @Operation(summary = "Cancel a booking", description = "Allows authenticated users to cancel their own booking, or only some of its seats when quantity is given.")
     public ResponseEntity<ResponseDto<?>> cancelBooking(
             @PathVariable UUID bookingId,
+            @RequestParam(required = false) Integer quantity,
             @Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
-        bookingService.cancelBooking(bookingId, currentUser);
+        bookingService.cancelBooking(bookingId, quantity, currentUser);
         return ResponseEntity.ok(ResponseDto.success("Booking cancelled successfully"));
     }
 }
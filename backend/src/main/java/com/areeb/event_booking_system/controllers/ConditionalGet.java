@@ -0,0 +1,96 @@
+package com.areeb.event_booking_system.controllers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import com.areeb.event_booking_system.dtos.booking.BookingDto;
+import com.areeb.event_booking_system.dtos.event.EventDto;
+
+// Strong validators for read endpoints. A single resource is tagged from its version and the counters
+// that change without one, a page from a hash over every item plus the page bounds, so a client polling
+// with If-None-Match gets 304 and no body while nothing it has seen has changed. Pages carry no
+// Last-Modified: an item leaving the page or an older one sliding in changes the page without moving
+// the newest updatedAt, so If-Modified-Since would answer 304 for a stale page.
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    static String eventTag(EventDto.EventVersion version) {
+        return tag(Stream.<Object[]>of(eventParts(version.getId(), version.getVersion(), version.getCurrentBookingsCount(),
+                version.getIsCurrentUserBooked(), version.getUpdatedAt())));
+    }
+
+    static String eventsTag(Page<EventDto.EventResponse> page) {
+        return pageTag(page, event -> eventParts(event.getId(), event.getVersion(), event.getCurrentBookingsCount(),
+                event.getIsCurrentUserBooked(), event.getUpdatedAt()));
+    }
+
+    static String bookingTag(BookingDto.BookingResponse booking) {
+        return tag(Stream.<Object[]>of(bookingParts(booking)));
+    }
+
+    static String bookingsTag(Page<BookingDto.BookingResponse> page) {
+        return pageTag(page, ConditionalGet::bookingParts);
+    }
+
+    static OffsetDateTime lastModified(BookingDto.BookingResponse booking) {
+        OffsetDateTime eventUpdatedAt = booking.getEventDetails() == null ? null
+                : booking.getEventDetails().getUpdatedAt();
+        return latest(booking.getUpdatedAt(), eventUpdatedAt);
+    }
+
+    // true when the client's copy is current; the validators are written to the response either way
+    static boolean isNotModified(WebRequest request, String eTag, OffsetDateTime lastModified) {
+        return request.checkNotModified(eTag, lastModified == null ? -1 : lastModified.toInstant().toEpochMilli());
+    }
+
+    static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+
+    private static Object[] eventParts(Object id, Long version, Integer bookings, Boolean booked,
+            OffsetDateTime updatedAt) {
+        return new Object[] { id, version, bookings, booked, updatedAt == null ? null : updatedAt.toInstant() };
+    }
+
+    private static Object[] bookingParts(BookingDto.BookingResponse booking) {
+        EventDto.EventResponse event = booking.getEventDetails();
+        return new Object[] { booking.getId(), booking.getVersion(), booking.getQuantity(), booking.getSeats(),
+                event == null ? null : event.getVersion(), event == null ? null : event.getCurrentBookingsCount(),
+                event == null || event.getUpdatedAt() == null ? null : event.getUpdatedAt().toInstant() };
+    }
+
+    private static <T> String pageTag(Page<T> page, Function<T, Object[]> parts) {
+        Stream<Object[]> bounds = Stream.<Object[]>of(new Object[] { page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getSort() });
+        return tag(Stream.concat(bounds, page.getContent().stream().map(parts)));
+    }
+
+    private static String tag(Stream<Object[]> parts) {
+        StringBuilder key = new StringBuilder();
+        parts.forEach(row -> {
+            for (Object part : row) {
+                key.append(Objects.toString(part, "")).append('|');
+            }
+            key.append('\n');
+        });
+        return '"' + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+
+    private static OffsetDateTime latest(OffsetDateTime a, OffsetDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+}
@@ -1,8 +1,10 @@
 package com.areeb.event_booking_system.controllers;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
@@ -13,6 +15,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -20,13 +23,18 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.areeb.event_booking_system.dtos.BatchItem;
+import com.areeb.event_booking_system.dtos.CursorPage;
 import com.areeb.event_booking_system.dtos.ResponseDto;
 import com.areeb.event_booking_system.dtos.event.EventDto;
 import com.areeb.event_booking_system.models.event.EventCategory;
 import com.areeb.event_booking_system.models.user.User;
 import com.areeb.event_booking_system.services.event.EventService;
+import com.areeb.event_booking_system.services.event.search.EventSearchService;
+import com.areeb.event_booking_system.services.event.suggest.EventSuggester;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -47,6 +55,8 @@ import lombok.extern.slf4j.Slf4j;
 public class EventController {
 
     private final EventService eventService;
+    private final EventSearchService eventSearchService;
+    private final EventSuggester eventSuggester;
 
     @PostMapping
     @PreAuthorize("hasAuthority('EVENT_MANAGE_ALL')")
@@ -59,20 +69,31 @@ public class EventController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all events", description = "Get a list of all events with pagination and sorting.")
+    @Operation(summary = "Get all events", description = "Get a list of all events with pagination and sorting. Answers 304 when If-None-Match matches the page.")
     @Parameters({
             @Parameter(name = "page", description = "Page number (0-indexed)", in = ParameterIn.QUERY, schema = @Schema(type = "integer", defaultValue = "0")),
             @Parameter(name = "size", description = "Number of items per page", in = ParameterIn.QUERY, schema = @Schema(type = "integer", defaultValue = "10")),
             @Parameter(name = "sort", description = "Sorting criteria in the format: property(,asc|desc). ", in = ParameterIn.QUERY, array = @ArraySchema(schema = @Schema(type = "string", example = "price,desc")))
     })
     public ResponseEntity<ResponseDto<?>> getAllEvents(
-            @Parameter(hidden = true) @PageableDefault(size = 10, sort = "eventDate") Pageable pageable) {
+            @Parameter(hidden = true) @PageableDefault(size = 10, sort = "eventDate") Pageable pageable,
+            @Parameter(hidden = true) WebRequest request) {
         Page<EventDto.EventResponse> eventsPage = eventService.getAllEvents(pageable);
+        if (ConditionalGet.isNotModified(request, ConditionalGet.eventsTag(eventsPage), null)) {
+            return ConditionalGet.notModified();
+        }
         return ResponseEntity.ok(ResponseDto.success(eventsPage));
     }
 
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get events by ids", description = "Fetches up to 300 events in one query. Results follow the order of ids; an id with no event comes back with found=false.")
+    public ResponseEntity<ResponseDto<List<BatchItem<EventDto.EventResponse>>>> getEventsByIds(
+            @Parameter(description = "Comma-separated event ids", required = true) @RequestParam List<UUID> ids) {
+        return ResponseEntity.ok(ResponseDto.success(eventService.getEventsByIds(ids)));
+    }
+
     @GetMapping("/category/{category}")
-    @Operation(summary = "Get events by category", description = "Retrieves events filtered by a specific category.")
+    @Operation(summary = "Get events by category", description = "Retrieves events filtered by a specific category. Answers 304 when If-None-Match matches the page.")
     @Parameters({
             @Parameter(name = "category", description = "Category of the events", in = ParameterIn.PATH, required = true, schema = @Schema(implementation = EventCategory.class)),
             @Parameter(name = "page", description = "Page number (0-indexed)", in = ParameterIn.QUERY, schema = @Schema(type = "integer", defaultValue = "0")),
@@ -81,14 +102,74 @@ public class EventController {
     })
     public ResponseEntity<ResponseDto<Page<EventDto.EventResponse>>> getEventsByCategory(
             @PathVariable EventCategory category,
-            @Parameter(hidden = true) @PageableDefault(size = 10, sort = "eventDate") Pageable pageable) {
+            @Parameter(hidden = true) @PageableDefault(size = 10, sort = "eventDate") Pageable pageable,
+            @Parameter(hidden = true) WebRequest request) {
         Page<EventDto.EventResponse> eventsPage = eventService.getEventsByCategory(category, pageable);
+        if (ConditionalGet.isNotModified(request, ConditionalGet.eventsTag(eventsPage), null)) {
+            return ConditionalGet.notModified();
+        }
         return ResponseEntity.ok(ResponseDto.success(eventsPage));
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll events", description = "Event cards (no description) in date order, continuing after the cursor instead of skipping an offset, so deep pages cost the same as the first. Pass nextCursor back as cursor; it is absent on the last page. The total is only counted when includeTotal is set.")
+    public ResponseEntity<ResponseDto<CursorPage<EventDto.EventSummary>>> scrollEvents(
+            @Parameter(description = "Only events of this category") @RequestParam(required = false) EventCategory category,
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page, at most 100") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Also count the matching events") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(ResponseDto.success(eventService.getEventsAfter(category, cursor, size, includeTotal)));
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Catalog changes since a sync token", description = "Events created or updated and ids of events deleted since the token, oldest change first. Without a token the whole catalog is listed. Keep calling with nextToken while hasMore is true; when resyncRequired is true the token is too old, so drop the local copy and start again without one. Booking counts change without a catalog change and are only fresh for the events returned.")
+    public ResponseEntity<ResponseDto<EventDto.ChangesResponse>> getEventChanges(
+            @Parameter(description = "nextToken of the previous call") @RequestParam(required = false) String since,
+            @Parameter(description = "Most changes per call, at most 500") @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(ResponseDto.success(eventService.getEventChanges(since, size)));
+    }
+
+    @GetMapping("/filter")
+    @Operation(summary = "Filter events", description = "Filters events by any combination of categories, date range, price range, venue prefix, seat availability and upcoming only.")
+    @Parameters({
+            @Parameter(name = "page", description = "Page number (0-indexed)", in = ParameterIn.QUERY, schema = @Schema(type = "integer", defaultValue = "0")),
+            @Parameter(name = "size", description = "Number of items per page", in = ParameterIn.QUERY, schema = @Schema(type = "integer", defaultValue = "10")),
+            @Parameter(name = "sort", description = "Sorting criteria in the format: property(,asc|desc). ", in = ParameterIn.QUERY, array = @ArraySchema(schema = @Schema(type = "string", example = "price,asc")))
+    })
+    public ResponseEntity<ResponseDto<Page<EventDto.EventResponse>>> filterEvents(
+            @Valid @ParameterObject @ModelAttribute EventDto.EventFilter filter,
+            @Parameter(hidden = true) @PageableDefault(size = 10, sort = "eventDate") Pageable pageable) {
+        Page<EventDto.EventResponse> eventsPage = eventService.filterEvents(filter, pageable);
+        return ResponseEntity.ok(ResponseDto.success(eventsPage));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search events", description = "Full-text search over event names, venues and descriptions. Every term matches as a prefix; results are ranked with name matches first and highlighted. Pass nextCursor back as cursor for the next page.")
+    public ResponseEntity<ResponseDto<EventDto.SearchResponse>> searchEvents(
+            @Parameter(description = "Search text", required = true) @RequestParam String q,
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of hits per page, at most 100") @RequestParam(defaultValue = "20") int size,
+            @Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
+        return ResponseEntity.ok(ResponseDto.success(eventSearchService.search(q, cursor, size, currentUser)));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest events, venues and categories", description = "Typeahead suggestions for upcoming events whose name, venue or category has a word starting with the prefix, most booked first. Answered from memory.")
+    public ResponseEntity<ResponseDto<List<EventDto.Suggestion>>> suggestEvents(
+            @Parameter(description = "What the user has typed so far", required = true) @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions, at most 20") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ResponseDto.success(eventSuggester.suggest(prefix, limit)));
+    }
+
     @GetMapping("/{eventId}")
-    @Operation(summary = "Get event by ID", description = "Retrieves an event by its ID")
-    public ResponseEntity<ResponseDto<EventDto.EventResponse>> getEventById(@PathVariable UUID eventId) {
+    @Operation(summary = "Get event by ID", description = "Retrieves an event by its ID. Answers 304 without a body when If-None-Match or If-Modified-Since shows the client's copy is current.")
+    public ResponseEntity<ResponseDto<EventDto.EventResponse>> getEventById(
+            @PathVariable UUID eventId,
+            @Parameter(hidden = true) WebRequest request) {
+        EventDto.EventVersion version = eventService.getEventVersion(eventId);
+        if (ConditionalGet.isNotModified(request, ConditionalGet.eventTag(version), version.getUpdatedAt())) {
+            return ConditionalGet.notModified();
+        }
         EventDto.EventResponse event = eventService.getEventById(eventId);
         return ResponseEntity.ok(ResponseDto.success(event));
     }
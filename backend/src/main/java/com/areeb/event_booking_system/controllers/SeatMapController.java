@@ -0,0 +1,56 @@
+package com.areeb.event_booking_system.controllers;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.areeb.event_booking_system.dtos.ResponseDto;
+import com.areeb.event_booking_system.dtos.seating.SeatMapDto;
+import com.areeb.event_booking_system.services.seating.SeatMapService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/events/{eventId}/seats")
+@RequiredArgsConstructor
+@Tag(name = "Seat Maps", description = "APIs for assigned seating")
+public class SeatMapController {
+
+    private final SeatMapService seatMapService;
+
+    @PutMapping
+    @PreAuthorize("hasAuthority('EVENT_MANAGE_ALL')")
+    @Operation(summary = "Lay out an event's seats", description = "Replaces the seat map of an event that has no bookings yet. The event's capacity becomes the number of seats.")
+    public ResponseEntity<ResponseDto<?>> createSeatMap(
+            @PathVariable UUID eventId,
+            @Valid @RequestBody SeatMapDto.CreateSeatMapRequest createSeatMapRequest) {
+        return ResponseEntity.ok(ResponseDto.success(seatMapService.createSeatMap(eventId, createSeatMapRequest)));
+    }
+
+    @GetMapping
+    @Operation(summary = "Get seat availability", description = "Returns every row of the event with its taken seats as a compact bitset.")
+    public ResponseEntity<ResponseDto<?>> getAvailability(@PathVariable UUID eventId) {
+        return ResponseEntity.ok(ResponseDto.success(seatMapService.getAvailability(eventId)));
+    }
+
+    @GetMapping("/best")
+    @Operation(summary = "Find the best available seats", description = "Suggests the frontmost block of adjacent seats, centred in its row. Nothing is reserved until the seats are booked.")
+    public ResponseEntity<ResponseDto<?>> findBestAvailable(
+            @PathVariable UUID eventId,
+            @RequestParam(defaultValue = "1") int count) {
+        List<SeatMapDto.SeatRef> seats = seatMapService.findBestAvailable(eventId, count);
+        return ResponseEntity.ok(ResponseDto.success(seats));
+    }
+}
@@ -0,0 +1,54 @@
+package com.areeb.event_booking_system.controllers;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.areeb.event_booking_system.dtos.ResponseDto;
+import com.areeb.event_booking_system.dtos.waitingroom.WaitingRoomDto;
+import com.areeb.event_booking_system.models.user.User;
+import com.areeb.event_booking_system.services.waitingroom.WaitingRoomService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/waiting-room/{eventId}")
+@RequiredArgsConstructor
+@Tag(name = "Waiting Room", description = "APIs for queueing before booking high-demand events")
+public class WaitingRoomController {
+
+    private final WaitingRoomService waitingRoomService;
+
+    @PostMapping
+    @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
+    @Operation(summary = "Join an event's waiting room", description = "Returns a queue token; joining again returns the same token.")
+    public ResponseEntity<ResponseDto<?>> join(
+            @PathVariable UUID eventId,
+            @Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
+        WaitingRoomDto.QueueStatus status = waitingRoomService.join(eventId, currentUser);
+        return new ResponseEntity<>(ResponseDto.success(status), HttpStatus.CREATED);
+    }
+
+    @GetMapping
+    @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
+    @Operation(summary = "Get queue position", description = "Poll until admitted, then book with the token in the X-Queue-Token header.")
+    public ResponseEntity<ResponseDto<?>> status(
+            @PathVariable UUID eventId,
+            @RequestParam UUID token,
+            @Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
+        WaitingRoomDto.QueueStatus status = waitingRoomService.status(eventId, token, currentUser);
+        return ResponseEntity.ok(ResponseDto.success(status));
+    }
+}
@@ -0,0 +1,73 @@
+package com.areeb.event_booking_system.controllers;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.areeb.event_booking_system.dtos.ResponseDto;
+import com.areeb.event_booking_system.dtos.waitlist.WaitlistDto;
+import com.areeb.event_booking_system.models.user.User;
+import com.areeb.event_booking_system.services.waitlist.WaitlistNotifier;
+import com.areeb.event_booking_system.services.waitlist.WaitlistService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@RequiredArgsConstructor
+@Tag(name = "Waitlist", description = "APIs for queueing on sold-out events")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+    private final WaitlistNotifier waitlistNotifier;
+
+    @PostMapping("/{eventId}")
+    @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
+    @Operation(summary = "Join an event's waitlist", description = "Only sold-out events have a waitlist. Joining again returns the current position.")
+    public ResponseEntity<ResponseDto<?>> join(
+            @PathVariable UUID eventId,
+            @Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
+        WaitlistDto.WaitlistStatus status = waitlistService.join(eventId, currentUser);
+        return new ResponseEntity<>(ResponseDto.success(status), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{eventId}")
+    @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
+    @Operation(summary = "Get waitlist position", description = "Returns the current user's position on the event's waitlist.")
+    public ResponseEntity<ResponseDto<?>> getStatus(
+            @PathVariable UUID eventId,
+            @Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
+        return ResponseEntity.ok(ResponseDto.success(waitlistService.getStatus(eventId, currentUser)));
+    }
+
+    @DeleteMapping("/{eventId}")
+    @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
+    @Operation(summary = "Leave an event's waitlist")
+    public ResponseEntity<ResponseDto<?>> leave(
+            @PathVariable UUID eventId,
+            @Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
+        waitlistService.leave(eventId, currentUser);
+        return ResponseEntity.ok(ResponseDto.success("Left the waitlist successfully"));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAuthority('BOOKING_MANAGE_OWN')")
+    @Operation(summary = "Subscribe to waitlist promotions, ballot results and booking outcomes", description = "Server-sent events; a 'promoted' event carries the eventId and bookingId once a seat is booked for the user, a 'ballot' event carries the eventId, whether the user won and the bookingId if so, and a 'booking' event carries the intentId, status and bookingId or message of an asynchronously processed booking.")
+    public SseEmitter stream(@Parameter(hidden = true) @AuthenticationPrincipal User currentUser) {
+        return waitlistNotifier.subscribe(currentUser.getId());
+    }
+}
@@ -0,0 +1,21 @@
+package com.areeb.event_booking_system.dtos;
+
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(name = "BatchItem", description = "One requested id of a batch read, in request order")
+public class BatchItem<T> {
+
+    private UUID id;
+    @Schema(description = "false when nothing with this id exists or the caller may not see it")
+    private boolean found;
+    private T item;
+}
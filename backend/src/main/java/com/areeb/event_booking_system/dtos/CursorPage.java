@@ -0,0 +1,22 @@
+package com.areeb.event_booking_system.dtos;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(name = "CursorPage", description = "A page of a keyset-paginated listing")
+public class CursorPage<T> {
+
+    private List<T> content;
+    @Schema(description = "Pass as cursor to get the next page; absent on the last page")
+    private String nextCursor;
+    @Schema(description = "Total number of items in the listing; only counted when includeTotal is set")
+    private Long totalElements;
+}
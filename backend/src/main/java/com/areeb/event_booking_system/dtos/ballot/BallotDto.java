@@ -0,0 +1,31 @@
+package com.areeb.event_booking_system.dtos.ballot;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BallotDto {
+
+    public enum BallotResult {
+        PENDING,
+        WON,
+        LOST
+    }
+
+    @Data
+    @Builder
+    @Schema(name = "BallotEntryStatus", description = "DTO for a user's entry in an event's ballot")
+    public static class BallotEntryStatus {
+        private UUID eventId;
+        private OffsetDateTime enteredAt;
+        @Schema(description = "Entries are accepted until this time; winners are drawn shortly after")
+        private OffsetDateTime closesAt;
+        private BallotResult result;
+    }
+}
@@ -1,15 +1,24 @@
 package com.areeb.event_booking_system.dtos.booking;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import com.areeb.event_booking_system.dtos.event.EventDto;
+import com.areeb.event_booking_system.dtos.seating.SeatMapDto;
+import com.areeb.event_booking_system.models.event.EventCategory;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class BookingDto {
@@ -21,6 +30,14 @@ public class BookingDto {
         @NotNull(message = "Event ID cannot be null")
         @Schema(description = "ID of the event to book", requiredMode = Schema.RequiredMode.REQUIRED)
         private UUID eventId;
+
+        @Min(value = 1, message = "Quantity must be at least 1")
+        @Schema(description = "Number of seats to book", defaultValue = "1")
+        private Integer quantity;
+
+        @Schema(description = "Specific seats for events with a seat map; the best available adjacent seats are picked when omitted")
+        @Valid
+        private List<SeatMapDto.SeatRef> seats;
     }
 
     @Data
@@ -31,7 +48,148 @@ public class BookingDto {
         private EventDto.EventResponse eventDetails;
         private UUID userId;
         private String userUsername;
+        private Integer quantity;
+        private List<SeatMapDto.SeatRef> seats;
         private OffsetDateTime bookingTime;
+        private Long version;
         private OffsetDateTime createdAt;
+        private OffsetDateTime updatedAt;
+    }
+
+    @Data
+    @Builder
+    @Schema(name = "BookingSummary", description = "DTO for a booking row in list views, with only the event's card columns")
+    public static class BookingSummary {
+        private UUID id;
+        private Integer quantity;
+        private OffsetDateTime bookingTime;
+        private UUID eventId;
+        private String eventName;
+        private EventCategory eventCategory;
+        private OffsetDateTime eventDate;
+        private String eventVenue;
+        private String eventImageUrl;
+    }
+
+    @Data
+    @Builder
+    @Schema(name = "HoldResponse", description = "DTO for a time-limited seat hold")
+    public static class HoldResponse {
+        private UUID id;
+        private UUID eventId;
+        private Integer quantity;
+        @Schema(description = "The seat is released if the hold is not confirmed by this time")
+        private OffsetDateTime expiresAt;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(name = "BatchBookingRequest", description = "DTO for booking one seat at each of several events")
+    public static class BatchBookingRequest {
+        @NotEmpty(message = "Event IDs cannot be empty")
+        @Size(max = 20, message = "At most 20 events can be booked in one request")
+        @Schema(description = "IDs of the events to book", requiredMode = Schema.RequiredMode.REQUIRED)
+        private List<@NotNull UUID> eventIds;
+
+        @Schema(description = "Book every event or none of them. When false, whatever can be booked is booked.", defaultValue = "false")
+        private boolean allOrNothing;
+    }
+
+    public enum BatchOutcome {
+        BOOKED,
+        SOLD_OUT,
+        ALREADY_BOOKED,
+        EVENT_PASSED,
+        EVENT_NOT_FOUND,
+        // events behind a waiting room have to be booked one by one with a queue token
+        WAITING_ROOM,
+        // seated events are booked one by one so seats can be chosen
+        SEATED,
+        // seats are allocated by the event's ballot draw
+        BALLOT,
+        // bookable, but another event in an all-or-nothing batch was not
+        ROLLED_BACK
+    }
+
+    @Data
+    @Builder
+    @Schema(name = "BatchBookingResult", description = "Outcome for one event of a batch booking")
+    public static class BatchBookingResult {
+        private UUID eventId;
+        private BatchOutcome outcome;
+        private UUID bookingId;
+    }
+
+    @Data
+    @Builder
+    @Schema(name = "BatchBookingResponse", description = "DTO for the per-event outcome of a batch booking")
+    public static class BatchBookingResponse {
+        private boolean allOrNothing;
+        private int booked;
+        private List<BatchBookingResult> results;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(name = "BatchCancellationRequest", description = "DTO for cancelling the current user's bookings at several events")
+    public static class BatchCancellationRequest {
+        @NotEmpty(message = "Event IDs cannot be empty")
+        @Size(max = 50, message = "At most 50 events can be cancelled in one request")
+        @Schema(description = "IDs of the events whose bookings should be cancelled", requiredMode = Schema.RequiredMode.REQUIRED)
+        private List<@NotNull UUID> eventIds;
+    }
+
+    public enum CancellationOutcome {
+        CANCELLED,
+        NOT_BOOKED,
+        // the booking is unchanged and can be cancelled again
+        FAILED
+    }
+
+    @Data
+    @Builder
+    @Schema(name = "BatchCancellationResult", description = "Outcome for one event of a batch cancellation")
+    public static class BatchCancellationResult {
+        private UUID eventId;
+        private CancellationOutcome outcome;
+        @Schema(description = "Seats given back to the event")
+        private Integer seats;
+    }
+
+    @Data
+    @Builder
+    @Schema(name = "BatchCancellationResponse", description = "DTO for the per-event outcome of a batch cancellation")
+    public static class BatchCancellationResponse {
+        private int cancelled;
+        private List<BatchCancellationResult> results;
+    }
+
+    public enum IntentStatus {
+        PENDING,
+        BOOKED,
+        REJECTED
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(name = "BookingIntentResponse", description = "DTO for an accepted booking request that is processed asynchronously")
+    public static class BookingIntentResponse {
+        private UUID intentId;
+        private UUID eventId;
+        private IntentStatus status;
+        @Schema(description = "Poll this URL until the status is no longer PENDING")
+        private String statusUrl;
+        @Schema(description = "ID of the created booking once BOOKED")
+        private UUID bookingId;
+        @Schema(description = "Reason the booking was rejected")
+        private String message;
+        private OffsetDateTime acceptedAt;
+        private OffsetDateTime processedAt;
     }
 }
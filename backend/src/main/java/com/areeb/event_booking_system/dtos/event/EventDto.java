@@ -2,9 +2,14 @@ package com.areeb.event_booking_system.dtos.event;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.format.annotation.DateTimeFormat;
+
 import com.areeb.event_booking_system.models.event.EventCategory;
+import com.areeb.event_booking_system.models.event.InventoryMode;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,13 +17,16 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class EventDto {
@@ -63,6 +71,17 @@ public class EventDto {
         @Min(value = 1, message = "Maximum capacity must be at least 1 if specified")
         @Schema(description = "Maximum number of attendees for the event (optional)", example = "500")
         private Integer maxCapacity;
+
+        @Schema(description = "Where capacity is tracked. IN_MEMORY is meant for flash-sale events (optional)", example = "DATABASE")
+        private InventoryMode inventoryMode;
+
+        @Min(value = 1, message = "Waiting room rate must be at least 1 admission per second if specified")
+        @Schema(description = "Admissions per second through the waiting room; omit to book without queueing", example = "50")
+        private Integer waitingRoomRate;
+
+        @Future(message = "Ballot close must be in the future")
+        @Schema(description = "Allocate seats by ballot: entries are taken until this time, then winners are drawn (optional)")
+        private OffsetDateTime ballotClosesAt;
     }
 
     @Data
@@ -85,10 +104,17 @@ public class EventDto {
         private String imageUrl;
         @Min(value = 1)
         private Integer maxCapacity;
+        private InventoryMode inventoryMode;
+        @Min(value = 0)
+        @Schema(description = "Admissions per second through the waiting room; 0 turns the waiting room off")
+        private Integer waitingRoomRate;
+        @Future
+        @Schema(description = "Moves the ballot close; not allowed once the ballot has been drawn")
+        private OffsetDateTime ballotClosesAt;
     }
 
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     @Schema(name = "EventResponse", description = "DTO for event details in responses")
     public static class EventResponse {
         private UUID id;
@@ -101,9 +127,128 @@ public class EventDto {
         private String imageUrl;
         private Integer maxCapacity;
         private Integer currentBookingsCount;
+        private InventoryMode inventoryMode;
+        private Integer waitingRoomRate;
+        private OffsetDateTime ballotClosesAt;
+        private OffsetDateTime ballotDrawnAt;
+        private Boolean seated;
         private Boolean isCurrentUserBooked;
         private String adminCreatorUsername;
+        private Long version;
         private OffsetDateTime createdAt;
         private OffsetDateTime updatedAt;
     }
+
+    @Data
+    @Builder
+    @Schema(name = "EventSummary", description = "DTO for an event card in list views, without the description")
+    public static class EventSummary {
+        private UUID id;
+        private String name;
+        private EventCategory category;
+        private OffsetDateTime eventDate;
+        private String venue;
+        private BigDecimal price;
+        private String imageUrl;
+        private Integer maxCapacity;
+        private Integer currentBookingsCount;
+        private Boolean seated;
+        private Boolean isCurrentUserBooked;
+        private String adminCreatorUsername;
+    }
+
+    @Data
+    @Builder
+    @Schema(name = "ChangesResponse", description = "Catalog changes since a sync token, oldest first")
+    public static class ChangesResponse {
+        @Schema(description = "Events created or updated since the token")
+        private List<EventResponse> changed;
+        @Schema(description = "Ids of events deleted since the token")
+        private List<UUID> deleted;
+        @Schema(description = "Token to send as since on the next call")
+        private String nextToken;
+        @Schema(description = "More changes are waiting; call again with nextToken")
+        private boolean hasMore;
+        @Schema(description = "The token is too old to sync from; discard the local copy and sync without a token")
+        private boolean resyncRequired;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(name = "EventFilter", description = "Criteria for filtering events; absent criteria match every event")
+    public static class EventFilter {
+        @Schema(description = "Match any of these categories")
+        private Set<EventCategory> categories;
+        @Schema(description = "Events starting at or after this time")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private OffsetDateTime from;
+        @Schema(description = "Events starting before this time")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private OffsetDateTime to;
+        @DecimalMin(value = "0.0", message = "Minimum price must be greater than or equal to 0")
+        private BigDecimal minPrice;
+        @DecimalMin(value = "0.0", message = "Maximum price must be greater than or equal to 0")
+        private BigDecimal maxPrice;
+        @Schema(description = "Case-insensitive prefix of the venue")
+        @Size(max = 255, message = "Venue must be less than 255 characters")
+        private String venue;
+        @Schema(description = "Only events that still have seats, including events without a capacity limit")
+        private boolean seatsAvailable;
+        @Schema(description = "Only events that have not started yet")
+        private boolean upcomingOnly;
+    }
+
+    @Data
+    @Builder
+    @Schema(name = "EventSearchHit", description = "DTO for one ranked full-text search match")
+    public static class SearchHit {
+        private EventResponse event;
+        private Float rank;
+        @Schema(description = "Event name with matching terms wrapped in <mark> tags; the text itself is not HTML-escaped")
+        private String highlightedName;
+        @Schema(description = "Venue with matching terms wrapped in <mark> tags; the text itself is not HTML-escaped")
+        private String highlightedVenue;
+        @Schema(description = "Matching fragments of the description, empty when only the name or venue matched")
+        private String snippet;
+    }
+
+    @Data
+    @Builder
+    @Schema(name = "EventSearchResponse", description = "DTO for a page of full-text search matches")
+    public static class SearchResponse {
+        private List<SearchHit> hits;
+        @Schema(description = "Pass as cursor to get the next page; absent on the last page")
+        private String nextCursor;
+    }
+
+    public enum SuggestionType {
+        EVENT,
+        VENUE,
+        CATEGORY
+    }
+
+    @Data
+    @Builder
+    @Schema(name = "EventSuggestion", description = "DTO for one typeahead suggestion")
+    public static class Suggestion {
+        private String text;
+        private SuggestionType type;
+        @Schema(description = "The suggested event; only set for EVENT suggestions")
+        private UUID eventId;
+        @Schema(description = "Start of the suggested event; only set for EVENT suggestions")
+        private OffsetDateTime eventDate;
+    }
+
+    @Data
+    @Builder
+    @Schema(name = "EventVersion", description = "Validators of an event response, used to answer conditional reads")
+    public static class EventVersion {
+        private UUID id;
+        private Long version;
+        private Integer currentBookingsCount;
+        private Boolean isCurrentUserBooked;
+        private OffsetDateTime updatedAt;
+    }
 }
@@ -0,0 +1,94 @@
+package com.areeb.event_booking_system.dtos.seating;
+
+import java.util.List;
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+public class SeatMapDto {
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(name = "CreateSeatMapRequest", description = "DTO for laying out an event's seats. Sections and rows are listed best first.")
+    public static class CreateSeatMapRequest {
+        @NotEmpty(message = "Sections cannot be empty")
+        private List<@Valid Section> sections;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(name = "SeatMapSection")
+    public static class Section {
+        @NotBlank
+        @Size(max = 50)
+        private String name;
+
+        @NotEmpty(message = "Rows cannot be empty")
+        private List<@Valid Row> rows;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(name = "SeatMapRow")
+    public static class Row {
+        @NotBlank
+        @Size(max = 20)
+        private String label;
+
+        @Min(1)
+        @Max(1000)
+        private int seats;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(name = "SeatRef", description = "A single seat; seat numbers start at 1")
+    public static class SeatRef {
+        @NotBlank
+        private String section;
+        @NotBlank
+        private String row;
+        @Min(1)
+        private int seat;
+    }
+
+    @Data
+    @Builder
+    @Schema(name = "SeatMapResponse", description = "Availability of every seat of an event")
+    public static class SeatMapResponse {
+        private UUID eventId;
+        private int totalSeats;
+        private int availableSeats;
+        private List<RowAvailability> rows;
+    }
+
+    @Data
+    @Builder
+    @Schema(name = "RowAvailability")
+    public static class RowAvailability {
+        private String section;
+        private String row;
+        private int seats;
+        private int available;
+        @Schema(description = "Base64 bitset of taken seats: bit i, least significant bit first within each byte, is seat i + 1")
+        private String taken;
+    }
+}
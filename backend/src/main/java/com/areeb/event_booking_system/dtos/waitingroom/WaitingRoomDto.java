@@ -0,0 +1,24 @@
+package com.areeb.event_booking_system.dtos.waitingroom;
+
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+public class WaitingRoomDto {
+
+    @Data
+    @Builder
+    @Schema(name = "QueueStatus", description = "DTO for a user's place in an event's waiting room")
+    public static class QueueStatus {
+        @Schema(description = "Token to send in the X-Queue-Token header when booking")
+        private UUID token;
+        private UUID eventId;
+        @Schema(description = "Number of users still ahead of this token, 0 once admitted")
+        private long position;
+        private boolean admitted;
+        @Schema(description = "Estimated seconds until admission")
+        private long etaSeconds;
+    }
+}
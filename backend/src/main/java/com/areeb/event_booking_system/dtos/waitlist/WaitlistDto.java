@@ -0,0 +1,21 @@
+package com.areeb.event_booking_system.dtos.waitlist;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+public class WaitlistDto {
+
+    @Data
+    @Builder
+    @Schema(name = "WaitlistStatus", description = "DTO for a user's place on an event's waitlist")
+    public static class WaitlistStatus {
+        private UUID eventId;
+        @Schema(description = "1-based position; the first user is promoted on the next cancellation")
+        private long position;
+        private OffsetDateTime joinedAt;
+    }
+}
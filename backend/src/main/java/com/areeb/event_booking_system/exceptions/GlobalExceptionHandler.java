@@ -56,6 +56,11 @@ public class GlobalExceptionHandler {
         return createErrorResponse("Conflict: " + ex.getMessage(), HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(AdmissionRequiredException.class)
+    public ResponseEntity<ResponseDto<?>> handleAdmissionRequiredException(AdmissionRequiredException ex) {
+        return createErrorResponse(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ResponseDto<?>> handleGenericException(Exception ex) {
         return createErrorResponse("An unexpected error occurred: " + ex.getMessage(),
@@ -10,6 +10,7 @@ import com.areeb.event_booking_system.dtos.booking.BookingDto;
 import com.areeb.event_booking_system.models.booking.Booking;
 import com.areeb.event_booking_system.models.event.Event;
 import com.areeb.event_booking_system.models.user.User;
+import com.areeb.event_booking_system.repository.booking.BookingSummaryRow;
 
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE, uses = { EventMapper.class })
 public interface BookingMapper {
@@ -17,6 +18,7 @@ public interface BookingMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "event", source = "eventEntity")
     @Mapping(target = "user", source = "userEntity")
+    @Mapping(target = "quantity", source = "dto.quantity", defaultValue = "1")
     @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
@@ -28,4 +30,8 @@ public interface BookingMapper {
     BookingDto.BookingResponse bookingToBookingResponse(Booking booking);
 
     List<BookingDto.BookingResponse> bookingsToBookingResponses(List<Booking> bookings);
+
+    BookingDto.BookingSummary bookingSummaryRowToBookingSummary(BookingSummaryRow row);
+
+    List<BookingDto.BookingSummary> bookingSummaryRowsToBookingSummaries(List<BookingSummaryRow> rows);
 }
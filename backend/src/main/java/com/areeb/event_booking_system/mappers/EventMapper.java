@@ -9,6 +9,7 @@ import org.mapstruct.ReportingPolicy;
 import com.areeb.event_booking_system.dtos.event.EventDto;
 import com.areeb.event_booking_system.models.event.Event;
 import com.areeb.event_booking_system.models.user.User;
+import com.areeb.event_booking_system.repository.event.EventSummaryRow;
 
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE, nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
 public interface EventMapper {
@@ -16,6 +17,7 @@ public interface EventMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "name", source = "dto.name")
     @Mapping(target = "currentBookingsCount", constant = "0")
+    @Mapping(target = "inventoryMode", source = "dto.inventoryMode", defaultValue = "DATABASE")
     @Mapping(target = "adminCreator", source = "adminCreatorUser")
     @Mapping(target = "bookings", ignore = true)
     @Mapping(target = "version", ignore = true)
@@ -35,4 +37,7 @@ public interface EventMapper {
     @Mapping(source = "event.adminCreator.username", target = "adminCreatorUsername")
     @Mapping(source = "isCurrentUserBooked", target = "isCurrentUserBooked")
     EventDto.EventResponse eventToEventResponse(Event event, Boolean isCurrentUserBooked);
+
+    @Mapping(target = "isCurrentUserBooked", ignore = true)
+    EventDto.EventSummary eventSummaryRowToEventSummary(EventSummaryRow row);
 }
@@ -6,6 +6,7 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -49,6 +50,7 @@ import lombok.ToString;
 @AllArgsConstructor
 @Entity
 @Table(name = "events")
+@SQLRestriction("deleted_at IS NULL")
 @EntityListeners(AuditingEntityListener.class)
 public class Event {
 
@@ -98,6 +100,35 @@ public class Event {
     @Column(name = "current_bookings_count", nullable = false)
     private Integer currentBookingsCount = 0;
 
+    @Builder.Default
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "inventory_mode", nullable = false, length = 20)
+    private InventoryMode inventoryMode = InventoryMode.DATABASE;
+
+    @Min(value = 1, message = "Waiting room rate must be at least 1 admission per second if specified")
+    @Column(name = "waiting_room_rate")
+    private Integer waitingRoomRate;
+
+    // true once a seat map is laid out; bookings then reserve specific seats
+    @Builder.Default
+    @Column(nullable = false)
+    private boolean seated = false;
+
+    @Column(name = "ballot_closes_at")
+    private OffsetDateTime ballotClosesAt;
+
+    @Column(name = "ballot_drawn_at")
+    private OffsetDateTime ballotDrawnAt;
+
+    // kept so a draw can be replayed and audited
+    @Column(name = "ballot_seed")
+    private Long ballotSeed;
+
+    // set when an event too large to delete in one transaction is handed to EventPurger
+    @Column(name = "deleted_at")
+    private OffsetDateTime deletedAt;
+
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "admin_creator_id", nullable = false)
@@ -121,6 +152,11 @@ public class Event {
     @EqualsAndHashCode.Exclude
     private Set<Booking> bookings = new HashSet<>();
 
+    // entries only; seats are handed out by the draw
+    public boolean isBallotPending() {
+        return this.ballotClosesAt != null && this.ballotDrawnAt == null;
+    }
+
     public boolean isCapacityAvailable() {
         // No limit
         if (this.maxCapacity == null) {
@@ -0,0 +1,8 @@
+package com.areeb.event_booking_system.models.event;
+
+public enum InventoryMode {
+    // capacity is checked and counted on the events row
+    DATABASE,
+    // capacity is admitted from in-memory permits and flushed to the events row in batches
+    IN_MEMORY
+}
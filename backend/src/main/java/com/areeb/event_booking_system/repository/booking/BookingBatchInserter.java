@@ -0,0 +1,33 @@
+package com.areeb.event_booking_system.repository.booking;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.areeb.event_booking_system.models.booking.Booking;
+
+import lombok.RequiredArgsConstructor;
+
+// Writes many bookings in one JDBC batch instead of one persist and flush per row. Callers assign ids
+// up front and have already checked capacity and duplicates under the event row locks.
+@Repository
+@RequiredArgsConstructor
+public class BookingBatchInserter {
+
+    private static final String INSERT_SQL = "INSERT INTO bookings "
+            + "(id, user_id, event_id, quantity, booking_time, version, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, now(), 0, now(), now())";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, bookings.stream()
+                .map(booking -> new Object[] { booking.getId(), booking.getUser().getId(), booking.getEvent().getId(),
+                        booking.getQuantity() })
+                .toList());
+    }
+}
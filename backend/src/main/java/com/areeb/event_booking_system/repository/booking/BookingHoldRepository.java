@@ -0,0 +1,38 @@
+package com.areeb.event_booking_system.repository.booking;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.areeb.event_booking_system.models.booking.BookingHold;
+
+@Repository
+public interface BookingHoldRepository extends JpaRepository<BookingHold, UUID> {
+
+    boolean existsByUserIdAndEventId(UUID userId, UUID eventId);
+
+    @Query("SELECT COALESCE(SUM(h.quantity), 0) FROM BookingHold h WHERE h.event.id = :eventId")
+    long sumQuantityByEventId(@Param("eventId") UUID eventId);
+
+    @Query("SELECT h FROM BookingHold h JOIN FETCH h.user WHERE h.id = :holdId")
+    Optional<BookingHold> findByIdWithUser(@Param("holdId") UUID holdId);
+
+    @Query("SELECT h.id AS id, h.expiresAt AS expiresAt FROM BookingHold h")
+    List<HoldDeadline> findAllDeadlines();
+
+    // the row count tells concurrent confirm/expire/release calls which one of them owns the hold
+    @Modifying
+    @Query("DELETE FROM BookingHold h WHERE h.id = :holdId")
+    int deleteHoldById(@Param("holdId") UUID holdId);
+
+    @Modifying
+    @Query("DELETE FROM BookingHold h WHERE h.id = :holdId AND h.expiresAt > :now")
+    int deleteUnexpiredHold(@Param("holdId") UUID holdId, @Param("now") OffsetDateTime now);
+}
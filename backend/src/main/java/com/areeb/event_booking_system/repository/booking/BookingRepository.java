@@ -1,5 +1,7 @@
 package com.areeb.event_booking_system.repository.booking;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -8,6 +10,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -27,9 +30,34 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
 
     long countByEventId(UUID eventId);
 
+    @Query("SELECT b.user.id FROM Booking b WHERE b.event.id = :eventId")
+    List<UUID> findUserIdsByEventId(@Param("eventId") UUID eventId);
+
+    @Query("SELECT b.event.id FROM Booking b WHERE b.user.id = :userId")
+    List<UUID> findEventIdsByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT b.event.id FROM Booking b WHERE b.user.id = :userId AND b.event.id IN :eventIds")
+    List<UUID> findBookedEventIds(@Param("userId") UUID userId, @Param("eventIds") Collection<UUID> eventIds);
+
+    // seats taken by bookings; current_bookings_count should match this plus open holds
+    @Query("SELECT COALESCE(SUM(b.quantity), 0) FROM Booking b WHERE b.event.id = :eventId")
+    long sumQuantityByEventId(@Param("eventId") UUID eventId);
+
     @Query("SELECT b FROM Booking b JOIN FETCH b.user JOIN FETCH b.event e LEFT JOIN FETCH e.adminCreator WHERE b.id = :bookingId")
     Optional<Booking> findByIdWithUserAndEvent(@Param("bookingId") UUID bookingId);
 
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user JOIN FETCH b.event e LEFT JOIN FETCH e.adminCreator WHERE b.id IN :ids")
+    List<Booking> findAllByIdWithUserAndEvent(@Param("ids") Collection<UUID> ids);
+
+    // ownership is part of the query, so bookings of other users never leave the database
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user u JOIN FETCH b.event e LEFT JOIN FETCH e.adminCreator "
+            + "WHERE b.id IN :ids AND u.id = :userId")
+    List<Booking> findOwnedByIdWithUserAndEvent(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId);
+
+    // leaves the event as an unloaded proxy so it can be locked and read fresh afterwards
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user WHERE b.id = :bookingId")
+    Optional<Booking> findByIdWithUser(@Param("bookingId") UUID bookingId);
+
     @Override
     @EntityGraph(attributePaths = { "user", "event", "event.adminCreator" })
     Optional<Booking> findById(UUID bookingId);
@@ -37,9 +65,134 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
     @Query("SELECT b FROM Booking b JOIN FETCH b.user u JOIN FETCH b.event e LEFT JOIN FETCH e.adminCreator WHERE u.id = :userId")
     Page<Booking> findByUserIdWithUserAndEvent(@Param("userId") UUID userId, Pageable pageable);
 
+    // A booking with the event columns a list row shows; the user, the event description and the
+    // creator are never loaded
+    String SUMMARY_SELECT = "SELECT b.id AS id, b.quantity AS quantity, b.bookingTime AS bookingTime, "
+            + "e.id AS eventId, e.name AS eventName, e.category AS eventCategory, e.eventDate AS eventDate, "
+            + "e.venue AS eventVenue, e.imageUrl AS eventImageUrl FROM Booking b JOIN b.event e ";
+
+    // Keyset pages of a user's bookings, newest first; the Pageable only carries the row limit
+    @Query(SUMMARY_SELECT + "WHERE b.user.id = :userId ORDER BY b.bookingTime DESC, b.id DESC")
+    List<BookingSummaryRow> findSummariesByUserIdOrderByBookingTimeDesc(@Param("userId") UUID userId,
+            Pageable limit);
+
+    @Query(SUMMARY_SELECT + "WHERE b.user.id = :userId AND (b.bookingTime, b.id) < (:bookingTime, :id) "
+            + "ORDER BY b.bookingTime DESC, b.id DESC")
+    List<BookingSummaryRow> findSummariesAfterByUserIdOrderByBookingTimeDesc(@Param("userId") UUID userId,
+            @Param("bookingTime") OffsetDateTime bookingTime, @Param("id") UUID id, Pageable limit);
+
+    long countByUserId(UUID userId);
+
     @Override
     @Query(value = "SELECT b FROM Booking b JOIN FETCH b.user u JOIN FETCH b.event e LEFT JOIN FETCH e.adminCreator", countQuery = "SELECT count(b) FROM Booking b")
     Page<Booking> findAll(Pageable pageable);
 
-    void deleteByEventId(UUID eventId);
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id = :bookingId")
+    int deleteBookingById(@Param("bookingId") UUID bookingId);
+
+    // partial cancellation; the row is deleted instead when every seat goes
+    @Modifying
+    @Query("UPDATE Booking b SET b.quantity = b.quantity - :seats, b.version = b.version + 1 "
+            + "WHERE b.id = :bookingId AND b.quantity > :seats")
+    int releaseQuantity(@Param("bookingId") UUID bookingId, @Param("seats") int seats);
+
+    // Capacity check, counter increment and booking insert in one round-trip. The UPDATE takes the
+    // event row lock, so concurrent bookers are serialized by Postgres instead of by version retries.
+    @Query(value = """
+            WITH reserved AS (
+                UPDATE events
+                SET current_bookings_count = current_bookings_count + :quantity,
+                    version = version + 1,
+                    updated_at = now()
+                WHERE id = :eventId
+                  AND event_date > now()
+                  AND (ballot_closes_at IS NULL OR ballot_drawn_at IS NOT NULL)
+                  AND NOT seated
+                  AND deleted_at IS NULL
+                  AND (max_capacity IS NULL OR current_bookings_count + :quantity <= max_capacity)
+                  AND NOT EXISTS (SELECT 1 FROM bookings WHERE user_id = :userId AND event_id = :eventId)
+                RETURNING id
+            ), inserted AS (
+                INSERT INTO bookings (id, user_id, event_id, quantity, booking_time, version, created_at, updated_at)
+                SELECT :bookingId, :userId, r.id, :quantity, now(), 0, now(), now() FROM reserved r
+                ON CONFLICT (user_id, event_id) DO NOTHING
+                RETURNING id
+            )
+            SELECT (SELECT count(*) FROM reserved) AS reserved, (SELECT count(*) FROM inserted) AS inserted
+            """, nativeQuery = true)
+    CapacityReservation reserveAndInsert(@Param("bookingId") UUID bookingId, @Param("userId") UUID userId,
+            @Param("eventId") UUID eventId, @Param("quantity") int quantity);
+
+    // Owner check, booking delete (or seat release when seats is below the booked quantity) and
+    // counter decrement in one round-trip. seats = 0 cancels the whole booking. Seated and in-memory
+    // inventory events are left to the regular path, which knows how to release their seats.
+    @Query(value = """
+            WITH target AS (
+                SELECT b.id, b.event_id, b.quantity,
+                       CASE WHEN :seats = 0 THEN b.quantity ELSE :seats END AS seats
+                FROM bookings b
+                JOIN events e ON e.id = b.event_id
+                WHERE b.id = :bookingId
+                  AND b.user_id = :userId
+                  AND b.quantity >= :seats
+                  AND e.inventory_mode = 'DATABASE'
+                  AND NOT e.seated
+                FOR UPDATE OF b, e
+            ), deleted AS (
+                DELETE FROM bookings WHERE id IN (SELECT id FROM target WHERE seats = quantity)
+                RETURNING id
+            ), reduced AS (
+                UPDATE bookings b
+                SET quantity = b.quantity - t.seats, version = b.version + 1, updated_at = now()
+                FROM target t
+                WHERE b.id = t.id AND t.seats < t.quantity
+                RETURNING b.id
+            ), released AS (
+                UPDATE events e
+                SET current_bookings_count = GREATEST(0, e.current_bookings_count - t.seats),
+                    version = e.version + 1,
+                    updated_at = now()
+                FROM target t
+                WHERE e.id = t.event_id
+                RETURNING e.id
+            )
+            SELECT t.event_id AS eventId, t.seats AS seats,
+                   EXISTS (SELECT 1 FROM waitlist_entries w WHERE w.event_id = t.event_id) AS waitlisted
+            FROM target t
+            """, nativeQuery = true)
+    Optional<CancelledBooking> cancelOwned(@Param("bookingId") UUID bookingId, @Param("userId") UUID userId,
+            @Param("seats") int seats);
+
+    // Set-based variant of cancelOwned for every booking the user holds at the given events. Event rows
+    // are locked in id order, like findAllByIdForUpdate, so it cannot deadlock with batch bookings.
+    @Query(value = """
+            WITH target AS (
+                SELECT b.id, b.event_id, b.quantity AS seats
+                FROM bookings b
+                JOIN events e ON e.id = b.event_id
+                WHERE b.user_id = :userId
+                  AND b.event_id IN (:eventIds)
+                  AND e.inventory_mode = 'DATABASE'
+                  AND NOT e.seated
+                ORDER BY b.event_id
+                FOR UPDATE OF b, e
+            ), deleted AS (
+                DELETE FROM bookings WHERE id IN (SELECT id FROM target)
+                RETURNING id
+            ), released AS (
+                UPDATE events e
+                SET current_bookings_count = GREATEST(0, e.current_bookings_count - t.seats),
+                    version = e.version + 1,
+                    updated_at = now()
+                FROM target t
+                WHERE e.id = t.event_id
+                RETURNING e.id
+            )
+            SELECT t.event_id AS eventId, t.seats AS seats,
+                   EXISTS (SELECT 1 FROM waitlist_entries w WHERE w.event_id = t.event_id) AS waitlisted
+            FROM target t
+            """, nativeQuery = true)
+    List<CancelledBooking> cancelOwnedForEvents(@Param("userId") UUID userId,
+            @Param("eventIds") Collection<UUID> eventIds);
 }
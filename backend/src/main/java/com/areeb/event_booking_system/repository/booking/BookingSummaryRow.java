@@ -0,0 +1,26 @@
+package com.areeb.event_booking_system.repository.booking;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import com.areeb.event_booking_system.models.event.EventCategory;
+
+public interface BookingSummaryRow {
+    UUID getId();
+
+    Integer getQuantity();
+
+    OffsetDateTime getBookingTime();
+
+    UUID getEventId();
+
+    String getEventName();
+
+    EventCategory getEventCategory();
+
+    OffsetDateTime getEventDate();
+
+    String getEventVenue();
+
+    String getEventImageUrl();
+}
@@ -0,0 +1,13 @@
+package com.areeb.event_booking_system.repository.booking;
+
+import java.util.UUID;
+
+public interface CancelledBooking {
+    UUID getEventId();
+
+    // seats taken off the event counter
+    int getSeats();
+
+    // the event has people waiting for the freed seats
+    boolean isWaitlisted();
+}
@@ -0,0 +1,9 @@
+package com.areeb.event_booking_system.repository.booking;
+
+public interface CapacityReservation {
+    // 1 when the guarded counter update matched the event row
+    long getReserved();
+
+    // 1 when the booking row was inserted
+    long getInserted();
+}
@@ -0,0 +1,10 @@
+package com.areeb.event_booking_system.repository.booking;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public interface HoldDeadline {
+    UUID getId();
+
+    OffsetDateTime getExpiresAt();
+}
@@ -0,0 +1,40 @@
+package com.areeb.event_booking_system.repository.booking;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.areeb.event_booking_system.models.booking.WaitlistEntry;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, UUID> {
+
+    Optional<WaitlistEntry> findByUserIdAndEventId(UUID userId, UUID eventId);
+
+    @Query("SELECT w.sequence FROM WaitlistEntry w WHERE w.event.id = :eventId")
+    List<Long> findSequencesByEventId(@Param("eventId") UUID eventId);
+
+    @Query(value = """
+            INSERT INTO waitlist_counters (event_id, issued) VALUES (:eventId, 1)
+            ON CONFLICT (event_id) DO UPDATE SET issued = waitlist_counters.issued + 1
+            RETURNING issued
+            """, nativeQuery = true)
+    long nextSequence(@Param("eventId") UUID eventId);
+
+    // concurrent cancellations each promote a different user instead of queueing on the same head row
+    @Query(value = """
+            SELECT * FROM waitlist_entries WHERE event_id = :eventId
+            ORDER BY sequence LIMIT 1 FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    Optional<WaitlistEntry> findHeadForUpdate(@Param("eventId") UUID eventId);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.id = :entryId")
+    int deleteEntryById(@Param("entryId") UUID entryId);
+}
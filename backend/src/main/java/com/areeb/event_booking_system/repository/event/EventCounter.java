@@ -0,0 +1,12 @@
+package com.areeb.event_booking_system.repository.event;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public interface EventCounter {
+    UUID getId();
+
+    Integer getCurrentBookingsCount();
+
+    OffsetDateTime getUpdatedAt();
+}
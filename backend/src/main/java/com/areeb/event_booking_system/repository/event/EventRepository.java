@@ -1,20 +1,28 @@
 package com.areeb.event_booking_system.repository.event;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.areeb.event_booking_system.models.event.Event;
 import com.areeb.event_booking_system.models.event.EventCategory;
+import com.areeb.event_booking_system.models.event.InventoryMode;
+
+import jakarta.persistence.LockModeType;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, UUID>, JpaSpecificationExecutor<Event> {
@@ -29,6 +37,126 @@ public interface EventRepository extends JpaRepository<Event, UUID>, JpaSpecific
     @EntityGraph(attributePaths = {"adminCreator"})
     Page<Event> findAll(Pageable pageable);
 
+    @Override
+    @EntityGraph(attributePaths = {"adminCreator"})
+    Page<Event> findAll(Specification<Event> spec, Pageable pageable);
+
+    // Card columns for list views: no description text, and the creator's username joined in instead of
+    // loading the User with its roles and permissions
+    String SUMMARY_SELECT = "SELECT e.id AS id, e.name AS name, e.category AS category, e.eventDate AS eventDate, "
+            + "e.venue AS venue, e.price AS price, e.imageUrl AS imageUrl, e.maxCapacity AS maxCapacity, "
+            + "e.currentBookingsCount AS currentBookingsCount, e.seated AS seated, "
+            + "u.username AS adminCreatorUsername FROM Event e LEFT JOIN e.adminCreator u ";
+
+    // Keyset pages in (eventDate, id) order; the Pageable only carries the row limit, so no count runs
+    @Query(SUMMARY_SELECT + "ORDER BY e.eventDate, e.id")
+    List<EventSummaryRow> findSummariesOrderByEventDate(Pageable limit);
+
+    @Query(SUMMARY_SELECT + "WHERE (e.eventDate, e.id) > (:eventDate, :id) ORDER BY e.eventDate, e.id")
+    List<EventSummaryRow> findSummariesAfterOrderByEventDate(@Param("eventDate") OffsetDateTime eventDate,
+            @Param("id") UUID id, Pageable limit);
+
+    @Query(SUMMARY_SELECT + "WHERE e.category = :category ORDER BY e.eventDate, e.id")
+    List<EventSummaryRow> findSummariesByCategoryOrderByEventDate(@Param("category") EventCategory category,
+            Pageable limit);
+
+    @Query(SUMMARY_SELECT + "WHERE e.category = :category AND (e.eventDate, e.id) > (:eventDate, :id) "
+            + "ORDER BY e.eventDate, e.id")
+    List<EventSummaryRow> findSummariesAfterByCategoryOrderByEventDate(@Param("category") EventCategory category,
+            @Param("eventDate") OffsetDateTime eventDate, @Param("id") UUID id, Pageable limit);
+
+    long countByCategory(EventCategory category);
+
     @Query("SELECT e FROM Event e LEFT JOIN FETCH e.adminCreator WHERE e.id = :id")
     Optional<Event> findByIdWithAdminCreator(@Param("id") UUID id);
+
+    @Query("SELECT e.id FROM Event e WHERE e.inventoryMode = :mode AND e.eventDate > :now")
+    List<UUID> findIdsByInventoryModeAndEventDateAfter(@Param("mode") InventoryMode mode,
+            @Param("now") OffsetDateTime now);
+
+    @Query("SELECT e FROM Event e WHERE e.waitingRoomRate IS NOT NULL AND e.eventDate > :now")
+    List<Event> findWithWaitingRoomAndEventDateAfter(@Param("now") OffsetDateTime now);
+
+    @Query("SELECT e.id FROM Event e WHERE e.seated = true AND e.eventDate > :now")
+    List<UUID> findIdsBySeatedAndEventDateAfter(@Param("now") OffsetDateTime now);
+
+    @Query("SELECT e.id FROM Event e WHERE e.ballotClosesAt <= :now AND e.ballotDrawnAt IS NULL")
+    List<UUID> findIdsWithBallotDue(@Param("now") OffsetDateTime now);
+
+    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.adminCreator WHERE e.id IN :ids")
+    List<Event> findAllByIdWithAdminCreator(@Param("ids") Collection<UUID> ids);
+
+    // Ranked full-text matches through the GIN index on search_vector, ordered by (rank, id) descending so
+    // the next page continues after the last row seen. Highlights are only computed for the returned rows.
+    String SEARCH_SELECT = """
+            SELECT r.id AS id, r.rank AS rank,
+                   ts_headline('english', e.name, r.query, 'StartSel=<mark>, StopSel=</mark>, HighlightAll=true')
+                       AS highlightedName,
+                   ts_headline('english', e.venue, r.query, 'StartSel=<mark>, StopSel=</mark>, HighlightAll=true')
+                       AS highlightedVenue,
+                   CASE WHEN to_tsvector('english', coalesce(e.description, '')) @@ r.query
+                        THEN ts_headline('english', e.description, r.query,
+                                'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=20, MinWords=8')
+                        ELSE '' END AS snippet
+            FROM (
+                SELECT e.id, ts_rank_cd(e.search_vector, q.query) AS rank, q.query
+                FROM events e, to_tsquery('english', :query) AS q(query)
+                WHERE e.search_vector @@ q.query
+                  AND e.deleted_at IS NULL
+            """;
+    String SEARCH_PAGE = """
+                ORDER BY rank DESC, e.id DESC
+                LIMIT :limit
+            ) r
+            JOIN events e ON e.id = r.id
+            ORDER BY r.rank DESC, r.id DESC
+            """;
+
+    @Query(value = SEARCH_SELECT + SEARCH_PAGE, nativeQuery = true)
+    List<EventSearchRow> search(@Param("query") String query, @Param("limit") int limit);
+
+    @Query(value = SEARCH_SELECT
+            + "  AND (ts_rank_cd(e.search_vector, q.query), e.id) < (CAST(:afterRank AS real), :afterId)\n"
+            + SEARCH_PAGE, nativeQuery = true)
+    List<EventSearchRow> searchAfter(@Param("query") String query, @Param("afterRank") float afterRank,
+            @Param("afterId") UUID afterId, @Param("limit") int limit);
+
+    // the columns the typeahead index is built from, without descriptions or creators
+    @Query("SELECT e.id AS id, e.name AS name, e.venue AS venue, e.category AS category, e.eventDate AS eventDate, "
+            + "e.currentBookingsCount AS currentBookingsCount FROM Event e WHERE e.eventDate > :now")
+    List<EventSuggestionRow> findSuggestionRowsByEventDateAfter(@Param("now") OffsetDateTime now);
+
+    // just the counters, to refresh cached catalog entries
+    @Query("SELECT e.id AS id, e.currentBookingsCount AS currentBookingsCount, e.updatedAt AS updatedAt "
+            + "FROM Event e WHERE e.id IN :ids")
+    List<EventCounter> findCountersByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findByIdForUpdate(@Param("id") UUID id);
+
+    // rows are locked in id order, so two batches over overlapping events cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id IN :ids ORDER BY e.id")
+    List<Event> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query(value = "UPDATE events SET current_bookings_count = current_bookings_count - :seats, "
+            + "version = version + 1, updated_at = now() WHERE id = :id AND current_bookings_count >= :seats",
+            nativeQuery = true)
+    int releaseSeats(@Param("id") UUID id, @Param("seats") int seats);
+
+    // bookings, holds, waitlist and ballot entries and seat rows go with the row through ON DELETE CASCADE
+    @Modifying
+    @Query("DELETE FROM Event e WHERE e.id = :id")
+    int deleteEventById(@Param("id") UUID id);
+
+    // hides the event everywhere until EventPurger has removed it
+    @Modifying
+    @Query("UPDATE Event e SET e.deletedAt = :now, e.version = e.version + 1 WHERE e.id = :id")
+    int markDeleted(@Param("id") UUID id, @Param("now") OffsetDateTime now);
+
+    // released automatically when the surrounding transaction ends
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:key)", nativeQuery = true)
+    Integer acquireAdvisoryXactLock(@Param("key") long key);
 }
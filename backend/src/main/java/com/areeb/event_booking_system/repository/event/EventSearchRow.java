@@ -0,0 +1,16 @@
+package com.areeb.event_booking_system.repository.event;
+
+import java.util.UUID;
+
+public interface EventSearchRow {
+    UUID getId();
+
+    Float getRank();
+
+    String getHighlightedName();
+
+    String getHighlightedVenue();
+
+    // matching fragments of the description, empty when only the name or venue matched
+    String getSnippet();
+}
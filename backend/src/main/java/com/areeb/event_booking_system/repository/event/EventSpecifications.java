@@ -0,0 +1,70 @@
+package com.areeb.event_booking_system.repository.event;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.models.event.EventCategory;
+
+// Composable event filters. Each one is null when its criterion is absent, so they can be chained with
+// Specification.where(...).and(...) and an unused filter adds nothing to the WHERE clause. The shapes
+// match the V15 indexes: category IN (...) and event_date ranges, price ranges, and a prefix on lower(venue).
+public final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    public static Specification<Event> inCategories(Collection<EventCategory> categories) {
+        if (categories == null || categories.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("category").in(categories);
+    }
+
+    public static Specification<Event> startsFrom(OffsetDateTime from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("eventDate"), from);
+    }
+
+    public static Specification<Event> startsBefore(OffsetDateTime to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThan(root.get("eventDate"), to);
+    }
+
+    public static Specification<Event> upcoming(boolean upcomingOnly, OffsetDateTime now) {
+        return upcomingOnly ? (root, query, cb) -> cb.greaterThan(root.get("eventDate"), now) : null;
+    }
+
+    public static Specification<Event> priceAtLeast(BigDecimal minPrice) {
+        return minPrice == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Event> priceAtMost(BigDecimal maxPrice) {
+        return maxPrice == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    // case-insensitive prefix, so the text_pattern_ops index on lower(venue) can serve it
+    public static Specification<Event> venueStartsWith(String venue) {
+        if (venue == null || venue.isBlank()) {
+            return null;
+        }
+        String pattern = escapeLike(venue.strip().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("venue")), pattern, '\\');
+    }
+
+    // unlimited events always have seats
+    public static Specification<Event> hasSeatsAvailable(boolean seatsAvailable) {
+        if (!seatsAvailable) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+                cb.isNull(root.get("maxCapacity")),
+                cb.lessThan(root.get("currentBookingsCount"), root.get("maxCapacity")));
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,20 @@
+package com.areeb.event_booking_system.repository.event;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import com.areeb.event_booking_system.models.event.EventCategory;
+
+public interface EventSuggestionRow {
+    UUID getId();
+
+    String getName();
+
+    String getVenue();
+
+    EventCategory getCategory();
+
+    OffsetDateTime getEventDate();
+
+    Integer getCurrentBookingsCount();
+}
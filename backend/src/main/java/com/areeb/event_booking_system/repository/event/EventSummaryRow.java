@@ -0,0 +1,31 @@
+package com.areeb.event_booking_system.repository.event;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import com.areeb.event_booking_system.models.event.EventCategory;
+
+public interface EventSummaryRow {
+    UUID getId();
+
+    String getName();
+
+    EventCategory getCategory();
+
+    OffsetDateTime getEventDate();
+
+    String getVenue();
+
+    BigDecimal getPrice();
+
+    String getImageUrl();
+
+    Integer getMaxCapacity();
+
+    Integer getCurrentBookingsCount();
+
+    Boolean getSeated();
+
+    String getAdminCreatorUsername();
+}
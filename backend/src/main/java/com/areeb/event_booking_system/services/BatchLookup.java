@@ -0,0 +1,36 @@
+package com.areeb.event_booking_system.services;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import com.areeb.event_booking_system.dtos.BatchItem;
+
+// Rules shared by the by-id batch reads: a bounded id list, answered in the order it was asked with a
+// not-found marker wherever an id had no match, so the caller can line results up with its own list.
+public final class BatchLookup {
+
+    public static final int MAX_IDS = 300;
+
+    private BatchLookup() {
+    }
+
+    public static void checkIds(List<UUID> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_IDS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_IDS + " ids must be given.");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Ids must not be empty.");
+        }
+    }
+
+    public static <T> List<BatchItem<T>> inRequestOrder(List<UUID> ids, Map<UUID, T> found) {
+        return ids.stream()
+                .map(id -> {
+                    T item = found.get(id);
+                    return BatchItem.<T>builder().id(id).found(item != null).item(item).build();
+                })
+                .toList();
+    }
+}
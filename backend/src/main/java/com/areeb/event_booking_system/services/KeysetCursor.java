@@ -0,0 +1,55 @@
+package com.areeb.event_booking_system.services;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+// Position after the last row of a keyset page: its sort timestamp and id, packed into an opaque
+// url-safe token. The next page asks for rows after (at, id) instead of skipping an offset, so the
+// hundredth page costs the same index range scan as the first.
+public record KeysetCursor(OffsetDateTime at, UUID id) {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final int BYTES = Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+    public static void checkPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+    }
+
+    public String encode() {
+        Instant instant = at.toInstant();
+        ByteBuffer buffer = ByteBuffer.allocate(BYTES)
+                .putLong(instant.getEpochSecond())
+                .putInt(instant.getNano())
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static KeysetCursor decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor.");
+        }
+        if (bytes.length != BYTES) {
+            throw new IllegalArgumentException("Invalid page cursor.");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        OffsetDateTime at;
+        try {
+            at = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt()).atOffset(ZoneOffset.UTC);
+        } catch (DateTimeException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid page cursor.");
+        }
+        return new KeysetCursor(at, new UUID(buffer.getLong(), buffer.getLong()));
+    }
+}
@@ -0,0 +1,128 @@
+package com.areeb.event_booking_system.services.ballot;
+
+import java.security.SecureRandom;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.areeb.event_booking_system.models.booking.Booking;
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.models.event.InventoryMode;
+import com.areeb.event_booking_system.repository.UserRepository;
+import com.areeb.event_booking_system.repository.booking.BookingBatchInserter;
+import com.areeb.event_booking_system.repository.booking.BookingRepository;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+import com.areeb.event_booking_system.services.AfterCommit;
+import com.areeb.event_booking_system.services.booking.booked.BookedEventsCache;
+import com.areeb.event_booking_system.services.booking.inventory.InventoryLedger;
+import com.areeb.event_booking_system.services.event.catalog.EventCatalogCache;
+import com.areeb.event_booking_system.services.event.changes.EventChangeLog;
+import com.areeb.event_booking_system.services.waitlist.WaitlistNotifier;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Draws closed ballots in one set-based pass per event: entrants are shuffled with a stored seed,
+// winners are inserted in a single JDBC batch and current_bookings_count moves once. Every node runs
+// the job; the event row lock and ballot_drawn_at make sure each ballot is drawn exactly once.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BallotAllocator {
+
+    private final EventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final BookingBatchInserter batchInserter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryLedger inventoryLedger;
+    private final WaitlistNotifier notifier;
+    private final BookedEventsCache bookedEvents;
+    private final EventCatalogCache eventCatalog;
+    private final EventChangeLog eventChangeLog;
+    private final SecureRandom seeds = new SecureRandom();
+
+    @Scheduled(fixedDelayString = "${ballot.draw-interval-ms:10000}")
+    public void drawDue() {
+        for (UUID eventId : eventRepository.findIdsWithBallotDue(OffsetDateTime.now())) {
+            try {
+                draw(eventId);
+            } catch (RuntimeException e) {
+                log.error("Failed to draw the ballot for event {}: {}", eventId, e.getMessage(), e);
+            }
+        }
+    }
+
+    public void draw(UUID eventId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Event event = eventRepository.findByIdForUpdate(eventId).orElse(null);
+            if (event == null || !event.isBallotPending()) {
+                return;
+            }
+            if (event.getBallotSeed() == null) {
+                event.setBallotSeed(seeds.nextLong());
+            }
+
+            // users who already hold a booking (e.g. added before the ballot was set up) are not drawn
+            Set<UUID> booked = new HashSet<>(bookingRepository.findUserIdsByEventId(eventId));
+            List<UUID> entrants = new ArrayList<>(jdbcTemplate.queryForList(
+                    "SELECT user_id FROM ballot_entries WHERE event_id = ? ORDER BY user_id", UUID.class, eventId));
+            entrants.removeIf(booked::contains);
+            // a fixed starting order plus the stored seed makes the draw reproducible
+            Collections.shuffle(entrants, new Random(event.getBallotSeed()));
+
+            int seats = event.getMaxCapacity() == null
+                    ? entrants.size()
+                    : Math.max(0, event.getMaxCapacity() - event.getCurrentBookingsCount());
+            List<UUID> winners = entrants.subList(0, Math.min(seats, entrants.size()));
+
+            List<Booking> bookings = winners.stream()
+                    .map(userId -> Booking.builder()
+                            .id(UUID.randomUUID())
+                            .user(userRepository.getReferenceById(userId))
+                            .event(event)
+                            .build())
+                    .toList();
+            batchInserter.insertAll(bookings);
+            jdbcTemplate.update("UPDATE ballot_entries SET won = (user_id = ANY(?)) WHERE event_id = ?",
+                    ps -> {
+                        ps.setArray(1, ps.getConnection().createArrayOf("uuid", winners.toArray()));
+                        ps.setObject(2, eventId);
+                    });
+
+            event.setCurrentBookingsCount(event.getCurrentBookingsCount() + bookings.size());
+            event.setBallotDrawnAt(OffsetDateTime.now());
+            eventRepository.save(event);
+            eventChangeLog.recordChange(eventId);
+
+            Map<UUID, UUID> bookingIds = bookings.stream()
+                    .collect(Collectors.toMap(booking -> booking.getUser().getId(), Booking::getId));
+            List<UUID> drawn = List.copyOf(entrants);
+            boolean inMemory = event.getInventoryMode() == InventoryMode.IN_MEMORY;
+            AfterCommit.run(() -> {
+                bookingIds.keySet().forEach(bookedEvents::evict);
+                eventCatalog.invalidate(eventId, event.getVersion() == null ? 0 : event.getVersion());
+                drawn.forEach(userId -> notifier.ballotDrawn(userId, eventId, bookingIds.get(userId)));
+                // leftover seats are sold normally from here on
+                if (inMemory) {
+                    inventoryLedger.load(eventId);
+                }
+            });
+            log.info("Drew the ballot for event {}: {} entrants, {} seats, {} winners", eventId, entrants.size(), seats,
+                    bookings.size());
+        });
+    }
+}
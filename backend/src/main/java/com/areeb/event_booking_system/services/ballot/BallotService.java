@@ -0,0 +1,81 @@
+package com.areeb.event_booking_system.services.ballot;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.areeb.event_booking_system.dtos.ballot.BallotDto;
+import com.areeb.event_booking_system.exceptions.ResourceNotFoundException;
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.models.user.User;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Entries go straight into ballot_entries: no capacity check and no event row lock, so a rush of
+// entrants costs one small insert each. Seats are only handed out by BallotAllocator once the ballot closes.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BallotService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventRepository eventRepository;
+
+    public BallotDto.BallotEntryStatus enter(UUID eventId, User currentUser) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        ensureOpen(event);
+        // entering twice keeps the first entry
+        jdbcTemplate.update("INSERT INTO ballot_entries (event_id, user_id) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                eventId, currentUser.getId());
+        log.info("User {} entered the ballot for event {}", currentUser.getUsername(), eventId);
+        return getStatus(eventId, currentUser);
+    }
+
+    public BallotDto.BallotEntryStatus getStatus(UUID eventId, User currentUser) {
+        List<BallotDto.BallotEntryStatus> entries = jdbcTemplate.query(
+                "SELECT b.entered_at, b.won, e.ballot_closes_at FROM ballot_entries b "
+                        + "JOIN events e ON e.id = b.event_id WHERE b.event_id = ? AND b.user_id = ?",
+                (rs, rowNum) -> BallotDto.BallotEntryStatus.builder()
+                        .eventId(eventId)
+                        .enteredAt(rs.getObject("entered_at", OffsetDateTime.class))
+                        .closesAt(rs.getObject("ballot_closes_at", OffsetDateTime.class))
+                        .result(result(rs.getObject("won", Boolean.class)))
+                        .build(),
+                eventId, currentUser.getId());
+        return entries.stream().findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Ballot entry", "eventId", eventId));
+    }
+
+    public void withdraw(UUID eventId, User currentUser) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        ensureOpen(event);
+        if (jdbcTemplate.update("DELETE FROM ballot_entries WHERE event_id = ? AND user_id = ?", eventId,
+                currentUser.getId()) == 0) {
+            throw new ResourceNotFoundException("Ballot entry", "eventId", eventId);
+        }
+        log.info("User {} withdrew from the ballot for event {}", currentUser.getUsername(), eventId);
+    }
+
+    private void ensureOpen(Event event) {
+        if (event.getBallotClosesAt() == null) {
+            throw new IllegalArgumentException("This event does not allocate seats by ballot.");
+        }
+        if (!event.isBallotPending() || !event.getBallotClosesAt().isAfter(OffsetDateTime.now())) {
+            throw new IllegalArgumentException("The ballot for this event has closed.");
+        }
+    }
+
+    private BallotDto.BallotResult result(Boolean won) {
+        if (won == null) {
+            return BallotDto.BallotResult.PENDING;
+        }
+        return won ? BallotDto.BallotResult.WON : BallotDto.BallotResult.LOST;
+    }
+}
@@ -1,19 +1,38 @@
 package com.areeb.event_booking_system.services.booking;
 
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.areeb.event_booking_system.dtos.BatchItem;
+import com.areeb.event_booking_system.dtos.CursorPage;
 import com.areeb.event_booking_system.dtos.booking.BookingDto;
 import com.areeb.event_booking_system.models.user.User;
 
 public interface BookingService {
     BookingDto.BookingResponse createBooking(BookingDto.CreateBookingRequest createBookingRequest, User currentUser);
 
-    void cancelBooking(UUID bookingId, User currentUser);
+    BookingDto.BatchBookingResponse createBookings(BookingDto.BatchBookingRequest batchBookingRequest, User currentUser);
+
+    BookingDto.HoldResponse createHold(BookingDto.CreateBookingRequest createBookingRequest, User currentUser);
+
+    BookingDto.BookingResponse confirmHold(UUID holdId, User currentUser);
+
+    void releaseHold(UUID holdId, User currentUser);
+
+    void cancelBooking(UUID bookingId, Integer quantity, User currentUser);
+
+    BookingDto.BatchCancellationResponse cancelBookings(BookingDto.BatchCancellationRequest batchCancellationRequest,
+            User currentUser);
 
     Page<BookingDto.BookingResponse> getUserBookings(UUID userId, Pageable pageable);
 
+    List<BatchItem<BookingDto.BookingResponse>> getBookingsByIds(List<UUID> bookingIds, User currentUser);
+
+    CursorPage<BookingDto.BookingSummary> getUserBookingsAfter(UUID userId, String cursor, int size,
+            boolean includeTotal);
+
     BookingDto.BookingResponse getBookingById(UUID bookingId, User currentUser);
 }
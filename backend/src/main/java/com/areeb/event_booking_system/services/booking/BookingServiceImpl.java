@@ -1,24 +1,59 @@
 package com.areeb.event_booking_system.services.booking;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.areeb.event_booking_system.dtos.BatchItem;
+import com.areeb.event_booking_system.dtos.CursorPage;
 import com.areeb.event_booking_system.dtos.booking.BookingDto;
+import com.areeb.event_booking_system.dtos.seating.SeatMapDto;
 import com.areeb.event_booking_system.exceptions.ResourceNotFoundException;
 import com.areeb.event_booking_system.mappers.BookingMapper;
 import com.areeb.event_booking_system.models.booking.Booking;
+import com.areeb.event_booking_system.models.booking.BookingHold;
 import com.areeb.event_booking_system.models.event.Event;
 import com.areeb.event_booking_system.models.user.User;
+import com.areeb.event_booking_system.repository.booking.BookingBatchInserter;
+import com.areeb.event_booking_system.repository.booking.BookingHoldRepository;
 import com.areeb.event_booking_system.repository.booking.BookingRepository;
+import com.areeb.event_booking_system.repository.booking.BookingSummaryRow;
+import com.areeb.event_booking_system.repository.booking.CancelledBooking;
+import com.areeb.event_booking_system.repository.booking.CapacityReservation;
 import com.areeb.event_booking_system.repository.event.EventRepository;
+import com.areeb.event_booking_system.services.AfterCommit;
+import com.areeb.event_booking_system.services.BatchLookup;
+import com.areeb.event_booking_system.services.KeysetCursor;
+import com.areeb.event_booking_system.services.booking.booked.BookedEventsCache;
+import com.areeb.event_booking_system.services.booking.contention.ContentionManager;
+import com.areeb.event_booking_system.services.booking.contention.LockingStrategy;
+import com.areeb.event_booking_system.services.booking.hold.HoldExpirer;
+import com.areeb.event_booking_system.services.booking.inventory.InventoryLedger;
+import com.areeb.event_booking_system.services.seating.SeatMapService;
+import com.areeb.event_booking_system.services.waitlist.WaitlistService;
 
 import jakarta.persistence.OptimisticLockException;
 import lombok.RequiredArgsConstructor;
@@ -32,114 +67,675 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final EventRepository eventRepository;
     private final BookingMapper bookingMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ContentionManager contentionManager;
+    private final InventoryLedger inventoryLedger;
+    private final BookingHoldRepository holdRepository;
+    private final HoldExpirer holdExpirer;
+    private final WaitlistService waitlistService;
+    private final BookingBatchInserter batchInserter;
+    private final SeatMapService seatMapService;
+    private final BookedEventsCache bookedEvents;
+
+    @Value("${booking.reservation-mode:OPTIMISTIC}")
+    private ReservationMode reservationMode = ReservationMode.OPTIMISTIC;
+
+    @Value("${booking.holds.duration:PT10M}")
+    private Duration holdDuration = Duration.ofMinutes(10);
+
+    @Value("${booking.max-quantity:10}")
+    private int maxQuantity = 10;
 
     @Override
-    @Transactional
     public BookingDto.BookingResponse createBooking(BookingDto.CreateBookingRequest createBookingRequest,
             User currentUser) {
         log.info("User {} attempting to book event {}", currentUser.getUsername(), createBookingRequest.getEventId());
+        int quantity = requestedQuantity(createBookingRequest);
+
+        if (inventoryLedger.isManaged(createBookingRequest.getEventId())) {
+            return bookThroughLedger(createBookingRequest, currentUser);
+        }
+
+        // seated bookings have to lock their seat rows, which the single-statement path cannot do
+        if (reservationMode == ReservationMode.ATOMIC && !seatMapService.isSeated(createBookingRequest.getEventId())) {
+            ensureNoSeatsChosen(createBookingRequest);
+            return transactionTemplate
+                    .execute(status -> createBookingAtomically(createBookingRequest.getEventId(), quantity, currentUser));
+        }
+
+        UUID eventId = createBookingRequest.getEventId();
+        return executeWithContentionPolicy(eventId,
+                "Failed to book event due to high contention. Please try again.",
+                strategy -> bookEvent(createBookingRequest, currentUser, strategy));
+    }
+
+    private BookingDto.BookingResponse bookEvent(BookingDto.CreateBookingRequest createBookingRequest,
+            User currentUser, LockingStrategy strategy) {
+        Event event = loadEventForUpdate(createBookingRequest.getEventId(), strategy);
+        int quantity = requestedQuantity(createBookingRequest);
+        ensureBookable(event, currentUser, quantity);
+        if (!event.isSeated()) {
+            ensureNoSeatsChosen(createBookingRequest);
+        }
 
-        Event event = eventRepository.findById(createBookingRequest.getEventId())
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", createBookingRequest.getEventId()));
+        // Increment booking count
+        event.setCurrentBookingsCount(event.getCurrentBookingsCount() + quantity);
+        eventRepository.saveAndFlush(event);
+        evictBookedAfterCommit(currentUser);
 
+        // No problems, create booking
+        Booking booking = bookingMapper.createRequestToBooking(createBookingRequest, currentUser, event);
+        booking.setQuantity(quantity);
+        if (!event.isSeated()) {
+            Booking savedBooking = bookingRepository.save(booking);
+            log.info("User {} successfully booked event {} using {} locking. Booking ID: {}", currentUser.getUsername(),
+                    event.getId(), strategy, savedBooking.getId());
+            return bookingMapper.bookingToBookingResponse(savedBooking);
+        }
+
+        // the row has to exist before booking_seats can reference it
+        Booking savedBooking = bookingRepository.saveAndFlush(booking);
+        List<SeatMapDto.SeatRef> seats = seatMapService.reserve(event.getId(), savedBooking.getId(),
+                createBookingRequest.getSeats(), quantity);
+        log.info("User {} successfully booked seats {} of event {} using {} locking. Booking ID: {}",
+                currentUser.getUsername(), seats, event.getId(), strategy, savedBooking.getId());
+        BookingDto.BookingResponse response = bookingMapper.bookingToBookingResponse(savedBooking);
+        response.setSeats(seats);
+        return response;
+    }
+
+    private int requestedQuantity(BookingDto.CreateBookingRequest createBookingRequest) {
+        List<SeatMapDto.SeatRef> seats = createBookingRequest.getSeats();
+        if (seats != null && !seats.isEmpty()) {
+            if (createBookingRequest.getQuantity() != null && createBookingRequest.getQuantity() != seats.size()) {
+                throw new IllegalArgumentException("Quantity must match the number of seats chosen.");
+            }
+        }
+        int quantity = seats != null && !seats.isEmpty()
+                ? seats.size()
+                : createBookingRequest.getQuantity() == null ? 1 : createBookingRequest.getQuantity();
+        if (quantity < 1 || quantity > maxQuantity) {
+            throw new IllegalArgumentException("Quantity must be between 1 and " + maxQuantity + ".");
+        }
+        return quantity;
+    }
+
+    private void ensureNoSeatsChosen(BookingDto.CreateBookingRequest createBookingRequest) {
+        if (createBookingRequest.getSeats() != null && !createBookingRequest.getSeats().isEmpty()) {
+            throw new IllegalArgumentException("This event has no seat map; book without choosing seats.");
+        }
+    }
+
+    private void ensureBookable(Event event, User currentUser, int quantity) {
         if (event.getEventDate().isBefore(OffsetDateTime.now())) {
             log.warn("Attempt to book past event {}: {}", event.getId(), event.getName());
             throw new IllegalArgumentException("Cannot book an event that has already passed.");
         }
+        ensureNoPendingBallot(event);
 
         if (bookingRepository.existsByUserIdAndEventId(currentUser.getId(), event.getId())) {
             log.warn("User {} already booked event {}.", currentUser.getUsername(), event.getId());
             throw new DataIntegrityViolationException("You have already booked this event.");
         }
 
-        // capacity check and optimistic locking retry
-        int maxRetries = 3;
-        for (int attempt = 0; attempt < maxRetries; attempt++) {
-            try {
-                Event currentEventVersion = eventRepository.findById(event.getId())
-                        .orElseThrow(() -> new ResourceNotFoundException("Event", "id", event.getId()));
-
-                if (currentEventVersion.getMaxCapacity() != null
-                        && currentEventVersion.getCurrentBookingsCount() >= currentEventVersion.getMaxCapacity()) {
-                    log.warn("Event {} is fully booked. Capacity: {}, Booked: {}",
-                            currentEventVersion.getId(), currentEventVersion.getMaxCapacity(),
-                            currentEventVersion.getCurrentBookingsCount());
-                    throw new IllegalStateException("Event is fully booked. No more tickets available.");
-                }
+        if (event.getMaxCapacity() != null && event.getCurrentBookingsCount() + quantity > event.getMaxCapacity()) {
+            log.warn("Event {} cannot take {} more seats. Capacity: {}, Booked: {}",
+                    event.getId(), quantity, event.getMaxCapacity(), event.getCurrentBookingsCount());
+            throw soldOut(event.getMaxCapacity() - event.getCurrentBookingsCount());
+        }
+    }
+
+    private void ensureNoPendingBallot(Event event) {
+        if (event.isBallotPending()) {
+            log.warn("Attempt to book event {} before its ballot was drawn", event.getId());
+            throw new IllegalArgumentException("Seats for this event are allocated by ballot. Enter the ballot instead.");
+        }
+    }
+
+    private IllegalStateException soldOut(long remaining) {
+        if (remaining <= 0) {
+            return new IllegalStateException("Event is fully booked. No more tickets available.");
+        }
+        return new IllegalStateException("Not enough tickets available. Only " + remaining + " left.");
+    }
 
-                // Increment booking count
-                currentEventVersion.setCurrentBookingsCount(currentEventVersion.getCurrentBookingsCount() + 1);
-                eventRepository.saveAndFlush(currentEventVersion);
+    // Admission comes from in-memory permits; only the booking row is written. The event counter is
+    // flushed by the ledger in batches.
+    private BookingDto.BookingResponse bookThroughLedger(BookingDto.CreateBookingRequest createBookingRequest,
+            User currentUser) {
+        UUID eventId = createBookingRequest.getEventId();
+        int quantity = requestedQuantity(createBookingRequest);
+        // in-memory inventory is never used for seated events
+        ensureNoSeatsChosen(createBookingRequest);
+        if (inventoryLedger.hasPassed(eventId)) {
+            log.warn("Attempt to book past event {}", eventId);
+            throw new IllegalArgumentException("Cannot book an event that has already passed.");
+        }
+        if (!inventoryLedger.tryAcquire(eventId, quantity)) {
+            log.warn("Event {} cannot take {} more seats (in-memory inventory).", eventId, quantity);
+            throw soldOut(inventoryLedger.available(eventId));
+        }
 
-                // No problems, create booking
+        try {
+            BookingDto.BookingResponse response = transactionTemplate.execute(status -> {
                 Booking booking = bookingMapper.createRequestToBooking(createBookingRequest, currentUser,
-                        currentEventVersion);
-                Booking savedBooking = bookingRepository.save(booking);
-                log.info("User {} successfully booked event {}. Booking ID: {}", currentUser.getUsername(),
-                        event.getId(), savedBooking.getId());
+                        eventRepository.getReferenceById(eventId));
+                booking.setQuantity(quantity);
+                Booking savedBooking = bookingRepository.saveAndFlush(booking);
+                evictBookedAfterCommit(currentUser);
+                return bookingMapper.bookingToBookingResponse(savedBooking);
+            });
+            inventoryLedger.confirm(eventId, quantity);
+            log.info("User {} successfully booked event {} from in-memory inventory.", currentUser.getUsername(),
+                    eventId);
+            return response;
+        } catch (DataIntegrityViolationException e) {
+            inventoryLedger.release(eventId, quantity);
+            log.warn("User {} already booked event {}.", currentUser.getUsername(), eventId);
+            throw new DataIntegrityViolationException("You have already booked this event.", e);
+        } catch (RuntimeException e) {
+            inventoryLedger.release(eventId, quantity);
+            throw e;
+        }
+    }
+
+    private BookingDto.BookingResponse createBookingAtomically(UUID eventId, int quantity, User currentUser) {
+        UUID bookingId = UUID.randomUUID();
+        CapacityReservation reservation = bookingRepository.reserveAndInsert(bookingId, currentUser.getId(), eventId,
+                quantity);
 
+        ReservationOutcome outcome = resolveOutcome(reservation, eventId, currentUser);
+        log.info("Atomic reservation for user {} on event {}: {}", currentUser.getUsername(), eventId, outcome);
+
+        switch (outcome) {
+            case SOLD_OUT:
+                throw soldOut(remainingSeats(eventId));
+            case DUPLICATE:
+                // a concurrent request may have reserved the seat before losing the insert race, so this
+                // exception also rolls back the counter increment made by the same statement
+                throw new DataIntegrityViolationException("You have already booked this event.");
+            default:
+                evictBookedAfterCommit(currentUser);
+                Booking savedBooking = bookingRepository.findById(bookingId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", bookingId));
                 return bookingMapper.bookingToBookingResponse(savedBooking);
+        }
+    }
 
-            } catch (OptimisticLockException ole) {
-                log.warn("Optimistic lock conflict for event {} on attempt {}. Retrying...", event.getId(),
-                        attempt + 1);
-                if (attempt == maxRetries - 1) {
-                    log.error("Failed to book event {} after {} retries due to optimistic locking.", event.getId(),
-                            maxRetries);
-                    throw new IllegalStateException("Failed to book event due to high contention. Please try again.",
-                            ole);
-                }
-                try {
-                    Thread.sleep(50);
-                } catch (InterruptedException ignored) {
-                    Thread.currentThread().interrupt();
-                    log.error("Thread interrupted during booking retry for event {}", event.getId());
+    // Only the rejection path pays for extra reads to tell the caller why nothing was reserved.
+    private ReservationOutcome resolveOutcome(CapacityReservation reservation, UUID eventId, User currentUser) {
+        if (reservation.getReserved() == 1 && reservation.getInserted() == 1) {
+            return ReservationOutcome.BOOKED;
+        }
+        if (reservation.getReserved() == 1) {
+            return ReservationOutcome.DUPLICATE;
+        }
+
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        if (event.getEventDate().isBefore(OffsetDateTime.now())) {
+            log.warn("Attempt to book past event {}: {}", event.getId(), event.getName());
+            throw new IllegalArgumentException("Cannot book an event that has already passed.");
+        }
+        ensureNoPendingBallot(event);
+        if (event.isSeated()) {
+            // laid out after this node last looked; the next attempt takes the seated path
+            seatMapService.load(eventId);
+            throw new IllegalStateException("This event now has assigned seating. Please try again.");
+        }
+        if (bookingRepository.existsByUserIdAndEventId(currentUser.getId(), eventId)) {
+            return ReservationOutcome.DUPLICATE;
+        }
+        return ReservationOutcome.SOLD_OUT;
+    }
+
+    private long remainingSeats(UUID eventId) {
+        return eventRepository.findById(eventId)
+                .filter(event -> event.getMaxCapacity() != null)
+                .map(event -> (long) event.getMaxCapacity() - event.getCurrentBookingsCount())
+                .orElse(0L);
+    }
+
+    // One seat per event. All event rows are locked up front in id order, so overlapping batches queue
+    // behind each other instead of deadlocking, and every check runs against the locked rows.
+    @Override
+    public BookingDto.BatchBookingResponse createBookings(BookingDto.BatchBookingRequest batchBookingRequest,
+            User currentUser) {
+        List<UUID> eventIds = batchBookingRequest.getEventIds().stream().distinct().toList();
+        boolean allOrNothing = batchBookingRequest.isAllOrNothing();
+        log.info("User {} attempting to book {} events in one batch (all-or-nothing: {})", currentUser.getUsername(),
+                eventIds.size(), allOrNothing);
+
+        // permits taken from in-memory inventories; those events' counters are flushed by the ledger
+        List<UUID> ledgerPermits = new ArrayList<>();
+        List<BookingDto.BatchBookingResult> results;
+        try {
+            results = transactionTemplate.execute(status -> bookBatch(eventIds, allOrNothing, currentUser, ledgerPermits));
+        } catch (RuntimeException e) {
+            ledgerPermits.forEach(eventId -> inventoryLedger.release(eventId, 1));
+            throw e;
+        }
+        ledgerPermits.forEach(eventId -> inventoryLedger.confirm(eventId, 1));
+
+        int booked = (int) results.stream()
+                .filter(result -> result.getOutcome() == BookingDto.BatchOutcome.BOOKED)
+                .count();
+        log.info("User {} booked {} of {} events in one batch", currentUser.getUsername(), booked, eventIds.size());
+        return BookingDto.BatchBookingResponse.builder()
+                .allOrNothing(allOrNothing)
+                .booked(booked)
+                .results(results)
+                .build();
+    }
+
+    private List<BookingDto.BatchBookingResult> bookBatch(List<UUID> eventIds, boolean allOrNothing, User currentUser,
+            List<UUID> ledgerPermits) {
+        Map<UUID, Event> events = eventRepository.findAllByIdForUpdate(eventIds).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        Set<UUID> alreadyBooked = new HashSet<>(bookingRepository.findBookedEventIds(currentUser.getId(), eventIds));
+
+        Map<UUID, BookingDto.BatchOutcome> outcomes = new LinkedHashMap<>();
+        for (UUID eventId : eventIds) {
+            outcomes.put(eventId, admit(events.get(eventId), alreadyBooked, ledgerPermits));
+        }
+
+        if (allOrNothing && outcomes.containsValue(BookingDto.BatchOutcome.BOOKED)
+                && outcomes.values().stream().anyMatch(outcome -> outcome != BookingDto.BatchOutcome.BOOKED)) {
+            ledgerPermits.forEach(eventId -> inventoryLedger.release(eventId, 1));
+            ledgerPermits.clear();
+            outcomes.replaceAll((eventId, outcome) -> outcome == BookingDto.BatchOutcome.BOOKED
+                    ? BookingDto.BatchOutcome.ROLLED_BACK
+                    : outcome);
+        }
+
+        List<Booking> bookings = new ArrayList<>();
+        List<Event> counted = new ArrayList<>();
+        outcomes.forEach((eventId, outcome) -> {
+            if (outcome != BookingDto.BatchOutcome.BOOKED) {
+                return;
+            }
+            Event event = events.get(eventId);
+            if (!ledgerPermits.contains(eventId)) {
+                event.setCurrentBookingsCount(event.getCurrentBookingsCount() + 1);
+                counted.add(event);
+            }
+            bookings.add(Booking.builder().id(UUID.randomUUID()).user(currentUser).event(event).build());
+        });
+        batchInserter.insertAll(bookings);
+        eventRepository.saveAll(counted);
+        evictBookedAfterCommit(currentUser);
+
+        Map<UUID, UUID> bookingIds = bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getEvent().getId(), Booking::getId));
+        return outcomes.entrySet().stream()
+                .map(entry -> BookingDto.BatchBookingResult.builder()
+                        .eventId(entry.getKey())
+                        .outcome(entry.getValue())
+                        .bookingId(bookingIds.get(entry.getKey()))
+                        .build())
+                .toList();
+    }
+
+    private BookingDto.BatchOutcome admit(Event event, Set<UUID> alreadyBooked, List<UUID> ledgerPermits) {
+        if (event == null) {
+            return BookingDto.BatchOutcome.EVENT_NOT_FOUND;
+        }
+        if (event.getEventDate().isBefore(OffsetDateTime.now())) {
+            return BookingDto.BatchOutcome.EVENT_PASSED;
+        }
+        if (event.getWaitingRoomRate() != null) {
+            return BookingDto.BatchOutcome.WAITING_ROOM;
+        }
+        if (event.isBallotPending()) {
+            return BookingDto.BatchOutcome.BALLOT;
+        }
+        if (event.isSeated()) {
+            return BookingDto.BatchOutcome.SEATED;
+        }
+        if (alreadyBooked.contains(event.getId())) {
+            return BookingDto.BatchOutcome.ALREADY_BOOKED;
+        }
+        if (inventoryLedger.isManaged(event.getId())) {
+            if (!inventoryLedger.tryAcquire(event.getId(), 1)) {
+                return BookingDto.BatchOutcome.SOLD_OUT;
+            }
+            ledgerPermits.add(event.getId());
+            return BookingDto.BatchOutcome.BOOKED;
+        }
+        if (event.getMaxCapacity() != null && event.getCurrentBookingsCount() >= event.getMaxCapacity()) {
+            return BookingDto.BatchOutcome.SOLD_OUT;
+        }
+        return BookingDto.BatchOutcome.BOOKED;
+    }
+
+    // A hold takes a seat exactly like a booking does (it counts towards currentBookingsCount) but only
+    // until it expires. Confirming turns it into a booking without touching the counter again.
+    @Override
+    public BookingDto.HoldResponse createHold(BookingDto.CreateBookingRequest createBookingRequest,
+            User currentUser) {
+        UUID eventId = createBookingRequest.getEventId();
+        int quantity = requestedQuantity(createBookingRequest);
+        log.info("User {} attempting to hold {} seats for event {}", currentUser.getUsername(), quantity, eventId);
+
+        BookingHold hold;
+        if (inventoryLedger.isManaged(eventId)) {
+            hold = holdThroughLedger(eventId, quantity, currentUser);
+        } else {
+            hold = executeWithContentionPolicy(eventId,
+                    "Failed to hold a seat due to high contention. Please try again.",
+                    strategy -> {
+                        Event event = loadEventForUpdate(eventId, strategy);
+                        if (event.isSeated()) {
+                            throw new IllegalArgumentException("Seats cannot be held; book them directly.");
+                        }
+                        ensureBookable(event, currentUser, quantity);
+                        ensureNotHeld(eventId, currentUser);
+                        event.setCurrentBookingsCount(event.getCurrentBookingsCount() + quantity);
+                        eventRepository.saveAndFlush(event);
+                        return holdRepository.save(newHold(event, quantity, currentUser));
+                    });
+        }
+
+        holdExpirer.schedule(hold.getId(), hold.getExpiresAt());
+        log.info("User {} holds a seat for event {} until {}. Hold ID: {}", currentUser.getUsername(), eventId,
+                hold.getExpiresAt(), hold.getId());
+        return BookingDto.HoldResponse.builder()
+                .id(hold.getId())
+                .eventId(eventId)
+                .quantity(hold.getQuantity())
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+
+    private BookingHold holdThroughLedger(UUID eventId, int quantity, User currentUser) {
+        if (inventoryLedger.hasPassed(eventId)) {
+            log.warn("Attempt to hold a seat for past event {}", eventId);
+            throw new IllegalArgumentException("Cannot book an event that has already passed.");
+        }
+        if (!inventoryLedger.tryAcquire(eventId, quantity)) {
+            log.warn("Event {} cannot take {} more seats (in-memory inventory).", eventId, quantity);
+            throw soldOut(inventoryLedger.available(eventId));
+        }
+
+        try {
+            BookingHold hold = transactionTemplate.execute(status -> {
+                if (bookingRepository.existsByUserIdAndEventId(currentUser.getId(), eventId)) {
+                    throw new DataIntegrityViolationException("You have already booked this event.");
                 }
+                ensureNotHeld(eventId, currentUser);
+                return holdRepository.saveAndFlush(
+                        newHold(eventRepository.getReferenceById(eventId), quantity, currentUser));
+            });
+            inventoryLedger.confirm(eventId, quantity);
+            return hold;
+        } catch (RuntimeException e) {
+            inventoryLedger.release(eventId, quantity);
+            throw e;
+        }
+    }
+
+    private void ensureNotHeld(UUID eventId, User currentUser) {
+        if (holdRepository.existsByUserIdAndEventId(currentUser.getId(), eventId)) {
+            log.warn("User {} already holds a seat for event {}.", currentUser.getUsername(), eventId);
+            throw new DataIntegrityViolationException("You already hold a seat for this event.");
+        }
+    }
+
+    private BookingHold newHold(Event event, int quantity, User currentUser) {
+        return BookingHold.builder()
+                .event(event)
+                .user(currentUser)
+                .quantity(quantity)
+                .expiresAt(OffsetDateTime.now().plus(holdDuration))
+                .build();
+    }
+
+    @Override
+    public BookingDto.BookingResponse confirmHold(UUID holdId, User currentUser) {
+        log.info("User {} confirming hold {}", currentUser.getUsername(), holdId);
+        BookingDto.BookingResponse response = transactionTemplate.execute(status -> {
+            BookingHold hold = holdRepository.findByIdWithUser(holdId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Hold", "id", holdId));
+            if (!hold.getUser().getId().equals(currentUser.getId())) {
+                throw new AccessDeniedException("You are not authorized to confirm this hold.");
+            }
+            // losing this delete to the expirer means the seat has already been given back
+            if (holdRepository.deleteUnexpiredHold(holdId, OffsetDateTime.now()) == 0) {
+                throw new IllegalStateException("Hold has expired. Please try booking again.");
             }
+            Booking booking = Booking.builder()
+                    .user(hold.getUser())
+                    .event(hold.getEvent())
+                    .quantity(hold.getQuantity())
+                    .build();
+            evictBookedAfterCommit(currentUser);
+            return bookingMapper.bookingToBookingResponse(bookingRepository.saveAndFlush(booking));
+        });
+        holdExpirer.cancel(holdId);
+        log.info("Hold {} confirmed as booking {} by user {}", holdId, response.getId(), currentUser.getUsername());
+        return response;
+    }
+
+    @Override
+    public void releaseHold(UUID holdId, User currentUser) {
+        log.info("User {} releasing hold {}", currentUser.getUsername(), holdId);
+        BookingHold hold = transactionTemplate.execute(status -> holdRepository.findByIdWithUser(holdId)
+                .orElseThrow(() -> new ResourceNotFoundException("Hold", "id", holdId)));
+        if (!hold.getUser().getId().equals(currentUser.getId())) {
+            throw new AccessDeniedException("You are not authorized to release this hold.");
         }
-        throw new IllegalStateException("Booking process failed unexpectedly after retries.");
+        holdExpirer.release(holdId);
     }
 
+    // Cancels the whole booking, or only `quantity` of its seats. Freed seats go to the waitlist first
+    // and the event count only drops by what nobody on the waitlist took.
     @Override
-    @Transactional
-    public void cancelBooking(UUID bookingId, User currentUser) {
+    public void cancelBooking(UUID bookingId, Integer quantity, User currentUser) {
         log.info("User {} attempting to cancel booking {}", currentUser.getUsername(), bookingId);
-        Booking booking = bookingRepository.findByIdWithUserAndEvent(bookingId)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", bookingId));
+        if (reservationMode == ReservationMode.ATOMIC && (quantity == null || quantity >= 1)
+                && Boolean.TRUE.equals(transactionTemplate
+                        .execute(status -> cancelAtomically(bookingId, quantity == null ? 0 : quantity, currentUser)))) {
+            return;
+        }
+
+        Booking booking = transactionTemplate.execute(status -> bookingRepository.findByIdWithUser(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", bookingId)));
 
         if (!booking.getUser().getId().equals(currentUser.getId())) {
             throw new AccessDeniedException("You are not authorized to cancel this booking.");
         }
+        if (quantity != null && (quantity < 1 || quantity > booking.getQuantity())) {
+            throw new IllegalArgumentException("Quantity must be between 1 and " + booking.getQuantity() + ".");
+        }
+        int seats = quantity == null ? booking.getQuantity() : quantity;
+        boolean whole = seats == booking.getQuantity();
 
         UUID eventId = booking.getEvent().getId();
+        if (inventoryLedger.isManaged(eventId)) {
+            Integer released = transactionTemplate.execute(status -> {
+                int updated = whole
+                        ? bookingRepository.deleteBookingById(bookingId)
+                        : bookingRepository.releaseQuantity(bookingId, seats);
+                if (updated == 0) {
+                    // cancelled concurrently, or fewer seats left than asked for
+                    return 0;
+                }
+                evictBookedAfterCommit(currentUser);
+                return seats - waitlistService.promote(eventRepository.getReferenceById(eventId), seats);
+            });
+            if (released != null && released > 0) {
+                inventoryLedger.cancelled(eventId, released);
+            }
+            log.info("{} seats of booking {} cancelled by user {} (in-memory inventory for event {}).", seats,
+                    bookingId, currentUser.getUsername(), eventId);
+            return;
+        }
 
-        int maxRetries = 3;
-        for (int attempt = 0; attempt < maxRetries; attempt++) {
-            try {
-                Event currentEventVersion = eventRepository.findById(eventId)
-                        .orElseThrow(() -> {
-                            return new ResourceNotFoundException("Event", "id", eventId);
-                        });
-
-                if (currentEventVersion.getCurrentBookingsCount() > 0) {
-                    currentEventVersion.setCurrentBookingsCount(currentEventVersion.getCurrentBookingsCount() - 1);
-                    eventRepository.saveAndFlush(currentEventVersion);
+        executeWithContentionPolicy(eventId,
+                "Failed to cancel booking due to high contention on event data. Please try again.",
+                strategy -> {
+                    Event event = loadEventForUpdate(eventId, strategy);
+                    Booking bookingToCancel = bookingRepository.findByIdWithUser(bookingId)
+                            .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", bookingId));
+                    if (seats > bookingToCancel.getQuantity()) {
+                        throw new IllegalArgumentException(
+                                "Quantity must be between 1 and " + bookingToCancel.getQuantity() + ".");
+                    }
+                    if (event.isSeated()) {
+                        if (seats != bookingToCancel.getQuantity()) {
+                            throw new IllegalArgumentException("Bookings with assigned seats can only be cancelled as a whole.");
+                        }
+                        seatMapService.release(eventId, bookingId);
+                    }
+
+                    // promoted waitlisters take over freed seats, so the count only drops by the rest
+                    int released = seats - waitlistService.promote(event, seats);
+                    if (released > 0) {
+                        event.setCurrentBookingsCount(Math.max(0, event.getCurrentBookingsCount() - released));
+                        eventRepository.saveAndFlush(event);
+                    }
+
+                    if (seats == bookingToCancel.getQuantity()) {
+                        bookingRepository.delete(bookingToCancel);
+                        evictBookedAfterCommit(currentUser);
+                    } else {
+                        bookingToCancel.setQuantity(bookingToCancel.getQuantity() - seats);
+                        bookingRepository.save(bookingToCancel);
+                    }
+                    log.info("{} seats of booking {} cancelled by user {} using {} locking. Event count updated for event {}.",
+                            seats, bookingId, currentUser.getUsername(), strategy, eventId);
+                    return null;
+                });
+    }
+
+    // Nothing comes back when the booking is missing, belongs to someone else, has fewer seats than asked
+    // for or is at a seated or in-memory inventory event; the regular path then works out which.
+    private boolean cancelAtomically(UUID bookingId, int seats, User currentUser) {
+        Optional<CancelledBooking> cancelled = bookingRepository.cancelOwned(bookingId, currentUser.getId(), seats);
+        cancelled.ifPresent(this::promoteWaitlisted);
+        cancelled.ifPresent(c -> evictBookedAfterCommit(currentUser));
+        cancelled.ifPresent(c -> log.info("{} seats of booking {} cancelled by user {} in a single statement for event {}.",
+                c.getSeats(), bookingId, currentUser.getUsername(), c.getEventId()));
+        return cancelled.isPresent();
+    }
+
+    // The statement already took every freed seat off the counter; seats handed to waitlisters go back on.
+    private void promoteWaitlisted(CancelledBooking cancelled) {
+        if (!cancelled.isWaitlisted()) {
+            return;
+        }
+        Event event = eventRepository.findById(cancelled.getEventId())
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", cancelled.getEventId()));
+        int promoted = waitlistService.promote(event, cancelled.getSeats());
+        if (promoted > 0) {
+            event.setCurrentBookingsCount(event.getCurrentBookingsCount() + promoted);
+            eventRepository.saveAndFlush(event);
+        }
+    }
+
+    @Override
+    public BookingDto.BatchCancellationResponse cancelBookings(
+            BookingDto.BatchCancellationRequest batchCancellationRequest, User currentUser) {
+        List<UUID> eventIds = batchCancellationRequest.getEventIds().stream().distinct().toList();
+        log.info("User {} attempting to cancel bookings at {} events in one batch", currentUser.getUsername(),
+                eventIds.size());
+
+        Map<UUID, Integer> released = new LinkedHashMap<>();
+        List<CancelledBooking> cancelled = transactionTemplate.execute(status -> {
+            List<CancelledBooking> rows = bookingRepository.cancelOwnedForEvents(currentUser.getId(), eventIds);
+            rows.forEach(this::promoteWaitlisted);
+            evictBookedAfterCommit(currentUser);
+            return rows;
+        });
+        cancelled.forEach(row -> released.put(row.getEventId(), row.getSeats()));
+
+        // Seated and in-memory inventory events give their seats back through the per-booking path, one
+        // transaction each. A failure there is reported for its event rather than hiding the ones already done.
+        Set<UUID> failed = new HashSet<>();
+        List<UUID> remaining = eventIds.stream().filter(eventId -> !released.containsKey(eventId)).toList();
+        if (!remaining.isEmpty()) {
+            for (UUID eventId : bookingRepository.findBookedEventIds(currentUser.getId(), remaining)) {
+                try {
+                    bookingRepository.findByUserIdAndEventId(currentUser.getId(), eventId).ifPresent(booking -> {
+                        cancelBooking(booking.getId(), null, currentUser);
+                        released.put(eventId, booking.getQuantity());
+                    });
+                } catch (RuntimeException e) {
+                    log.warn("User {} could not cancel their booking at event {}: {}", currentUser.getUsername(),
+                            eventId, e.getMessage());
+                    failed.add(eventId);
                 }
+            }
+        }
 
-                // No problems, delete booking
-                bookingRepository.delete(booking);
-                log.info("Booking {} cancelled successfully by user {}. Event count updated for event {}.",
-                        bookingId, currentUser.getUsername(), eventId);
-                return;
+        List<BookingDto.BatchCancellationResult> results = eventIds.stream()
+                .map(eventId -> BookingDto.BatchCancellationResult.builder()
+                        .eventId(eventId)
+                        .outcome(released.containsKey(eventId) ? BookingDto.CancellationOutcome.CANCELLED
+                                : failed.contains(eventId) ? BookingDto.CancellationOutcome.FAILED
+                                        : BookingDto.CancellationOutcome.NOT_BOOKED)
+                        .seats(released.get(eventId))
+                        .build())
+                .toList();
+        log.info("User {} cancelled bookings at {} of {} events in one batch", currentUser.getUsername(),
+                released.size(), eventIds.size());
+        return BookingDto.BatchCancellationResponse.builder()
+                .cancelled(released.size())
+                .results(results)
+                .build();
+    }
 
-            } catch (OptimisticLockException ole) {
-                if (attempt == maxRetries - 1) {
-                    throw new IllegalStateException(
-                            "Failed to cancel booking due to high contention on event data. Please try again.", ole);
+    private void evictBookedAfterCommit(User user) {
+        UUID userId = user.getId();
+        AfterCommit.run(() -> bookedEvents.evict(userId));
+    }
+
+    // Every attempt runs in its own transaction, so no connection is held while backing off between attempts.
+    private <T> T executeWithContentionPolicy(UUID eventId, String exhaustedMessage, Function<LockingStrategy, T> work) {
+        int maxAttempts = contentionManager.maxAttempts();
+        for (int attempt = 1;; attempt++) {
+            LockingStrategy strategy = contentionManager.strategyFor(eventId);
+            try {
+                T result = transactionTemplate.execute(status -> work.apply(strategy));
+                contentionManager.recordSuccess(eventId);
+                return result;
+            } catch (ConcurrencyFailureException | OptimisticLockException e) {
+                contentionManager.recordConflict(eventId);
+                if (attempt >= maxAttempts) {
+                    log.error("Giving up on event {} after {} attempts due to lock conflicts.", eventId, maxAttempts);
+                    throw new IllegalStateException(exhaustedMessage, e);
                 }
+                long backoff = contentionManager.backoffMillis(attempt);
+                log.warn("Lock conflict for event {} on attempt {} with {} locking. Retrying in {} ms...", eventId,
+                        attempt, strategy, backoff);
+                sleep(backoff, eventId, exhaustedMessage);
             }
         }
-        throw new IllegalStateException("Booking cancellation failed unexpectedly after retries for event " + eventId);
+    }
+
+    private Event loadEventForUpdate(UUID eventId, LockingStrategy strategy) {
+        Optional<Event> event = switch (strategy) {
+            case PESSIMISTIC -> eventRepository.findByIdForUpdate(eventId);
+            case ADVISORY -> {
+                eventRepository.acquireAdvisoryXactLock(ContentionManager.advisoryLockKey(eventId));
+                yield eventRepository.findById(eventId);
+            }
+            default -> eventRepository.findById(eventId);
+        };
+        return event.orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+    }
+
+    private void sleep(long millis, UUID eventId, String exhaustedMessage) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Thread interrupted during retry backoff for event {}", eventId);
+            throw new IllegalStateException(exhaustedMessage, e);
+        }
     }
 
     @Override
@@ -150,6 +746,60 @@ public class BookingServiceImpl implements BookingService {
         return bookingsPage.map(bookingMapper::bookingToBookingResponse);
     }
 
+    // newest first, continuing after (bookingTime, id) of the previous page's last booking
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDto.BookingSummary> getUserBookingsAfter(UUID userId, String cursor, int size,
+            boolean includeTotal) {
+        log.debug("Fetching bookings for user id: {} after cursor {}", userId, cursor);
+        KeysetCursor.checkPageSize(size);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<BookingSummaryRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = bookingRepository.findSummariesByUserIdOrderByBookingTimeDesc(userId, limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = bookingRepository.findSummariesAfterByUserIdOrderByBookingTimeDesc(userId, after.at(),
+                    after.id(), limit);
+        }
+        boolean hasMore = rows.size() > size;
+        List<BookingSummaryRow> page = hasMore ? rows.subList(0, size) : rows;
+        BookingSummaryRow last = hasMore ? page.get(page.size() - 1) : null;
+        return CursorPage.<BookingDto.BookingSummary>builder()
+                .content(bookingMapper.bookingSummaryRowsToBookingSummaries(page))
+                .nextCursor(last == null ? null : new KeysetCursor(last.getBookingTime(), last.getId()).encode())
+                .totalElements(includeTotal ? bookingRepository.countByUserId(userId) : null)
+                .build();
+    }
+
+    // One authority check for the whole batch instead of an ownership lookup per id; without
+    // BOOKING_MANAGE_ALL only the caller's own bookings are queried and the rest come back not found.
+    @Override
+    @Transactional(readOnly = true)
+    public List<BatchItem<BookingDto.BookingResponse>> getBookingsByIds(List<UUID> bookingIds, User currentUser) {
+        log.debug("Fetching {} bookings by id for user {}", bookingIds == null ? 0 : bookingIds.size(),
+                currentUser.getUsername());
+        BatchLookup.checkIds(bookingIds);
+        Set<UUID> distinct = new LinkedHashSet<>(bookingIds);
+        boolean manageAll = currentUser.getAuthorities().stream()
+                .anyMatch(authority -> "BOOKING_MANAGE_ALL".equals(authority.getAuthority()));
+        List<Booking> bookings = manageAll ? bookingRepository.findAllByIdWithUserAndEvent(distinct)
+                : bookingRepository.findOwnedByIdWithUserAndEvent(distinct, currentUser.getId());
+
+        List<UUID> seated = bookings.stream().filter(booking -> booking.getEvent().isSeated())
+                .map(Booking::getId).toList();
+        Map<UUID, List<SeatMapDto.SeatRef>> seats = seated.isEmpty() ? Map.of() : seatMapService.seatsOf(seated);
+        Map<UUID, BookingDto.BookingResponse> found = new HashMap<>();
+        for (Booking booking : bookings) {
+            BookingDto.BookingResponse response = bookingMapper.bookingToBookingResponse(booking);
+            if (booking.getEvent().isSeated()) {
+                response.setSeats(seats.getOrDefault(booking.getId(), List.of()));
+            }
+            found.put(booking.getId(), response);
+        }
+        return BatchLookup.inRequestOrder(bookingIds, found);
+    }
+
     @Override
     @Transactional(readOnly = true)
     @PreAuthorize("hasAuthority('BOOKING_MANAGE_ALL') or @bookingSecurityService.isOwnerOfBooking(#bookingId)")
@@ -158,6 +808,10 @@ public class BookingServiceImpl implements BookingService {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", bookingId));
 
-        return bookingMapper.bookingToBookingResponse(booking);
+        BookingDto.BookingResponse response = bookingMapper.bookingToBookingResponse(booking);
+        if (booking.getEvent().isSeated()) {
+            response.setSeats(seatMapService.seatsOf(bookingId));
+        }
+        return response;
     }
 }
@@ -0,0 +1,9 @@
+package com.areeb.event_booking_system.services.booking;
+
+public enum ReservationMode {
+    // read-modify-write of the event counter guarded by @Version, retried on conflict
+    OPTIMISTIC,
+    // guarded UPDATE of the event counter and the booking INSERT in a single statement; cancellations
+    // likewise delete the booking and release its seats in one statement
+    ATOMIC
+}
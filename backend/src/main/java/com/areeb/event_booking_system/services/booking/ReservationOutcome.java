@@ -0,0 +1,7 @@
+package com.areeb.event_booking_system.services.booking;
+
+public enum ReservationOutcome {
+    BOOKED,
+    SOLD_OUT,
+    DUPLICATE
+}
@@ -0,0 +1,78 @@
+package com.areeb.event_booking_system.services.booking.booked;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.areeb.event_booking_system.repository.booking.BookingRepository;
+import com.areeb.event_booking_system.services.LruTtlCache;
+
+// Which events a user has booked, for the isCurrentUserBooked flag on event pages. Each user's booked
+// event ids are loaded once and kept as a sorted array, so listing pages needs no booking queries
+// until the user books or cancels. Writers on this node evict after commit; the time to live bounds
+// how long a change made on another node can go unnoticed. max-users = 0 disables the cache and asks
+// the database once per page instead.
+@Component
+public class BookedEventsCache {
+
+    private static final int STRIPES = 64;
+
+    private final BookingRepository bookingRepository;
+    private final LruTtlCache<UUID, SortedUuidSet> cache;
+    private final boolean enabled;
+    // bumped on every eviction; a load that overlapped one is not cached, as it may predate the write
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    public BookedEventsCache(BookingRepository bookingRepository,
+            @Value("${booking.booked-events-cache.max-users:10000}") int maxUsers,
+            @Value("${booking.booked-events-cache.ttl:PT10M}") Duration ttl) {
+        this.bookingRepository = bookingRepository;
+        this.enabled = maxUsers > 0;
+        this.cache = new LruTtlCache<>(Math.max(1, maxUsers), ttl.toMillis(), System::currentTimeMillis);
+    }
+
+    public boolean isBooked(UUID userId, UUID eventId) {
+        return !bookedAmong(userId, List.of(eventId)).isEmpty();
+    }
+
+    // the subset of eventIds the user holds a booking for
+    public Set<UUID> bookedAmong(UUID userId, Collection<UUID> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Set.of();
+        }
+        if (!enabled) {
+            return Set.copyOf(bookingRepository.findBookedEventIds(userId, eventIds));
+        }
+        SortedUuidSet booked = load(userId);
+        return eventIds.stream().filter(booked::contains).collect(Collectors.toSet());
+    }
+
+    public void evict(UUID userId) {
+        generations.incrementAndGet(stripe(userId));
+        cache.remove(userId);
+    }
+
+    private SortedUuidSet load(UUID userId) {
+        SortedUuidSet booked = cache.get(userId);
+        if (booked != null) {
+            return booked;
+        }
+        long generation = generations.get(stripe(userId));
+        booked = SortedUuidSet.of(bookingRepository.findEventIdsByUserId(userId));
+        if (generations.get(stripe(userId)) == generation) {
+            cache.put(userId, booked);
+        }
+        return booked;
+    }
+
+    private static int stripe(UUID userId) {
+        return (userId.hashCode() & 0x7fffffff) % STRIPES;
+    }
+}
@@ -0,0 +1,55 @@
+package com.areeb.event_booking_system.services.booking.booked;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.UUID;
+
+// Immutable UUID set kept as two parallel sorted long arrays: 16 bytes per id instead of a HashSet
+// node, object header and UUID per entry. Lookups are a binary search.
+final class SortedUuidSet {
+
+    private static final Comparator<UUID> ORDER = Comparator.comparingLong(UUID::getMostSignificantBits)
+            .thenComparingLong(UUID::getLeastSignificantBits);
+
+    private final long[] most;
+    private final long[] least;
+
+    private SortedUuidSet(long[] most, long[] least) {
+        this.most = most;
+        this.least = least;
+    }
+
+    static SortedUuidSet of(Collection<UUID> ids) {
+        UUID[] sorted = ids.stream().distinct().sorted(ORDER).toArray(UUID[]::new);
+        long[] most = new long[sorted.length];
+        long[] least = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            most[i] = sorted[i].getMostSignificantBits();
+            least[i] = sorted[i].getLeastSignificantBits();
+        }
+        return new SortedUuidSet(most, least);
+    }
+
+    boolean contains(UUID id) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        int low = 0;
+        int high = most.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = most[mid] != msb ? Long.compare(most[mid], msb) : Long.compare(least[mid], lsb);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int size() {
+        return most.length;
+    }
+}
@@ -0,0 +1,150 @@
+package com.areeb.event_booking_system.services.booking.contention;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Tracks an exponentially decayed attempt and conflict rate per event. An event whose conflict rate
+// crosses the threshold is escalated to the configured locking strategy and stays there until its
+// traffic falls below the sample floor again.
+@Component
+@Slf4j
+public class AdaptiveContentionManager implements ContentionManager {
+
+    private static final int MAX_TRACKED_EVENTS = 10_000;
+
+    private final Map<UUID, EventContention> contentionByEvent = new ConcurrentHashMap<>();
+
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final LockingStrategy escalatedStrategy;
+    private final double escalateConflictRate;
+    private final double minSamples;
+    private final double halfLifeNanos;
+
+    public AdaptiveContentionManager(
+            @Value("${booking.contention.max-attempts:5}") int maxAttempts,
+            @Value("${booking.contention.base-backoff-ms:20}") long baseBackoffMillis,
+            @Value("${booking.contention.max-backoff-ms:500}") long maxBackoffMillis,
+            @Value("${booking.contention.escalated-strategy:PESSIMISTIC}") LockingStrategy escalatedStrategy,
+            @Value("${booking.contention.escalate-conflict-rate:0.3}") double escalateConflictRate,
+            @Value("${booking.contention.min-samples:10}") double minSamples,
+            @Value("${booking.contention.half-life-ms:5000}") long halfLifeMillis) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMillis = Math.max(0, baseBackoffMillis);
+        this.maxBackoffMillis = Math.max(this.baseBackoffMillis, maxBackoffMillis);
+        this.escalatedStrategy = escalatedStrategy;
+        this.escalateConflictRate = escalateConflictRate;
+        this.minSamples = minSamples;
+        this.halfLifeNanos = halfLifeMillis * 1_000_000d;
+    }
+
+    @Override
+    public LockingStrategy strategyFor(UUID eventId) {
+        EventContention contention = contentionByEvent.get(eventId);
+        if (contention == null || !contention.isEscalated(System.nanoTime())) {
+            return LockingStrategy.OPTIMISTIC;
+        }
+        return escalatedStrategy;
+    }
+
+    @Override
+    public void recordSuccess(UUID eventId) {
+        record(eventId, false);
+    }
+
+    @Override
+    public void recordConflict(UUID eventId) {
+        record(eventId, true);
+    }
+
+    @Override
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    @Override
+    public long backoffMillis(int attempt) {
+        if (baseBackoffMillis == 0) {
+            return 0;
+        }
+        int shift = Math.min(Math.max(attempt - 1, 0), 20);
+        long ceiling = Math.min(maxBackoffMillis, baseBackoffMillis << shift);
+        // equal jitter: keep half of the exponential delay, randomize the rest
+        long half = ceiling / 2;
+        return half + ThreadLocalRandom.current().nextLong(ceiling - half + 1);
+    }
+
+    private void record(UUID eventId, boolean conflict) {
+        long now = System.nanoTime();
+        if (contentionByEvent.size() > MAX_TRACKED_EVENTS) {
+            contentionByEvent.values().removeIf(contention -> contention.isIdle(now));
+        }
+        EventContention contention = contentionByEvent.computeIfAbsent(eventId, id -> new EventContention(now));
+        boolean changed = contention.record(conflict, now);
+        if (changed) {
+            log.info("Event {} switched to {} locking", eventId,
+                    contention.isEscalated(now) ? escalatedStrategy : LockingStrategy.OPTIMISTIC);
+        }
+    }
+
+    private final class EventContention {
+        private double attempts;
+        private double conflicts;
+        private long lastUpdateNanos;
+        private boolean escalated;
+
+        private EventContention(long now) {
+            this.lastUpdateNanos = now;
+        }
+
+        // returns true when the escalation state flipped
+        private synchronized boolean record(boolean conflict, long now) {
+            decay(now);
+            attempts += 1;
+            if (conflict) {
+                conflicts += 1;
+            }
+            return updateEscalation();
+        }
+
+        private synchronized boolean isEscalated(long now) {
+            decay(now);
+            updateEscalation();
+            return escalated;
+        }
+
+        private synchronized boolean isIdle(long now) {
+            decay(now);
+            return !escalated && attempts < 0.01;
+        }
+
+        private boolean updateEscalation() {
+            boolean previous = escalated;
+            if (!escalated && attempts >= minSamples && conflicts / attempts >= escalateConflictRate) {
+                escalated = true;
+            } else if (escalated && attempts < minSamples) {
+                escalated = false;
+            }
+            return previous != escalated;
+        }
+
+        private void decay(long now) {
+            long elapsed = now - lastUpdateNanos;
+            if (elapsed <= 0) {
+                return;
+            }
+            double factor = Math.pow(0.5, elapsed / halfLifeNanos);
+            attempts *= factor;
+            conflicts *= factor;
+            lastUpdateNanos = now;
+        }
+    }
+}
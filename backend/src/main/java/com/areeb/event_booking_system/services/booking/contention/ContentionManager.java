@@ -0,0 +1,21 @@
+package com.areeb.event_booking_system.services.booking.contention;
+
+import java.util.UUID;
+
+public interface ContentionManager {
+
+    LockingStrategy strategyFor(UUID eventId);
+
+    void recordSuccess(UUID eventId);
+
+    void recordConflict(UUID eventId);
+
+    int maxAttempts();
+
+    // delay before the given retry (1-based), computed outside of any transaction
+    long backoffMillis(int attempt);
+
+    static long advisoryLockKey(UUID eventId) {
+        return eventId.getMostSignificantBits() ^ eventId.getLeastSignificantBits();
+    }
+}
@@ -0,0 +1,10 @@
+package com.areeb.event_booking_system.services.booking.contention;
+
+public enum LockingStrategy {
+    // read the event, write it back guarded by @Version, retry on conflict
+    OPTIMISTIC,
+    // SELECT ... FOR UPDATE on the event row before touching the counter
+    PESSIMISTIC,
+    // serialize on a transaction-scoped Postgres advisory lock keyed by the event id
+    ADVISORY
+}
@@ -0,0 +1,116 @@
+package com.areeb.event_booking_system.services.booking.hold;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.areeb.event_booking_system.models.booking.BookingHold;
+import com.areeb.event_booking_system.repository.booking.BookingHoldRepository;
+import com.areeb.event_booking_system.repository.booking.HoldDeadline;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+import com.areeb.event_booking_system.services.AfterCommit;
+import com.areeb.event_booking_system.services.booking.inventory.InventoryLedger;
+import com.areeb.event_booking_system.services.waitlist.WaitlistService;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Releases seat holds when they run out. Deadlines live in a hashed timing wheel, so expiry work per
+// tick is proportional to the holds that are actually due rather than to all open holds. The wheel is
+// rebuilt from booking_holds on startup; deleting the row decides which node or request gets to give
+// the seat back.
+@Component
+@Slf4j
+public class HoldExpirer {
+
+    private final BookingHoldRepository holdRepository;
+    private final EventRepository eventRepository;
+    private final InventoryLedger inventoryLedger;
+    private final WaitlistService waitlistService;
+    private final TransactionTemplate transactionTemplate;
+    private final TimingWheel<UUID> wheel;
+
+    public HoldExpirer(BookingHoldRepository holdRepository, EventRepository eventRepository,
+            InventoryLedger inventoryLedger, WaitlistService waitlistService, TransactionTemplate transactionTemplate,
+            @Value("${booking.holds.wheel-size:1024}") int wheelSize,
+            @Value("${booking.holds.tick-ms:1000}") long tickMillis) {
+        this.holdRepository = holdRepository;
+        this.eventRepository = eventRepository;
+        this.inventoryLedger = inventoryLedger;
+        this.waitlistService = waitlistService;
+        this.transactionTemplate = transactionTemplate;
+        this.wheel = new TimingWheel<>(wheelSize, tickMillis, System.currentTimeMillis());
+    }
+
+    public void schedule(UUID holdId, OffsetDateTime expiresAt) {
+        wheel.schedule(holdId, expiresAt.toInstant().toEpochMilli());
+    }
+
+    public void cancel(UUID holdId) {
+        wheel.cancel(holdId);
+    }
+
+    // Deletes the hold and hands its seats to the waitlist first, as a cancellation does; only what nobody
+    // there took goes back on sale. False when the hold was already confirmed, released or expired by
+    // someone else.
+    public boolean release(UUID holdId) {
+        wheel.cancel(holdId);
+        Boolean released = transactionTemplate.execute(status -> {
+            BookingHold hold = holdRepository.findById(holdId).orElse(null);
+            if (hold == null || holdRepository.deleteHoldById(holdId) == 0) {
+                return false;
+            }
+            UUID eventId = hold.getEvent().getId();
+            int unclaimed = hold.getQuantity() - waitlistService.promote(hold.getEvent(), hold.getQuantity());
+            if (unclaimed == 0) {
+                return true;
+            }
+            if (inventoryLedger.isManaged(eventId)) {
+                AfterCommit.run(() -> inventoryLedger.cancelled(eventId, unclaimed));
+            } else if (eventRepository.releaseSeats(eventId, unclaimed) == 0) {
+                // the counter no longer covers the hold; rolling back keeps the hold so the mismatch shows
+                throw new IllegalStateException(
+                        "Event " + eventId + " does not count the " + unclaimed + " seats of hold " + holdId + ".");
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(released);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.holds.tick-ms:1000}")
+    public void expireDue() {
+        List<UUID> due = wheel.advance(System.currentTimeMillis());
+        int released = 0;
+        for (UUID holdId : due) {
+            try {
+                if (release(holdId)) {
+                    released++;
+                }
+            } catch (RuntimeException e) {
+                // retried on the next tick
+                log.error("Failed to expire hold {}: {}", holdId, e.getMessage());
+                wheel.schedule(holdId, System.currentTimeMillis());
+            }
+        }
+        if (released > 0) {
+            log.info("Expired {} seat holds", released);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOpenHolds() {
+        List<HoldDeadline> deadlines = holdRepository.findAllDeadlines();
+        deadlines.forEach(deadline -> schedule(deadline.getId(), deadline.getExpiresAt()));
+        log.info("Scheduled expiry for {} open seat holds", deadlines.size());
+    }
+
+    int scheduled() {
+        return wheel.size();
+    }
+}
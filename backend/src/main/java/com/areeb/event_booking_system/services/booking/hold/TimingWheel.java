@@ -0,0 +1,74 @@
+package com.areeb.event_booking_system.services.booking.hold;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Hashed timing wheel: a deadline is hashed to bucket (deadlineTick % size), so scheduling and
+// cancelling are O(1) and each tick only visits one bucket. Entries further away than one revolution
+// stay in their bucket until the wheel comes round to their tick. All operations hold the wheel's
+// monitor for O(1) work, or one bucket's worth when advancing.
+final class TimingWheel<K> {
+
+    private final long tickMillis;
+    private final List<Map<K, Long>> buckets;
+    private final Map<K, Integer> bucketOf = new HashMap<>();
+    private long currentTick;
+
+    TimingWheel(int size, long tickMillis, long startMillis) {
+        if (size <= 0 || tickMillis <= 0) {
+            throw new IllegalArgumentException("Wheel size and tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new HashMap<>());
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    // deadlines already in the past fire on the next tick
+    synchronized void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long deadlineTick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        int bucket = (int) (deadlineTick % buckets.size());
+        buckets.get(bucket).put(key, deadlineTick);
+        bucketOf.put(key, bucket);
+    }
+
+    synchronized boolean cancel(K key) {
+        Integer bucket = bucketOf.remove(key);
+        return bucket != null && buckets.get(bucket).remove(key) != null;
+    }
+
+    // Returns every key whose deadline is at or before nowMillis. A late caller catches up on the
+    // missed ticks, visiting each bucket at most once.
+    synchronized List<K> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<K> expired = new ArrayList<>();
+        long fromTick = Math.max(currentTick + 1, targetTick - buckets.size() + 1);
+        for (long tick = fromTick; tick <= targetTick; tick++) {
+            Iterator<Map.Entry<K, Long>> entries = buckets.get((int) (tick % buckets.size())).entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<K, Long> entry = entries.next();
+                if (entry.getValue() <= targetTick) {
+                    entries.remove();
+                    bucketOf.remove(entry.getKey());
+                    expired.add(entry.getKey());
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        return expired;
+    }
+
+    synchronized int size() {
+        return bucketOf.size();
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+}
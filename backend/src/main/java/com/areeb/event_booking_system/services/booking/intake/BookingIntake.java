@@ -0,0 +1,277 @@
+package com.areeb.event_booking_system.services.booking.intake;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import com.areeb.event_booking_system.dtos.booking.BookingDto;
+import com.areeb.event_booking_system.exceptions.ResourceNotFoundException;
+import com.areeb.event_booking_system.models.booking.Booking;
+import com.areeb.event_booking_system.models.user.User;
+import com.areeb.event_booking_system.repository.UserRepository;
+import com.areeb.event_booking_system.repository.booking.BookingRepository;
+import com.areeb.event_booking_system.services.LruTtlCache;
+import com.areeb.event_booking_system.services.booking.BookingService;
+import com.areeb.event_booking_system.services.waitlist.WaitlistNotifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Asynchronous intake for POST /api/bookings (booking.intake.mode=ASYNC). A request is appended to a
+// local memory-mapped log and acknowledged with 202 before any database work. One consumer thread per
+// shard of events applies the intents in order through BookingService, so bookings for the same event
+// never contend with each other on this node. Outcomes are logged as well; after a restart every
+// intent without one is applied again. A user holds at most one booking per event, so an intent whose
+// booking committed just before the crash resolves to that booking instead of being booked twice.
+@Service
+@Slf4j
+public class BookingIntake {
+
+    private static final String STATUS_PATH = "/api/bookings/intents/";
+
+    record Intent(UUID id, UUID userId, OffsetDateTime acceptedAt, BookingDto.CreateBookingRequest request) {
+    }
+
+    record Outcome(UUID userId, BookingDto.BookingIntentResponse response) {
+    }
+
+    private record Pending(Intent intent, long segment, boolean replayed) {
+    }
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final WaitlistNotifier notifier;
+    private final ObjectMapper objectMapper;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final IntentLog intentLog;
+    private final List<BlockingQueue<Pending>> shards = new ArrayList<>();
+    private final List<Thread> consumers = new ArrayList<>();
+    private final Map<UUID, Pending> pending = new ConcurrentHashMap<>();
+    // intents still to be applied per log segment; segments older than the oldest one listed are deleted
+    private final NavigableMap<Long, Integer> pendingPerSegment = new TreeMap<>();
+    private final LruTtlCache<UUID, Outcome> outcomes;
+
+    public BookingIntake(BookingService bookingService, BookingRepository bookingRepository,
+            UserRepository userRepository, WaitlistNotifier notifier, ObjectMapper objectMapper,
+            @Value("${booking.intake.mode:SYNC}") IntakeMode mode,
+            @Value("${booking.intake.log-dir:./data/booking-intents}") String logDirectory,
+            @Value("${booking.intake.segment-bytes:16777216}") int segmentBytes,
+            @Value("${booking.intake.shards:4}") int shardCount,
+            @Value("${booking.intake.max-attempts:5}") int maxAttempts,
+            @Value("${booking.intake.retry-backoff-ms:200}") long retryBackoffMillis,
+            @Value("${booking.intake.outcome-cache-size:100000}") int outcomeCacheSize,
+            @Value("${booking.intake.outcome-ttl:PT1H}") Duration outcomeTtl) throws IOException {
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.userRepository = userRepository;
+        this.notifier = notifier;
+        this.objectMapper = objectMapper;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.outcomes = new LruTtlCache<>(outcomeCacheSize, outcomeTtl.toMillis(), System::currentTimeMillis);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new LinkedBlockingQueue<>());
+        }
+        this.intentLog = mode == IntakeMode.ASYNC ? new IntentLog(Path.of(logDirectory), segmentBytes) : null;
+        if (intentLog != null) {
+            replay();
+        }
+    }
+
+    public boolean isEnabled() {
+        return intentLog != null;
+    }
+
+    public BookingDto.BookingIntentResponse submit(BookingDto.CreateBookingRequest request, User currentUser) {
+        Intent intent = new Intent(UUID.randomUUID(), currentUser.getId(), OffsetDateTime.now(), request);
+        long segment;
+        try {
+            synchronized (this) {
+                segment = intentLog.append(IntentLog.INTENT, objectMapper.writeValueAsBytes(intent));
+                pendingPerSegment.merge(segment, 1, Integer::sum);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not log the booking request", e);
+        }
+        Pending accepted = new Pending(intent, segment, false);
+        pending.put(intent.id(), accepted);
+        shard(intent).add(accepted);
+        return response(intent, BookingDto.IntentStatus.PENDING, null, null);
+    }
+
+    public BookingDto.BookingIntentResponse getStatus(UUID intentId, User currentUser) {
+        Pending waiting = pending.get(intentId);
+        if (waiting != null) {
+            ensureOwner(waiting.intent().userId(), currentUser);
+            return response(waiting.intent(), BookingDto.IntentStatus.PENDING, null, null);
+        }
+        Outcome outcome = outcomes.get(intentId);
+        if (outcome == null) {
+            throw new ResourceNotFoundException("Booking intent", "id", intentId);
+        }
+        ensureOwner(outcome.userId(), currentUser);
+        return outcome.response();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startConsumers() {
+        if (intentLog == null || !consumers.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < shards.size(); i++) {
+            BlockingQueue<Pending> queue = shards.get(i);
+            consumers.add(Thread.ofPlatform().name("booking-intake-" + i).daemon().start(() -> consume(queue)));
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        List<Thread> running;
+        synchronized (this) {
+            running = List.copyOf(consumers);
+        }
+        running.forEach(Thread::interrupt);
+        for (Thread consumer : running) {
+            consumer.join(5000);
+        }
+        if (intentLog != null) {
+            intentLog.close();
+        }
+    }
+
+    private void replay() throws IOException {
+        Map<UUID, Pending> unfinished = new LinkedHashMap<>();
+        for (IntentLog.Entry entry : intentLog.open()) {
+            if (entry.type() == IntentLog.INTENT) {
+                Intent intent = objectMapper.readValue(entry.payload(), Intent.class);
+                unfinished.put(intent.id(), new Pending(intent, entry.segment(), true));
+            } else {
+                Outcome outcome = objectMapper.readValue(entry.payload(), Outcome.class);
+                unfinished.remove(outcome.response().getIntentId());
+                outcomes.put(outcome.response().getIntentId(), outcome);
+            }
+        }
+        for (Pending replayed : unfinished.values()) {
+            pendingPerSegment.merge(replayed.segment(), 1, Integer::sum);
+            pending.put(replayed.intent().id(), replayed);
+            shard(replayed.intent()).add(replayed);
+        }
+        intentLog.deleteBefore(pendingPerSegment.isEmpty() ? Long.MAX_VALUE : pendingPerSegment.firstKey());
+        if (!unfinished.isEmpty()) {
+            log.info("Replaying {} booking intents from the intake log", unfinished.size());
+        }
+    }
+
+    private void consume(BlockingQueue<Pending> queue) {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                process(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Booking intake consumer failed", e);
+            }
+        }
+    }
+
+    private void process(Pending next) throws InterruptedException {
+        Intent intent = next.intent();
+        BookingDto.BookingIntentResponse response = apply(next);
+        Outcome outcome = new Outcome(intent.userId(), response);
+        outcomes.put(intent.id(), outcome);
+        pending.remove(intent.id());
+        try {
+            intentLog.append(IntentLog.OUTCOME, objectMapper.writeValueAsBytes(outcome));
+            settle(next.segment());
+        } catch (IOException e) {
+            log.error("Could not log the outcome of booking intent {}; it is applied again after a restart",
+                    intent.id(), e);
+        }
+        notifier.bookingProcessed(intent.userId(), response);
+    }
+
+    private BookingDto.BookingIntentResponse apply(Pending next) throws InterruptedException {
+        Intent intent = next.intent();
+        UUID eventId = intent.request().getEventId();
+        for (int attempt = 1;; attempt++) {
+            try {
+                // an earlier attempt may have committed before the failure that made us retry
+                if (next.replayed() || attempt > 1) {
+                    Optional<Booking> existing = bookingRepository.findByUserIdAndEventId(intent.userId(), eventId);
+                    if (existing.isPresent()) {
+                        return response(intent, BookingDto.IntentStatus.BOOKED, existing.get().getId(), null);
+                    }
+                }
+                User user = userRepository.findById(intent.userId())
+                        .orElseThrow(() -> new ResourceNotFoundException("User", "id", intent.userId()));
+                BookingDto.BookingResponse booking = bookingService.createBooking(intent.request(), user);
+                return response(intent, BookingDto.IntentStatus.BOOKED, booking.getId(), null);
+            } catch (TransientDataAccessException | CannotCreateTransactionException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("Giving up on booking intent {} after {} attempts: {}", intent.id(), attempt,
+                            e.getMessage());
+                    return response(intent, BookingDto.IntentStatus.REJECTED, null,
+                            "The booking could not be processed. Please try again.");
+                }
+                Thread.sleep(retryBackoffMillis * attempt);
+            } catch (RuntimeException e) {
+                return response(intent, BookingDto.IntentStatus.REJECTED, null, e.getMessage());
+            }
+        }
+    }
+
+    private synchronized void settle(long segment) throws IOException {
+        Integer remaining = pendingPerSegment.computeIfPresent(segment, (number, count) -> count == 1 ? null : count - 1);
+        if (remaining == null && segment < intentLog.currentSegment()) {
+            intentLog.deleteBefore(pendingPerSegment.isEmpty() ? Long.MAX_VALUE : pendingPerSegment.firstKey());
+        }
+    }
+
+    private BlockingQueue<Pending> shard(Intent intent) {
+        return shards.get(Math.floorMod(intent.request().getEventId().hashCode(), shards.size()));
+    }
+
+    private void ensureOwner(UUID userId, User currentUser) {
+        if (!userId.equals(currentUser.getId())) {
+            throw new AccessDeniedException("You are not authorized to view this booking request.");
+        }
+    }
+
+    private BookingDto.BookingIntentResponse response(Intent intent, BookingDto.IntentStatus status, UUID bookingId,
+            String message) {
+        return BookingDto.BookingIntentResponse.builder()
+                .intentId(intent.id())
+                .eventId(intent.request().getEventId())
+                .status(status)
+                .statusUrl(STATUS_PATH + intent.id())
+                .bookingId(bookingId)
+                .message(message)
+                .acceptedAt(intent.acceptedAt())
+                .processedAt(status == BookingDto.IntentStatus.PENDING ? null : OffsetDateTime.now())
+                .build();
+    }
+}
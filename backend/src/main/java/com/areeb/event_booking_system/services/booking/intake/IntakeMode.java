@@ -0,0 +1,8 @@
+package com.areeb.event_booking_system.services.booking.intake;
+
+public enum IntakeMode {
+    // POST /api/bookings books before it responds
+    SYNC,
+    // POST /api/bookings logs the request, answers 202 and books in the background
+    ASYNC
+}
@@ -0,0 +1,144 @@
+package com.areeb.event_booking_system.services.booking.intake;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// Append-only log of checksummed records spread over fixed-size memory-mapped segment files. Every
+// append is forced to disk before it returns. A record torn by a crash fails its checksum when the log
+// is reopened; reading stops there and the next append overwrites it.
+final class IntentLog implements Closeable {
+
+    static final byte INTENT = 1;
+    static final byte OUTCOME = 2;
+
+    // payload length, checksum, type
+    private static final int HEADER_BYTES = 9;
+    private static final String PREFIX = "intents-";
+    private static final String SUFFIX = ".log";
+
+    record Entry(long segment, byte type, byte[] payload) {
+    }
+
+    private final Path directory;
+    private final int segmentBytes;
+    private long segment;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    IntentLog(Path directory, int segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+    }
+
+    // Reads every intact record, oldest first, and positions the log after the last one.
+    synchronized List<Entry> open() throws IOException {
+        Files.createDirectories(directory);
+        List<Long> segments = segments();
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < segments.size() - 1; i++) {
+            read(ByteBuffer.wrap(Files.readAllBytes(file(segments.get(i)))), segments.get(i), entries);
+        }
+        segment = segments.isEmpty() ? 0 : segments.get(segments.size() - 1);
+        map(segment);
+        int end = read(buffer, segment, entries);
+        // clear whatever a torn append left behind so it cannot be mistaken for a record later
+        buffer.position(end);
+        buffer.put(new byte[buffer.remaining()]);
+        buffer.position(end);
+        return entries;
+    }
+
+    // Returns the segment the record was written to.
+    synchronized long append(byte type, byte[] payload) throws IOException {
+        int size = HEADER_BYTES + payload.length;
+        if (size > segmentBytes) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes does not fit in a segment.");
+        }
+        if (buffer.remaining() < size) {
+            buffer.force();
+            channel.close();
+            map(++segment);
+        }
+        int start = buffer.position();
+        buffer.putInt(payload.length).putInt(checksum(type, payload)).put(type).put(payload);
+        buffer.force(start, size);
+        return segment;
+    }
+
+    // Deletes every segment older than the given one; the segment being written is always kept.
+    synchronized void deleteBefore(long oldest) throws IOException {
+        for (long number : segments()) {
+            if (number < Math.min(oldest, segment)) {
+                Files.deleteIfExists(file(number));
+            }
+        }
+    }
+
+    synchronized long currentSegment() {
+        return segment;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            buffer.force();
+            channel.close();
+        }
+    }
+
+    private void map(long number) throws IOException {
+        channel = FileChannel.open(file(number), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+    }
+
+    private static int read(ByteBuffer source, long segment, List<Entry> entries) {
+        while (source.remaining() >= HEADER_BYTES) {
+            int start = source.position();
+            int length = source.getInt();
+            if (length <= 0 || length > source.remaining() - 5) {
+                return start;
+            }
+            int checksum = source.getInt();
+            byte type = source.get();
+            byte[] payload = new byte[length];
+            source.get(payload);
+            if (checksum(type, payload) != checksum) {
+                return start;
+            }
+            entries.add(new Entry(segment, type, payload));
+        }
+        return source.position();
+    }
+
+    private static int checksum(byte type, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(type);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name, PREFIX.length(), name.length() - SUFFIX.length(), 10))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path file(long number) {
+        return directory.resolve(String.format("%s%016d%s", PREFIX, number, SUFFIX));
+    }
+}
@@ -0,0 +1,261 @@
+package com.areeb.event_booking_system.services.booking.inventory;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.models.event.InventoryMode;
+import com.areeb.event_booking_system.repository.booking.BookingHoldRepository;
+import com.areeb.event_booking_system.repository.booking.BookingRepository;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// In-JVM capacity for events with InventoryMode.IN_MEMORY. Admission is a CAS on striped permits;
+// confirmed bookings, holds and cancellations accumulate as a pending delta that is flushed to
+// events.current_bookings_count in one JDBC batch. On the first load the row is reconciled from the bookings and
+// holds tables, which also repairs deltas lost in a crash. The ledger assumes a single application
+// node admits bookings for its managed events.
+@Component
+@Slf4j
+public class InventoryLedger {
+
+    private static final String FLUSH_SQL = "UPDATE events SET current_bookings_count = current_bookings_count + ?, "
+            + "version = version + 1, updated_at = now() WHERE id = ?";
+
+    private final Map<UUID, EventInventory> inventories = new ConcurrentHashMap<>();
+
+    private final EventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingHoldRepository holdRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int stripes;
+
+    public InventoryLedger(EventRepository eventRepository, BookingRepository bookingRepository,
+            BookingHoldRepository holdRepository, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            @Value("${booking.inventory.stripes:16}") int stripes) {
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+        this.holdRepository = holdRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.stripes = stripes;
+    }
+
+    public boolean isManaged(UUID eventId) {
+        return inventories.containsKey(eventId);
+    }
+
+    public boolean hasPassed(UUID eventId) {
+        EventInventory inventory = inventories.get(eventId);
+        return inventory != null && inventory.eventDate.isBefore(OffsetDateTime.now());
+    }
+
+    public boolean tryAcquire(UUID eventId, int seats) {
+        EventInventory inventory = inventories.get(eventId);
+        return inventory != null && inventory.permits.tryAcquire(seats);
+    }
+
+    // the booking row committed; count it towards the next flush
+    public void confirm(UUID eventId, int seats) {
+        EventInventory inventory = inventories.get(eventId);
+        if (inventory != null) {
+            inventory.pendingDelta.add(seats);
+        }
+    }
+
+    // the booking attempt failed after admission; hand the permits back
+    public void release(UUID eventId, int seats) {
+        EventInventory inventory = inventories.get(eventId);
+        if (inventory != null) {
+            inventory.giveBack(seats);
+        }
+    }
+
+    // a committed booking was removed
+    public void cancelled(UUID eventId, int seats) {
+        EventInventory inventory = inventories.get(eventId);
+        if (inventory != null) {
+            inventory.giveBack(seats);
+            inventory.pendingDelta.add(-seats);
+        }
+    }
+
+    public long available(UUID eventId) {
+        EventInventory inventory = inventories.get(eventId);
+        return inventory == null ? 0 : inventory.permits.available();
+    }
+
+    // Loads or drops the event depending on its current mode. Call after the change has committed.
+    public void sync(UUID eventId, InventoryMode mode) {
+        if (mode == InventoryMode.IN_MEMORY) {
+            load(eventId);
+        } else {
+            unload(eventId);
+        }
+    }
+
+    // Only the first load reconciles the counter from the bookings and holds tables. A reload keeps the
+    // instance it has: a booking that committed before the reload but confirms after it would otherwise be
+    // counted by the sum and again by its confirm, and in-flight permits would be handed to an instance
+    // that no longer tracks them. The reload only applies a capacity or date change.
+    public synchronized void load(UUID eventId) {
+        flush(eventId);
+        EventInventory current = inventories.get(eventId);
+        EventInventory inventory = transactionTemplate.execute(status -> {
+            Event event = eventRepository.findById(eventId).orElse(null);
+            // a pending ballot takes entries, not bookings; the draw loads the event afterwards.
+            // Seated events always book through their locked seat rows.
+            if (event == null || event.getInventoryMode() != InventoryMode.IN_MEMORY || event.getMaxCapacity() == null
+                    || event.isBallotPending() || event.isSeated()) {
+                return null;
+            }
+            if (current != null) {
+                current.resize(event.getMaxCapacity());
+                current.eventDate = event.getEventDate();
+                return current;
+            }
+            // open holds occupy seats just like bookings
+            int booked = (int) (bookingRepository.sumQuantityByEventId(eventId)
+                    + holdRepository.sumQuantityByEventId(eventId));
+            if (booked != event.getCurrentBookingsCount()) {
+                log.warn("Reconciled booking count for event {}: stored {}, actual {}", eventId,
+                        event.getCurrentBookingsCount(), booked);
+                event.setCurrentBookingsCount(booked);
+            }
+            long remaining = Math.max(0, event.getMaxCapacity() - booked);
+            return new EventInventory(new StripedPermits(remaining, stripes), event.getMaxCapacity(),
+                    event.getEventDate());
+        });
+        if (inventory == null) {
+            inventories.remove(eventId);
+            return;
+        }
+        inventories.put(eventId, inventory);
+        log.info("Event {} admitted from memory with {} remaining permits", eventId, inventory.permits.available());
+    }
+
+    public synchronized void unload(UUID eventId) {
+        flush(eventId);
+        if (inventories.remove(eventId) != null) {
+            log.info("Event {} no longer admitted from memory", eventId);
+        }
+    }
+
+    // the event row is gone, so there is nothing left to flush
+    public synchronized void discard(UUID eventId) {
+        inventories.remove(eventId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadManagedEvents() {
+        List<UUID> eventIds = eventRepository.findIdsByInventoryModeAndEventDateAfter(InventoryMode.IN_MEMORY,
+                OffsetDateTime.now());
+        eventIds.forEach(this::load);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.inventory.flush-interval-ms:500}")
+    @PreDestroy
+    public synchronized void flush() {
+        List<UUID> eventIds = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        inventories.forEach((eventId, inventory) -> {
+            long delta = inventory.unflushedDelta();
+            if (delta != 0) {
+                eventIds.add(eventId);
+                batch.add(new Object[] { delta, eventId });
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+        for (int i = 0; i < eventIds.size(); i++) {
+            inventories.get(eventIds.get(i)).markFlushed((long) batch.get(i)[0]);
+        }
+        log.debug("Flushed booking counters for {} in-memory events", batch.size());
+    }
+
+    private void flush(UUID eventId) {
+        EventInventory inventory = inventories.get(eventId);
+        if (inventory == null) {
+            return;
+        }
+        long delta = inventory.unflushedDelta();
+        if (delta != 0) {
+            jdbcTemplate.update(FLUSH_SQL, delta, eventId);
+            inventory.markFlushed(delta);
+        }
+    }
+
+    private static final class EventInventory {
+        private final StripedPermits permits;
+        private volatile OffsetDateTime eventDate;
+        private final LongAdder pendingDelta = new LongAdder();
+        // capacity the permits were sized for; only changed under the ledger monitor
+        private long capacity;
+        // permits a capacity cut could not take yet; returned permits pay it off before becoming available
+        private final AtomicLong owed = new AtomicLong();
+        // only touched by the flushing thread under the ledger monitor
+        private long flushedDelta;
+
+        private EventInventory(StripedPermits permits, long capacity, OffsetDateTime eventDate) {
+            this.permits = permits;
+            this.capacity = capacity;
+            this.eventDate = eventDate;
+        }
+
+        private void resize(long newCapacity) {
+            long change = newCapacity - capacity;
+            capacity = newCapacity;
+            if (change > 0) {
+                giveBack(change);
+            } else if (change < 0) {
+                owed.addAndGet(-change);
+                long left = owed.addAndGet(-permits.drain(-change));
+                // permits returned while draining already paid part of the cut
+                if (left < 0) {
+                    owed.addAndGet(-left);
+                    permits.release((int) -left);
+                }
+            }
+        }
+
+        private void giveBack(long seats) {
+            long debt;
+            long paid;
+            do {
+                debt = owed.get();
+                paid = Math.min(Math.max(debt, 0), seats);
+            } while (paid > 0 && !owed.compareAndSet(debt, debt - paid));
+            if (seats > paid) {
+                permits.release((int) (seats - paid));
+            }
+        }
+
+        // pendingDelta is never reset, so an update missed by this sum is picked up by the next flush
+        private long unflushedDelta() {
+            return pendingDelta.sum() - flushedDelta;
+        }
+
+        private void markFlushed(long delta) {
+            flushedDelta += delta;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.areeb.event_booking_system.services.booking.inventory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock-free counting semaphore split over several padded stripes, so concurrent bookers mostly
+// CAS on different cache lines instead of all hammering the same counter.
+final class StripedPermits {
+
+    // longs per 64-byte cache line; only every PADDING-th slot is used
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray slots;
+    private final int stripeCount;
+
+    StripedPermits(long permits, int requestedStripes) {
+        int stripes = Integer.highestOneBit(Math.max(1, requestedStripes));
+        this.stripeCount = stripes;
+        this.slots = new AtomicLongArray(stripes * PADDING);
+        long share = permits / stripes;
+        long remainder = permits % stripes;
+        for (int i = 0; i < stripes; i++) {
+            slots.set(i * PADDING, share + (i < remainder ? 1 : 0));
+        }
+    }
+
+    boolean tryAcquire(int permits) {
+        int home = homeStripe();
+        // fast path: one stripe can serve the whole request
+        for (int i = 0; i < stripeCount; i++) {
+            if (tryTake((home + i) & (stripeCount - 1), permits)) {
+                return true;
+            }
+        }
+        return permits > 1 && gather(home, permits);
+    }
+
+    void release(int permits) {
+        slots.addAndGet(homeStripe() * PADDING, permits);
+    }
+
+    // takes up to the given number of permits wherever they sit; returns how many were taken
+    long drain(long permits) {
+        long taken = 0;
+        for (int i = 0; i < stripeCount && taken < permits; i++) {
+            int slot = i * PADDING;
+            long current;
+            long grab;
+            do {
+                current = slots.get(slot);
+                grab = Math.min(current, permits - taken);
+            } while (grab > 0 && !slots.compareAndSet(slot, current, current - grab));
+            taken += Math.max(grab, 0);
+        }
+        return taken;
+    }
+
+    long available() {
+        long total = 0;
+        for (int i = 0; i < stripeCount; i++) {
+            total += slots.get(i * PADDING);
+        }
+        return total;
+    }
+
+    private boolean tryTake(int stripe, long permits) {
+        int slot = stripe * PADDING;
+        long current;
+        do {
+            current = slots.get(slot);
+            if (current < permits) {
+                return false;
+            }
+        } while (!slots.compareAndSet(slot, current, current - permits));
+        return true;
+    }
+
+    // slow path for multi-seat requests when the remaining permits are spread over several stripes
+    private boolean gather(int home, int permits) {
+        long[] taken = new long[stripeCount];
+        long remaining = permits;
+        for (int i = 0; i < stripeCount && remaining > 0; i++) {
+            int stripe = (home + i) & (stripeCount - 1);
+            int slot = stripe * PADDING;
+            long current;
+            long grab;
+            do {
+                current = slots.get(slot);
+                grab = Math.min(current, remaining);
+            } while (grab > 0 && !slots.compareAndSet(slot, current, current - grab));
+            taken[stripe] = Math.max(grab, 0);
+            remaining -= taken[stripe];
+        }
+        if (remaining == 0) {
+            return true;
+        }
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            if (taken[stripe] > 0) {
+                slots.addAndGet(stripe * PADDING, taken[stripe]);
+            }
+        }
+        return false;
+    }
+
+    private int homeStripe() {
+        long id = Thread.currentThread().threadId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 40) & (stripeCount - 1);
+    }
+}
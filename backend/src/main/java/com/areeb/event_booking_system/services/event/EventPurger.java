@@ -0,0 +1,53 @@
+package com.areeb.event_booking_system.services.event;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Removes events that deleteEvent only marked as deleted. Each chunk is its own auto-committed
+// statement, so a 20k-attendee event never holds one long transaction or its row locks; if the node
+// stops halfway the next run picks up where this one left off.
+@Component
+@Slf4j
+public class EventPurger {
+
+    // every table referencing events that can grow with attendance; the rest cascade with the row
+    private static final List<String> CHILD_TABLES = List.of("bookings", "booking_holds", "waitlist_entries",
+            "ballot_entries", "waiting_room_tickets");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+
+    public EventPurger(JdbcTemplate jdbcTemplate, @Value("${event.purge.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${event.purge.interval-ms:60000}")
+    public void purgeDeleted() {
+        List<UUID> eventIds = jdbcTemplate.queryForList("SELECT id FROM events WHERE deleted_at IS NOT NULL",
+                UUID.class);
+        eventIds.forEach(this::purge);
+    }
+
+    void purge(UUID eventId) {
+        long removed = 0;
+        for (String table : CHILD_TABLES) {
+            String chunkSql = "DELETE FROM " + table + " WHERE ctid IN (SELECT ctid FROM " + table
+                    + " WHERE event_id = ? LIMIT ?)";
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update(chunkSql, eventId, chunkSize);
+                removed += deleted;
+            } while (deleted == chunkSize);
+        }
+        jdbcTemplate.update("DELETE FROM events WHERE id = ? AND deleted_at IS NOT NULL", eventId);
+        log.info("Purged deleted event {} and {} dependent rows", eventId, removed);
+    }
+}
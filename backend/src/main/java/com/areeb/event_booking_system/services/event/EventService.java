@@ -1,12 +1,15 @@
 package com.areeb.event_booking_system.services.event;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.areeb.event_booking_system.dtos.BatchItem;
+import com.areeb.event_booking_system.dtos.CursorPage;
 import com.areeb.event_booking_system.dtos.event.EventDto;
 import com.areeb.event_booking_system.models.event.EventCategory;
 import com.areeb.event_booking_system.models.user.User;
@@ -20,9 +23,20 @@ public interface EventService {
 
     EventDto.EventResponse getEventById(UUID eventId);
 
+    EventDto.EventVersion getEventVersion(UUID eventId);
+
     Page<EventDto.EventResponse> getAllEvents(Pageable pageable);
 
     Page<EventDto.EventResponse> getEventsByCategory(EventCategory category, Pageable pageable);
 
+    CursorPage<EventDto.EventSummary> getEventsAfter(EventCategory category, String cursor, int size,
+            boolean includeTotal);
+
+    List<BatchItem<EventDto.EventResponse>> getEventsByIds(List<UUID> eventIds);
+
+    EventDto.ChangesResponse getEventChanges(String since, int size);
+
+    Page<EventDto.EventResponse> filterEvents(EventDto.EventFilter filter, Pageable pageable);
+
     EventDto.EventResponse updateEventImage(UUID eventId, MultipartFile imageFile, User currentUser) throws IOException;
 }
@@ -1,31 +1,56 @@
 package com.areeb.event_booking_system.services.event;
 
 import java.io.IOException;
+import java.time.OffsetDateTime;
 import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.areeb.event_booking_system.dtos.BatchItem;
+import com.areeb.event_booking_system.dtos.CursorPage;
 import com.areeb.event_booking_system.dtos.event.EventDto;
 import com.areeb.event_booking_system.dtos.event.EventDto.EventResponse;
 import com.areeb.event_booking_system.exceptions.ResourceNotFoundException;
 import com.areeb.event_booking_system.mappers.EventMapper;
 import com.areeb.event_booking_system.models.event.Event;
 import com.areeb.event_booking_system.models.event.EventCategory;
+import com.areeb.event_booking_system.models.event.InventoryMode;
 import com.areeb.event_booking_system.models.user.User;
 import com.areeb.event_booking_system.repository.UserRepository;
-import com.areeb.event_booking_system.repository.booking.BookingRepository;
 import com.areeb.event_booking_system.repository.event.EventRepository;
+import com.areeb.event_booking_system.repository.event.EventSummaryRow;
+import com.areeb.event_booking_system.repository.event.EventSpecifications;
+import com.areeb.event_booking_system.services.AfterCommit;
+import com.areeb.event_booking_system.services.BatchLookup;
 import com.areeb.event_booking_system.services.FileUploadService;
+import com.areeb.event_booking_system.services.KeysetCursor;
+import com.areeb.event_booking_system.services.booking.booked.BookedEventsCache;
+import com.areeb.event_booking_system.services.booking.inventory.InventoryLedger;
+import com.areeb.event_booking_system.services.event.catalog.EventCatalogCache;
+import com.areeb.event_booking_system.services.event.changes.EventChangeLog;
+import com.areeb.event_booking_system.services.event.suggest.EventSuggester;
+import com.areeb.event_booking_system.services.seating.SeatMapService;
+import com.areeb.event_booking_system.services.waitingroom.WaitingRoomService;
+import com.areeb.event_booking_system.services.waitlist.WaitlistService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,17 +61,36 @@ import lombok.extern.slf4j.Slf4j;
 public class EventServiceImpl implements EventService {
 
     private final EventRepository eventRepository;
-    private final BookingRepository bookingRepository;
+    private final BookedEventsCache bookedEvents;
     private final UserRepository userRepository;
     private final EventMapper eventMapper;
     private final FileUploadService fileUploadService;
+    private final InventoryLedger inventoryLedger;
+    private final WaitingRoomService waitingRoomService;
+    private final WaitlistService waitlistService;
+    private final SeatMapService seatMapService;
+    private final EventCatalogCache eventCatalog;
+    private final EventSuggester eventSuggester;
+    private final EventChangeLog eventChangeLog;
+
+    @Value("${event.purge.inline-limit:5000}")
+    private int purgeInlineLimit = 5000;
 
     @Override
     @Transactional
     public EventDto.EventResponse createEvent(EventDto.CreateEventRequest createEventRequest, User adminCreator) {
         log.info("Creating event: {} by admin: {}", createEventRequest.getName(), adminCreator.getUsername());
         Event event = eventMapper.createRequestToEvent(createEventRequest, adminCreator);
+        ensureBallotClosesBeforeEvent(event);
         Event savedEvent = eventRepository.save(event);
+        eventChangeLog.recordChange(savedEvent.getId());
+        invalidateCatalog(savedEvent);
+        if (savedEvent.getInventoryMode() == InventoryMode.IN_MEMORY) {
+            AfterCommit.run(() -> inventoryLedger.load(savedEvent.getId()));
+        }
+        if (savedEvent.getWaitingRoomRate() != null) {
+            AfterCommit.run(() -> waitingRoomService.sync(savedEvent.getId(), savedEvent.getWaitingRoomRate()));
+        }
         log.info("Event created successfully with id: {}", savedEvent.getId());
         return eventMapper.eventToEventResponse(savedEvent, false);
     }
@@ -59,12 +103,50 @@ public class EventServiceImpl implements EventService {
         Event existingEvent = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
 
+        InventoryMode previousMode = existingEvent.getInventoryMode();
+        Integer previousCapacity = existingEvent.getMaxCapacity();
+        Integer previousRate = existingEvent.getWaitingRoomRate();
+        boolean previouslyPending = existingEvent.isBallotPending();
+        if (updateEventRequest.getBallotClosesAt() != null && existingEvent.getBallotDrawnAt() != null) {
+            throw new IllegalArgumentException("The ballot for this event has already been drawn.");
+        }
+        if (existingEvent.isSeated() && (updateEventRequest.getInventoryMode() == InventoryMode.IN_MEMORY
+                || updateEventRequest.getBallotClosesAt() != null
+                || (updateEventRequest.getMaxCapacity() != null
+                        && !updateEventRequest.getMaxCapacity().equals(existingEvent.getMaxCapacity())))) {
+            throw new IllegalArgumentException(
+                    "Capacity of a seated event comes from its seat map and it cannot use in-memory inventory or a ballot.");
+        }
         eventMapper.updateEventFromRequest(updateEventRequest, existingEvent);
+        ensureBallotClosesBeforeEvent(existingEvent);
+        if (Integer.valueOf(0).equals(existingEvent.getWaitingRoomRate())) {
+            existingEvent.setWaitingRoomRate(null);
+        }
         Event updatedEvent = eventRepository.save(existingEvent);
+        eventChangeLog.recordChange(eventId);
+        invalidateCatalog(updatedEvent);
+        // pending ballots are never admitted from memory, so starting one unloads the event
+        if (updatedEvent.getInventoryMode() != previousMode
+                || (updatedEvent.getInventoryMode() == InventoryMode.IN_MEMORY
+                        && (!Objects.equals(updatedEvent.getMaxCapacity(), previousCapacity)
+                                || updatedEvent.isBallotPending() != previouslyPending))) {
+            InventoryMode mode = updatedEvent.getInventoryMode();
+            AfterCommit.run(() -> inventoryLedger.sync(eventId, mode));
+        }
+        if (!Objects.equals(updatedEvent.getWaitingRoomRate(), previousRate)) {
+            Integer rate = updatedEvent.getWaitingRoomRate();
+            AfterCommit.run(() -> waitingRoomService.sync(eventId, rate));
+        }
         log.info("Event updated successfully: {}", updatedEvent.getId());
         return mapEventToResponse(updatedEvent);
     }
 
+    private void ensureBallotClosesBeforeEvent(Event event) {
+        if (event.getBallotClosesAt() != null && !event.getBallotClosesAt().isBefore(event.getEventDate())) {
+            throw new IllegalArgumentException("Ballot must close before the event starts.");
+        }
+    }
+
     @Override
     @Transactional
     public void deleteEvent(UUID eventId, User currentUser) {
@@ -72,51 +154,156 @@ public class EventServiceImpl implements EventService {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
 
-        if (event.getImageUrl() != null && !event.getImageUrl().isBlank()) {
-            try {
-                fileUploadService.deleteFile(event.getImageUrl());
-            } catch (IOException e) {
-                log.error("Error deleting image for event {}: {}", eventId, e.getMessage());
-            }
+        if (event.getCurrentBookingsCount() > purgeInlineLimit) {
+            // too many rows for one transaction; EventPurger removes them in chunks
+            eventRepository.markDeleted(eventId, OffsetDateTime.now());
+        } else {
+            eventRepository.deleteEventById(eventId);
         }
+        eventChangeLog.recordDeletion(eventId);
 
-        bookingRepository.deleteByEventId(eventId);
-        eventRepository.deleteById(eventId);
+        String imageUrl = event.getImageUrl();
+        if (imageUrl != null && !imageUrl.isBlank()) {
+            AfterCommit.run(() -> {
+                try {
+                    fileUploadService.deleteFile(imageUrl);
+                } catch (IOException e) {
+                    log.error("Error deleting image for event {}: {}", eventId, e.getMessage());
+                }
+            });
+        }
+        AfterCommit.run(() -> eventCatalog.evict(eventId));
+        AfterCommit.run(() -> eventSuggester.remove(eventId));
+        AfterCommit.run(() -> inventoryLedger.discard(eventId));
+        AfterCommit.run(() -> waitingRoomService.sync(eventId, null));
+        AfterCommit.run(() -> waitlistService.discard(eventId));
+        AfterCommit.run(() -> seatMapService.discard(eventId));
         log.info("Event deleted successfully: {}", eventId);
     }
 
+    // Reads are served from the catalog cache, so a hit needs no transaction or connection.
     @Override
-    @Transactional(readOnly = true)
     public EventDto.EventResponse getEventById(UUID eventId) {
         log.debug("Fetching event by id: {}", eventId);
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
-        return mapEventToResponse(event);
+        EventResponse response = eventCatalog.getEvent(eventId, () -> eventRepository.findByIdWithAdminCreator(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId)));
+        response.setIsCurrentUserBooked(isCurrentUserBooked(eventId));
+        return response;
+    }
+
+    // One IN query for the whole list instead of a read per id; booked flags come from one lookup too
+    @Override
+    public List<BatchItem<EventResponse>> getEventsByIds(List<UUID> eventIds) {
+        log.debug("Fetching {} events by id", eventIds == null ? 0 : eventIds.size());
+        BatchLookup.checkIds(eventIds);
+        Map<UUID, EventResponse> found = eventRepository.findAllByIdWithAdminCreator(new LinkedHashSet<>(eventIds))
+                .stream()
+                .map(event -> eventMapper.eventToEventResponse(event, null))
+                .collect(Collectors.toMap(EventResponse::getId, Function.identity()));
+        Set<UUID> booked = bookedAmong(List.copyOf(found.keySet()));
+        found.values().forEach(response -> response.setIsCurrentUserBooked(booked.contains(response.getId())));
+        return BatchLookup.inRequestOrder(eventIds, found);
+    }
+
+    // Validators for a conditional read. A cached snapshot answers without mapping the event; otherwise the
+    // event is loaded into the cache, where the full read that follows a changed validator will find it.
+    @Override
+    public EventDto.EventVersion getEventVersion(UUID eventId) {
+        EventDto.EventVersion version = eventCatalog.getVersion(eventId)
+                .orElseGet(() -> versionOf(getEventById(eventId)));
+        version.setIsCurrentUserBooked(isCurrentUserBooked(eventId));
+        return version;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Page<EventDto.EventResponse> getAllEvents(Pageable pageable) {
         log.debug("Fetching all events: {}", pageable);
-        Page<Event> eventsPage = eventRepository.findAll(pageable);
-        java.util.List<EventResponse> eventResponses = eventsPage.getContent().stream()
-                .map(event -> mapEventToResponse(event))
-                .collect(Collectors.toList());
-        return new PageImpl<>(eventResponses, pageable, eventsPage.getTotalElements());
+        return withBookedFlags(eventCatalog.getPage(null, pageable, () -> eventRepository.findAll(pageable)));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Page<EventResponse> getEventsByCategory(EventCategory category, Pageable pageable) {
         log.debug("Fetching events by category: {} with page: {}", category, pageable);
         if (category == null) {
             return new PageImpl<>(Collections.emptyList(), pageable, 0);
         }
-        Page<Event> eventsPage = eventRepository.findByCategory(category, pageable);
-        java.util.List<EventResponse> eventResponses = eventsPage.getContent().stream()
-                .map(event -> mapEventToResponse(event))
-                .collect(Collectors.toList());
-        return new PageImpl<>(eventResponses, pageable, eventsPage.getTotalElements());
+        return withBookedFlags(
+                eventCatalog.getPage(category, pageable, () -> eventRepository.findByCategory(category, pageable)));
+    }
+
+    // Keyset pages in (eventDate, id) order: each page is an index range scan after the cursor, and the
+    // count only runs when the caller asks for a total. Rows are card columns only, never entities.
+    @Override
+    public CursorPage<EventDto.EventSummary> getEventsAfter(EventCategory category, String cursor, int size,
+            boolean includeTotal) {
+        log.debug("Fetching events after cursor {} in category {}", cursor, category);
+        KeysetCursor.checkPageSize(size);
+        // one extra row tells whether there is a next page
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<EventSummaryRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = category == null ? eventRepository.findSummariesOrderByEventDate(limit)
+                    : eventRepository.findSummariesByCategoryOrderByEventDate(category, limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = category == null
+                    ? eventRepository.findSummariesAfterOrderByEventDate(after.at(), after.id(), limit)
+                    : eventRepository.findSummariesAfterByCategoryOrderByEventDate(category, after.at(), after.id(),
+                            limit);
+        }
+        boolean hasMore = rows.size() > size;
+        List<EventSummaryRow> page = hasMore ? rows.subList(0, size) : rows;
+        List<EventDto.EventSummary> content = page.stream().map(eventMapper::eventSummaryRowToEventSummary)
+                .toList();
+        Set<UUID> booked = bookedAmong(content.stream().map(EventDto.EventSummary::getId).toList());
+        content.forEach(summary -> summary.setIsCurrentUserBooked(booked.contains(summary.getId())));
+
+        EventSummaryRow last = hasMore ? page.get(page.size() - 1) : null;
+        Long total = null;
+        if (includeTotal) {
+            total = category == null ? eventRepository.count() : eventRepository.countByCategory(category);
+        }
+        return CursorPage.<EventDto.EventSummary>builder()
+                .content(content)
+                .nextCursor(last == null ? null : new KeysetCursor(last.getEventDate(), last.getId()).encode())
+                .totalElements(total)
+                .build();
+    }
+
+    // Delta sync for clients that keep a local copy of the catalog. Booking counts move without a change
+    // record, so only the events in this page carry fresh counts.
+    @Override
+    @Transactional(readOnly = true)
+    public EventDto.ChangesResponse getEventChanges(String since, int size) {
+        log.debug("Fetching event changes since {}", since);
+        EventDto.ChangesResponse changes = eventChangeLog.changesSince(since, size);
+        Set<UUID> booked = bookedAmong(changes.getChanged().stream().map(EventResponse::getId).toList());
+        changes.getChanged().forEach(response -> response.setIsCurrentUserBooked(booked.contains(response.getId())));
+        return changes;
+    }
+
+    // Filter combinations are too many to cache, so these pages go to the database every time
+    @Override
+    public Page<EventResponse> filterEvents(EventDto.EventFilter filter, Pageable pageable) {
+        log.debug("Filtering events by {} with page: {}", filter, pageable);
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice().compareTo(filter.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("Minimum price cannot be greater than maximum price.");
+        }
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new IllegalArgumentException("The start of the date range must be before its end.");
+        }
+        Specification<Event> specification = Specification
+                .where(EventSpecifications.inCategories(filter.getCategories()))
+                .and(EventSpecifications.startsFrom(filter.getFrom()))
+                .and(EventSpecifications.startsBefore(filter.getTo()))
+                .and(EventSpecifications.upcoming(filter.isUpcomingOnly(), OffsetDateTime.now()))
+                .and(EventSpecifications.priceAtLeast(filter.getMinPrice()))
+                .and(EventSpecifications.priceAtMost(filter.getMaxPrice()))
+                .and(EventSpecifications.venueStartsWith(filter.getVenue()))
+                .and(EventSpecifications.hasSeatsAvailable(filter.isSeatsAvailable()));
+        return withBookedFlags(eventRepository.findAll(specification, pageable)
+                .map(event -> eventMapper.eventToEventResponse(event, null)));
     }
 
     @Override
@@ -148,6 +335,8 @@ public class EventServiceImpl implements EventService {
         }
 
         Event updatedEvent = eventRepository.save(event);
+        eventChangeLog.recordChange(eventId);
+        invalidateCatalog(updatedEvent);
         log.info("Event image updated successfully for event: {}", updatedEvent.getId());
 
         return mapEventToResponse(updatedEvent);
@@ -155,7 +344,7 @@ public class EventServiceImpl implements EventService {
 
     private boolean isCurrentUserBooked(UUID eventId) {
         return getCurrentUserId()
-                .map(userId -> bookingRepository.existsByUserIdAndEventId(userId, eventId))
+                .map(userId -> bookedEvents.isBooked(userId, eventId))
                 .orElse(false);
     }
 
@@ -171,8 +360,38 @@ public class EventServiceImpl implements EventService {
                                 .map(User::getId));
     }
 
+    private static EventDto.EventVersion versionOf(EventResponse response) {
+        return EventDto.EventVersion.builder()
+                .id(response.getId())
+                .version(response.getVersion())
+                .currentBookingsCount(response.getCurrentBookingsCount())
+                .updatedAt(response.getUpdatedAt())
+                .build();
+    }
+
     private EventResponse mapEventToResponse(Event event) {
         boolean isBooked = isCurrentUserBooked(event.getId());
         return eventMapper.eventToEventResponse(event, isBooked);
     }
+
+    // the principal is resolved once and the booked flags for the whole page come from one lookup
+    private Page<EventResponse> withBookedFlags(Page<EventResponse> eventsPage) {
+        Set<UUID> booked = bookedAmong(eventsPage.getContent().stream().map(EventResponse::getId).toList());
+        eventsPage.forEach(response -> response.setIsCurrentUserBooked(booked.contains(response.getId())));
+        return eventsPage;
+    }
+
+    private Set<UUID> bookedAmong(List<UUID> eventIds) {
+        return getCurrentUserId()
+                .map(userId -> bookedEvents.bookedAmong(userId, eventIds))
+                .orElse(Set.of());
+    }
+
+    // runs once the version bump has been flushed, so the cache sees the version that was written
+    private void invalidateCatalog(Event event) {
+        AfterCommit.run(() -> {
+            eventCatalog.invalidate(event.getId(), event.getVersion() == null ? 0 : event.getVersion());
+            eventSuggester.put(event);
+        });
+    }
 }
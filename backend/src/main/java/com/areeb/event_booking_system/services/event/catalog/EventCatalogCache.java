@@ -0,0 +1,238 @@
+package com.areeb.event_booking_system.services.event.catalog;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.areeb.event_booking_system.dtos.event.EventDto;
+import com.areeb.event_booking_system.mappers.EventMapper;
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.models.event.EventCategory;
+import com.areeb.event_booking_system.repository.event.EventCounter;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+import com.areeb.event_booking_system.services.LruTtlCache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+
+// Near-cache for event reads. Mapped EventResponse snapshots are kept per event id and per list page
+// (category, page, size, sort), without the per-user isCurrentUserBooked flag. Booking counts change
+// far more often than the rest of an event, so they are overlaid on every read from a separate map
+// with a time to live of about a second, refreshed for a whole page in one query.
+//
+// Writers on this node invalidate after commit with the version they wrote: older snapshots of the
+// event and every cached page are dropped, and loads that overlapped the write are not cached. The
+// snapshot time to live bounds how long a change made on another node can go unnoticed.
+//
+// Concurrent misses for the same event or page share one database load. A snapshot past its time to
+// live is still served for the stale-while-revalidate window while a single background refresh
+// replaces it, so a hot event expiring never sends its whole audience to the database at once.
+@Component
+public class EventCatalogCache implements MeterBinder {
+
+    private final EventRepository eventRepository;
+    private final EventMapper eventMapper;
+    private final TinyLfuCache<UUID, CachedEvent> events;
+    private final TinyLfuCache<PageKey, CachedPage> pages;
+    private final LruTtlCache<UUID, Counter> counters;
+    private final AtomicLong generation = new AtomicLong();
+    private final SingleFlight<UUID, CachedEvent> eventLoads = new SingleFlight<>();
+    private final SingleFlight<PageKey, CachedPage> pageLoads = new SingleFlight<>();
+    private final ThreadPoolExecutor refresher;
+
+    public EventCatalogCache(EventRepository eventRepository, EventMapper eventMapper,
+            @Value("${event.cache.max-events:10000}") int maxEvents,
+            @Value("${event.cache.max-pages:1000}") int maxPages,
+            @Value("${event.cache.ttl:PT5M}") Duration ttl,
+            @Value("${event.cache.stale-while-revalidate:PT30S}") Duration staleWhileRevalidate,
+            @Value("${event.cache.counters-ttl:PT1S}") Duration countersTtl,
+            @Value("${event.cache.refresh-threads:2}") int refreshThreads) {
+        this.eventRepository = eventRepository;
+        this.eventMapper = eventMapper;
+        this.events = new TinyLfuCache<>(maxEvents, ttl.toMillis(), staleWhileRevalidate.toMillis(),
+                System::currentTimeMillis);
+        this.pages = new TinyLfuCache<>(maxPages, ttl.toMillis(), staleWhileRevalidate.toMillis(),
+                System::currentTimeMillis);
+        this.counters = new LruTtlCache<>(maxEvents, countersTtl.toMillis(), System::currentTimeMillis);
+        this.refresher = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1000), Thread.ofPlatform().name("event-catalog-refresh-", 0).daemon().factory());
+    }
+
+    // a copy the caller may fill in; the loader runs on a miss and throws if the event does not exist
+    public EventDto.EventResponse getEvent(UUID eventId, Supplier<Event> loader) {
+        TinyLfuCache.Lookup<CachedEvent> cached = events.lookup(eventId);
+        if (cached != null) {
+            if (cached.stale()) {
+                eventLoads.loadAsync(eventId, () -> loadEvent(loader), refresher);
+            }
+            return withCounters(List.of(cached.value().response())).get(0);
+        }
+        return copy(eventLoads.load(eventId, () -> loadEvent(loader)).response(), null);
+    }
+
+    public Page<EventDto.EventResponse> getPage(EventCategory category, Pageable pageable,
+            Supplier<Page<Event>> loader) {
+        if (pageable.isUnpaged()) {
+            return loader.get().map(event -> copy(eventMapper.eventToEventResponse(event, null), null));
+        }
+        PageKey key = new PageKey(category, pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSort().toString());
+        TinyLfuCache.Lookup<CachedPage> cached = pages.lookup(key);
+        if (cached != null) {
+            if (cached.stale()) {
+                pageLoads.loadAsync(key, () -> loadPage(key, loader), refresher);
+            }
+            return new PageImpl<>(withCounters(cached.value().content()), pageable, cached.value().total());
+        }
+        CachedPage loaded = pageLoads.load(key, () -> loadPage(key, loader));
+        return new PageImpl<>(loaded.content().stream().map(response -> copy(response, null)).toList(), pageable,
+                loaded.total());
+    }
+
+    // validators of the cached snapshot with fresh counters, so a conditional read can be answered without
+    // loading or copying the event; empty when the snapshot is missing or stale
+    public Optional<EventDto.EventVersion> getVersion(UUID eventId) {
+        TinyLfuCache.Lookup<CachedEvent> cached = events.lookup(eventId);
+        if (cached == null || cached.stale()) {
+            return Optional.empty();
+        }
+        Counter counter = counters(List.of(eventId)).get(eventId);
+        if (counter == null) {
+            return Optional.empty();
+        }
+        return Optional.of(EventDto.EventVersion.builder()
+                .id(eventId)
+                .version(cached.value().response().getVersion())
+                .currentBookingsCount(counter.bookings())
+                .updatedAt(counter.updatedAt())
+                .build());
+    }
+
+    // the event was written at `version`; snapshots taken before that and all cached pages are dropped
+    public void invalidate(UUID eventId, long version) {
+        generation.incrementAndGet();
+        events.removeIf(eventId, cached -> cached.version() < version);
+        pages.clear();
+        counters.remove(eventId);
+    }
+
+    public void evict(UUID eventId) {
+        invalidate(eventId, Long.MAX_VALUE);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "events", events);
+        bind(registry, "pages", pages);
+    }
+
+    @PreDestroy
+    public void stop() {
+        refresher.shutdownNow();
+    }
+
+    private CachedEvent loadEvent(Supplier<Event> loader) {
+        long seen = generation.get();
+        return remember(loader.get(), seen);
+    }
+
+    private CachedPage loadPage(PageKey key, Supplier<Page<Event>> loader) {
+        long seen = generation.get();
+        Page<Event> page = loader.get();
+        List<EventDto.EventResponse> content = page.getContent().stream()
+                .map(event -> remember(event, seen).response())
+                .toList();
+        CachedPage loaded = new CachedPage(content, page.getTotalElements());
+        if (generation.get() == seen) {
+            pages.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    private CachedEvent remember(Event event, long seen) {
+        long version = event.getVersion() == null ? 0 : event.getVersion();
+        CachedEvent cached = new CachedEvent(eventMapper.eventToEventResponse(event, null), version);
+        counters.put(event.getId(), new Counter(event.getCurrentBookingsCount(), event.getUpdatedAt()));
+        if (generation.get() == seen) {
+            events.put(event.getId(), cached, existing -> existing.version() <= version);
+        }
+        return cached;
+    }
+
+    private List<EventDto.EventResponse> withCounters(List<EventDto.EventResponse> snapshots) {
+        Map<UUID, Counter> fresh = counters(snapshots.stream().map(EventDto.EventResponse::getId).toList());
+        return snapshots.stream().map(snapshot -> copy(snapshot, fresh.get(snapshot.getId()))).toList();
+    }
+
+    private Map<UUID, Counter> counters(List<UUID> eventIds) {
+        Map<UUID, Counter> fresh = new HashMap<>();
+        List<UUID> expired = new ArrayList<>();
+        for (UUID eventId : eventIds) {
+            Counter counter = counters.get(eventId);
+            if (counter == null) {
+                expired.add(eventId);
+            } else {
+                fresh.put(eventId, counter);
+            }
+        }
+        if (!expired.isEmpty()) {
+            for (EventCounter loaded : eventRepository.findCountersByIdIn(expired)) {
+                Counter counter = new Counter(loaded.getCurrentBookingsCount(), loaded.getUpdatedAt());
+                counters.put(loaded.getId(), counter);
+                fresh.put(loaded.getId(), counter);
+            }
+        }
+        return fresh;
+    }
+
+    // booking writes bump updated_at along with the count, so both are taken from the counter
+    private static EventDto.EventResponse copy(EventDto.EventResponse snapshot, Counter counter) {
+        EventDto.EventResponse.EventResponseBuilder builder = snapshot.toBuilder();
+        if (counter != null) {
+            builder.currentBookingsCount(counter.bookings()).updatedAt(counter.updatedAt());
+        }
+        return builder.build();
+    }
+
+    private static <K, V> void bind(MeterRegistry registry, String name, TinyLfuCache<K, V> cache) {
+        FunctionCounter.builder("event.catalog.cache.requests", cache, TinyLfuCache::hits)
+                .tag("cache", name).tag("result", "hit").register(registry);
+        FunctionCounter.builder("event.catalog.cache.requests", cache, TinyLfuCache::misses)
+                .tag("cache", name).tag("result", "miss").register(registry);
+        FunctionCounter.builder("event.catalog.cache.evictions", cache, TinyLfuCache::evictions)
+                .tag("cache", name).register(registry);
+        Gauge.builder("event.catalog.cache.size", cache, TinyLfuCache::size)
+                .tag("cache", name).register(registry);
+    }
+
+    private record Counter(Integer bookings, OffsetDateTime updatedAt) {
+    }
+
+    private record CachedEvent(EventDto.EventResponse response, long version) {
+    }
+
+    private record PageKey(EventCategory category, int page, int size, String sort) {
+    }
+
+    private record CachedPage(List<EventDto.EventResponse> content, long total) {
+    }
+}
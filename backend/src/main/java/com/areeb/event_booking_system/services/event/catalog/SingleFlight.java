@@ -0,0 +1,69 @@
+package com.areeb.event_booking_system.services.event.catalog;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+// Collapses concurrent loads of the same key into one: the first caller runs the loader and everyone
+// who asks for the key meanwhile waits for its result, or its exception, instead of loading again.
+final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            return await(running);
+        }
+        run(key, flight, loader);
+        return await(flight);
+    }
+
+    // starts a load on the executor unless one is already running for the key
+    void loadAsync(K key, Supplier<V> loader, Executor executor) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, flight) != null) {
+            return;
+        }
+        try {
+            executor.execute(() -> run(key, flight, loader));
+        } catch (RejectedExecutionException e) {
+            // refresh queue is full; the next stale hit tries again
+            inFlight.remove(key, flight);
+            flight.cancel(false);
+        }
+    }
+
+    boolean isLoading(K key) {
+        return inFlight.containsKey(key);
+    }
+
+    private void run(K key, CompletableFuture<V> flight, Supplier<V> loader) {
+        try {
+            flight.complete(loader.get());
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.areeb.event_booking_system.services.event.catalog;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+// Bounded cache with W-TinyLFU admission. New entries land in a small LRU window; whatever falls out
+// of the window only replaces the main region's LRU victim if the frequency sketch has seen it more
+// often, so a burst of one-off keys (a crawler paging through the catalog) cannot flush hot events.
+// Entries go stale after a fixed time to live and are dropped once they have also outlived the stale
+// window, during which callers may keep serving them while a refresh runs.
+final class TinyLfuCache<K, V> {
+
+    private final int windowCapacity;
+    private final int mainCapacity;
+    private final long ttlMillis;
+    private final long staleMillis;
+    private final LongSupplier clock;
+    private final FrequencySketch sketch;
+    private final LinkedHashMap<K, Entry<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Entry<V>> main = new LinkedHashMap<>(16, 0.75f, true);
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    TinyLfuCache(int maxEntries, long ttlMillis, LongSupplier clock) {
+        this(maxEntries, ttlMillis, 0, clock);
+    }
+
+    TinyLfuCache(int maxEntries, long ttlMillis, long staleMillis, LongSupplier clock) {
+        this.windowCapacity = Math.max(1, maxEntries / 100);
+        this.mainCapacity = Math.max(1, maxEntries - windowCapacity);
+        this.ttlMillis = ttlMillis;
+        this.staleMillis = staleMillis;
+        this.clock = clock;
+        this.sketch = new FrequencySketch(maxEntries);
+    }
+
+    synchronized V get(K key) {
+        Lookup<V> lookup = lookup(key);
+        return lookup == null ? null : lookup.value();
+    }
+
+    // null on a miss; a stale hit is still returned, flagged for refresh
+    synchronized Lookup<V> lookup(K key) {
+        sketch.increment(key);
+        Entry<V> entry = window.get(key);
+        if (entry == null) {
+            entry = main.get(key);
+        }
+        long now = clock.getAsLong();
+        if (entry == null || entry.staleAt + staleMillis <= now) {
+            if (entry != null) {
+                remove(key);
+            }
+            misses++;
+            return null;
+        }
+        hits++;
+        return new Lookup<>(entry.value, entry.staleAt <= now);
+    }
+
+    synchronized void put(K key, V value) {
+        put(key, value, existing -> true);
+    }
+
+    // an entry already cached for the key is only replaced when `replaces` accepts it
+    synchronized void put(K key, V value, Predicate<V> replaces) {
+        Entry<V> entry = new Entry<>(value, clock.getAsLong() + ttlMillis);
+        Map<K, Entry<V>> region = window.containsKey(key) ? window : main.containsKey(key) ? main : null;
+        if (region != null) {
+            if (replaces.test(region.get(key).value)) {
+                region.put(key, entry);
+            }
+            return;
+        }
+        window.put(key, entry);
+        if (window.size() > windowCapacity) {
+            admit(pollEldest(window));
+        }
+    }
+
+    synchronized void remove(K key) {
+        window.remove(key);
+        main.remove(key);
+    }
+
+    synchronized void removeIf(K key, Predicate<V> condition) {
+        window.computeIfPresent(key, (k, entry) -> condition.test(entry.value) ? null : entry);
+        main.computeIfPresent(key, (k, entry) -> condition.test(entry.value) ? null : entry);
+    }
+
+    synchronized void clear() {
+        window.clear();
+        main.clear();
+    }
+
+    synchronized int size() {
+        return window.size() + main.size();
+    }
+
+    synchronized long hits() {
+        return hits;
+    }
+
+    synchronized long misses() {
+        return misses;
+    }
+
+    synchronized long evictions() {
+        return evictions;
+    }
+
+    private void admit(Map.Entry<K, Entry<V>> candidate) {
+        if (main.size() < mainCapacity) {
+            main.put(candidate.getKey(), candidate.getValue());
+            return;
+        }
+        K victim = main.keySet().iterator().next();
+        if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim)) {
+            main.remove(victim);
+            main.put(candidate.getKey(), candidate.getValue());
+        }
+        evictions++;
+    }
+
+    private Map.Entry<K, Entry<V>> pollEldest(LinkedHashMap<K, Entry<V>> region) {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = region.entrySet().iterator();
+        Map.Entry<K, Entry<V>> eldest = iterator.next();
+        Map.Entry<K, Entry<V>> polled = Map.entry(eldest.getKey(), eldest.getValue());
+        iterator.remove();
+        return polled;
+    }
+
+    record Lookup<V>(V value, boolean stale) {
+    }
+
+    private record Entry<V>(V value, long staleAt) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.areeb.event_booking_system.services.event.changes;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.areeb.event_booking_system.dtos.event.EventDto;
+import com.areeb.event_booking_system.mappers.EventMapper;
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Change log behind the delta-sync feed. Catalog writes stamp the event with the id of the writing
+// transaction and deletions leave a tombstone stamped the same way. Transaction ids are not handed out in
+// commit order, so a reader only returns changes below the oldest transaction still running: those are
+// final, and everything committed later carries a higher id. Writers take no lock of their own, so they
+// only ever wait on the event rows they touch.
+@Component
+@Slf4j
+public class EventChangeLog {
+
+    static final int MAX_PAGE_SIZE = 500;
+
+    // tombstones outlive the tokens that may still need them by this much, covering writes in flight when
+    // a token was issued and clock differences between nodes
+    private static final Duration GRACE = Duration.ofHours(1);
+
+    // the oldest transaction still running; every change below it has committed or never will
+    static final String HORIZON_SQL = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text";
+    static final String CHANGED_SQL = "SELECT id, change_xid, false FROM events "
+            + "WHERE (change_xid, id) > (?::xid8, ?) AND change_xid < ?::xid8 AND deleted_at IS NULL "
+            + "ORDER BY change_xid, id LIMIT ?";
+    static final String CHANGED_OR_DELETED_SQL = "SELECT id, change_xid, deleted FROM ("
+            + "SELECT id, change_xid, false AS deleted FROM events "
+            + "WHERE (change_xid, id) > (?::xid8, ?) AND change_xid < ?::xid8 AND deleted_at IS NULL "
+            + "UNION ALL SELECT event_id, change_xid, true FROM event_tombstones "
+            + "WHERE (change_xid, event_id) > (?::xid8, ?) AND change_xid < ?::xid8) changes "
+            + "ORDER BY change_xid, id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventRepository eventRepository;
+    private final EventMapper eventMapper;
+    private final Duration retention;
+
+    public EventChangeLog(JdbcTemplate jdbcTemplate, EventRepository eventRepository, EventMapper eventMapper,
+            @Value("${event.changes.tombstone-retention:P30D}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventRepository = eventRepository;
+        this.eventMapper = eventMapper;
+        this.retention = retention;
+    }
+
+    // Must run inside the transaction that writes the event. A row not yet flushed is not touched here;
+    // its insert is stamped by the column default.
+    public void recordChange(UUID eventId) {
+        jdbcTemplate.update("UPDATE events SET change_xid = pg_current_xact_id() WHERE id = ?", eventId);
+    }
+
+    public void recordDeletion(UUID eventId) {
+        jdbcTemplate.update("INSERT INTO event_tombstones (event_id, change_xid, deleted_at) "
+                + "VALUES (?, pg_current_xact_id(), ?) ON CONFLICT (event_id) DO UPDATE "
+                + "SET change_xid = EXCLUDED.change_xid, deleted_at = EXCLUDED.deleted_at",
+                eventId, Timestamp.from(Instant.now()));
+    }
+
+    // Events created or updated and ids deleted after the token, oldest change first. Without a token the
+    // whole live catalog is listed and tombstones are skipped. A token older than the tombstone retention
+    // may have missed deletions that were compacted, so the client is told to start over instead.
+    public EventDto.ChangesResponse changesSince(String token, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        Instant now = Instant.now();
+        SyncToken since = token == null || token.isBlank() ? null : SyncToken.decode(token);
+        if (since != null && since.issuedAt().isBefore(now.minus(retention))) {
+            return EventDto.ChangesResponse.builder()
+                    .changed(List.of())
+                    .deleted(List.of())
+                    .resyncRequired(true)
+                    .build();
+        }
+        long afterXid = since == null ? 0 : since.xid();
+        UUID afterId = since == null ? SyncToken.NONE : since.eventId();
+        String horizon = jdbcTemplate.queryForObject(HORIZON_SQL, String.class);
+
+        // one extra row tells whether there is more after this page
+        List<Change> changes = since == null
+                ? jdbcTemplate.query(CHANGED_SQL, this::mapChange, Long.toString(afterXid), afterId, horizon,
+                        size + 1)
+                : jdbcTemplate.query(CHANGED_OR_DELETED_SQL, this::mapChange, Long.toString(afterXid), afterId,
+                        horizon, Long.toString(afterXid), afterId, horizon, size + 1);
+        boolean hasMore = changes.size() > size;
+        List<Change> page = hasMore ? changes.subList(0, size) : changes;
+
+        List<UUID> changedIds = page.stream().filter(change -> !change.deleted()).map(Change::eventId).toList();
+        Map<UUID, Event> events = eventRepository.findAllByIdWithAdminCreator(changedIds).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        Change last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return EventDto.ChangesResponse.builder()
+                // an event deleted since the ids were read is left to its tombstone on the next call
+                .changed(changedIds.stream().map(events::get).filter(Objects::nonNull)
+                        .map(event -> eventMapper.eventToEventResponse(event, null)).toList())
+                .deleted(page.stream().filter(Change::deleted).map(Change::eventId).toList())
+                .nextToken(last == null ? new SyncToken(afterXid, afterId, now).encode()
+                        : new SyncToken(last.xid(), last.eventId(), now).encode())
+                .hasMore(hasMore)
+                .resyncRequired(false)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${event.changes.compact-interval-ms:3600000}")
+    public void compact() {
+        Instant cutoff = Instant.now().minus(retention).minus(GRACE);
+        int removed = jdbcTemplate.update("DELETE FROM event_tombstones WHERE deleted_at < ?",
+                Timestamp.from(cutoff));
+        if (removed > 0) {
+            log.info("Compacted {} event tombstones older than {}", removed, cutoff);
+        }
+    }
+
+    private Change mapChange(ResultSet rs, int rowNum) throws SQLException {
+        return new Change(rs.getObject(1, UUID.class), Long.parseLong(rs.getString(2)), rs.getBoolean(3));
+    }
+
+    record Change(UUID eventId, long xid, boolean deleted) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.areeb.event_booking_system.services.event.changes;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+// Where a client's copy of the catalog ends: the (transaction id, event id) of the last change it has
+// seen and when the token was handed out, packed into an opaque url-safe token.
+record SyncToken(long xid, UUID eventId, Instant issuedAt) {
+
+    static final UUID NONE = new UUID(0, 0);
+
+    private static final int BYTES = 4 * Long.BYTES;
+
+    String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(BYTES)
+                .putLong(xid)
+                .putLong(eventId.getMostSignificantBits())
+                .putLong(eventId.getLeastSignificantBits())
+                .putLong(issuedAt.toEpochMilli());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    static SyncToken decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sync token.");
+        }
+        if (bytes.length != BYTES) {
+            throw new IllegalArgumentException("Invalid sync token.");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long xid = buffer.getLong();
+        UUID eventId = new UUID(buffer.getLong(), buffer.getLong());
+        long issuedAt = buffer.getLong();
+        if (xid < 0) {
+            throw new IllegalArgumentException("Invalid sync token.");
+        }
+        return new SyncToken(xid, eventId, Instant.ofEpochMilli(issuedAt));
+    }
+}
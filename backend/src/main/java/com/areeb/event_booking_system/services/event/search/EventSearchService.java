@@ -0,0 +1,105 @@
+package com.areeb.event_booking_system.services.event.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.areeb.event_booking_system.dtos.event.EventDto;
+import com.areeb.event_booking_system.mappers.EventMapper;
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.models.user.User;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+import com.areeb.event_booking_system.repository.event.EventSearchRow;
+import com.areeb.event_booking_system.services.booking.booked.BookedEventsCache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Full-text event search over the generated search_vector column. The text is reduced to its letters
+// and digits and every term is matched as a prefix, so "jaz fest" finds "Jazz Festival". Pages continue
+// from an opaque (rank, id) cursor instead of an offset, so the tenth page costs what the first does.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventSearchService {
+
+    static final int MAX_TERMS = 8;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final EventRepository eventRepository;
+    private final EventMapper eventMapper;
+    private final BookedEventsCache bookedEvents;
+
+    @Transactional(readOnly = true)
+    public EventDto.SearchResponse search(String text, String cursor, int size, User currentUser) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        String query = toTsQuery(text);
+        log.debug("Searching events for: {}", query);
+
+        // one extra row tells whether there is a next page
+        List<EventSearchRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = eventRepository.search(query, size + 1);
+        } else {
+            SearchCursor after = SearchCursor.decode(cursor);
+            rows = eventRepository.searchAfter(query, after.rank(), after.id(), size + 1);
+        }
+        boolean hasMore = rows.size() > size;
+        List<EventSearchRow> page = hasMore ? rows.subList(0, size) : rows;
+
+        Map<UUID, Event> events = eventRepository
+                .findAllByIdWithAdminCreator(page.stream().map(EventSearchRow::getId).toList()).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        // anonymous searches leave the booked flags false
+        Set<UUID> booked = currentUser == null ? Set.of()
+                : bookedEvents.bookedAmong(currentUser.getId(), events.keySet());
+        List<EventDto.SearchHit> hits = page.stream()
+                .filter(row -> events.containsKey(row.getId()))
+                .map(row -> EventDto.SearchHit.builder()
+                        .event(bookedResponse(events.get(row.getId()), booked))
+                        .rank(row.getRank())
+                        .highlightedName(row.getHighlightedName())
+                        .highlightedVenue(row.getHighlightedVenue())
+                        .snippet(row.getSnippet())
+                        .build())
+                .toList();
+
+        EventSearchRow last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return EventDto.SearchResponse.builder()
+                .hits(hits)
+                .nextCursor(hasMore ? new SearchCursor(last.getRank(), last.getId()).encode() : null)
+                .build();
+    }
+
+    private EventDto.EventResponse bookedResponse(Event event, Set<UUID> booked) {
+        EventDto.EventResponse response = eventMapper.eventToEventResponse(event, null);
+        response.setIsCurrentUserBooked(booked.contains(event.getId()));
+        return response;
+    }
+
+    // "Jazz-fest 2026" becomes "jazz:* & fest:* & 2026:*"; only letters and digits reach to_tsquery
+    static String toTsQuery(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Search text must contain a letter or digit.");
+        }
+        List<String> terms = Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .limit(MAX_TERMS)
+                .toList();
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search text must contain a letter or digit.");
+        }
+        return terms.stream().map(term -> term + ":*").collect(Collectors.joining(" & "));
+    }
+}
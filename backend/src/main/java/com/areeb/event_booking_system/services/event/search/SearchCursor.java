@@ -0,0 +1,33 @@
+package com.areeb.event_booking_system.services.event.search;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+// Position after the last hit of a search page: its rank and id, packed into an opaque url-safe token.
+record SearchCursor(float rank, UUID id) {
+
+    private static final int BYTES = Float.BYTES + 2 * Long.BYTES;
+
+    String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(BYTES)
+                .putFloat(rank)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    static SearchCursor decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid search cursor.");
+        }
+        if (bytes.length != BYTES) {
+            throw new IllegalArgumentException("Invalid search cursor.");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new SearchCursor(buffer.getFloat(), new UUID(buffer.getLong(), buffer.getLong()));
+    }
+}
@@ -0,0 +1,95 @@
+package com.areeb.event_booking_system.services.event.suggest;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.areeb.event_booking_system.dtos.event.EventDto;
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+import com.areeb.event_booking_system.repository.event.EventSuggestionRow;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Typeahead over upcoming events, answered from memory without touching the database. Event writes on
+// this node update the index after commit; a periodic rebuild picks up writes made on other nodes,
+// fresh booking counts for the popularity ranking, and drops events that have started.
+@Component
+@Slf4j
+public class EventSuggester {
+
+    static final int MAX_LIMIT = 20;
+
+    private final EventRepository eventRepository;
+    private final int maxScan;
+    private volatile PrefixIndex index;
+    // writes made while a rebuild is loading, replayed onto the rebuilt index; null when not rebuilding
+    private Map<UUID, PrefixIndex.Entry> pending;
+
+    public EventSuggester(EventRepository eventRepository, @Value("${event.suggest.max-scan:2000}") int maxScan) {
+        this.eventRepository = eventRepository;
+        this.maxScan = maxScan;
+        this.index = new PrefixIndex(maxScan);
+    }
+
+    public List<EventDto.Suggestion> suggest(String prefix, int limit) {
+        return index.suggest(prefix, Math.min(limit, MAX_LIMIT), OffsetDateTime.now());
+    }
+
+    public synchronized void put(Event event) {
+        PrefixIndex.Entry entry = new PrefixIndex.Entry(event.getId(), event.getName(), event.getVenue(),
+                event.getCategory(), event.getEventDate(), event.getCurrentBookingsCount());
+        index.put(entry);
+        if (pending != null) {
+            pending.put(entry.id(), entry);
+        }
+    }
+
+    public synchronized void remove(UUID eventId) {
+        index.remove(eventId);
+        if (pending != null) {
+            pending.put(eventId, null);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${event.suggest.rebuild-interval-ms:300000}",
+            fixedDelayString = "${event.suggest.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        synchronized (this) {
+            pending = new HashMap<>();
+        }
+        PrefixIndex rebuilt = new PrefixIndex(maxScan);
+        try {
+            for (EventSuggestionRow row : eventRepository.findSuggestionRowsByEventDateAfter(OffsetDateTime.now())) {
+                rebuilt.put(new PrefixIndex.Entry(row.getId(), row.getName(), row.getVenue(), row.getCategory(),
+                        row.getEventDate(), row.getCurrentBookingsCount()));
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pending = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            pending.forEach((eventId, entry) -> {
+                if (entry == null) {
+                    rebuilt.remove(eventId);
+                } else {
+                    rebuilt.put(entry);
+                }
+            });
+            pending = null;
+            index = rebuilt;
+        }
+        log.debug("Rebuilt the event suggestion index with {} events", rebuilt.size());
+    }
+}
@@ -0,0 +1,148 @@
+package com.areeb.event_booking_system.services.event.suggest;
+
+import java.text.Normalizer;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+import com.areeb.event_booking_system.dtos.event.EventDto;
+import com.areeb.event_booking_system.models.event.EventCategory;
+
+// Sorted prefix index over event names, venues and categories. Every word of a field starts a key
+// made of the normalized field from that word on, so "fest" and "jazz fe" both find "Jazz Festival";
+// a prefix query is a range scan over the sorted keys. Readers never lock; put and remove keep the
+// keys of one event consistent and are serialized by the caller.
+final class PrefixIndex {
+
+    private static final char SEPARATOR = '\u0000';
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    // most booked first, then soonest
+    private static final Comparator<Entry> RANKING = Comparator.comparingInt(Entry::bookings).reversed()
+            .thenComparing(Entry::eventDate);
+
+    private final NavigableSet<String> keys = new ConcurrentSkipListSet<>();
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxScan;
+
+    PrefixIndex(int maxScan) {
+        this.maxScan = maxScan;
+    }
+
+    record Entry(UUID id, String name, String venue, EventCategory category, OffsetDateTime eventDate,
+            int bookings) {
+    }
+
+    void put(Entry entry) {
+        Entry previous = entries.put(entry.id(), entry);
+        Set<String> current = keysOf(entry);
+        keys.addAll(current);
+        if (previous != null) {
+            for (String key : keysOf(previous)) {
+                if (!current.contains(key)) {
+                    keys.remove(key);
+                }
+            }
+        }
+    }
+
+    void remove(UUID eventId) {
+        Entry previous = entries.remove(eventId);
+        if (previous != null) {
+            keys.removeAll(keysOf(previous));
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // At most maxScan keys are looked at, so a one-letter prefix stays as cheap as a long one; ranking
+    // is exact whenever the prefix matches fewer keys than that.
+    List<EventDto.Suggestion> suggest(String prefix, int limit, OffsetDateTime now) {
+        String from = normalize(prefix);
+        if (from.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Map<String, Match> matches = new HashMap<>();
+        int scanned = 0;
+        for (String key : keys.subSet(from, true, from + Character.MAX_VALUE, false)) {
+            if (++scanned > maxScan) {
+                break;
+            }
+            int kindAt = key.indexOf(SEPARATOR);
+            EventDto.SuggestionType type = EventDto.SuggestionType.values()[key.charAt(kindAt + 1) - '0'];
+            Entry entry = entries.get(UUID.fromString(key.substring(kindAt + 3)));
+            if (entry == null || !entry.eventDate().isAfter(now)) {
+                continue;
+            }
+            String text = switch (type) {
+                case EVENT -> entry.name();
+                case VENUE -> entry.venue();
+                case CATEGORY -> entry.category().name();
+            };
+            // one suggestion per event, and one per distinct venue or category carried by its best event
+            String group = type == EventDto.SuggestionType.EVENT ? entry.id().toString()
+                    : type.name() + SEPARATOR + normalize(text);
+            matches.merge(group, new Match(type, text, entry),
+                    (kept, offered) -> RANKING.compare(offered.entry(), kept.entry()) < 0 ? offered : kept);
+        }
+        List<Match> ranked = new ArrayList<>(matches.values());
+        ranked.sort(Comparator.comparing(Match::entry, RANKING));
+        return ranked.stream().limit(limit).map(Match::toSuggestion).toList();
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return String.join(" ", words(folded.toLowerCase(Locale.ROOT)));
+    }
+
+    private static Set<String> keysOf(Entry entry) {
+        Set<String> keys = new HashSet<>();
+        addKeys(keys, entry.name(), EventDto.SuggestionType.EVENT, entry.id());
+        addKeys(keys, entry.venue(), EventDto.SuggestionType.VENUE, entry.id());
+        if (entry.category() != null) {
+            addKeys(keys, entry.category().name(), EventDto.SuggestionType.CATEGORY, entry.id());
+        }
+        return keys;
+    }
+
+    private static void addKeys(Set<String> keys, String field, EventDto.SuggestionType type, UUID id) {
+        List<String> words = words(normalize(field));
+        String suffix = String.valueOf(SEPARATOR) + (char) ('0' + type.ordinal()) + SEPARATOR + id;
+        for (int i = 0; i < words.size(); i++) {
+            keys.add(String.join(" ", words.subList(i, words.size())) + suffix);
+        }
+    }
+
+    private static List<String> words(String text) {
+        return Arrays.stream(NON_WORD.split(text)).filter(word -> !word.isEmpty()).toList();
+    }
+
+    private record Match(EventDto.SuggestionType type, String text, Entry entry) {
+
+        EventDto.Suggestion toSuggestion() {
+            EventDto.Suggestion.SuggestionBuilder builder = EventDto.Suggestion.builder().type(type).text(text);
+            if (type == EventDto.SuggestionType.EVENT) {
+                builder.eventId(entry.id()).eventDate(entry.eventDate());
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.areeb.event_booking_system.services.idempotency;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.areeb.event_booking_system.services.LruTtlCache;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Remembers the outcome of requests sent with an Idempotency-Key. Recent responses are served from a
+// bounded in-memory LRU; the idempotency_keys table makes them survive restarts and visible to other
+// nodes. A duplicate that arrives while the first request is still running waits for its result: on
+// this node through a shared future, across nodes by polling the row.
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    private static final String CLAIM_SQL = """
+            INSERT INTO idempotency_keys (idempotency_key, fingerprint, created_at, expires_at)
+            VALUES (?, ?, now(), ?)
+            ON CONFLICT (idempotency_key) DO UPDATE
+            SET fingerprint = EXCLUDED.fingerprint, created_at = now(), expires_at = EXCLUDED.expires_at,
+                status_code = NULL, content_type = NULL, body = NULL
+            WHERE idempotency_keys.expires_at < now()
+               OR (idempotency_keys.status_code IS NULL AND idempotency_keys.created_at < ?)
+            RETURNING idempotency_key
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LruTtlCache<String, StoredResponse> cache;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Duration abandonAfter;
+    private final long pollMillis;
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate,
+            @Value("${idempotency.cache-size:10000}") int cacheSize,
+            @Value("${idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${idempotency.wait-timeout:PT10S}") Duration waitTimeout,
+            @Value("${idempotency.abandon-after:PT1M}") Duration abandonAfter,
+            @Value("${idempotency.poll-ms:100}") long pollMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cache = new LruTtlCache<>(cacheSize, ttl.toMillis(), System::currentTimeMillis);
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.abandonAfter = abandonAfter;
+        this.pollMillis = pollMillis;
+    }
+
+    // Returns the stored response to replay, or empty when the caller now owns the key and must
+    // finish with complete() or abandon().
+    public Optional<StoredResponse> begin(String key, String fingerprint) throws InterruptedException {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            StoredResponse cached = cache.get(key);
+            if (cached != null) {
+                return Optional.of(matching(cached, fingerprint));
+            }
+
+            CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, mine);
+            if (running != null) {
+                StoredResponse response = await(running, deadline);
+                if (response != null) {
+                    return Optional.of(matching(response, fingerprint));
+                }
+                // the first request failed without a result; compete for the key again
+                continue;
+            }
+
+            Optional<StoredResponse> stored;
+            try {
+                if (claim(key, fingerprint)) {
+                    return Optional.empty();
+                }
+                stored = find(key);
+            } catch (RuntimeException e) {
+                inFlight.remove(key, mine);
+                mine.complete(null);
+                throw e;
+            }
+            inFlight.remove(key, mine);
+            if (stored.isPresent()) {
+                cache.put(key, stored.get());
+                mine.complete(stored.get());
+                return Optional.of(matching(stored.get(), fingerprint));
+            }
+            // still running on another node
+            mine.complete(null);
+            if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pollMillis) > deadline) {
+                throw inProgress();
+            }
+            Thread.sleep(pollMillis);
+        }
+    }
+
+    public void complete(String key, StoredResponse response) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET status_code = ?, content_type = ?, body = ? "
+                + "WHERE idempotency_key = ?", response.status(), response.contentType(), response.body(), key);
+        cache.put(key, response);
+        CompletableFuture<StoredResponse> waiting = inFlight.remove(key);
+        if (waiting != null) {
+            waiting.complete(response);
+        }
+    }
+
+    // nothing worth replaying (server error or exception); the next attempt runs for real
+    public void abandon(String key) {
+        try {
+            jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ? AND status_code IS NULL", key);
+        } finally {
+            CompletableFuture<StoredResponse> waiting = inFlight.remove(key);
+            if (waiting != null) {
+                waiting.complete(null);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < now()");
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private boolean claim(String key, String fingerprint) {
+        Instant now = Instant.now();
+        List<String> claimed = jdbcTemplate.queryForList(CLAIM_SQL, String.class, key, fingerprint,
+                Timestamp.from(now.plus(ttl)), Timestamp.from(now.minus(abandonAfter)));
+        return !claimed.isEmpty();
+    }
+
+    private Optional<StoredResponse> find(String key) {
+        List<StoredResponse> rows = jdbcTemplate.query(
+                "SELECT fingerprint, status_code, content_type, body FROM idempotency_keys "
+                        + "WHERE idempotency_key = ? AND status_code IS NOT NULL AND expires_at > now()",
+                (rs, rowNum) -> new StoredResponse(rs.getString("fingerprint"), rs.getInt("status_code"),
+                        rs.getString("content_type"), rs.getBytes("body")),
+                key);
+        return rows.stream().findFirst();
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running, long deadline)
+            throws InterruptedException {
+        try {
+            return running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw inProgress();
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private StoredResponse matching(StoredResponse response, String fingerprint) {
+        if (!response.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyConflictException(
+                    "Idempotency-Key was already used for a different request.", HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        return response;
+    }
+
+    private IdempotencyConflictException inProgress() {
+        return new IdempotencyConflictException(
+                "A request with this Idempotency-Key is still being processed. Retry later.", HttpStatus.CONFLICT);
+    }
+}
@@ -0,0 +1,4 @@
+package com.areeb.event_booking_system.services.idempotency;
+
+public record StoredResponse(String fingerprint, int status, String contentType, byte[] body) {
+}
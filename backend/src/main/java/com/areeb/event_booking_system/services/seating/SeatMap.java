@@ -0,0 +1,47 @@
+package com.areeb.event_booking_system.services.seating;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.areeb.event_booking_system.dtos.seating.SeatMapDto;
+
+// Rows of one event, best first. Used for availability and best-available suggestions only; the
+// seat_rows table stays authoritative and every reservation is checked against it.
+final class SeatMap {
+
+    private final Map<String, SeatRow> rows = new LinkedHashMap<>();
+
+    SeatMap(List<SeatRow> rows) {
+        rows.forEach(row -> this.rows.put(key(row.section(), row.label()), row));
+    }
+
+    static String key(String section, String row) {
+        return section + '\u0000' + row;
+    }
+
+    SeatRow row(String section, String row) {
+        return rows.get(key(section, row));
+    }
+
+    List<SeatRow> rows() {
+        return List.copyOf(rows.values());
+    }
+
+    // The frontmost row that fits `count` adjacent seats, centred within it; empty when none does.
+    List<SeatMapDto.SeatRef> bestAvailable(int count) {
+        for (SeatRow row : rows.values()) {
+            int start = row.bestRun(count);
+            if (start >= 0) {
+                List<SeatMapDto.SeatRef> seats = new ArrayList<>(count);
+                for (int i = start; i < start + count; i++) {
+                    seats.add(SeatMapDto.SeatRef.builder().section(row.section()).row(row.label()).seat(i + 1).build());
+                }
+                return seats;
+            }
+        }
+        return Collections.emptyList();
+    }
+}
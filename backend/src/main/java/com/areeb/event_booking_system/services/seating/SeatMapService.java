@@ -0,0 +1,285 @@
+package com.areeb.event_booking_system.services.seating;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.areeb.event_booking_system.dtos.seating.SeatMapDto;
+import com.areeb.event_booking_system.exceptions.ResourceNotFoundException;
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.models.event.InventoryMode;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+import com.areeb.event_booking_system.services.AfterCommit;
+import com.areeb.event_booking_system.services.event.catalog.EventCatalogCache;
+import com.areeb.event_booking_system.services.event.changes.EventChangeLog;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Assigned seating. Each row's availability is a bitset, kept in memory for rendering and
+// best-available search and persisted as bytea in seat_rows. Reservations lock only the rows they
+// touch (in key order, so concurrent bookers cannot deadlock) and re-check the bits stored there.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatMapService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventRepository eventRepository;
+    private final EventCatalogCache eventCatalog;
+    private final EventChangeLog eventChangeLog;
+    private final Map<UUID, SeatMap> maps = new ConcurrentHashMap<>();
+
+    @Value("${booking.max-quantity:10}")
+    private int maxQuantity = 10;
+
+    public boolean isSeated(UUID eventId) {
+        return maps.containsKey(eventId);
+    }
+
+    @Transactional
+    public SeatMapDto.SeatMapResponse createSeatMap(UUID eventId, SeatMapDto.CreateSeatMapRequest request) {
+        Event event = eventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        if (event.getCurrentBookingsCount() > 0) {
+            throw new IllegalArgumentException("Seats can only be laid out before the first booking.");
+        }
+        if (event.getInventoryMode() == InventoryMode.IN_MEMORY || event.getBallotClosesAt() != null) {
+            throw new IllegalArgumentException("Seated events cannot use in-memory inventory or a ballot.");
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        Set<String> keys = new HashSet<>();
+        int totalSeats = 0;
+        for (SeatMapDto.Section section : request.getSections()) {
+            for (SeatMapDto.Row row : section.getRows()) {
+                if (!keys.add(SeatMap.key(section.getName(), row.getLabel()))) {
+                    throw new IllegalArgumentException(
+                            "Row " + row.getLabel() + " appears twice in section " + section.getName() + ".");
+                }
+                rows.add(new Object[] { eventId, section.getName(), row.getLabel(), rows.size(), row.getSeats(),
+                        new byte[0] });
+                totalSeats += row.getSeats();
+            }
+        }
+        jdbcTemplate.update("DELETE FROM seat_rows WHERE event_id = ?", eventId);
+        jdbcTemplate.batchUpdate("INSERT INTO seat_rows (event_id, section, row_label, position, seat_count, taken) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+
+        event.setSeated(true);
+        event.setMaxCapacity(totalSeats);
+        eventRepository.save(event);
+        eventChangeLog.recordChange(eventId);
+        AfterCommit.run(() -> load(eventId));
+        AfterCommit.run(() -> eventCatalog.invalidate(eventId, event.getVersion() == null ? 0 : event.getVersion()));
+        log.info("Laid out {} seats in {} rows for event {}", totalSeats, rows.size(), eventId);
+        return toResponse(eventId, readMap(eventId));
+    }
+
+    public SeatMapDto.SeatMapResponse getAvailability(UUID eventId) {
+        return toResponse(eventId, seatMap(eventId));
+    }
+
+    public List<SeatMapDto.SeatRef> findBestAvailable(UUID eventId, int count) {
+        if (count < 1 || count > maxQuantity) {
+            throw new IllegalArgumentException("Count must be between 1 and " + maxQuantity + ".");
+        }
+        return seatMap(eventId).bestAvailable(count);
+    }
+
+    // Runs inside the booking transaction. Without explicit seats the best available block of `count`
+    // is taken. The in-memory map may lag behind other writers; the locked rows decide.
+    public List<SeatMapDto.SeatRef> reserve(UUID eventId, UUID bookingId, List<SeatMapDto.SeatRef> requested,
+            int count) {
+        SeatMap map = seatMap(eventId);
+        List<SeatMapDto.SeatRef> seats = requested == null || requested.isEmpty()
+                ? map.bestAvailable(count)
+                : requested;
+        if (seats.isEmpty()) {
+            throw new IllegalStateException("No " + count + " adjacent seats are available.");
+        }
+
+        Map<SeatRow, BitSet> updated = new LinkedHashMap<>();
+        groupByRow(map, seats).forEach((row, rowSeats) -> {
+            BitSet taken = lockRow(eventId, row);
+            if (rowSeats.stream().anyMatch(seat -> taken.get(seat.getSeat() - 1))) {
+                // refresh what this node knows about the row; the booking rolls back
+                row.replace(taken);
+                throw new IllegalStateException("Some of the selected seats are no longer available.");
+            }
+            rowSeats.forEach(seat -> taken.set(seat.getSeat() - 1));
+            updated.put(row, taken);
+        });
+
+        writeRows(eventId, updated);
+        jdbcTemplate.batchUpdate("INSERT INTO booking_seats (event_id, section, row_label, seat_number, booking_id) "
+                + "VALUES (?, ?, ?, ?, ?)", seats.stream()
+                        .map(seat -> new Object[] { eventId, seat.getSection(), seat.getRow(), seat.getSeat(), bookingId })
+                        .toList());
+        return seats;
+    }
+
+    // Runs inside the cancellation transaction.
+    public void release(UUID eventId, UUID bookingId) {
+        List<SeatMapDto.SeatRef> seats = seatsOf(bookingId);
+        if (seats.isEmpty()) {
+            return;
+        }
+        Map<SeatRow, BitSet> updated = new LinkedHashMap<>();
+        groupByRow(seatMap(eventId), seats).forEach((row, rowSeats) -> {
+            BitSet taken = lockRow(eventId, row);
+            rowSeats.forEach(seat -> taken.clear(seat.getSeat() - 1));
+            updated.put(row, taken);
+        });
+        writeRows(eventId, updated);
+        jdbcTemplate.update("DELETE FROM booking_seats WHERE booking_id = ?", bookingId);
+    }
+
+    public List<SeatMapDto.SeatRef> seatsOf(UUID bookingId) {
+        return jdbcTemplate.query(
+                "SELECT section, row_label, seat_number FROM booking_seats WHERE booking_id = ? "
+                        + "ORDER BY section, row_label, seat_number",
+                (rs, rowNum) -> SeatMapDto.SeatRef.builder()
+                        .section(rs.getString("section"))
+                        .row(rs.getString("row_label"))
+                        .seat(rs.getInt("seat_number"))
+                        .build(),
+                bookingId);
+    }
+
+    // seats of many bookings in one query, for batch reads
+    public Map<UUID, List<SeatMapDto.SeatRef>> seatsOf(Collection<UUID> bookingIds) {
+        List<Map.Entry<UUID, SeatMapDto.SeatRef>> rows = jdbcTemplate.query(
+                "SELECT booking_id, section, row_label, seat_number FROM booking_seats WHERE booking_id = ANY(?) "
+                        + "ORDER BY section, row_label, seat_number",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", bookingIds.toArray())),
+                (rs, rowNum) -> Map.entry(rs.getObject("booking_id", UUID.class), SeatMapDto.SeatRef.builder()
+                        .section(rs.getString("section"))
+                        .row(rs.getString("row_label"))
+                        .seat(rs.getInt("seat_number"))
+                        .build()));
+        Map<UUID, List<SeatMapDto.SeatRef>> seats = new HashMap<>();
+        rows.forEach(row -> seats.computeIfAbsent(row.getKey(), bookingId -> new ArrayList<>()).add(row.getValue()));
+        return seats;
+    }
+
+    public void load(UUID eventId) {
+        SeatMap map = readMap(eventId);
+        if (map.rows().isEmpty()) {
+            maps.remove(eventId);
+        } else {
+            maps.put(eventId, map);
+        }
+    }
+
+    public void discard(UUID eventId) {
+        maps.remove(eventId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSeatMaps() {
+        List<UUID> eventIds = eventRepository.findIdsBySeatedAndEventDateAfter(OffsetDateTime.now());
+        eventIds.forEach(this::load);
+        if (!eventIds.isEmpty()) {
+            log.info("Loaded seat maps for {} upcoming events", eventIds.size());
+        }
+    }
+
+    private SeatMap seatMap(UUID eventId) {
+        SeatMap map = maps.get(eventId);
+        if (map == null) {
+            // laid out on another node, or this node started before the layout existed
+            load(eventId);
+            map = maps.get(eventId);
+        }
+        if (map == null) {
+            throw new ResourceNotFoundException("Seat map", "eventId", eventId);
+        }
+        return map;
+    }
+
+    private SeatMap readMap(UUID eventId) {
+        return new SeatMap(jdbcTemplate.query(
+                "SELECT section, row_label, seat_count, taken FROM seat_rows WHERE event_id = ? ORDER BY position",
+                (rs, rowNum) -> new SeatRow(rs.getString("section"), rs.getString("row_label"),
+                        rs.getInt("seat_count"), BitSet.valueOf(rs.getBytes("taken"))),
+                eventId));
+    }
+
+    // rows come back in key order, which is the order they are locked in
+    private Map<SeatRow, List<SeatMapDto.SeatRef>> groupByRow(SeatMap map, List<SeatMapDto.SeatRef> seats) {
+        Map<String, SeatRow> rows = new TreeMap<>();
+        Map<String, List<SeatMapDto.SeatRef>> byKey = new TreeMap<>();
+        Set<String> distinct = new HashSet<>();
+        for (SeatMapDto.SeatRef seat : seats) {
+            SeatRow row = map.row(seat.getSection(), seat.getRow());
+            if (row == null || seat.getSeat() < 1 || seat.getSeat() > row.seatCount()) {
+                throw new IllegalArgumentException("Seat " + seat.getSection() + " " + seat.getRow() + " "
+                        + seat.getSeat() + " does not exist.");
+            }
+            String key = SeatMap.key(seat.getSection(), seat.getRow());
+            if (!distinct.add(key + '\u0000' + seat.getSeat())) {
+                throw new IllegalArgumentException("Seat " + seat.getSection() + " " + seat.getRow() + " "
+                        + seat.getSeat() + " was selected twice.");
+            }
+            rows.put(key, row);
+            byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(seat);
+        }
+        Map<SeatRow, List<SeatMapDto.SeatRef>> byRow = new LinkedHashMap<>();
+        byKey.forEach((key, rowSeats) -> byRow.put(rows.get(key), rowSeats));
+        return byRow;
+    }
+
+    private BitSet lockRow(UUID eventId, SeatRow row) {
+        byte[] taken = jdbcTemplate.queryForObject(
+                "SELECT taken FROM seat_rows WHERE event_id = ? AND section = ? AND row_label = ? FOR UPDATE",
+                byte[].class, eventId, row.section(), row.label());
+        return BitSet.valueOf(taken);
+    }
+
+    private void writeRows(UUID eventId, Map<SeatRow, BitSet> updated) {
+        jdbcTemplate.batchUpdate("UPDATE seat_rows SET taken = ? WHERE event_id = ? AND section = ? AND row_label = ?",
+                updated.entrySet().stream()
+                        .map(entry -> new Object[] { entry.getValue().toByteArray(), eventId, entry.getKey().section(),
+                                entry.getKey().label() })
+                        .toList());
+        AfterCommit.run(() -> updated.forEach(SeatRow::replace));
+    }
+
+    private SeatMapDto.SeatMapResponse toResponse(UUID eventId, SeatMap map) {
+        Base64.Encoder encoder = Base64.getEncoder();
+        List<SeatMapDto.RowAvailability> rows = map.rows().stream()
+                .map(row -> SeatMapDto.RowAvailability.builder()
+                        .section(row.section())
+                        .row(row.label())
+                        .seats(row.seatCount())
+                        .available(row.available())
+                        .taken(encoder.encodeToString(row.takenBytes()))
+                        .build())
+                .toList();
+        return SeatMapDto.SeatMapResponse.builder()
+                .eventId(eventId)
+                .totalSeats(rows.stream().mapToInt(SeatMapDto.RowAvailability::getSeats).sum())
+                .availableSeats(rows.stream().mapToInt(SeatMapDto.RowAvailability::getAvailable).sum())
+                .rows(rows)
+                .build();
+    }
+}
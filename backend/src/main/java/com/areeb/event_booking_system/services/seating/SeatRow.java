@@ -0,0 +1,68 @@
+package com.areeb.event_booking_system.services.seating;
+
+import java.util.BitSet;
+
+// Availability of one row as a bitset of taken seats (bit i is seat i + 1). Searches jump between
+// runs with nextSetBit/nextClearBit, which scan a 64-seat word at a time.
+final class SeatRow {
+
+    private final String section;
+    private final String label;
+    private final int seatCount;
+    private BitSet taken;
+
+    SeatRow(String section, String label, int seatCount, BitSet taken) {
+        this.section = section;
+        this.label = label;
+        this.seatCount = seatCount;
+        this.taken = taken;
+    }
+
+    String section() {
+        return section;
+    }
+
+    String label() {
+        return label;
+    }
+
+    int seatCount() {
+        return seatCount;
+    }
+
+    synchronized int available() {
+        return seatCount - taken.cardinality();
+    }
+
+    synchronized byte[] takenBytes() {
+        return taken.toByteArray();
+    }
+
+    synchronized void replace(BitSet taken) {
+        this.taken = (BitSet) taken.clone();
+    }
+
+    // Index of the first seat of the free run of `count` seats closest to the middle of the row, or -1.
+    synchronized int bestRun(int count) {
+        int middle = seatCount - count;
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int start = taken.nextClearBit(0); start + count <= seatCount; start = taken.nextClearBit(start)) {
+            int end = taken.nextSetBit(start);
+            if (end < 0 || end > seatCount) {
+                end = seatCount;
+            }
+            if (end - start >= count) {
+                // the centred block start, clamped into this run; distances are doubled to stay integral
+                int candidate = Math.max(start, Math.min(end - count, middle / 2));
+                int distance = Math.abs(2 * candidate - middle);
+                if (distance < bestDistance) {
+                    best = candidate;
+                    bestDistance = distance;
+                }
+            }
+            start = end;
+        }
+        return best;
+    }
+}
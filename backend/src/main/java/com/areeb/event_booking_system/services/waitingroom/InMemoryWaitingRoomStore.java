@@ -0,0 +1,78 @@
+package com.areeb.event_booking_system.services.waitingroom;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "waiting-room.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryWaitingRoomStore implements WaitingRoomStore {
+
+    private final Map<UUID, EventQueue> queues = new ConcurrentHashMap<>();
+    private final Map<UUID, QueueTicket> tickets = new ConcurrentHashMap<>();
+
+    @Override
+    public QueueTicket issue(UUID eventId, UUID userId) {
+        EventQueue queue = queues.computeIfAbsent(eventId, id -> new EventQueue());
+        UUID token = queue.tokensByUser.computeIfAbsent(userId, id -> {
+            QueueTicket ticket = new QueueTicket(UUID.randomUUID(), eventId, userId, queue.issued.incrementAndGet(),
+                    OffsetDateTime.now(), false);
+            tickets.put(ticket.token(), ticket);
+            return ticket.token();
+        });
+        return tickets.get(token);
+    }
+
+    @Override
+    public Optional<QueueTicket> find(UUID token) {
+        return Optional.ofNullable(tickets.get(token));
+    }
+
+    @Override
+    public long admittedThrough(UUID eventId) {
+        EventQueue queue = queues.get(eventId);
+        return queue == null ? 0 : queue.admitted.get();
+    }
+
+    @Override
+    public void advance(UUID eventId, long admissions, long tickMillis) {
+        EventQueue queue = queues.get(eventId);
+        if (queue != null) {
+            queue.admitted.updateAndGet(current -> Math.min(current + admissions, queue.issued.get()));
+        }
+    }
+
+    @Override
+    public boolean markUsed(UUID token) {
+        QueueTicket ticket = tickets.get(token);
+        return ticket != null && !ticket.used() && tickets.replace(token, ticket,
+                new QueueTicket(ticket.token(), ticket.eventId(), ticket.userId(), ticket.sequence(),
+                        ticket.issuedAt(), true));
+    }
+
+    @Override
+    public void release(UUID token) {
+        tickets.computeIfPresent(token, (key, ticket) -> new QueueTicket(ticket.token(), ticket.eventId(),
+                ticket.userId(), ticket.sequence(), ticket.issuedAt(), false));
+    }
+
+    @Override
+    public void clear(UUID eventId) {
+        EventQueue queue = queues.remove(eventId);
+        if (queue != null) {
+            queue.tokensByUser.values().forEach(tickets::remove);
+        }
+    }
+
+    private static final class EventQueue {
+        private final AtomicLong issued = new AtomicLong();
+        private final AtomicLong admitted = new AtomicLong();
+        private final Map<UUID, UUID> tokensByUser = new ConcurrentHashMap<>();
+    }
+}
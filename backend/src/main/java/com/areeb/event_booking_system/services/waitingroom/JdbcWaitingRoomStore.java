@@ -0,0 +1,104 @@
+package com.areeb.event_booking_system.services.waitingroom;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+// Postgres-backed queue state so several application nodes share one queue per event.
+@Component
+@ConditionalOnProperty(name = "waiting-room.store", havingValue = "jdbc")
+@RequiredArgsConstructor
+public class JdbcWaitingRoomStore implements WaitingRoomStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public QueueTicket issue(UUID eventId, UUID userId) {
+        Optional<QueueTicket> existing = findByUser(eventId, userId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        jdbcTemplate.update("INSERT INTO waiting_room_queues (event_id) VALUES (?) ON CONFLICT DO NOTHING", eventId);
+        Long sequence = jdbcTemplate.queryForObject(
+                "UPDATE waiting_room_queues SET issued_through = issued_through + 1 WHERE event_id = ? "
+                        + "RETURNING issued_through",
+                Long.class, eventId);
+        // if the same user raced us from another node their ticket wins and this sequence number is skipped
+        jdbcTemplate.update(
+                "INSERT INTO waiting_room_tickets (token, event_id, user_id, sequence) VALUES (?, ?, ?, ?) "
+                        + "ON CONFLICT (event_id, user_id) DO NOTHING",
+                UUID.randomUUID(), eventId, userId, sequence);
+        return findByUser(eventId, userId).orElseThrow();
+    }
+
+    @Override
+    public Optional<QueueTicket> find(UUID token) {
+        List<QueueTicket> tickets = jdbcTemplate.query(
+                "SELECT token, event_id, user_id, sequence, issued_at, used_at FROM waiting_room_tickets WHERE token = ?",
+                this::mapTicket, token);
+        return tickets.stream().findFirst();
+    }
+
+    @Override
+    public long admittedThrough(UUID eventId) {
+        List<Long> cursor = jdbcTemplate.queryForList(
+                "SELECT admitted_through FROM waiting_room_queues WHERE event_id = ?", Long.class, eventId);
+        return cursor.isEmpty() ? 0 : cursor.get(0);
+    }
+
+    @Override
+    public void advance(UUID eventId, long admissions, long tickMillis) {
+        // every node ticks, but only one of them wins each tick window
+        jdbcTemplate.update("UPDATE waiting_room_queues "
+                + "SET admitted_through = LEAST(admitted_through + ?, issued_through), last_advanced_at = now() "
+                + "WHERE event_id = ? AND last_advanced_at <= now() - make_interval(secs => ?)",
+                admissions, eventId, tickMillis * 0.9 / 1000.0);
+    }
+
+    @Override
+    public boolean markUsed(UUID token) {
+        return jdbcTemplate.update("UPDATE waiting_room_tickets SET used_at = now() WHERE token = ? AND used_at IS NULL",
+                token) == 1;
+    }
+
+    @Override
+    public void release(UUID token) {
+        jdbcTemplate.update("UPDATE waiting_room_tickets SET used_at = NULL WHERE token = ?", token);
+    }
+
+    @Override
+    @Transactional
+    public void clear(UUID eventId) {
+        jdbcTemplate.update("DELETE FROM waiting_room_tickets WHERE event_id = ?", eventId);
+        jdbcTemplate.update("DELETE FROM waiting_room_queues WHERE event_id = ?", eventId);
+    }
+
+    private Optional<QueueTicket> findByUser(UUID eventId, UUID userId) {
+        List<QueueTicket> tickets = jdbcTemplate.query(
+                "SELECT token, event_id, user_id, sequence, issued_at, used_at FROM waiting_room_tickets "
+                        + "WHERE event_id = ? AND user_id = ?",
+                this::mapTicket, eventId, userId);
+        return tickets.stream().findFirst();
+    }
+
+    private QueueTicket mapTicket(ResultSet rs, int rowNum) throws SQLException {
+        return new QueueTicket(
+                rs.getObject("token", UUID.class),
+                rs.getObject("event_id", UUID.class),
+                rs.getObject("user_id", UUID.class),
+                rs.getLong("sequence"),
+                rs.getObject("issued_at", OffsetDateTime.class),
+                rs.getObject("used_at") != null);
+    }
+}
@@ -0,0 +1,8 @@
+package com.areeb.event_booking_system.services.waitingroom;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record QueueTicket(UUID token, UUID eventId, UUID userId, long sequence, OffsetDateTime issuedAt,
+        boolean used) {
+}
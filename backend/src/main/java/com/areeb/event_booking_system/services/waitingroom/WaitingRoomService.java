@@ -0,0 +1,133 @@
+package com.areeb.event_booking_system.services.waitingroom;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.areeb.event_booking_system.dtos.waitingroom.WaitingRoomDto;
+import com.areeb.event_booking_system.exceptions.AdmissionRequiredException;
+import com.areeb.event_booking_system.exceptions.ResourceNotFoundException;
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.models.user.User;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Gates bookings for events with a waiting room rate: users join a FIFO queue and the scheduler admits
+// rate-per-second of them, so the booking path only ever sees a bounded stream of requests. Rooms are
+// switched on and off by whichever node handled the event update, so every tick re-reads the active rates.
+@Service
+@Slf4j
+public class WaitingRoomService {
+
+    private final WaitingRoomStore store;
+    private final EventRepository eventRepository;
+    private final long tickMillis;
+    private final Map<UUID, Integer> rates = new ConcurrentHashMap<>();
+
+    public WaitingRoomService(WaitingRoomStore store, EventRepository eventRepository,
+            @Value("${waiting-room.tick-ms:1000}") long tickMillis) {
+        this.store = store;
+        this.eventRepository = eventRepository;
+        this.tickMillis = tickMillis;
+    }
+
+    public boolean isActive(UUID eventId) {
+        return rates.containsKey(eventId);
+    }
+
+    public WaitingRoomDto.QueueStatus join(UUID eventId, User user) {
+        if (!isActive(eventId)) {
+            eventRepository.findById(eventId).orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+            throw new IllegalArgumentException("Event " + eventId + " has no waiting room");
+        }
+        QueueTicket ticket = store.issue(eventId, user.getId());
+        log.debug("User {} holds queue position {} for event {}", user.getId(), ticket.sequence(), eventId);
+        return toStatus(ticket);
+    }
+
+    public WaitingRoomDto.QueueStatus status(UUID eventId, UUID token, User user) {
+        QueueTicket ticket = store.find(token)
+                .filter(t -> t.eventId().equals(eventId) && t.userId().equals(user.getId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Queue token", "token", token));
+        return toStatus(ticket);
+    }
+
+    // Claims the token for one booking attempt. Two requests racing with the same token cannot both get
+    // through: only the one whose conditional update marks it used is let in.
+    public void claimAdmission(UUID eventId, UUID token, User user) {
+        if (!isActive(eventId)) {
+            return;
+        }
+        if (token == null) {
+            throw new AdmissionRequiredException("Event " + eventId + " is behind a waiting room, join the queue first");
+        }
+        QueueTicket ticket = store.find(token)
+                .filter(t -> t.eventId().equals(eventId) && t.userId().equals(user.getId()))
+                .orElseThrow(() -> new AdmissionRequiredException("Queue token is not valid for this event"));
+        if (ticket.used()) {
+            throw new AdmissionRequiredException("Queue token has already been used");
+        }
+        if (ticket.sequence() > store.admittedThrough(eventId)) {
+            throw new AdmissionRequiredException("Not admitted yet, " + position(ticket) + " users ahead");
+        }
+        if (!store.markUsed(token)) {
+            throw new AdmissionRequiredException("Queue token has already been used");
+        }
+    }
+
+    // hands a claimed token back when the booking attempt failed, so the user can retry without queueing again
+    public void release(UUID token) {
+        if (token != null) {
+            store.release(token);
+        }
+    }
+
+    public void sync(UUID eventId, Integer rate) {
+        if (rate == null) {
+            rates.remove(eventId);
+            store.clear(eventId);
+        } else {
+            rates.put(eventId, rate);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveRooms() {
+        Map<UUID, Integer> active = eventRepository.findWithWaitingRoomAndEventDateAfter(OffsetDateTime.now())
+                .stream()
+                .collect(Collectors.toMap(Event::getId, Event::getWaitingRoomRate));
+        rates.keySet().retainAll(active.keySet());
+        rates.putAll(active);
+    }
+
+    @Scheduled(fixedDelayString = "${waiting-room.tick-ms:1000}")
+    public void admit() {
+        loadActiveRooms();
+        rates.forEach((eventId, rate) -> store.advance(eventId, Math.max(1, rate * tickMillis / 1000), tickMillis));
+    }
+
+    private WaitingRoomDto.QueueStatus toStatus(QueueTicket ticket) {
+        long position = position(ticket);
+        int rate = rates.getOrDefault(ticket.eventId(), 1);
+        return WaitingRoomDto.QueueStatus.builder()
+                .token(ticket.token())
+                .eventId(ticket.eventId())
+                .position(position)
+                .admitted(position == 0)
+                .etaSeconds((position + rate - 1) / rate)
+                .build();
+    }
+
+    private long position(QueueTicket ticket) {
+        return Math.max(0, ticket.sequence() - store.admittedThrough(ticket.eventId()));
+    }
+}
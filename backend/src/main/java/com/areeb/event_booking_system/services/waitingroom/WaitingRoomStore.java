@@ -0,0 +1,26 @@
+package com.areeb.event_booking_system.services.waitingroom;
+
+import java.util.Optional;
+import java.util.UUID;
+
+// Queue state per event: tickets carry a sequence number and everything at or below the admitted
+// cursor may book. Admission only moves the cursor, so it costs the same for any queue length.
+public interface WaitingRoomStore {
+
+    // returns the user's existing ticket for the event if there is one
+    QueueTicket issue(UUID eventId, UUID userId);
+
+    Optional<QueueTicket> find(UUID token);
+
+    long admittedThrough(UUID eventId);
+
+    // moves the cursor forward by up to the given admissions, never past the last issued ticket
+    void advance(UUID eventId, long admissions, long tickMillis);
+
+    // true when the ticket was still unused; the check and the update are one atomic step
+    boolean markUsed(UUID token);
+
+    void release(UUID token);
+
+    void clear(UUID eventId);
+}
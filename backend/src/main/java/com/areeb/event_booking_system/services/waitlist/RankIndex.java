@@ -0,0 +1,82 @@
+package com.areeb.event_booking_system.services.waitlist;
+
+import java.util.BitSet;
+
+// Fenwick tree over an event's dense waitlist sequence numbers. Joining, leaving and ranking are
+// O(log n); growing past the current capacity rebuilds the tree in O(n), amortized over the doublings.
+final class RankIndex {
+
+    private final BitSet present = new BitSet();
+    private long[] tree;
+    private int count;
+
+    RankIndex() {
+        this.tree = new long[65];
+    }
+
+    synchronized void add(long sequence) {
+        int position = toPosition(sequence);
+        if (present.get(position)) {
+            return;
+        }
+        ensureCapacity(position);
+        present.set(position);
+        update(position, 1);
+        count++;
+    }
+
+    synchronized void remove(long sequence) {
+        int position = toPosition(sequence);
+        if (!present.get(position)) {
+            return;
+        }
+        present.clear(position);
+        update(position, -1);
+        count--;
+    }
+
+    synchronized boolean contains(long sequence) {
+        return present.get(toPosition(sequence));
+    }
+
+    // number of waiting entries that joined before the given sequence
+    synchronized long countBefore(long sequence) {
+        int position = Math.min(toPosition(sequence) - 1, tree.length - 1);
+        long count = 0;
+        for (int i = position; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    synchronized int size() {
+        return count;
+    }
+
+    private void update(int position, int delta) {
+        for (int i = position; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private void ensureCapacity(int position) {
+        if (position < tree.length) {
+            return;
+        }
+        int capacity = tree.length;
+        while (capacity <= position) {
+            capacity = capacity * 2 - 1;
+        }
+        tree = new long[capacity];
+        for (int i = present.nextSetBit(1); i >= 0; i = present.nextSetBit(i + 1)) {
+            update(i, 1);
+        }
+    }
+
+    private static int toPosition(long sequence) {
+        if (sequence < 1 || sequence >= Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Waitlist sequence out of range: " + sequence);
+        }
+        return (int) sequence;
+    }
+}
@@ -0,0 +1,80 @@
+package com.areeb.event_booking_system.services.waitlist;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.areeb.event_booking_system.dtos.booking.BookingDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Server-sent event streams per user, carrying waitlist promotions, ballot results and the outcome of
+// asynchronously processed bookings. Only users connected to this node are notified; the change itself
+// is already committed, so a missed push just means the user sees it on the next read.
+@Component
+@Slf4j
+public class WaitlistNotifier {
+
+    private final Map<UUID, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+
+    public WaitlistNotifier(@Value("${waitlist.sse-timeout-ms:1800000}") long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public SseEmitter subscribe(UUID userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitters.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(emitter);
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+        return emitter;
+    }
+
+    public void promoted(UUID userId, UUID eventId, UUID bookingId) {
+        send(userId, "promoted", Map.of("eventId", eventId, "bookingId", bookingId));
+    }
+
+    // bookingId is null for users who were not drawn
+    public void ballotDrawn(UUID userId, UUID eventId, UUID bookingId) {
+        send(userId, "ballot", bookingId == null
+                ? Map.of("eventId", eventId, "won", false)
+                : Map.of("eventId", eventId, "won", true, "bookingId", bookingId));
+    }
+
+    public void bookingProcessed(UUID userId, BookingDto.BookingIntentResponse intent) {
+        send(userId, "booking", intent.getBookingId() == null
+                ? Map.of("intentId", intent.getIntentId(), "status", intent.getStatus(), "message", intent.getMessage())
+                : Map.of("intentId", intent.getIntentId(), "status", intent.getStatus(), "bookingId", intent.getBookingId()));
+    }
+
+    private void send(UUID userId, String name, Map<String, Object> data) {
+        Set<SseEmitter> userEmitters = emitters.get(userId);
+        if (userEmitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : userEmitters) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(name)
+                        .data(data));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping notification stream for user {}: {}", userId, e.getMessage());
+                remove(userId, emitter);
+            }
+        }
+    }
+
+    private void remove(UUID userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, set) -> {
+            set.remove(emitter);
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
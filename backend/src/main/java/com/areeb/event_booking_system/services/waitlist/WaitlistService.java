@@ -0,0 +1,162 @@
+package com.areeb.event_booking_system.services.waitlist;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.areeb.event_booking_system.dtos.waitlist.WaitlistDto;
+import com.areeb.event_booking_system.exceptions.ResourceNotFoundException;
+import com.areeb.event_booking_system.models.booking.Booking;
+import com.areeb.event_booking_system.models.booking.WaitlistEntry;
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.models.user.User;
+import com.areeb.event_booking_system.repository.booking.BookingRepository;
+import com.areeb.event_booking_system.repository.booking.WaitlistRepository;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+import com.areeb.event_booking_system.services.AfterCommit;
+import com.areeb.event_booking_system.services.booking.booked.BookedEventsCache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// FIFO waitlist for sold-out events. Positions come from an in-memory rank index per event that is
+// loaded from the table on first use and kept current after each commit on this node.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistService {
+
+    private final WaitlistRepository waitlistRepository;
+    private final BookingRepository bookingRepository;
+    private final EventRepository eventRepository;
+    private final WaitlistNotifier notifier;
+    private final BookedEventsCache bookedEvents;
+    private final Map<UUID, RankIndex> ranks = new ConcurrentHashMap<>();
+
+    @Transactional
+    public WaitlistDto.WaitlistStatus join(UUID eventId, User currentUser) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        if (event.getEventDate().isBefore(OffsetDateTime.now())) {
+            throw new IllegalArgumentException("Cannot join the waitlist of an event that has already passed.");
+        }
+        if (event.getMaxCapacity() == null || event.getCurrentBookingsCount() < event.getMaxCapacity()) {
+            throw new IllegalArgumentException("Event still has tickets available. Book it directly.");
+        }
+        if (bookingRepository.existsByUserIdAndEventId(currentUser.getId(), eventId)) {
+            throw new DataIntegrityViolationException("You have already booked this event.");
+        }
+        Optional<WaitlistEntry> existing = waitlistRepository.findByUserIdAndEventId(currentUser.getId(), eventId);
+        if (existing.isPresent()) {
+            return toStatus(existing.get(), eventId, position(eventId, existing.get().getSequence()));
+        }
+
+        WaitlistEntry entry = waitlistRepository.save(WaitlistEntry.builder()
+                .event(event)
+                .user(currentUser)
+                .sequence(waitlistRepository.nextSequence(eventId))
+                .build());
+        long sequence = entry.getSequence();
+        AfterCommit.run(() -> indexIfLoaded(eventId).ifPresent(index -> index.add(sequence)));
+        log.info("User {} joined the waitlist for event {} with sequence {}", currentUser.getUsername(), eventId,
+                sequence);
+        // the new entry only reaches the index after commit, so rank it against everyone already waiting
+        return toStatus(entry, eventId, index(eventId).countBefore(sequence) + 1);
+    }
+
+    @Transactional(readOnly = true)
+    public WaitlistDto.WaitlistStatus getStatus(UUID eventId, User currentUser) {
+        WaitlistEntry entry = waitlistRepository.findByUserIdAndEventId(currentUser.getId(), eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry", "eventId", eventId));
+        return toStatus(entry, eventId, position(eventId, entry.getSequence()));
+    }
+
+    @Transactional
+    public void leave(UUID eventId, User currentUser) {
+        WaitlistEntry entry = waitlistRepository.findByUserIdAndEventId(currentUser.getId(), eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry", "eventId", eventId));
+        waitlistRepository.deleteEntryById(entry.getId());
+        long sequence = entry.getSequence();
+        AfterCommit.run(() -> indexIfLoaded(eventId).ifPresent(index -> index.remove(sequence)));
+        log.info("User {} left the waitlist for event {}", currentUser.getUsername(), eventId);
+    }
+
+    // Must run inside the caller's transaction, after it has freed seats on the event. Books waiting
+    // users into those seats, one seat each in FIFO order, and returns how many seats were filled.
+    public int promote(Event event, int seats) {
+        if (event.isSeated()) {
+            // a promotion cannot pick seats for the user; freed seats go back on sale instead
+            return 0;
+        }
+        UUID eventId = event.getId();
+        int promoted = 0;
+        while (promoted < seats) {
+            Optional<WaitlistEntry> head = waitlistRepository.findHeadForUpdate(eventId);
+            if (head.isEmpty()) {
+                break;
+            }
+            WaitlistEntry entry = head.get();
+            waitlistRepository.deleteEntryById(entry.getId());
+            long sequence = entry.getSequence();
+            AfterCommit.run(() -> indexIfLoaded(eventId).ifPresent(index -> index.remove(sequence)));
+
+            User user = entry.getUser();
+            if (bookingRepository.existsByUserIdAndEventId(user.getId(), eventId)) {
+                continue;
+            }
+            Booking booking = bookingRepository.save(Booking.builder().user(user).event(event).build());
+            UUID userId = user.getId();
+            UUID bookingId = booking.getId();
+            AfterCommit.run(() -> {
+                bookedEvents.evict(userId);
+                notifier.promoted(userId, eventId, bookingId);
+            });
+            log.info("Promoted user {} from the waitlist of event {} into booking {}", userId, eventId, bookingId);
+            promoted++;
+        }
+        return promoted;
+    }
+
+    // the event is gone along with its waitlist rows
+    public void discard(UUID eventId) {
+        ranks.remove(eventId);
+    }
+
+    private WaitlistDto.WaitlistStatus toStatus(WaitlistEntry entry, UUID eventId, long position) {
+        return WaitlistDto.WaitlistStatus.builder()
+                .eventId(eventId)
+                .position(position)
+                .joinedAt(entry.getCreatedAt())
+                .build();
+    }
+
+    private long position(UUID eventId, long sequence) {
+        RankIndex index = index(eventId);
+        if (!index.contains(sequence)) {
+            // joined on another node or raced the initial load; rebuild from the table
+            index = loadIndex(eventId);
+            ranks.put(eventId, index);
+        }
+        return index.countBefore(sequence) + 1;
+    }
+
+    private RankIndex index(UUID eventId) {
+        return ranks.computeIfAbsent(eventId, this::loadIndex);
+    }
+
+    private RankIndex loadIndex(UUID eventId) {
+        RankIndex index = new RankIndex();
+        waitlistRepository.findSequencesByEventId(eventId).forEach(index::add);
+        return index;
+    }
+
+    private Optional<RankIndex> indexIfLoaded(UUID eventId) {
+        return Optional.ofNullable(ranks.get(eventId));
+    }
+}
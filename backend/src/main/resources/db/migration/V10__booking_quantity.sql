@@ -0,0 +1,3 @@
+-- A booking or hold can cover several seats; current_bookings_count counts seats, not rows.
+ALTER TABLE bookings ADD COLUMN quantity INTEGER NOT NULL DEFAULT 1 CHECK (quantity > 0);
+ALTER TABLE booking_holds ADD COLUMN quantity INTEGER NOT NULL DEFAULT 1 CHECK (quantity > 0);
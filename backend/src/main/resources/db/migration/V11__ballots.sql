@@ -0,0 +1,17 @@
+-- An event with ballot_closes_at takes entries instead of bookings until the ballot is drawn.
+ALTER TABLE events ADD COLUMN ballot_closes_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE events ADD COLUMN ballot_drawn_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE events ADD COLUMN ballot_seed BIGINT;
+
+-- Insert-only while the ballot is open; won is filled in by the draw.
+CREATE TABLE ballot_entries (
+    event_id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    entered_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    won BOOLEAN,
+    PRIMARY KEY (event_id, user_id),
+    CONSTRAINT fk_ballot_entry_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE,
+    CONSTRAINT fk_ballot_entry_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_events_ballot_due ON events (ballot_closes_at) WHERE ballot_drawn_at IS NULL;
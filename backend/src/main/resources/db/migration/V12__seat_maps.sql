@@ -0,0 +1,27 @@
+ALTER TABLE events ADD COLUMN seated BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- One row per physical row of seats. Bit i of taken (least significant bit first within each byte)
+-- is seat i + 1, so a 50k-seat venue is a few hundred small rows rather than 50k.
+CREATE TABLE seat_rows (
+    event_id UUID NOT NULL,
+    section VARCHAR(50) NOT NULL,
+    row_label VARCHAR(20) NOT NULL,
+    position INTEGER NOT NULL,
+    seat_count INTEGER NOT NULL CHECK (seat_count > 0),
+    taken BYTEA NOT NULL,
+    PRIMARY KEY (event_id, section, row_label),
+    CONSTRAINT fk_seat_row_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE
+);
+
+-- Which seats a booking holds, so cancelling can clear exactly those bits.
+CREATE TABLE booking_seats (
+    event_id UUID NOT NULL,
+    section VARCHAR(50) NOT NULL,
+    row_label VARCHAR(20) NOT NULL,
+    seat_number INTEGER NOT NULL,
+    booking_id UUID NOT NULL,
+    PRIMARY KEY (event_id, section, row_label, seat_number),
+    CONSTRAINT fk_booking_seat_booking FOREIGN KEY (booking_id) REFERENCES bookings(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_booking_seats_booking ON booking_seats (booking_id);
@@ -0,0 +1,4 @@
+-- Events with too many bookings to delete in one transaction are hidden first and purged in chunks.
+ALTER TABLE events ADD COLUMN deleted_at TIMESTAMP WITH TIME ZONE;
+
+CREATE INDEX idx_events_deleted ON events (deleted_at) WHERE deleted_at IS NOT NULL;
@@ -0,0 +1,7 @@
+-- Indexes for the multi-criteria event filter. Partial on live events, matching the entity's
+-- deleted_at IS NULL restriction; a now()-based predicate is not allowed in an index definition, so
+-- "upcoming only" is served by the event_date range in each index instead.
+CREATE INDEX idx_events_live_category_date ON events (category, event_date) WHERE deleted_at IS NULL;
+CREATE INDEX idx_events_live_price_date ON events (price, event_date) WHERE deleted_at IS NULL;
+CREATE INDEX idx_events_live_venue_prefix ON events (lower(venue) text_pattern_ops, event_date)
+    WHERE deleted_at IS NULL;
@@ -0,0 +1,8 @@
+-- Keyset pagination: event listings continue after (event_date, id) and "my bookings" after
+-- (booking_time, id), each a range scan on one of these indexes. The category index supersedes
+-- the (category, event_date) index from V15.
+CREATE INDEX idx_events_live_date_id ON events (event_date, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_events_live_category_date_id ON events (category, event_date, id) WHERE deleted_at IS NULL;
+DROP INDEX idx_events_live_category_date;
+
+CREATE INDEX idx_bookings_user_time_id ON bookings (user_id, booking_time, id);
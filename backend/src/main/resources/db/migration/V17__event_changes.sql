@@ -0,0 +1,16 @@
+-- Change sequence behind the delta-sync feed (GET /api/events/changes). Catalog writes stamp the event
+-- with the next value; a deletion leaves a tombstone carrying its value until it is compacted.
+CREATE SEQUENCE event_change_seq;
+
+ALTER TABLE events ADD COLUMN change_seq BIGINT NOT NULL DEFAULT nextval('event_change_seq');
+
+CREATE INDEX idx_events_live_change_seq ON events (change_seq) WHERE deleted_at IS NULL;
+
+CREATE TABLE event_tombstones (
+    event_id UUID PRIMARY KEY,
+    change_seq BIGINT NOT NULL,
+    deleted_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_event_tombstones_change_seq ON event_tombstones (change_seq);
+CREATE INDEX idx_event_tombstones_deleted_at ON event_tombstones (deleted_at);
@@ -0,0 +1,14 @@
+-- The delta-sync feed orders changes by the id of the writing transaction instead of a sequence value
+-- taken under a global lock. Readers only go up to the oldest transaction still running, below which
+-- nothing can commit any more, so writers no longer need to serialize.
+ALTER TABLE events ADD COLUMN change_xid XID8 NOT NULL DEFAULT pg_current_xact_id();
+ALTER TABLE event_tombstones ADD COLUMN change_xid XID8 NOT NULL DEFAULT pg_current_xact_id();
+
+DROP INDEX idx_events_live_change_seq;
+DROP INDEX idx_event_tombstones_change_seq;
+ALTER TABLE events DROP COLUMN change_seq;
+ALTER TABLE event_tombstones DROP COLUMN change_seq;
+DROP SEQUENCE event_change_seq;
+
+CREATE INDEX idx_events_live_change_xid ON events (change_xid, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_event_tombstones_change_xid ON event_tombstones (change_xid, event_id);
@@ -0,0 +1,3 @@
+ALTER TABLE events ADD COLUMN inventory_mode VARCHAR(20) NOT NULL DEFAULT 'DATABASE';
+
+CREATE INDEX idx_events_inventory_mode ON events (inventory_mode) WHERE inventory_mode <> 'DATABASE';
@@ -0,0 +1,22 @@
+ALTER TABLE events ADD COLUMN waiting_room_rate INTEGER CHECK (waiting_room_rate IS NULL OR waiting_room_rate > 0);
+
+-- Shared queue state for multi-node deployments (waiting-room.store=jdbc)
+CREATE TABLE waiting_room_queues (
+    event_id UUID PRIMARY KEY,
+    issued_through BIGINT NOT NULL DEFAULT 0,
+    admitted_through BIGINT NOT NULL DEFAULT 0,
+    last_advanced_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_waiting_room_queue_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE
+);
+
+CREATE TABLE waiting_room_tickets (
+    token UUID PRIMARY KEY,
+    event_id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    sequence BIGINT NOT NULL,
+    issued_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    used_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT fk_waiting_room_ticket_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE,
+    CONSTRAINT fk_waiting_room_ticket_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT uq_waiting_room_ticket_user UNIQUE (event_id, user_id)
+);
@@ -0,0 +1,14 @@
+-- Seats held during checkout. Held seats are included in events.current_bookings_count until the
+-- hold is confirmed into a booking or expires.
+CREATE TABLE booking_holds (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    event_id UUID NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_booking_hold_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_booking_hold_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE,
+    CONSTRAINT uq_user_event_hold UNIQUE (user_id, event_id)
+);
+
+CREATE INDEX idx_booking_holds_event_id ON booking_holds (event_id);
@@ -0,0 +1,19 @@
+-- Sequences are dense per event so positions can be ranked in memory.
+CREATE TABLE waitlist_counters (
+    event_id UUID PRIMARY KEY,
+    issued BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_waitlist_counter_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE
+);
+
+CREATE TABLE waitlist_entries (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    event_id UUID NOT NULL,
+    sequence BIGINT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_waitlist_entry_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_waitlist_entry_event FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE,
+    CONSTRAINT uq_user_event_waitlist UNIQUE (user_id, event_id)
+);
+
+CREATE UNIQUE INDEX idx_waitlist_entries_event_sequence ON waitlist_entries (event_id, sequence);
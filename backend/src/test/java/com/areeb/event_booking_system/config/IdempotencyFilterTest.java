@@ -0,0 +1,155 @@
+package com.areeb.event_booking_system.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.areeb.event_booking_system.services.idempotency.IdempotencyConflictException;
+import com.areeb.event_booking_system.services.idempotency.IdempotencyStore;
+import com.areeb.event_booking_system.services.idempotency.StoredResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    @Mock
+    private IdempotencyStore store;
+
+    private IdempotencyFilter filter;
+    private int handlerCalls;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(store, new ObjectMapper().registerModule(new JavaTimeModule()),
+                List.of("/api/bookings", "/api/bookings/**"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user@example.com", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void firstRequest_RunsHandlerAndStoresResponse() throws Exception {
+        when(store.begin(eq("user@example.com:key-1"), anyString())).thenReturn(Optional.empty());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(bookingRequest("key-1"), response, chain());
+
+        assertEquals(1, handlerCalls);
+        assertEquals(201, response.getStatus());
+        assertEquals("{\"booked\":true}", response.getContentAsString());
+        ArgumentCaptor<StoredResponse> stored = ArgumentCaptor.forClass(StoredResponse.class);
+        verify(store).complete(eq("user@example.com:key-1"), stored.capture());
+        assertEquals(201, stored.getValue().status());
+        assertEquals("{\"booked\":true}", new String(stored.getValue().body()));
+    }
+
+    @Test
+    void duplicate_ReplaysStoredResponseWithoutHandler() throws Exception {
+        when(store.begin(eq("user@example.com:key-1"), anyString()))
+                .thenReturn(Optional.of(new StoredResponse("fp", 201, "application/json", "{\"booked\":true}".getBytes())));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(bookingRequest("key-1"), response, chain());
+
+        assertEquals(0, handlerCalls);
+        assertEquals(201, response.getStatus());
+        assertEquals("true", response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("{\"booked\":true}", response.getContentAsString());
+    }
+
+    @Test
+    void keyReusedForOtherRequest_Returns422() throws Exception {
+        when(store.begin(anyString(), anyString())).thenThrow(new IdempotencyConflictException("reused",
+                HttpStatus.UNPROCESSABLE_ENTITY));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(bookingRequest("key-1"), response, chain());
+
+        assertEquals(0, handlerCalls);
+        assertEquals(422, response.getStatus());
+    }
+
+    @Test
+    void serverError_IsNotStored() throws Exception {
+        when(store.begin(anyString(), anyString())).thenReturn(Optional.empty());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(bookingRequest("key-1"), response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                resp.setStatus(500);
+            }
+        }));
+
+        verify(store, never()).complete(anyString(), any());
+        verify(store).abandon("user@example.com:key-1");
+    }
+
+    @Test
+    void requestWithoutKey_PassesThrough() throws Exception {
+        MockHttpServletRequest request = bookingRequest(null);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain());
+
+        assertEquals(1, handlerCalls);
+        assertNull(response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        verify(store, never()).begin(anyString(), anyString());
+    }
+
+    private MockHttpServletRequest bookingRequest(String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bookings");
+        request.setContentType("application/json");
+        request.setContent("{\"eventId\":\"1\"}".getBytes());
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        return request;
+    }
+
+    private MockFilterChain chain() {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                handlerCalls++;
+                // the handler still sees the body after it was fingerprinted
+                assertEquals("{\"eventId\":\"1\"}", new String(req.getInputStream().readAllBytes()));
+                resp.setStatus(201);
+                resp.setContentType("application/json");
+                resp.getWriter().write("{\"booked\":true}");
+            }
+        });
+    }
+}
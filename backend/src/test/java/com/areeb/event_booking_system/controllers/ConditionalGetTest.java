@@ -0,0 +1,107 @@
+package com.areeb.event_booking_system.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.areeb.event_booking_system.dtos.event.EventDto;
+
+class ConditionalGetTest {
+
+    private static final OffsetDateTime UPDATED_AT = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+
+    private final UUID eventId = UUID.randomUUID();
+
+    @Test
+    void isNotModified_MatchingETagAnswers304() {
+        String eTag = ConditionalGet.eventTag(version(3L, 10, false));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(ConditionalGet.isNotModified(get(HttpHeaders.IF_NONE_MATCH, eTag, response), eTag, UPDATED_AT));
+        assertEquals(304, response.getStatus());
+        assertEquals(eTag, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void isNotModified_ChangedCountOrBookedFlagChangesTheTag() {
+        String eTag = ConditionalGet.eventTag(version(3L, 10, false));
+        assertNotEquals(eTag, ConditionalGet.eventTag(version(3L, 11, false)));
+        assertNotEquals(eTag, ConditionalGet.eventTag(version(3L, 10, true)));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String current = ConditionalGet.eventTag(version(4L, 10, false));
+        assertFalse(ConditionalGet.isNotModified(get(HttpHeaders.IF_NONE_MATCH, eTag, response), current, UPDATED_AT));
+        assertEquals(200, response.getStatus());
+        assertEquals(current, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void isNotModified_IfModifiedSinceUsesLastModified() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServletWebRequest request = get(HttpHeaders.IF_MODIFIED_SINCE,
+                "Thu, 01 Jan 2026 10:00:00 GMT", response);
+
+        assertTrue(ConditionalGet.isNotModified(request, null, UPDATED_AT));
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    void eventsTag_DependsOnEveryItemAndThePage() {
+        EventDto.EventResponse event = EventDto.EventResponse.builder().id(eventId).version(1L)
+                .currentBookingsCount(2).updatedAt(UPDATED_AT).build();
+        String tag = ConditionalGet.eventsTag(new PageImpl<>(List.of(event), PageRequest.of(0, 10), 1));
+
+        assertEquals(tag, ConditionalGet.eventsTag(new PageImpl<>(List.of(event.toBuilder().build()),
+                PageRequest.of(0, 10), 1)));
+        assertNotEquals(tag, ConditionalGet.eventsTag(new PageImpl<>(List.of(event), PageRequest.of(1, 10), 11)));
+        assertNotEquals(tag, ConditionalGet.eventsTag(new PageImpl<>(List.of(event.toBuilder().version(2L).build()),
+                PageRequest.of(0, 10), 1)));
+    }
+
+    @Test
+    void isNotModified_ItemLeavingThePageIsNotAnswered304() {
+        EventDto.EventResponse older = EventDto.EventResponse.builder().id(UUID.randomUUID()).version(1L)
+                .currentBookingsCount(0).updatedAt(UPDATED_AT.minusDays(1)).build();
+        EventDto.EventResponse newest = EventDto.EventResponse.builder().id(eventId).version(1L)
+                .currentBookingsCount(0).updatedAt(UPDATED_AT).build();
+        String seen = ConditionalGet.eventsTag(new PageImpl<>(List.of(newest, older), PageRequest.of(0, 10), 2));
+        // the older event was deleted; the newest updatedAt on the page did not move
+        String current = ConditionalGet.eventsTag(new PageImpl<>(List.of(newest), PageRequest.of(0, 10), 1));
+
+        MockHttpServletResponse byDate = new MockHttpServletResponse();
+        assertFalse(ConditionalGet.isNotModified(get(HttpHeaders.IF_MODIFIED_SINCE,
+                "Thu, 01 Jan 2026 10:00:00 GMT", byDate), current, null));
+        assertEquals(200, byDate.getStatus());
+        assertNull(byDate.getHeader(HttpHeaders.LAST_MODIFIED));
+
+        MockHttpServletResponse byTag = new MockHttpServletResponse();
+        assertFalse(ConditionalGet.isNotModified(get(HttpHeaders.IF_NONE_MATCH, seen, byTag), current, null));
+        assertEquals(200, byTag.getStatus());
+        assertEquals(current, byTag.getHeader(HttpHeaders.ETAG));
+    }
+
+    private EventDto.EventVersion version(long version, int bookings, boolean booked) {
+        return EventDto.EventVersion.builder().id(eventId).version(version).currentBookingsCount(bookings)
+                .isCurrentUserBooked(booked).updatedAt(UPDATED_AT).build();
+    }
+
+    private static ServletWebRequest get(String header, String value, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.addHeader(header, value);
+        return new ServletWebRequest(request, response);
+    }
+}
@@ -27,6 +27,7 @@ import com.areeb.event_booking_system.dtos.auth.AuthDto;
 import com.areeb.event_booking_system.dtos.user.UserDto;
 import com.areeb.event_booking_system.services.auth.AuthService;
 import com.areeb.event_booking_system.services.auth.CustomUserDetailsService;
+import com.areeb.event_booking_system.services.idempotency.IdempotencyStore;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.servlet.http.Cookie;
@@ -53,6 +54,9 @@ class AuthControllerTest {
     @MockitoBean
     private AuthEntryPointJwt authEntryPointJwt;
 
+    @MockitoBean
+    private IdempotencyStore idempotencyStore;
+
     @Autowired
     private ObjectMapper objectMapper;
 
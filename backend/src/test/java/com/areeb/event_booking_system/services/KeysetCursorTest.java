@@ -0,0 +1,45 @@
+package com.areeb.event_booking_system.services;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class KeysetCursorTest {
+
+    @Test
+    void decode_RoundTripsToTheSameInstantAndId() {
+        OffsetDateTime at = OffsetDateTime.of(2026, 5, 1, 18, 30, 0, 123_456_000, ZoneOffset.ofHours(3));
+        KeysetCursor cursor = new KeysetCursor(at, UUID.randomUUID());
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        assertEquals(at.toInstant(), decoded.at().toInstant());
+        assertEquals(cursor.id(), decoded.id());
+    }
+
+    @Test
+    void decode_RejectsGarbage() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("AAAA"));
+        byte[] outOfRange = new byte[28];
+        Arrays.fill(outOfRange, (byte) 0x7f);
+        assertThrows(IllegalArgumentException.class,
+                () -> KeysetCursor.decode(Base64.getUrlEncoder().withoutPadding().encodeToString(outOfRange)));
+    }
+
+    @Test
+    void checkPageSize_AcceptsOneToMax() {
+        assertDoesNotThrow(() -> KeysetCursor.checkPageSize(1));
+        assertDoesNotThrow(() -> KeysetCursor.checkPageSize(KeysetCursor.MAX_PAGE_SIZE));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.checkPageSize(0));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.checkPageSize(KeysetCursor.MAX_PAGE_SIZE + 1));
+    }
+}
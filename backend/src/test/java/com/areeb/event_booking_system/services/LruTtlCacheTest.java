@@ -0,0 +1,38 @@
+package com.areeb.event_booking_system.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class LruTtlCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void put_EvictsLeastRecentlyUsed() {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(2, 1_000, clock::get);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+    }
+
+    @Test
+    void get_DropsExpiredEntries() {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(10, 1_000, clock::get);
+        cache.put("a", 1);
+
+        clock.set(999);
+        assertEquals(1, cache.get("a"));
+        clock.set(1_000);
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,173 @@
+package com.areeb.event_booking_system.services.ballot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.areeb.event_booking_system.models.booking.Booking;
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.models.user.User;
+import com.areeb.event_booking_system.repository.UserRepository;
+import com.areeb.event_booking_system.repository.booking.BookingBatchInserter;
+import com.areeb.event_booking_system.repository.booking.BookingRepository;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+import com.areeb.event_booking_system.services.booking.booked.BookedEventsCache;
+import com.areeb.event_booking_system.services.booking.inventory.InventoryLedger;
+import com.areeb.event_booking_system.services.event.catalog.EventCatalogCache;
+import com.areeb.event_booking_system.services.event.changes.EventChangeLog;
+import com.areeb.event_booking_system.services.waitlist.WaitlistNotifier;
+
+@ExtendWith(MockitoExtension.class)
+class BallotAllocatorTest {
+
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private BookingBatchInserter batchInserter;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private InventoryLedger inventoryLedger;
+    @Mock
+    private WaitlistNotifier notifier;
+    @Mock
+    private BookedEventsCache bookedEvents;
+    @Mock
+    private EventCatalogCache eventCatalog;
+    @Mock
+    private EventChangeLog eventChangeLog;
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @InjectMocks
+    private BallotAllocator allocator;
+
+    private List<UUID> entrants;
+
+    @BeforeEach
+    void setUp() {
+        entrants = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            entrants.add(UUID.randomUUID());
+        }
+    }
+
+    @Test
+    void draw_BooksWinnersAndMovesCountOnce() {
+        Event event = closedBallot(10, 7, 42L);
+        UUID alreadyBooked = entrants.get(0);
+        stubEntrants(event, List.of(alreadyBooked));
+        stubUserReferences();
+
+        allocator.draw(event.getId());
+
+        List<Booking> bookings = insertedBookings(1).get(0);
+        assertEquals(3, bookings.size());
+        assertFalse(bookings.stream().anyMatch(booking -> booking.getUser().getId().equals(alreadyBooked)));
+        assertEquals(10, event.getCurrentBookingsCount());
+        assertNotNull(event.getBallotDrawnAt());
+        verify(eventRepository).save(event);
+        verify(eventChangeLog).recordChange(event.getId());
+        verify(jdbcTemplate).update(startsWith("UPDATE ballot_entries"), any(PreparedStatementSetter.class));
+        // three winners and one loser hear about the result
+        verify(notifier, times(3)).ballotDrawn(any(UUID.class), eq(event.getId()), any(UUID.class));
+        verify(notifier).ballotDrawn(any(UUID.class), eq(event.getId()), isNull());
+    }
+
+    @Test
+    void draw_SameSeedDrawsSameWinners() {
+        Event first = closedBallot(2, 0, 7L);
+        Event second = closedBallot(2, 0, 7L);
+        stubEntrants(first, List.of());
+        stubEntrants(second, List.of());
+        stubUserReferences();
+
+        allocator.draw(first.getId());
+        allocator.draw(second.getId());
+
+        List<List<Booking>> batches = insertedBookings(2);
+        assertEquals(winnerIds(batches.get(0)), winnerIds(batches.get(1)));
+    }
+
+    @Test
+    void draw_AlreadyDrawn_DoesNothing() {
+        Event event = closedBallot(10, 0, 1L);
+        event.setBallotDrawnAt(OffsetDateTime.now().minusMinutes(1));
+        when(eventRepository.findByIdForUpdate(event.getId())).thenReturn(Optional.of(event));
+
+        allocator.draw(event.getId());
+
+        verify(batchInserter, never()).insertAll(any());
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(UUID.class), any(UUID.class));
+    }
+
+    private Event closedBallot(int capacity, int booked, long seed) {
+        return Event.builder()
+                .id(UUID.randomUUID())
+                .name("Ballot")
+                .eventDate(OffsetDateTime.now().plusDays(10))
+                .maxCapacity(capacity)
+                .currentBookingsCount(booked)
+                .price(BigDecimal.TEN)
+                .version(0L)
+                .ballotClosesAt(OffsetDateTime.now().minusMinutes(1))
+                .ballotSeed(seed)
+                .build();
+    }
+
+    private void stubEntrants(Event event, List<UUID> booked) {
+        when(eventRepository.findByIdForUpdate(event.getId())).thenReturn(Optional.of(event));
+        when(bookingRepository.findUserIdsByEventId(event.getId())).thenReturn(booked);
+        when(jdbcTemplate.queryForList(anyString(), eq(UUID.class), eq(event.getId()))).thenReturn(entrants);
+    }
+
+    private void stubUserReferences() {
+        when(userRepository.getReferenceById(any(UUID.class)))
+                .thenAnswer(invocation -> User.builder().id(invocation.getArgument(0)).build());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Booking>> insertedBookings(int batches) {
+        ArgumentCaptor<List<Booking>> captor = ArgumentCaptor.forClass(List.class);
+        verify(batchInserter, times(batches)).insertAll(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private List<UUID> winnerIds(List<Booking> bookings) {
+        return bookings.stream().map(booking -> booking.getUser().getId()).toList();
+    }
+}
@@ -0,0 +1,88 @@
+package com.areeb.event_booking_system.services.ballot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.areeb.event_booking_system.dtos.ballot.BallotDto;
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.models.user.User;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+
+@ExtendWith(MockitoExtension.class)
+class BallotServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private EventRepository eventRepository;
+
+    @InjectMocks
+    private BallotService ballotService;
+
+    private Event event;
+    private User currentUser;
+
+    @BeforeEach
+    void setUp() {
+        event = Event.builder()
+                .id(UUID.randomUUID())
+                .name("Ballot")
+                .eventDate(OffsetDateTime.now().plusDays(10))
+                .maxCapacity(100)
+                .price(BigDecimal.TEN)
+                .ballotClosesAt(OffsetDateTime.now().plusDays(1))
+                .build();
+        currentUser = User.builder().id(UUID.randomUUID()).username("entrant").build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void enter_OpenBallot_InsertsEntryWithoutTouchingCapacity() {
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        BallotDto.BallotEntryStatus pending = BallotDto.BallotEntryStatus.builder()
+                .eventId(event.getId()).result(BallotDto.BallotResult.PENDING).build();
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(event.getId()), eq(currentUser.getId())))
+                .thenReturn(List.of(pending));
+
+        assertEquals(BallotDto.BallotResult.PENDING, ballotService.enter(event.getId(), currentUser).getResult());
+        verify(jdbcTemplate).update(anyString(), eq(event.getId()), eq(currentUser.getId()));
+        verify(eventRepository, never()).save(any());
+    }
+
+    @Test
+    void enter_ClosedBallot_Rejected() {
+        event.setBallotClosesAt(OffsetDateTime.now().minusMinutes(1));
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+
+        assertThrows(IllegalArgumentException.class, () -> ballotService.enter(event.getId(), currentUser));
+    }
+
+    @Test
+    void enter_EventWithoutBallot_Rejected() {
+        event.setBallotClosesAt(null);
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+
+        assertThrows(IllegalArgumentException.class, () -> ballotService.enter(event.getId(), currentUser));
+    }
+}
@@ -0,0 +1,169 @@
+package com.areeb.event_booking_system.services.booking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.areeb.event_booking_system.dtos.booking.BookingDto;
+import com.areeb.event_booking_system.mappers.BookingMapper;
+import com.areeb.event_booking_system.models.booking.Booking;
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.models.user.User;
+import com.areeb.event_booking_system.repository.booking.BookingRepository;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+import com.areeb.event_booking_system.services.booking.booked.BookedEventsCache;
+import com.areeb.event_booking_system.services.booking.inventory.InventoryLedger;
+import com.areeb.event_booking_system.services.seating.SeatMapService;
+
+// Wiring of the ATOMIC booking path: createBooking is called from many threads against a repository fake
+// for reserveAndInsert, and every outcome the fake reports has to come back out of the service as the
+// matching result or exception. The fake does its own locking, so this says nothing about whether the
+// SQL statement prevents overbooking; that needs a real Postgres.
+@ExtendWith(MockitoExtension.class)
+class AtomicReservationWiringTest {
+
+    private static final int CAPACITY = 200;
+    private static final int BOOKERS = 600;
+    private static final int REPEAT_BOOKERS = 50;
+
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private BookingMapper bookingMapper;
+    @Mock
+    private InventoryLedger inventoryLedger;
+    @Mock
+    private SeatMapService seatMapService;
+    @Mock
+    private BookedEventsCache bookedEvents;
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @InjectMocks
+    private BookingServiceImpl bookingService;
+
+    private final Object eventRowLock = new Object();
+    private final Set<UUID> bookedUsers = new HashSet<>();
+    private final Map<UUID, Booking> bookings = new ConcurrentHashMap<>();
+    private int currentBookingsCount;
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingService, "reservationMode", ReservationMode.ATOMIC);
+        event = Event.builder()
+                .id(UUID.randomUUID())
+                .name("Flash Sale")
+                .eventDate(OffsetDateTime.now().plusDays(1))
+                .maxCapacity(CAPACITY)
+                .price(BigDecimal.TEN)
+                .version(0L)
+                .build();
+
+        when(bookingRepository.reserveAndInsert(any(UUID.class), any(UUID.class), eq(event.getId()), eq(1)))
+                .thenAnswer(invocation -> {
+                    UUID bookingId = invocation.getArgument(0);
+                    UUID userId = invocation.getArgument(1);
+                    synchronized (eventRowLock) {
+                        if (bookedUsers.contains(userId) || currentBookingsCount >= CAPACITY) {
+                            return BookingServiceImplTest.reservation(0, 0);
+                        }
+                        currentBookingsCount++;
+                        bookedUsers.add(userId);
+                    }
+                    bookings.put(bookingId, Booking.builder().id(bookingId).event(event).build());
+                    return BookingServiceImplTest.reservation(1, 1);
+                });
+        when(bookingRepository.findById(any(UUID.class)))
+                .thenAnswer(invocation -> Optional.ofNullable(bookings.get(invocation.getArgument(0))));
+        when(bookingMapper.bookingToBookingResponse(any(Booking.class)))
+                .thenAnswer(invocation -> BookingDto.BookingResponse.builder()
+                        .id(((Booking) invocation.getArgument(0)).getId()).build());
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        when(bookingRepository.existsByUserIdAndEventId(any(UUID.class), eq(event.getId())))
+                .thenAnswer(invocation -> {
+                    synchronized (eventRowLock) {
+                        return bookedUsers.contains(invocation.getArgument(0));
+                    }
+                });
+    }
+
+    @Test
+    void createBooking_Atomic_MapsEveryReservationOutcome() throws Exception {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            users.add(User.builder().id(UUID.randomUUID()).username("user" + i).build());
+        }
+        // the first users retry concurrently with themselves
+        List<User> attempts = new ArrayList<>(users);
+        attempts.addAll(users.subList(0, REPEAT_BOOKERS));
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<ReservationOutcome>> results = new ArrayList<>();
+        BookingDto.CreateBookingRequest request = BookingDto.CreateBookingRequest.builder()
+                .eventId(event.getId()).build();
+
+        for (User user : attempts) {
+            results.add(executor.submit(() -> {
+                startGate.await();
+                try {
+                    bookingService.createBooking(request, user);
+                    return ReservationOutcome.BOOKED;
+                } catch (IllegalStateException e) {
+                    return ReservationOutcome.SOLD_OUT;
+                } catch (DataIntegrityViolationException e) {
+                    return ReservationOutcome.DUPLICATE;
+                }
+            }));
+        }
+        startGate.countDown();
+
+        Map<ReservationOutcome, Integer> outcomes = new ConcurrentHashMap<>();
+        for (Future<ReservationOutcome> result : results) {
+            outcomes.merge(result.get(30, TimeUnit.SECONDS), 1, Integer::sum);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(CAPACITY, outcomes.getOrDefault(ReservationOutcome.BOOKED, 0));
+        assertEquals(CAPACITY, currentBookingsCount);
+        assertEquals(CAPACITY, bookedUsers.size());
+        assertEquals(CAPACITY, bookings.size());
+        assertEquals(attempts.size(), outcomes.values().stream().mapToInt(Integer::intValue).sum());
+    }
+}
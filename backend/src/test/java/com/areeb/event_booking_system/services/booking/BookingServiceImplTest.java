@@ -2,21 +2,32 @@ package com.areeb.event_booking_system.services.booking;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -24,23 +35,49 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.areeb.event_booking_system.dtos.BatchItem;
+import com.areeb.event_booking_system.dtos.CursorPage;
 import com.areeb.event_booking_system.dtos.booking.BookingDto;
+import com.areeb.event_booking_system.dtos.seating.SeatMapDto;
 import com.areeb.event_booking_system.dtos.event.EventDto;
 import com.areeb.event_booking_system.exceptions.ResourceNotFoundException;
 import com.areeb.event_booking_system.mappers.BookingMapper;
 import com.areeb.event_booking_system.models.booking.Booking;
+import com.areeb.event_booking_system.models.booking.BookingHold;
 import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.models.user.Permission;
+import com.areeb.event_booking_system.models.user.Role;
 import com.areeb.event_booking_system.models.user.User;
+import com.areeb.event_booking_system.repository.booking.BookingBatchInserter;
+import com.areeb.event_booking_system.repository.booking.BookingHoldRepository;
 import com.areeb.event_booking_system.repository.booking.BookingRepository;
+import com.areeb.event_booking_system.repository.booking.BookingSummaryRow;
+import com.areeb.event_booking_system.repository.booking.CancelledBooking;
+import com.areeb.event_booking_system.repository.booking.CapacityReservation;
 import com.areeb.event_booking_system.repository.event.EventRepository;
+import com.areeb.event_booking_system.services.BatchLookup;
+import com.areeb.event_booking_system.services.KeysetCursor;
+import com.areeb.event_booking_system.services.booking.booked.BookedEventsCache;
+import com.areeb.event_booking_system.services.booking.hold.HoldExpirer;
+import com.areeb.event_booking_system.services.booking.inventory.InventoryLedger;
+import com.areeb.event_booking_system.services.seating.SeatMapService;
+import com.areeb.event_booking_system.services.waitlist.WaitlistService;
+import com.areeb.event_booking_system.services.booking.contention.AdaptiveContentionManager;
+import com.areeb.event_booking_system.services.booking.contention.ContentionManager;
+import com.areeb.event_booking_system.services.booking.contention.LockingStrategy;
 
 import jakarta.persistence.OptimisticLockException;
 
@@ -53,6 +90,25 @@ class BookingServiceImplTest {
     private EventRepository eventRepository;
     @Mock
     private BookingMapper bookingMapper;
+    @Mock
+    private InventoryLedger inventoryLedger;
+    @Mock
+    private SeatMapService seatMapService;
+    @Mock
+    private BookingHoldRepository holdRepository;
+    @Mock
+    private HoldExpirer holdExpirer;
+    @Mock
+    private WaitlistService waitlistService;
+    @Mock
+    private BookingBatchInserter batchInserter;
+    @Mock
+    private BookedEventsCache bookedEvents;
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+    @Spy
+    private ContentionManager contentionManager = new AdaptiveContentionManager(3, 0, 0, LockingStrategy.PESSIMISTIC,
+            0.3, 10, 5000);
 
     @InjectMocks
     private BookingServiceImpl bookingService;
@@ -163,6 +219,16 @@ class BookingServiceImplTest {
                 () -> bookingService.createBooking(createBookingRequest, currentUser));
     }
 
+    @Test
+    void createBooking_PendingBallot_Rejected() {
+        availableEvent.setBallotClosesAt(OffsetDateTime.now().plusDays(1));
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(availableEvent));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.createBooking(createBookingRequest, currentUser));
+        assertEquals(5, availableEvent.getCurrentBookingsCount());
+    }
+
     @Test
     void createBooking_AlreadyBooked() {
         when(eventRepository.findById(eventId)).thenReturn(Optional.of(availableEvent));
@@ -176,13 +242,139 @@ class BookingServiceImplTest {
         createBookingRequest = BookingDto.CreateBookingRequest.builder().eventId(fullEvent.getId()).build();
         when(eventRepository.findById(fullEvent.getId())).thenReturn(Optional.of(fullEvent));
         when(bookingRepository.existsByUserIdAndEventId(userId, fullEvent.getId())).thenReturn(false);
-        // First call to findById in the loop
-        when(eventRepository.findById(fullEvent.getId())).thenReturn(Optional.of(fullEvent));
 
         assertThrows(IllegalStateException.class,
                 () -> bookingService.createBooking(createBookingRequest, currentUser));
     }
 
+    @Test
+    void createBooking_MultipleSeats_IncrementsCountByQuantity() {
+        createBookingRequest = BookingDto.CreateBookingRequest.builder().eventId(eventId).quantity(3).build();
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(availableEvent));
+        when(bookingRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(false);
+        when(eventRepository.saveAndFlush(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bookingMapper.createRequestToBooking(createBookingRequest, currentUser, availableEvent))
+                .thenReturn(booking);
+        when(bookingRepository.save(booking)).thenReturn(booking);
+        when(bookingMapper.bookingToBookingResponse(booking)).thenReturn(bookingResponse);
+
+        bookingService.createBooking(createBookingRequest, currentUser);
+
+        assertEquals(8, availableEvent.getCurrentBookingsCount());
+    }
+
+    @Test
+    void createBooking_QuantityAboveRemaining_Rejected() {
+        createBookingRequest = BookingDto.CreateBookingRequest.builder().eventId(eventId).quantity(6).build();
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(availableEvent));
+        when(bookingRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(false);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> bookingService.createBooking(createBookingRequest, currentUser));
+        assertEquals("Not enough tickets available. Only 5 left.", e.getMessage());
+        assertEquals(5, availableEvent.getCurrentBookingsCount());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void createBooking_QuantityAboveLimit_Rejected() {
+        createBookingRequest = BookingDto.CreateBookingRequest.builder().eventId(eventId).quantity(11).build();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.createBooking(createBookingRequest, currentUser));
+        verify(eventRepository, never()).findById(any());
+    }
+
+    @Test
+    void createBooking_SeatedEvent_ReservesChosenSeats() {
+        availableEvent.setSeated(true);
+        List<SeatMapDto.SeatRef> seats = List.of(
+                SeatMapDto.SeatRef.builder().section("Stalls").row("A").seat(4).build(),
+                SeatMapDto.SeatRef.builder().section("Stalls").row("A").seat(5).build());
+        createBookingRequest = BookingDto.CreateBookingRequest.builder().eventId(eventId).seats(seats).build();
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(availableEvent));
+        when(bookingRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(false);
+        when(bookingMapper.createRequestToBooking(createBookingRequest, currentUser, availableEvent))
+                .thenReturn(booking);
+        when(bookingRepository.saveAndFlush(booking)).thenReturn(booking);
+        when(seatMapService.reserve(eventId, bookingId, seats, 2)).thenReturn(seats);
+        when(bookingMapper.bookingToBookingResponse(booking)).thenReturn(bookingResponse);
+
+        BookingDto.BookingResponse response = bookingService.createBooking(createBookingRequest, currentUser);
+
+        assertEquals(seats, response.getSeats());
+        assertEquals(2, booking.getQuantity());
+        assertEquals(7, availableEvent.getCurrentBookingsCount());
+    }
+
+    @Test
+    void createBooking_SeatsForUnseatedEvent_Rejected() {
+        createBookingRequest = BookingDto.CreateBookingRequest.builder().eventId(eventId)
+                .seats(List.of(SeatMapDto.SeatRef.builder().section("Stalls").row("A").seat(1).build())).build();
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(availableEvent));
+        when(bookingRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.createBooking(createBookingRequest, currentUser));
+        verify(eventRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void createBookings_BestEffort_BooksWhatIsAvailable() {
+        Event bookedEvent = Event.builder().id(UUID.randomUUID()).eventDate(OffsetDateTime.now().plusDays(2))
+                .maxCapacity(10).currentBookingsCount(1).version(0L).price(BigDecimal.TEN).build();
+        UUID missingEventId = UUID.randomUUID();
+        List<UUID> eventIds = List.of(eventId, fullEvent.getId(), bookedEvent.getId(), missingEventId);
+        when(eventRepository.findAllByIdForUpdate(eventIds)).thenReturn(List.of(availableEvent, fullEvent, bookedEvent));
+        when(bookingRepository.findBookedEventIds(userId, eventIds)).thenReturn(List.of(bookedEvent.getId()));
+
+        BookingDto.BatchBookingResponse response = bookingService.createBookings(
+                BookingDto.BatchBookingRequest.builder().eventIds(eventIds).build(), currentUser);
+
+        assertEquals(1, response.getBooked());
+        assertEquals(List.of(BookingDto.BatchOutcome.BOOKED, BookingDto.BatchOutcome.SOLD_OUT,
+                BookingDto.BatchOutcome.ALREADY_BOOKED, BookingDto.BatchOutcome.EVENT_NOT_FOUND),
+                response.getResults().stream().map(BookingDto.BatchBookingResult::getOutcome).toList());
+        assertNotNull(response.getResults().get(0).getBookingId());
+        assertEquals(6, availableEvent.getCurrentBookingsCount());
+        verify(batchInserter).insertAll(argThat(bookings -> bookings.size() == 1
+                && bookings.get(0).getEvent() == availableEvent));
+        verify(eventRepository).saveAll(List.of(availableEvent));
+    }
+
+    @Test
+    void createBookings_AllOrNothing_BooksNothingWhenOneFails() {
+        List<UUID> eventIds = List.of(eventId, fullEvent.getId());
+        when(eventRepository.findAllByIdForUpdate(eventIds)).thenReturn(List.of(fullEvent, availableEvent));
+        when(bookingRepository.findBookedEventIds(userId, eventIds)).thenReturn(List.of());
+
+        BookingDto.BatchBookingResponse response = bookingService.createBookings(
+                BookingDto.BatchBookingRequest.builder().eventIds(eventIds).allOrNothing(true).build(), currentUser);
+
+        assertEquals(0, response.getBooked());
+        assertEquals(List.of(BookingDto.BatchOutcome.ROLLED_BACK, BookingDto.BatchOutcome.SOLD_OUT),
+                response.getResults().stream().map(BookingDto.BatchBookingResult::getOutcome).toList());
+        assertEquals(5, availableEvent.getCurrentBookingsCount());
+        verify(batchInserter).insertAll(Collections.emptyList());
+    }
+
+    @Test
+    void createBookings_InMemoryEvent_TakesPermitInsteadOfCounter() {
+        List<UUID> eventIds = List.of(eventId);
+        when(eventRepository.findAllByIdForUpdate(eventIds)).thenReturn(List.of(availableEvent));
+        when(bookingRepository.findBookedEventIds(userId, eventIds)).thenReturn(List.of());
+        when(inventoryLedger.isManaged(eventId)).thenReturn(true);
+        when(inventoryLedger.tryAcquire(eventId, 1)).thenReturn(true);
+
+        BookingDto.BatchBookingResponse response = bookingService.createBookings(
+                BookingDto.BatchBookingRequest.builder().eventIds(eventIds).build(), currentUser);
+
+        assertEquals(1, response.getBooked());
+        assertEquals(5, availableEvent.getCurrentBookingsCount());
+        verify(inventoryLedger).confirm(eventId, 1);
+        verify(inventoryLedger, never()).release(any(), anyInt());
+    }
+
     @Test
     void createBooking_OptimisticLock_FailsAfterRetries() {
         when(eventRepository.findById(eventId)).thenReturn(Optional.of(availableEvent));
@@ -207,7 +399,6 @@ class BookingServiceImplTest {
                 .price(BigDecimal.TEN).build();
 
         when(eventRepository.findById(eventId))
-                .thenReturn(Optional.of(eventInitialFetch))
                 .thenReturn(Optional.of(eventInitialFetch))
                 .thenReturn(Optional.of(eventAfterConcurrentUpdate));
 
@@ -234,10 +425,84 @@ class BookingServiceImplTest {
         assertEquals(6, eventAfterConcurrentUpdate.getCurrentBookingsCount());
     }
 
+    @Test
+    void createBooking_Atomic_Success() {
+        ReflectionTestUtils.setField(bookingService, "reservationMode", ReservationMode.ATOMIC);
+        when(bookingRepository.reserveAndInsert(any(UUID.class), eq(userId), eq(eventId), eq(1)))
+                .thenReturn(reservation(1, 1));
+        when(bookingRepository.findById(any(UUID.class))).thenReturn(Optional.of(booking));
+        when(bookingMapper.bookingToBookingResponse(booking)).thenReturn(bookingResponse);
+
+        BookingDto.BookingResponse response = bookingService.createBooking(createBookingRequest, currentUser);
+
+        assertEquals(bookingId, response.getId());
+        verify(eventRepository, never()).saveAndFlush(any(Event.class));
+        verify(bookingRepository, never()).existsByUserIdAndEventId(any(), any());
+    }
+
+    @Test
+    void createBooking_Atomic_SeatsForUnseatedEvent_Rejected() {
+        ReflectionTestUtils.setField(bookingService, "reservationMode", ReservationMode.ATOMIC);
+        createBookingRequest = BookingDto.CreateBookingRequest.builder().eventId(eventId)
+                .seats(List.of(SeatMapDto.SeatRef.builder().section("Stalls").row("A").seat(1).build())).build();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.createBooking(createBookingRequest, currentUser));
+        verify(bookingRepository, never()).reserveAndInsert(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void createBooking_Atomic_SoldOut() {
+        ReflectionTestUtils.setField(bookingService, "reservationMode", ReservationMode.ATOMIC);
+        createBookingRequest = BookingDto.CreateBookingRequest.builder().eventId(fullEvent.getId()).build();
+        when(bookingRepository.reserveAndInsert(any(UUID.class), eq(userId), eq(fullEvent.getId()), eq(1)))
+                .thenReturn(reservation(0, 0));
+        when(eventRepository.findById(fullEvent.getId())).thenReturn(Optional.of(fullEvent));
+        when(bookingRepository.existsByUserIdAndEventId(userId, fullEvent.getId())).thenReturn(false);
+
+        assertThrows(IllegalStateException.class,
+                () -> bookingService.createBooking(createBookingRequest, currentUser));
+    }
+
+    @Test
+    void createBooking_Atomic_Duplicate() {
+        ReflectionTestUtils.setField(bookingService, "reservationMode", ReservationMode.ATOMIC);
+        when(bookingRepository.reserveAndInsert(any(UUID.class), eq(userId), eq(eventId), eq(1)))
+                .thenReturn(reservation(0, 0));
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(availableEvent));
+        when(bookingRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(true);
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> bookingService.createBooking(createBookingRequest, currentUser));
+    }
+
+    @Test
+    void createBooking_Atomic_LostInsertRace() {
+        ReflectionTestUtils.setField(bookingService, "reservationMode", ReservationMode.ATOMIC);
+        when(bookingRepository.reserveAndInsert(any(UUID.class), eq(userId), eq(eventId), eq(1)))
+                .thenReturn(reservation(1, 0));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> bookingService.createBooking(createBookingRequest, currentUser));
+        verify(eventRepository, never()).findById(any());
+    }
+
+    @Test
+    void createBooking_Atomic_PastEvent() {
+        ReflectionTestUtils.setField(bookingService, "reservationMode", ReservationMode.ATOMIC);
+        createBookingRequest = BookingDto.CreateBookingRequest.builder().eventId(pastEvent.getId()).build();
+        when(bookingRepository.reserveAndInsert(any(UUID.class), eq(userId), eq(pastEvent.getId()), eq(1)))
+                .thenReturn(reservation(0, 0));
+        when(eventRepository.findById(pastEvent.getId())).thenReturn(Optional.of(pastEvent));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.createBooking(createBookingRequest, currentUser));
+    }
+
     @Test
     void cancelBooking_Success() {
         Booking bookingToCancel = Booking.builder().id(bookingId).user(currentUser).event(availableEvent).build();
-        when(bookingRepository.findByIdWithUserAndEvent(bookingId)).thenReturn(Optional.of(bookingToCancel));
+        when(bookingRepository.findByIdWithUser(bookingId)).thenReturn(Optional.of(bookingToCancel));
         when(eventRepository.findById(availableEvent.getId())).thenReturn(Optional.of(availableEvent));
         when(eventRepository.saveAndFlush(any(Event.class))).thenAnswer(invocation -> {
             Event savedEvent = invocation.getArgument(0);
@@ -246,35 +511,388 @@ class BookingServiceImplTest {
         });
         doNothing().when(bookingRepository).delete(bookingToCancel);
 
-        assertDoesNotThrow(() -> bookingService.cancelBooking(bookingId, currentUser));
+        assertDoesNotThrow(() -> bookingService.cancelBooking(bookingId, null, currentUser));
 
         assertEquals(4, availableEvent.getCurrentBookingsCount());
         verify(eventRepository).saveAndFlush(availableEvent);
         verify(bookingRepository).delete(bookingToCancel);
     }
 
+    @Test
+    void cancelBooking_WaitlistPromoted_KeepsCount() {
+        Booking bookingToCancel = Booking.builder().id(bookingId).user(currentUser).event(availableEvent).build();
+        when(bookingRepository.findByIdWithUser(bookingId)).thenReturn(Optional.of(bookingToCancel));
+        when(eventRepository.findById(availableEvent.getId())).thenReturn(Optional.of(availableEvent));
+        when(waitlistService.promote(availableEvent, 1)).thenReturn(1);
+
+        assertDoesNotThrow(() -> bookingService.cancelBooking(bookingId, null, currentUser));
+
+        assertEquals(5, availableEvent.getCurrentBookingsCount());
+        verify(eventRepository, never()).saveAndFlush(any());
+        verify(bookingRepository).delete(bookingToCancel);
+    }
+
+    @Test
+    void cancelBooking_PartialQuantity_KeepsRemainingSeats() {
+        Booking bookingToCancel = Booking.builder().id(bookingId).user(currentUser).event(availableEvent).quantity(4)
+                .build();
+        when(bookingRepository.findByIdWithUser(bookingId)).thenReturn(Optional.of(bookingToCancel));
+        when(eventRepository.findById(availableEvent.getId())).thenReturn(Optional.of(availableEvent));
+
+        assertDoesNotThrow(() -> bookingService.cancelBooking(bookingId, 3, currentUser));
+
+        assertEquals(2, availableEvent.getCurrentBookingsCount());
+        assertEquals(1, bookingToCancel.getQuantity());
+        verify(waitlistService).promote(availableEvent, 3);
+        verify(bookingRepository).save(bookingToCancel);
+        verify(bookingRepository, never()).delete(any(Booking.class));
+    }
+
+    @Test
+    void cancelBooking_QuantityAboveBooked_Rejected() {
+        Booking bookingToCancel = Booking.builder().id(bookingId).user(currentUser).event(availableEvent).quantity(2)
+                .build();
+        when(bookingRepository.findByIdWithUser(bookingId)).thenReturn(Optional.of(bookingToCancel));
+
+        assertThrows(IllegalArgumentException.class, () -> bookingService.cancelBooking(bookingId, 3, currentUser));
+        verify(waitlistService, never()).promote(any(), anyInt());
+    }
+
+    @Test
+    void cancelBooking_OptimisticLock_RetriesInFreshTransaction() {
+        Booking bookingToCancel = Booking.builder().id(bookingId).user(currentUser).event(availableEvent).build();
+        when(bookingRepository.findByIdWithUser(bookingId)).thenReturn(Optional.of(bookingToCancel));
+        when(eventRepository.findById(availableEvent.getId())).thenReturn(Optional.of(availableEvent));
+        when(eventRepository.saveAndFlush(any(Event.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Event.class, eventId))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertDoesNotThrow(() -> bookingService.cancelBooking(bookingId, null, currentUser));
+
+        // one lookup transaction plus two attempts
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(contentionManager).recordConflict(eventId);
+        verify(contentionManager).recordSuccess(eventId);
+        verify(bookingRepository, times(1)).delete(bookingToCancel);
+    }
+
+    @Test
+    void cancelBooking_Atomic_SingleStatement() {
+        ReflectionTestUtils.setField(bookingService, "reservationMode", ReservationMode.ATOMIC);
+        when(bookingRepository.cancelOwned(bookingId, userId, 0)).thenReturn(Optional.of(cancelled(eventId, 2, false)));
+
+        assertDoesNotThrow(() -> bookingService.cancelBooking(bookingId, null, currentUser));
+
+        verify(bookingRepository, never()).findByIdWithUser(any());
+        verify(eventRepository, never()).findById(any());
+        verify(waitlistService, never()).promote(any(), anyInt());
+    }
+
+    @Test
+    void cancelBooking_Atomic_Waitlisted_CountsPromotedSeatsBack() {
+        ReflectionTestUtils.setField(bookingService, "reservationMode", ReservationMode.ATOMIC);
+        when(bookingRepository.cancelOwned(bookingId, userId, 2)).thenReturn(Optional.of(cancelled(eventId, 2, true)));
+        // counter as the statement left it
+        availableEvent.setCurrentBookingsCount(3);
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(availableEvent));
+        when(waitlistService.promote(availableEvent, 2)).thenReturn(1);
+
+        assertDoesNotThrow(() -> bookingService.cancelBooking(bookingId, 2, currentUser));
+
+        assertEquals(4, availableEvent.getCurrentBookingsCount());
+        verify(eventRepository).saveAndFlush(availableEvent);
+    }
+
+    @Test
+    void cancelBooking_Atomic_NotOwned_FallsBackToChecks() {
+        ReflectionTestUtils.setField(bookingService, "reservationMode", ReservationMode.ATOMIC);
+        User otherUser = User.builder().id(UUID.randomUUID()).username("other").build();
+        Booking bookingToCancel = Booking.builder().id(bookingId).user(otherUser).event(availableEvent).build();
+        when(bookingRepository.cancelOwned(bookingId, userId, 0)).thenReturn(Optional.empty());
+        when(bookingRepository.findByIdWithUser(bookingId)).thenReturn(Optional.of(bookingToCancel));
+
+        assertThrows(AccessDeniedException.class, () -> bookingService.cancelBooking(bookingId, null, currentUser));
+        verify(eventRepository, never()).saveAndFlush(any(Event.class));
+    }
+
+    @Test
+    void cancelBookings_SetBasedWithFallbackForSeatedEvents() {
+        UUID seatedEventId = UUID.randomUUID();
+        UUID unbookedEventId = UUID.randomUUID();
+        Event seatedEvent = Event.builder().id(seatedEventId).seated(true).build();
+        Booking seatedBooking = Booking.builder().id(UUID.randomUUID()).user(currentUser).event(seatedEvent).quantity(2)
+                .build();
+        List<UUID> eventIds = List.of(eventId, seatedEventId, unbookedEventId);
+        when(bookingRepository.cancelOwnedForEvents(userId, eventIds)).thenReturn(List.of(cancelled(eventId, 1, false)));
+        when(bookingRepository.findBookedEventIds(userId, List.of(seatedEventId, unbookedEventId)))
+                .thenReturn(List.of(seatedEventId));
+        when(bookingRepository.findByUserIdAndEventId(userId, seatedEventId)).thenReturn(Optional.of(seatedBooking));
+        when(bookingRepository.findByIdWithUser(seatedBooking.getId())).thenReturn(Optional.of(seatedBooking));
+        when(eventRepository.findById(seatedEventId)).thenReturn(Optional.of(seatedEvent));
+
+        BookingDto.BatchCancellationResponse response = bookingService.cancelBookings(
+                new BookingDto.BatchCancellationRequest(eventIds), currentUser);
+
+        assertEquals(2, response.getCancelled());
+        assertEquals(BookingDto.CancellationOutcome.CANCELLED, response.getResults().get(0).getOutcome());
+        assertEquals(2, response.getResults().get(1).getSeats());
+        assertEquals(BookingDto.CancellationOutcome.NOT_BOOKED, response.getResults().get(2).getOutcome());
+        verify(seatMapService).release(seatedEventId, seatedBooking.getId());
+        verify(bookingRepository).delete(seatedBooking);
+    }
+
+    @Test
+    void cancelBookings_FallbackFailure_ReportedPerEvent() {
+        UUID failingEventId = UUID.randomUUID();
+        UUID seatedEventId = UUID.randomUUID();
+        Event failingEvent = Event.builder().id(failingEventId).seated(true).build();
+        Event seatedEvent = Event.builder().id(seatedEventId).seated(true).build();
+        Booking failingBooking = Booking.builder().id(UUID.randomUUID()).user(currentUser).event(failingEvent)
+                .quantity(1).build();
+        Booking seatedBooking = Booking.builder().id(UUID.randomUUID()).user(currentUser).event(seatedEvent).quantity(2)
+                .build();
+        List<UUID> eventIds = List.of(failingEventId, seatedEventId);
+        when(bookingRepository.cancelOwnedForEvents(userId, eventIds)).thenReturn(List.of());
+        when(bookingRepository.findBookedEventIds(userId, eventIds)).thenReturn(eventIds);
+        when(bookingRepository.findByUserIdAndEventId(userId, failingEventId)).thenReturn(Optional.of(failingBooking));
+        when(bookingRepository.findByIdWithUser(failingBooking.getId()))
+                .thenThrow(new IllegalStateException("connection reset"));
+        when(bookingRepository.findByUserIdAndEventId(userId, seatedEventId)).thenReturn(Optional.of(seatedBooking));
+        when(bookingRepository.findByIdWithUser(seatedBooking.getId())).thenReturn(Optional.of(seatedBooking));
+        when(eventRepository.findById(seatedEventId)).thenReturn(Optional.of(seatedEvent));
+
+        BookingDto.BatchCancellationResponse response = bookingService.cancelBookings(
+                new BookingDto.BatchCancellationRequest(eventIds), currentUser);
+
+        assertEquals(1, response.getCancelled());
+        assertEquals(BookingDto.CancellationOutcome.FAILED, response.getResults().get(0).getOutcome());
+        assertEquals(BookingDto.CancellationOutcome.CANCELLED, response.getResults().get(1).getOutcome());
+        verify(bookingRepository).delete(seatedBooking);
+    }
+
+    @Test
+    void createBooking_HotEvent_UsesPessimisticLock() {
+        doReturn(LockingStrategy.PESSIMISTIC).when(contentionManager).strategyFor(eventId);
+        when(eventRepository.findByIdForUpdate(eventId)).thenReturn(Optional.of(availableEvent));
+        when(bookingRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(false);
+        when(eventRepository.saveAndFlush(availableEvent)).thenReturn(availableEvent);
+        when(bookingMapper.createRequestToBooking(createBookingRequest, currentUser, availableEvent))
+                .thenReturn(booking);
+        when(bookingRepository.save(booking)).thenReturn(booking);
+        when(bookingMapper.bookingToBookingResponse(booking)).thenReturn(bookingResponse);
+
+        bookingService.createBooking(createBookingRequest, currentUser);
+
+        verify(eventRepository, never()).findById(any());
+        assertEquals(6, availableEvent.getCurrentBookingsCount());
+    }
+
+    @Test
+    void createBooking_HotEvent_UsesAdvisoryLock() {
+        doReturn(LockingStrategy.ADVISORY).when(contentionManager).strategyFor(eventId);
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(availableEvent));
+        when(bookingRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(false);
+        when(eventRepository.saveAndFlush(availableEvent)).thenReturn(availableEvent);
+        when(bookingMapper.createRequestToBooking(createBookingRequest, currentUser, availableEvent))
+                .thenReturn(booking);
+        when(bookingRepository.save(booking)).thenReturn(booking);
+        when(bookingMapper.bookingToBookingResponse(booking)).thenReturn(bookingResponse);
+
+        bookingService.createBooking(createBookingRequest, currentUser);
+
+        verify(eventRepository).acquireAdvisoryXactLock(ContentionManager.advisoryLockKey(eventId));
+    }
+
+    @Test
+    void createBooking_InMemoryInventory_WritesOnlyBooking() {
+        when(inventoryLedger.isManaged(eventId)).thenReturn(true);
+        when(inventoryLedger.tryAcquire(eventId, 1)).thenReturn(true);
+        when(eventRepository.getReferenceById(eventId)).thenReturn(availableEvent);
+        when(bookingMapper.createRequestToBooking(createBookingRequest, currentUser, availableEvent))
+                .thenReturn(booking);
+        when(bookingRepository.saveAndFlush(booking)).thenReturn(booking);
+        when(bookingMapper.bookingToBookingResponse(booking)).thenReturn(bookingResponse);
+
+        BookingDto.BookingResponse response = bookingService.createBooking(createBookingRequest, currentUser);
+
+        assertEquals(bookingId, response.getId());
+        verify(inventoryLedger).confirm(eventId, 1);
+        verify(eventRepository, never()).saveAndFlush(any(Event.class));
+        verify(eventRepository, never()).findById(any());
+    }
+
+    @Test
+    void createBooking_InMemoryInventory_KeepsQuantity() {
+        createBookingRequest = BookingDto.CreateBookingRequest.builder().eventId(eventId).quantity(3).build();
+        when(inventoryLedger.isManaged(eventId)).thenReturn(true);
+        when(inventoryLedger.tryAcquire(eventId, 3)).thenReturn(true);
+        when(eventRepository.getReferenceById(eventId)).thenReturn(availableEvent);
+        when(bookingMapper.createRequestToBooking(createBookingRequest, currentUser, availableEvent))
+                .thenReturn(booking);
+        when(bookingRepository.saveAndFlush(booking)).thenReturn(booking);
+        when(bookingMapper.bookingToBookingResponse(booking)).thenReturn(bookingResponse);
+
+        bookingService.createBooking(createBookingRequest, currentUser);
+
+        assertEquals(3, booking.getQuantity());
+        verify(inventoryLedger).confirm(eventId, 3);
+    }
+
+    @Test
+    void createBooking_InMemoryInventory_SeatsRejected() {
+        createBookingRequest = BookingDto.CreateBookingRequest.builder().eventId(eventId)
+                .seats(List.of(SeatMapDto.SeatRef.builder().section("Stalls").row("A").seat(1).build())).build();
+        when(inventoryLedger.isManaged(eventId)).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.createBooking(createBookingRequest, currentUser));
+        verify(inventoryLedger, never()).tryAcquire(any(), anyInt());
+    }
+
+    @Test
+    void createBooking_InMemoryInventory_SoldOut() {
+        when(inventoryLedger.isManaged(eventId)).thenReturn(true);
+        when(inventoryLedger.tryAcquire(eventId, 1)).thenReturn(false);
+
+        assertThrows(IllegalStateException.class,
+                () -> bookingService.createBooking(createBookingRequest, currentUser));
+        verify(bookingRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void createBooking_InMemoryInventory_DuplicateReleasesPermit() {
+        when(inventoryLedger.isManaged(eventId)).thenReturn(true);
+        when(inventoryLedger.tryAcquire(eventId, 1)).thenReturn(true);
+        when(eventRepository.getReferenceById(eventId)).thenReturn(availableEvent);
+        when(bookingMapper.createRequestToBooking(createBookingRequest, currentUser, availableEvent))
+                .thenReturn(booking);
+        when(bookingRepository.saveAndFlush(booking)).thenThrow(new DataIntegrityViolationException("uq_user_event"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> bookingService.createBooking(createBookingRequest, currentUser));
+        verify(inventoryLedger).release(eventId, 1);
+        verify(inventoryLedger, never()).confirm(any(), anyInt());
+    }
+
+    @Test
+    void cancelBooking_InMemoryInventory_ReleasesPermit() {
+        Booking bookingToCancel = Booking.builder().id(bookingId).user(currentUser).event(availableEvent).build();
+        when(bookingRepository.findByIdWithUser(bookingId)).thenReturn(Optional.of(bookingToCancel));
+        when(inventoryLedger.isManaged(eventId)).thenReturn(true);
+        when(bookingRepository.deleteBookingById(bookingId)).thenReturn(1);
+
+        bookingService.cancelBooking(bookingId, null, currentUser);
+
+        verify(inventoryLedger).cancelled(eventId, 1);
+        verify(eventRepository, never()).saveAndFlush(any(Event.class));
+    }
+
+    @Test
+    void createHold_Success_TakesSeatAndSchedulesExpiry() {
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(availableEvent));
+        when(bookingRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(false);
+        when(holdRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(false);
+        when(holdRepository.save(any(BookingHold.class))).thenAnswer(invocation -> {
+            BookingHold hold = invocation.getArgument(0);
+            hold.setId(UUID.randomUUID());
+            return hold;
+        });
+
+        BookingDto.HoldResponse response = bookingService.createHold(createBookingRequest, currentUser);
+
+        assertEquals(eventId, response.getEventId());
+        assertEquals(6, availableEvent.getCurrentBookingsCount());
+        verify(eventRepository).saveAndFlush(availableEvent);
+        verify(holdExpirer).schedule(response.getId(), response.getExpiresAt());
+    }
+
+    @Test
+    void createHold_AlreadyHeld() {
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(availableEvent));
+        when(bookingRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(false);
+        when(holdRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(true);
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> bookingService.createHold(createBookingRequest, currentUser));
+        assertEquals(5, availableEvent.getCurrentBookingsCount());
+        verify(holdExpirer, never()).schedule(any(), any());
+    }
+
+    @Test
+    void createHold_InMemoryInventory_FailedInsertReturnsPermit() {
+        when(inventoryLedger.isManaged(eventId)).thenReturn(true);
+        when(inventoryLedger.tryAcquire(eventId, 1)).thenReturn(true);
+        when(bookingRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(true);
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> bookingService.createHold(createBookingRequest, currentUser));
+        verify(inventoryLedger).release(eventId, 1);
+        verify(inventoryLedger, never()).confirm(any(), anyInt());
+    }
+
+    @Test
+    void confirmHold_Success_KeepsCount() {
+        UUID holdId = UUID.randomUUID();
+        BookingHold hold = BookingHold.builder().id(holdId).user(currentUser).event(availableEvent)
+                .expiresAt(OffsetDateTime.now().plusMinutes(5)).build();
+        when(holdRepository.findByIdWithUser(holdId)).thenReturn(Optional.of(hold));
+        when(holdRepository.deleteUnexpiredHold(eq(holdId), any(OffsetDateTime.class))).thenReturn(1);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(booking);
+        when(bookingMapper.bookingToBookingResponse(booking)).thenReturn(bookingResponse);
+
+        BookingDto.BookingResponse response = bookingService.confirmHold(holdId, currentUser);
+
+        assertEquals(bookingId, response.getId());
+        assertEquals(5, availableEvent.getCurrentBookingsCount());
+        verify(holdExpirer).cancel(holdId);
+        verify(eventRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void confirmHold_Expired() {
+        UUID holdId = UUID.randomUUID();
+        BookingHold hold = BookingHold.builder().id(holdId).user(currentUser).event(availableEvent)
+                .expiresAt(OffsetDateTime.now().minusSeconds(1)).build();
+        when(holdRepository.findByIdWithUser(holdId)).thenReturn(Optional.of(hold));
+        when(holdRepository.deleteUnexpiredHold(eq(holdId), any(OffsetDateTime.class))).thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> bookingService.confirmHold(holdId, currentUser));
+        verify(bookingRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void releaseHold_AccessDenied() {
+        UUID holdId = UUID.randomUUID();
+        User otherUser = User.builder().id(UUID.randomUUID()).build();
+        BookingHold hold = BookingHold.builder().id(holdId).user(otherUser).event(availableEvent).build();
+        when(holdRepository.findByIdWithUser(holdId)).thenReturn(Optional.of(hold));
+
+        assertThrows(AccessDeniedException.class, () -> bookingService.releaseHold(holdId, currentUser));
+        verify(holdExpirer, never()).release(any());
+    }
+
     @Test
     void cancelBooking_NotFound() {
-        when(bookingRepository.findByIdWithUserAndEvent(bookingId)).thenReturn(Optional.empty());
-        assertThrows(ResourceNotFoundException.class, () -> bookingService.cancelBooking(bookingId, currentUser));
+        when(bookingRepository.findByIdWithUser(bookingId)).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> bookingService.cancelBooking(bookingId, null, currentUser));
     }
 
     @Test
     void cancelBooking_AccessDenied() {
         User anotherUser = User.builder().id(UUID.randomUUID()).build();
         Booking bookingOfAnotherUser = Booking.builder().id(bookingId).user(anotherUser).event(availableEvent).build();
-        when(bookingRepository.findByIdWithUserAndEvent(bookingId)).thenReturn(Optional.of(bookingOfAnotherUser));
+        when(bookingRepository.findByIdWithUser(bookingId)).thenReturn(Optional.of(bookingOfAnotherUser));
 
-        assertThrows(AccessDeniedException.class, () -> bookingService.cancelBooking(bookingId, currentUser));
+        assertThrows(AccessDeniedException.class, () -> bookingService.cancelBooking(bookingId, null, currentUser));
     }
 
     @Test
     void cancelBooking_EventNotFoundDuringUpdate() {
         Booking bookingToCancel = Booking.builder().id(bookingId).user(currentUser).event(availableEvent).build();
-        when(bookingRepository.findByIdWithUserAndEvent(bookingId)).thenReturn(Optional.of(bookingToCancel));
+        when(bookingRepository.findByIdWithUser(bookingId)).thenReturn(Optional.of(bookingToCancel));
         when(eventRepository.findById(availableEvent.getId())).thenReturn(Optional.empty());
 
-        assertThrows(ResourceNotFoundException.class, () -> bookingService.cancelBooking(bookingId, currentUser));
+        assertThrows(ResourceNotFoundException.class, () -> bookingService.cancelBooking(bookingId, null, currentUser));
     }
 
     @Test
@@ -291,6 +909,78 @@ class BookingServiceImplTest {
         assertEquals(bookingId, responsePage.getContent().get(0).getId());
     }
 
+    @Test
+    void getBookingsByIds_OwnerGetsOwnBookingsInRequestOrderWithMarkers() {
+        UUID missing = UUID.randomUUID();
+        when(bookingRepository.findOwnedByIdWithUserAndEvent(Set.of(missing, bookingId), userId))
+                .thenReturn(List.of(booking));
+        when(bookingMapper.bookingToBookingResponse(booking)).thenReturn(bookingResponse);
+
+        List<BatchItem<BookingDto.BookingResponse>> items = bookingService.getBookingsByIds(
+                List.of(missing, bookingId), currentUser);
+
+        assertEquals(List.of(missing, bookingId), items.stream().map(BatchItem::getId).toList());
+        assertFalse(items.get(0).isFound());
+        assertNull(items.get(0).getItem());
+        assertSame(bookingResponse, items.get(1).getItem());
+        verify(bookingRepository, never()).findAllByIdWithUserAndEvent(any());
+        verify(seatMapService, never()).seatsOf(any(Collection.class));
+    }
+
+    @Test
+    void getBookingsByIds_ManageAllReadsEveryBookingAndSeatsInOneQuery() {
+        Permission manageAll = new Permission();
+        manageAll.setPermissionName("BOOKING_MANAGE_ALL");
+        Role admin = new Role();
+        admin.setName(Role.RoleType.ROLE_ADMIN);
+        admin.setPermissions(Set.of(manageAll));
+        User adminUser = User.builder().id(UUID.randomUUID()).username("admin").roles(Set.of(admin)).build();
+        availableEvent.setSeated(true);
+        List<SeatMapDto.SeatRef> seats = List.of(SeatMapDto.SeatRef.builder().section("A").row("1").seat(4).build());
+        when(bookingRepository.findAllByIdWithUserAndEvent(Set.of(bookingId))).thenReturn(List.of(booking));
+        when(seatMapService.seatsOf(List.of(bookingId))).thenReturn(Map.of(bookingId, seats));
+        when(bookingMapper.bookingToBookingResponse(booking)).thenReturn(bookingResponse);
+
+        List<BatchItem<BookingDto.BookingResponse>> items = bookingService.getBookingsByIds(
+                List.of(bookingId, bookingId), adminUser);
+
+        assertEquals(2, items.size());
+        assertTrue(items.get(1).isFound());
+        assertEquals(seats, items.get(0).getItem().getSeats());
+        verify(seatMapService, never()).seatsOf(bookingId);
+    }
+
+    @Test
+    void getBookingsByIds_RejectsEmptyOrOversizedLists() {
+        assertThrows(IllegalArgumentException.class, () -> bookingService.getBookingsByIds(List.of(), currentUser));
+        List<UUID> tooMany = Collections.nCopies(BatchLookup.MAX_IDS + 1, bookingId);
+        assertThrows(IllegalArgumentException.class, () -> bookingService.getBookingsByIds(tooMany, currentUser));
+        verify(bookingRepository, never()).findOwnedByIdWithUserAndEvent(any(), any());
+    }
+
+    @Test
+    void getUserBookingsAfter_ContinuesAfterCursorNewestFirst() {
+        KeysetCursor after = new KeysetCursor(OffsetDateTime.now(), UUID.randomUUID());
+        BookingSummaryRow newer = mock(BookingSummaryRow.class);
+        when(newer.getId()).thenReturn(bookingId);
+        when(newer.getBookingTime()).thenReturn(booking.getBookingTime());
+        BookingSummaryRow older = mock(BookingSummaryRow.class);
+        when(bookingRepository.findSummariesAfterByUserIdOrderByBookingTimeDesc(userId, after.at(), after.id(),
+                PageRequest.of(0, 2))).thenReturn(List.of(newer, older));
+        BookingDto.BookingSummary summary = BookingDto.BookingSummary.builder().id(bookingId).eventId(eventId).build();
+        when(bookingMapper.bookingSummaryRowsToBookingSummaries(List.of(newer))).thenReturn(List.of(summary));
+        when(bookingRepository.countByUserId(userId)).thenReturn(7L);
+
+        CursorPage<BookingDto.BookingSummary> page = bookingService.getUserBookingsAfter(userId, after.encode(), 1,
+                true);
+
+        assertEquals(List.of(summary), page.getContent());
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(booking.getBookingTime().toInstant(), next.at().toInstant());
+        assertEquals(bookingId, next.id());
+        assertEquals(7L, page.getTotalElements());
+    }
+
     @Test
     void getBookingById_Success() {
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
@@ -307,4 +997,37 @@ class BookingServiceImplTest {
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> bookingService.getBookingById(bookingId, currentUser));
     }
+
+    static CancelledBooking cancelled(UUID eventId, int seats, boolean waitlisted) {
+        return new CancelledBooking() {
+            @Override
+            public UUID getEventId() {
+                return eventId;
+            }
+
+            @Override
+            public int getSeats() {
+                return seats;
+            }
+
+            @Override
+            public boolean isWaitlisted() {
+                return waitlisted;
+            }
+        };
+    }
+
+    static CapacityReservation reservation(long reserved, long inserted) {
+        return new CapacityReservation() {
+            @Override
+            public long getReserved() {
+                return reserved;
+            }
+
+            @Override
+            public long getInserted() {
+                return inserted;
+            }
+        };
+    }
 }
@@ -0,0 +1,84 @@
+package com.areeb.event_booking_system.services.booking.booked;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.areeb.event_booking_system.repository.booking.BookingRepository;
+
+@ExtendWith(MockitoExtension.class)
+class BookedEventsCacheTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID booked = UUID.randomUUID();
+    private final UUID notBooked = UUID.randomUUID();
+
+    @Test
+    void bookedAmong_LoadsOnceThenServesFromMemory() {
+        BookedEventsCache cache = new BookedEventsCache(bookingRepository, 10, Duration.ofMinutes(10));
+        when(bookingRepository.findEventIdsByUserId(userId)).thenReturn(List.of(booked));
+
+        assertEquals(Set.of(booked), cache.bookedAmong(userId, List.of(booked, notBooked)));
+        assertTrue(cache.isBooked(userId, booked));
+        assertFalse(cache.isBooked(userId, notBooked));
+
+        verify(bookingRepository, times(1)).findEventIdsByUserId(userId);
+    }
+
+    @Test
+    void evict_ReloadsOnNextLookup() {
+        BookedEventsCache cache = new BookedEventsCache(bookingRepository, 10, Duration.ofMinutes(10));
+        when(bookingRepository.findEventIdsByUserId(userId)).thenReturn(List.of(), List.of(booked));
+
+        assertFalse(cache.isBooked(userId, booked));
+        cache.evict(userId);
+
+        assertTrue(cache.isBooked(userId, booked));
+        verify(bookingRepository, times(2)).findEventIdsByUserId(userId);
+    }
+
+    @Test
+    void bookedAmong_Disabled_AsksOncePerPage() {
+        BookedEventsCache cache = new BookedEventsCache(bookingRepository, 0, Duration.ofMinutes(10));
+        List<UUID> page = List.of(booked, notBooked);
+        when(bookingRepository.findBookedEventIds(userId, page)).thenReturn(List.of(booked));
+
+        assertEquals(Set.of(booked), cache.bookedAmong(userId, page));
+        verify(bookingRepository, never()).findEventIdsByUserId(userId);
+    }
+
+    @Test
+    void sortedUuidSet_FindsEveryMember() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        // ids whose halves differ only in sign must still sort consistently with the search
+        ids.add(new UUID(Long.MIN_VALUE, -1));
+        ids.add(new UUID(Long.MAX_VALUE, 1));
+        SortedUuidSet set = SortedUuidSet.of(ids);
+
+        assertEquals(ids.size(), set.size());
+        ids.forEach(id -> assertTrue(set.contains(id)));
+        assertFalse(set.contains(UUID.randomUUID()));
+        assertFalse(SortedUuidSet.of(List.of()).contains(booked));
+    }
+}
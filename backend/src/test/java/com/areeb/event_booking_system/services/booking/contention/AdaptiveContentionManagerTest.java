@@ -0,0 +1,70 @@
+package com.areeb.event_booking_system.services.booking.contention;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveContentionManagerTest {
+
+    private final UUID eventId = UUID.randomUUID();
+
+    @Test
+    void strategyFor_UnknownEvent_IsOptimistic() {
+        AdaptiveContentionManager manager = new AdaptiveContentionManager(3, 10, 100, LockingStrategy.PESSIMISTIC,
+                0.3, 10, 5000);
+        assertEquals(LockingStrategy.OPTIMISTIC, manager.strategyFor(eventId));
+    }
+
+    @Test
+    void strategyFor_HighConflictRate_Escalates() {
+        AdaptiveContentionManager manager = new AdaptiveContentionManager(3, 10, 100, LockingStrategy.ADVISORY,
+                0.3, 10, 60_000);
+        for (int i = 0; i < 10; i++) {
+            manager.recordSuccess(eventId);
+            manager.recordConflict(eventId);
+        }
+        assertEquals(LockingStrategy.ADVISORY, manager.strategyFor(eventId));
+        assertEquals(LockingStrategy.OPTIMISTIC, manager.strategyFor(UUID.randomUUID()));
+    }
+
+    @Test
+    void strategyFor_LowConflictRate_StaysOptimistic() {
+        AdaptiveContentionManager manager = new AdaptiveContentionManager(3, 10, 100, LockingStrategy.PESSIMISTIC,
+                0.3, 10, 60_000);
+        for (int i = 0; i < 50; i++) {
+            manager.recordSuccess(eventId);
+        }
+        manager.recordConflict(eventId);
+        assertEquals(LockingStrategy.OPTIMISTIC, manager.strategyFor(eventId));
+    }
+
+    @Test
+    void strategyFor_LoadDrops_RelaxesToOptimistic() throws InterruptedException {
+        AdaptiveContentionManager manager = new AdaptiveContentionManager(3, 10, 100, LockingStrategy.PESSIMISTIC,
+                0.3, 10, 20);
+        for (int i = 0; i < 20; i++) {
+            manager.recordConflict(eventId);
+        }
+        assertEquals(LockingStrategy.PESSIMISTIC, manager.strategyFor(eventId));
+
+        Thread.sleep(200);
+        assertEquals(LockingStrategy.OPTIMISTIC, manager.strategyFor(eventId));
+    }
+
+    @Test
+    void backoffMillis_GrowsExponentiallyWithinBounds() {
+        AdaptiveContentionManager manager = new AdaptiveContentionManager(5, 20, 200, LockingStrategy.PESSIMISTIC,
+                0.3, 10, 5000);
+        for (int i = 0; i < 100; i++) {
+            long first = manager.backoffMillis(1);
+            long third = manager.backoffMillis(3);
+            long tenth = manager.backoffMillis(10);
+            assertTrue(first >= 10 && first <= 20, "first backoff out of range: " + first);
+            assertTrue(third >= 40 && third <= 80, "third backoff out of range: " + third);
+            assertTrue(tenth >= 100 && tenth <= 200, "capped backoff out of range: " + tenth);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.areeb.event_booking_system.services.booking.hold;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.areeb.event_booking_system.models.booking.BookingHold;
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.repository.booking.BookingHoldRepository;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+import com.areeb.event_booking_system.services.booking.inventory.InventoryLedger;
+import com.areeb.event_booking_system.services.waitlist.WaitlistService;
+
+@ExtendWith(MockitoExtension.class)
+class HoldExpirerTest {
+
+    @Mock
+    private BookingHoldRepository holdRepository;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private InventoryLedger inventoryLedger;
+    @Mock
+    private WaitlistService waitlistService;
+
+    private HoldExpirer holdExpirer;
+    private BookingHold hold;
+
+    @BeforeEach
+    void setUp() {
+        holdExpirer = new HoldExpirer(holdRepository, eventRepository, inventoryLedger, waitlistService,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 64, 10);
+        hold = BookingHold.builder()
+                .id(UUID.randomUUID())
+                .event(Event.builder().id(UUID.randomUUID()).build())
+                .expiresAt(OffsetDateTime.now().minusSeconds(1))
+                .build();
+    }
+
+    @Test
+    void expireDue_ReleasesSeatOfOverdueHold() throws InterruptedException {
+        when(holdRepository.findById(hold.getId())).thenReturn(Optional.of(hold));
+        when(holdRepository.deleteHoldById(hold.getId())).thenReturn(1);
+        when(eventRepository.releaseSeats(hold.getEvent().getId(), 1)).thenReturn(1);
+        holdExpirer.schedule(hold.getId(), hold.getExpiresAt());
+
+        Thread.sleep(20);
+        holdExpirer.expireDue();
+
+        verify(eventRepository).releaseSeats(hold.getEvent().getId(), 1);
+        assertEquals(0, holdExpirer.scheduled());
+    }
+
+    @Test
+    void release_WaitlistTakesSeatsFirst() {
+        hold.setQuantity(3);
+        UUID eventId = hold.getEvent().getId();
+        when(holdRepository.findById(hold.getId())).thenReturn(Optional.of(hold));
+        when(holdRepository.deleteHoldById(hold.getId())).thenReturn(1);
+        when(waitlistService.promote(hold.getEvent(), 3)).thenReturn(2);
+        when(eventRepository.releaseSeats(eventId, 1)).thenReturn(1);
+
+        assertTrue(holdExpirer.release(hold.getId()));
+        verify(eventRepository).releaseSeats(eventId, 1);
+    }
+
+    @Test
+    void release_WaitlistTakesEverySeat_LeavesCounter() {
+        when(holdRepository.findById(hold.getId())).thenReturn(Optional.of(hold));
+        when(holdRepository.deleteHoldById(hold.getId())).thenReturn(1);
+        when(waitlistService.promote(hold.getEvent(), 1)).thenReturn(1);
+
+        assertTrue(holdExpirer.release(hold.getId()));
+        verify(eventRepository, never()).releaseSeats(any(), anyInt());
+        verify(inventoryLedger, never()).cancelled(any(), anyInt());
+    }
+
+    @Test
+    void release_CounterDoesNotCoverHold_Fails() {
+        when(holdRepository.findById(hold.getId())).thenReturn(Optional.of(hold));
+        when(holdRepository.deleteHoldById(hold.getId())).thenReturn(1);
+        when(eventRepository.releaseSeats(hold.getEvent().getId(), 1)).thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> holdExpirer.release(hold.getId()));
+    }
+
+    @Test
+    void expireDue_LeavesHoldsThatAreNotDue() {
+        holdExpirer.schedule(hold.getId(), OffsetDateTime.now().plusMinutes(10));
+
+        holdExpirer.expireDue();
+
+        verify(holdRepository, never()).deleteHoldById(any());
+        assertEquals(1, holdExpirer.scheduled());
+    }
+
+    @Test
+    void release_AlreadyConfirmed_DoesNotReleaseSeat() {
+        when(holdRepository.findById(hold.getId())).thenReturn(Optional.of(hold));
+        when(holdRepository.deleteHoldById(hold.getId())).thenReturn(0);
+
+        assertFalse(holdExpirer.release(hold.getId()));
+        verify(eventRepository, never()).releaseSeats(any(), anyInt());
+    }
+
+    @Test
+    void release_InMemoryInventory_ReturnsPermit() {
+        UUID eventId = hold.getEvent().getId();
+        when(holdRepository.findById(hold.getId())).thenReturn(Optional.of(hold));
+        when(holdRepository.deleteHoldById(hold.getId())).thenReturn(1);
+        when(inventoryLedger.isManaged(eventId)).thenReturn(true);
+
+        assertTrue(holdExpirer.release(hold.getId()));
+        verify(inventoryLedger).cancelled(eventId, 1);
+        verify(eventRepository, never()).releaseSeats(any(), anyInt());
+    }
+}
@@ -0,0 +1,80 @@
+package com.areeb.event_booking_system.services.booking.hold;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    @Test
+    void advance_FiresOnlyDueDeadlines() {
+        TimingWheel<String> wheel = new TimingWheel<>(8, 100, 0);
+        wheel.schedule("soon", 250);
+        wheel.schedule("later", 520);
+
+        assertTrue(wheel.advance(200).isEmpty());
+        assertEquals(List.of("soon"), wheel.advance(300));
+        assertTrue(wheel.advance(500).isEmpty());
+        assertEquals(List.of("later"), wheel.advance(600));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_KeepsDeadlinesBeyondOneRevolution() {
+        TimingWheel<String> wheel = new TimingWheel<>(4, 100, 0);
+        // hashes to the same bucket as tick 2, but two revolutions later
+        wheel.schedule("far", 1000);
+
+        assertTrue(wheel.advance(200).isEmpty());
+        assertTrue(wheel.advance(600).isEmpty());
+        assertEquals(List.of("far"), wheel.advance(1000));
+    }
+
+    @Test
+    void advance_LateCallerCatchesUpOnMissedTicks() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(16, 10, 0);
+        for (int i = 1; i <= 100; i++) {
+            wheel.schedule(i, i * 10L);
+        }
+
+        Set<Integer> expired = new HashSet<>(wheel.advance(5_000));
+
+        assertEquals(100, expired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_PastDeadlineFiresOnNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(8, 100, 1_000);
+        wheel.schedule("overdue", 0);
+
+        assertTrue(wheel.advance(1_050).isEmpty());
+        assertEquals(List.of("overdue"), wheel.advance(1_100));
+    }
+
+    @Test
+    void cancel_RemovesScheduledKey() {
+        TimingWheel<String> wheel = new TimingWheel<>(8, 100, 0);
+        wheel.schedule("hold", 300);
+
+        assertTrue(wheel.cancel("hold"));
+        assertFalse(wheel.cancel("hold"));
+        assertTrue(wheel.advance(1_000).isEmpty());
+    }
+
+    @Test
+    void schedule_Again_ReplacesDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(8, 100, 0);
+        wheel.schedule("hold", 300);
+        wheel.schedule("hold", 700);
+
+        assertTrue(wheel.advance(400).isEmpty());
+        assertEquals(List.of("hold"), wheel.advance(700));
+    }
+}
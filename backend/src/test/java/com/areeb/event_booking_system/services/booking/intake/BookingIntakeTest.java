@@ -0,0 +1,150 @@
+package com.areeb.event_booking_system.services.booking.intake;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+
+import com.areeb.event_booking_system.dtos.booking.BookingDto;
+import com.areeb.event_booking_system.models.booking.Booking;
+import com.areeb.event_booking_system.models.user.User;
+import com.areeb.event_booking_system.repository.UserRepository;
+import com.areeb.event_booking_system.repository.booking.BookingRepository;
+import com.areeb.event_booking_system.services.booking.BookingService;
+import com.areeb.event_booking_system.services.waitlist.WaitlistNotifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntakeTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private BookingService bookingService;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private WaitlistNotifier notifier;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final User user = User.builder().id(UUID.randomUUID()).username("booker").build();
+    private final UUID eventId = UUID.randomUUID();
+    private BookingIntake intake;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        intake = newIntake();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        intake.stop();
+    }
+
+    @Test
+    void submit_AcceptsThenBooks() {
+        UUID bookingId = UUID.randomUUID();
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(bookingService.createBooking(any(BookingDto.CreateBookingRequest.class), eq(user)))
+                .thenReturn(BookingDto.BookingResponse.builder().id(bookingId).build());
+
+        BookingDto.BookingIntentResponse accepted = intake.submit(request(), user);
+        assertEquals(BookingDto.IntentStatus.PENDING, accepted.getStatus());
+        assertEquals("/api/bookings/intents/" + accepted.getIntentId(), accepted.getStatusUrl());
+
+        intake.startConsumers();
+        verify(notifier, timeout(5000)).bookingProcessed(eq(user.getId()),
+                argThat(outcome -> bookingId.equals(outcome.getBookingId())));
+        BookingDto.BookingIntentResponse status = intake.getStatus(accepted.getIntentId(), user);
+        assertEquals(BookingDto.IntentStatus.BOOKED, status.getStatus());
+        assertEquals(bookingId, status.getBookingId());
+    }
+
+    @Test
+    void restart_ReplaysUnprocessedIntentIdempotently() throws Exception {
+        BookingDto.BookingIntentResponse accepted = intake.submit(request(), user);
+        intake.stop();
+        // the booking committed before the crash, but its outcome never reached the log
+        UUID bookingId = UUID.randomUUID();
+        when(bookingRepository.findByUserIdAndEventId(user.getId(), eventId))
+                .thenReturn(Optional.of(Booking.builder().id(bookingId).build()));
+
+        intake = newIntake();
+        assertEquals(BookingDto.IntentStatus.PENDING, intake.getStatus(accepted.getIntentId(), user).getStatus());
+        intake.startConsumers();
+
+        verify(notifier, timeout(5000)).bookingProcessed(eq(user.getId()),
+                argThat(outcome -> bookingId.equals(outcome.getBookingId())));
+        verify(bookingService, never()).createBooking(any(), any());
+    }
+
+    @Test
+    void restart_KeepsRejectedOutcome() throws Exception {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(bookingService.createBooking(any(BookingDto.CreateBookingRequest.class), eq(user)))
+                .thenThrow(new IllegalStateException("Event is fully booked."));
+        BookingDto.BookingIntentResponse accepted = intake.submit(request(), user);
+        intake.startConsumers();
+        verify(notifier, timeout(5000)).bookingProcessed(eq(user.getId()), any());
+        intake.stop();
+
+        intake = newIntake();
+        intake.startConsumers();
+
+        BookingDto.BookingIntentResponse status = intake.getStatus(accepted.getIntentId(), user);
+        assertEquals(BookingDto.IntentStatus.REJECTED, status.getStatus());
+        assertEquals("Event is fully booked.", status.getMessage());
+        verify(bookingService).createBooking(any(), any());
+    }
+
+    @Test
+    void getStatus_OtherUser_Denied() {
+        BookingDto.BookingIntentResponse accepted = intake.submit(request(), user);
+        User other = User.builder().id(UUID.randomUUID()).build();
+
+        assertThrows(AccessDeniedException.class, () -> intake.getStatus(accepted.getIntentId(), other));
+    }
+
+    @Test
+    void syncMode_DoesNotOpenLog() throws IOException {
+        BookingIntake sync = new BookingIntake(bookingService, bookingRepository, userRepository, notifier,
+                objectMapper, IntakeMode.SYNC, directory.resolve("unused").toString(), 4096, 2, 3, 1, 100,
+                Duration.ofHours(1));
+
+        assertFalse(sync.isEnabled());
+        assertFalse(directory.resolve("unused").toFile().exists());
+    }
+
+    private BookingIntake newIntake() throws IOException {
+        return new BookingIntake(bookingService, bookingRepository, userRepository, notifier, objectMapper,
+                IntakeMode.ASYNC, directory.toString(), 4096, 2, 3, 1, 100, Duration.ofHours(1));
+    }
+
+    private BookingDto.CreateBookingRequest request() {
+        return BookingDto.CreateBookingRequest.builder().eventId(eventId).build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.areeb.event_booking_system.services.booking.intake;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class IntentLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopen_ReadsRecordsInOrder() throws IOException {
+        try (IntentLog log = new IntentLog(directory, 4096)) {
+            assertTrue(log.open().isEmpty());
+            log.append(IntentLog.INTENT, bytes("first"));
+            log.append(IntentLog.OUTCOME, bytes("second"));
+        }
+
+        try (IntentLog log = new IntentLog(directory, 4096)) {
+            List<IntentLog.Entry> entries = log.open();
+            log.append(IntentLog.INTENT, bytes("third"));
+
+            assertEquals(2, entries.size());
+            assertEquals(IntentLog.INTENT, entries.get(0).type());
+            assertArrayEquals(bytes("first"), entries.get(0).payload());
+            assertEquals(IntentLog.OUTCOME, entries.get(1).type());
+        }
+
+        try (IntentLog log = new IntentLog(directory, 4096)) {
+            assertEquals(3, log.open().size());
+        }
+    }
+
+    @Test
+    void reopen_StopsAtTornRecord() throws IOException {
+        try (IntentLog log = new IntentLog(directory, 4096)) {
+            log.open();
+            log.append(IntentLog.INTENT, bytes("kept"));
+            log.append(IntentLog.INTENT, bytes("torn"));
+        }
+        // corrupt the last payload byte of the second record: 9 header bytes + 4 payload bytes each
+        try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+            file.seek(13 + 12);
+            file.write('X');
+        }
+
+        try (IntentLog log = new IntentLog(directory, 4096)) {
+            List<IntentLog.Entry> entries = log.open();
+            log.append(IntentLog.INTENT, bytes("next"));
+
+            assertEquals(1, entries.size());
+            assertArrayEquals(bytes("kept"), entries.get(0).payload());
+        }
+        try (IntentLog log = new IntentLog(directory, 4096)) {
+            List<IntentLog.Entry> entries = log.open();
+            assertEquals(2, entries.size());
+            assertArrayEquals(bytes("next"), entries.get(1).payload());
+        }
+    }
+
+    @Test
+    void append_RollsSegmentsAndDeletesOldOnes() throws IOException {
+        try (IntentLog log = new IntentLog(directory, 64)) {
+            log.open();
+            long first = log.append(IntentLog.INTENT, new byte[40]);
+            long second = log.append(IntentLog.INTENT, new byte[40]);
+            long third = log.append(IntentLog.INTENT, new byte[40]);
+
+            assertEquals(List.of(0L, 1L, 2L), List.of(first, second, third));
+            assertEquals(3, segments().size());
+
+            log.deleteBefore(2);
+            assertEquals(1, segments().size());
+            log.deleteBefore(Long.MAX_VALUE);
+            assertFalse(segments().isEmpty());
+        }
+        try (IntentLog log = new IntentLog(directory, 64)) {
+            List<IntentLog.Entry> entries = log.open();
+            assertEquals(1, entries.size());
+            assertEquals(2, entries.get(0).segment());
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,185 @@
+package com.areeb.event_booking_system.services.booking.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.models.event.InventoryMode;
+import com.areeb.event_booking_system.repository.booking.BookingHoldRepository;
+import com.areeb.event_booking_system.repository.booking.BookingRepository;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryLedgerTest {
+
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private BookingHoldRepository holdRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private InventoryLedger inventoryLedger;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        inventoryLedger = new InventoryLedger(eventRepository, bookingRepository, holdRepository, jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 4);
+        event = Event.builder()
+                .id(UUID.randomUUID())
+                .name("Flash Sale")
+                .eventDate(OffsetDateTime.now().plusDays(1))
+                .maxCapacity(10)
+                .currentBookingsCount(7)
+                .inventoryMode(InventoryMode.IN_MEMORY)
+                .price(BigDecimal.TEN)
+                .build();
+        when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+    }
+
+    @Test
+    void load_ReconcilesCountFromBookings() {
+        // a crash lost two unflushed bookings
+        when(bookingRepository.sumQuantityByEventId(event.getId())).thenReturn(9L);
+
+        inventoryLedger.load(event.getId());
+
+        assertTrue(inventoryLedger.isManaged(event.getId()));
+        assertEquals(9, event.getCurrentBookingsCount());
+        assertEquals(1, inventoryLedger.available(event.getId()));
+    }
+
+    @Test
+    void load_WhileBookingsInFlight_KeepsTheirPermitsTaken() {
+        when(bookingRepository.sumQuantityByEventId(event.getId())).thenReturn(7L);
+        inventoryLedger.load(event.getId());
+        assertTrue(inventoryLedger.tryAcquire(event.getId(), 2));
+
+        // e.g. an event update reloads the inventory before the booking commits
+        inventoryLedger.load(event.getId());
+
+        assertEquals(1, inventoryLedger.available(event.getId()));
+        assertFalse(inventoryLedger.tryAcquire(event.getId(), 2));
+
+        inventoryLedger.release(event.getId(), 2);
+
+        assertEquals(3, inventoryLedger.available(event.getId()));
+    }
+
+    @Test
+    void load_BetweenCommitAndConfirm_CountsTheBookingOnce() {
+        when(bookingRepository.sumQuantityByEventId(event.getId())).thenReturn(7L);
+        inventoryLedger.load(event.getId());
+        assertTrue(inventoryLedger.tryAcquire(event.getId(), 2));
+
+        // the booking row committed, then an event update reloads before confirm runs
+        inventoryLedger.load(event.getId());
+        inventoryLedger.confirm(event.getId(), 2);
+        inventoryLedger.flush();
+
+        assertEquals(7, event.getCurrentBookingsCount());
+        verify(bookingRepository, times(1)).sumQuantityByEventId(event.getId());
+        verify(jdbcTemplate).batchUpdate(anyString(),
+                argThat((List<Object[]> batch) -> batch.size() == 1 && (long) batch.get(0)[0] == 2L));
+        assertEquals(1, inventoryLedger.available(event.getId()));
+    }
+
+    @Test
+    void load_CapacityCutBelowSales_WithholdsReturnedPermits() {
+        when(bookingRepository.sumQuantityByEventId(event.getId())).thenReturn(7L);
+        inventoryLedger.load(event.getId());
+        assertTrue(inventoryLedger.tryAcquire(event.getId(), 2));
+
+        // capacity 10 -> 7 takes the free seat and is still owed the two held by the in-flight booking
+        event.setMaxCapacity(7);
+        inventoryLedger.load(event.getId());
+        assertEquals(0, inventoryLedger.available(event.getId()));
+
+        inventoryLedger.release(event.getId(), 2);
+        assertEquals(0, inventoryLedger.available(event.getId()));
+
+        event.setMaxCapacity(9);
+        inventoryLedger.load(event.getId());
+        assertEquals(2, inventoryLedger.available(event.getId()));
+    }
+
+    @Test
+    void load_DatabaseModeEvent_IsNotManaged() {
+        event.setInventoryMode(InventoryMode.DATABASE);
+
+        inventoryLedger.load(event.getId());
+
+        assertFalse(inventoryLedger.isManaged(event.getId()));
+    }
+
+    @Test
+    void flush_WritesNetDeltaOnce() {
+        when(bookingRepository.sumQuantityByEventId(event.getId())).thenReturn(7L);
+        inventoryLedger.load(event.getId());
+
+        assertTrue(inventoryLedger.tryAcquire(event.getId(), 1));
+        inventoryLedger.confirm(event.getId(), 1);
+        assertTrue(inventoryLedger.tryAcquire(event.getId(), 1));
+        inventoryLedger.confirm(event.getId(), 1);
+        inventoryLedger.cancelled(event.getId(), 1);
+
+        inventoryLedger.flush();
+        verify(jdbcTemplate).batchUpdate(anyString(),
+                argThat((List<Object[]> batch) -> batch.size() == 1 && (long) batch.get(0)[0] == 1L
+                        && event.getId().equals(batch.get(0)[1])));
+
+        // nothing new to write
+        inventoryLedger.flush();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void tryAcquire_SoldOut_Rejects() {
+        when(bookingRepository.sumQuantityByEventId(event.getId())).thenReturn(10L);
+        inventoryLedger.load(event.getId());
+
+        assertFalse(inventoryLedger.tryAcquire(event.getId(), 1));
+    }
+
+    @Test
+    void unload_FlushesPendingDelta() {
+        when(bookingRepository.sumQuantityByEventId(event.getId())).thenReturn(7L);
+        inventoryLedger.load(event.getId());
+        assertTrue(inventoryLedger.tryAcquire(event.getId(), 1));
+        inventoryLedger.confirm(event.getId(), 1);
+
+        inventoryLedger.unload(event.getId());
+
+        verify(jdbcTemplate).update(anyString(), eq(1L), eq(event.getId()));
+        assertFalse(inventoryLedger.isManaged(event.getId()));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
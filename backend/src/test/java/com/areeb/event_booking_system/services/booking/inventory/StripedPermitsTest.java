@@ -0,0 +1,78 @@
+package com.areeb.event_booking_system.services.booking.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class StripedPermitsTest {
+
+    @Test
+    void tryAcquire_ConcurrentCallers_NeverExceedPermits() throws Exception {
+        StripedPermits permits = new StripedPermits(1_000, 16);
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        for (int t = 0; t < 32; t++) {
+            results.add(executor.submit(() -> {
+                startGate.await();
+                int acquired = 0;
+                for (int i = 0; i < 200; i++) {
+                    if (permits.tryAcquire(1)) {
+                        acquired++;
+                    }
+                }
+                return acquired;
+            }));
+        }
+        startGate.countDown();
+
+        int total = 0;
+        for (Future<Integer> result : results) {
+            total += result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1_000, total);
+        assertEquals(0, permits.available());
+    }
+
+    @Test
+    void tryAcquire_MultiplePermits_GathersAcrossStripes() {
+        // 3 permits over 4 stripes leaves no single stripe with more than one
+        StripedPermits permits = new StripedPermits(3, 4);
+
+        assertTrue(permits.tryAcquire(3));
+        assertEquals(0, permits.available());
+    }
+
+    @Test
+    void tryAcquire_NotEnoughPermits_LeavesCountUntouched() {
+        StripedPermits permits = new StripedPermits(3, 4);
+
+        assertFalse(permits.tryAcquire(4));
+        assertEquals(3, permits.available());
+    }
+
+    @Test
+    void release_ReturnsPermits() {
+        StripedPermits permits = new StripedPermits(1, 4);
+        assertTrue(permits.tryAcquire(1));
+        assertFalse(permits.tryAcquire(1));
+
+        permits.release(1);
+
+        assertTrue(permits.tryAcquire(1));
+    }
+}
@@ -0,0 +1,58 @@
+package com.areeb.event_booking_system.services.event;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class EventPurgerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private EventPurger purger;
+    private final UUID eventId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        purger = new EventPurger(jdbcTemplate, 100);
+    }
+
+    @Test
+    void purgeDeleted_DeletesChildrenInChunksThenTheEvent() {
+        when(jdbcTemplate.queryForList(anyString(), eq(UUID.class))).thenReturn(List.of(eventId));
+        when(jdbcTemplate.update(startsWith("DELETE FROM bookings "), eq(eventId), eq(100)))
+                .thenReturn(100, 100, 40);
+        when(jdbcTemplate.update(startsWith("DELETE FROM waitlist_entries "), eq(eventId), eq(100)))
+                .thenReturn(100, 0);
+        when(jdbcTemplate.update(startsWith("DELETE FROM booking_holds "), eq(eventId), eq(100))).thenReturn(0);
+        when(jdbcTemplate.update(startsWith("DELETE FROM ballot_entries "), eq(eventId), eq(100))).thenReturn(0);
+        when(jdbcTemplate.update(startsWith("DELETE FROM waiting_room_tickets "), eq(eventId), eq(100))).thenReturn(0);
+        when(jdbcTemplate.update("DELETE FROM events WHERE id = ? AND deleted_at IS NOT NULL", eventId)).thenReturn(1);
+
+        purger.purgeDeleted();
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate, times(3)).update(startsWith("DELETE FROM bookings "), eq(eventId), eq(100));
+        order.verify(jdbcTemplate).update(startsWith("DELETE FROM booking_holds "), eq(eventId), eq(100));
+        order.verify(jdbcTemplate, times(2)).update(startsWith("DELETE FROM waitlist_entries "), eq(eventId), eq(100));
+        order.verify(jdbcTemplate).update("DELETE FROM events WHERE id = ? AND deleted_at IS NOT NULL", eventId);
+        verify(jdbcTemplate).update(startsWith("DELETE FROM ballot_entries "), eq(eventId), eq(100));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM waiting_room_tickets "), eq(eventId), eq(100));
+    }
+}
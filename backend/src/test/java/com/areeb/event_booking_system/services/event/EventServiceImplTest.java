@@ -12,8 +12,10 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -21,10 +23,11 @@ import static org.mockito.Mockito.when;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -39,11 +42,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.areeb.event_booking_system.dtos.BatchItem;
+import com.areeb.event_booking_system.dtos.CursorPage;
 import com.areeb.event_booking_system.dtos.event.EventDto;
 import com.areeb.event_booking_system.exceptions.ResourceNotFoundException;
 import com.areeb.event_booking_system.mappers.EventMapper;
@@ -51,9 +57,18 @@ import com.areeb.event_booking_system.models.event.Event;
 import com.areeb.event_booking_system.models.event.EventCategory;
 import com.areeb.event_booking_system.models.user.User;
 import com.areeb.event_booking_system.repository.UserRepository;
-import com.areeb.event_booking_system.repository.booking.BookingRepository;
 import com.areeb.event_booking_system.repository.event.EventRepository;
+import com.areeb.event_booking_system.repository.event.EventSummaryRow;
 import com.areeb.event_booking_system.services.FileUploadService;
+import com.areeb.event_booking_system.services.KeysetCursor;
+import com.areeb.event_booking_system.services.booking.booked.BookedEventsCache;
+import com.areeb.event_booking_system.services.booking.inventory.InventoryLedger;
+import com.areeb.event_booking_system.services.event.catalog.EventCatalogCache;
+import com.areeb.event_booking_system.services.event.changes.EventChangeLog;
+import com.areeb.event_booking_system.services.event.suggest.EventSuggester;
+import com.areeb.event_booking_system.services.seating.SeatMapService;
+import com.areeb.event_booking_system.services.waitingroom.WaitingRoomService;
+import com.areeb.event_booking_system.services.waitlist.WaitlistService;
 
 @ExtendWith(MockitoExtension.class)
 class EventServiceImplTest {
@@ -61,7 +76,13 @@ class EventServiceImplTest {
     @Mock
     private EventRepository eventRepository;
     @Mock
-    private BookingRepository bookingRepository;
+    private BookedEventsCache bookedEvents;
+    @Mock
+    private EventCatalogCache eventCatalog;
+    @Mock
+    private EventSuggester eventSuggester;
+    @Mock
+    private EventChangeLog eventChangeLog;
     @Mock
     private UserRepository userRepository;
     @Mock
@@ -69,6 +90,14 @@ class EventServiceImplTest {
     @Mock
     private FileUploadService fileUploadService;
     @Mock
+    private InventoryLedger inventoryLedger;
+    @Mock
+    private WaitingRoomService waitingRoomService;
+    @Mock
+    private WaitlistService waitlistService;
+    @Mock
+    private SeatMapService seatMapService;
+    @Mock
     private MultipartFile mockImageFile;
     @Mock(lenient = true)
     private Authentication authentication;
@@ -134,6 +163,11 @@ class EventServiceImplTest {
         securityContextHolderMockedStatic.close();
     }
 
+    // what the catalog cache hands out: a fresh copy without the per-user flag
+    private EventDto.EventResponse snapshot(UUID id) {
+        return EventDto.EventResponse.builder().id(id).name(event.getName()).build();
+    }
+
     private void mockSecurityContext(User userPrincipal) {
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.isAuthenticated()).thenReturn(true);
@@ -156,6 +190,8 @@ class EventServiceImplTest {
         assertNotNull(response);
         assertEquals(eventResponse.getName(), response.getName());
         verify(eventRepository).save(event);
+        verify(eventChangeLog).recordChange(eventId);
+        verify(eventSuggester).put(event);
     }
 
     @Test
@@ -163,7 +199,7 @@ class EventServiceImplTest {
         mockSecurityContext(adminUser);
         when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
         when(eventRepository.save(any(Event.class))).thenReturn(event);
-        when(bookingRepository.existsByUserIdAndEventId(adminUserId, eventId)).thenReturn(false); // Assume admin hasn't booked
+        when(bookedEvents.isBooked(adminUserId, eventId)).thenReturn(false); // Assume admin hasn't booked
         when(eventMapper.eventToEventResponse(event, false)).thenReturn(eventResponse);
 
         EventDto.EventResponse response = eventService.updateEvent(eventId, updateEventRequest, adminUser);
@@ -171,6 +207,7 @@ class EventServiceImplTest {
         assertNotNull(response);
         verify(eventMapper).updateEventFromRequest(updateEventRequest, event);
         verify(eventRepository).save(event);
+        verify(eventChangeLog).recordChange(eventId);
     }
 
     @Test
@@ -184,28 +221,41 @@ class EventServiceImplTest {
     void deleteEvent_Success_WithImage() throws IOException {
         when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
         doNothing().when(fileUploadService).deleteFile("image.jpg");
-        doNothing().when(bookingRepository).deleteByEventId(eventId);
-        doNothing().when(eventRepository).deleteById(eventId);
+        when(eventRepository.deleteEventById(eventId)).thenReturn(1);
 
         assertDoesNotThrow(() -> eventService.deleteEvent(eventId, adminUser));
 
         verify(fileUploadService).deleteFile("image.jpg");
-        verify(bookingRepository).deleteByEventId(eventId);
-        verify(eventRepository).deleteById(eventId);
+        verify(eventRepository).deleteEventById(eventId);
+        verify(eventRepository, never()).delete(any(Event.class));
+        verify(eventChangeLog).recordDeletion(eventId);
+        verify(eventSuggester).remove(eventId);
     }
 
     @Test
     void deleteEvent_Success_NoImage() throws IOException {
         event.setImageUrl(null);
         when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
-        doNothing().when(bookingRepository).deleteByEventId(eventId);
-        doNothing().when(eventRepository).deleteById(eventId);
+        when(eventRepository.deleteEventById(eventId)).thenReturn(1);
 
         assertDoesNotThrow(() -> eventService.deleteEvent(eventId, adminUser));
 
         verify(fileUploadService, never()).deleteFile(anyString());
-        verify(bookingRepository).deleteByEventId(eventId);
-        verify(eventRepository).deleteById(eventId);
+        verify(eventRepository).deleteEventById(eventId);
+    }
+
+    @Test
+    void deleteEvent_LargeEvent_MarkedForPurge() throws IOException {
+        event.setCurrentBookingsCount(20000);
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
+        when(eventRepository.markDeleted(eq(eventId), any(OffsetDateTime.class))).thenReturn(1);
+
+        assertDoesNotThrow(() -> eventService.deleteEvent(eventId, adminUser));
+
+        verify(eventRepository, never()).deleteEventById(any());
+        verify(eventChangeLog).recordDeletion(eventId);
+        verify(fileUploadService).deleteFile("image.jpg");
+        verify(inventoryLedger).discard(eventId);
     }
 
     @Test
@@ -221,16 +271,14 @@ class EventServiceImplTest {
 
         assertDoesNotThrow(() -> eventService.deleteEvent(eventId, adminUser)); // Service should catch and log
 
-        verify(bookingRepository).deleteByEventId(eventId);
-        verify(eventRepository).deleteById(eventId);
+        verify(eventRepository).deleteEventById(eventId);
     }
 
     @Test
     void getEventById_Found_UserNotBooked() {
         mockSecurityContext(regularUser);
-        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
-        when(bookingRepository.existsByUserIdAndEventId(regularUserId, eventId)).thenReturn(false);
-        when(eventMapper.eventToEventResponse(event, false)).thenReturn(eventResponse);
+        when(eventCatalog.getEvent(eq(eventId), any())).thenReturn(snapshot(eventId));
+        when(bookedEvents.isBooked(regularUserId, eventId)).thenReturn(false);
 
         EventDto.EventResponse response = eventService.getEventById(eventId);
 
@@ -241,11 +289,8 @@ class EventServiceImplTest {
     @Test
     void getEventById_Found_UserBooked() {
         mockSecurityContext(regularUser);
-        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
-        when(bookingRepository.existsByUserIdAndEventId(regularUserId, eventId)).thenReturn(true);
-        EventDto.EventResponse bookedResponse = EventDto.EventResponse.builder().id(eventId).name(event.getName())
-                .isCurrentUserBooked(true).build();
-        when(eventMapper.eventToEventResponse(event, true)).thenReturn(bookedResponse);
+        when(eventCatalog.getEvent(eq(eventId), any())).thenReturn(snapshot(eventId));
+        when(bookedEvents.isBooked(regularUserId, eventId)).thenReturn(true);
 
         EventDto.EventResponse response = eventService.getEventById(eventId);
 
@@ -255,21 +300,49 @@ class EventServiceImplTest {
 
     @Test
     void getEventById_NotFound() {
-        mockSecurityContext(regularUser);
-        when(eventRepository.findById(eventId)).thenReturn(Optional.empty());
+        when(eventCatalog.getEvent(eq(eventId), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Event>>getArgument(1).get());
+        when(eventRepository.findByIdWithAdminCreator(eventId)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> eventService.getEventById(eventId));
     }
 
+    @Test
+    void getEventVersion_CachedSnapshotSkipsFullRead() {
+        mockSecurityContext(regularUser);
+        when(eventCatalog.getVersion(eventId)).thenReturn(Optional.of(
+                EventDto.EventVersion.builder().id(eventId).version(3L).currentBookingsCount(5).build()));
+        when(bookedEvents.isBooked(regularUserId, eventId)).thenReturn(true);
+
+        EventDto.EventVersion version = eventService.getEventVersion(eventId);
+
+        assertEquals(3L, version.getVersion());
+        assertTrue(version.getIsCurrentUserBooked());
+        verify(eventCatalog, never()).getEvent(any(), any());
+    }
+
+    @Test
+    void getEventVersion_UncachedFallsBackToRead() {
+        mockSecurityContext(regularUser);
+        when(eventCatalog.getVersion(eventId)).thenReturn(Optional.empty());
+        EventDto.EventResponse snapshot = snapshot(eventId);
+        snapshot.setVersion(7L);
+        when(eventCatalog.getEvent(eq(eventId), any())).thenReturn(snapshot);
+        when(bookedEvents.isBooked(regularUserId, eventId)).thenReturn(false);
+
+        EventDto.EventVersion version = eventService.getEventVersion(eventId);
+
+        assertEquals(7L, version.getVersion());
+        assertFalse(version.getIsCurrentUserBooked());
+    }
+
     @Test
     void getAllEvents_Success() {
         mockSecurityContext(regularUser); // User context to check bookings for each event
         Pageable pageable = PageRequest.of(0, 10);
-        List<Event> events = Collections.singletonList(event);
-        Page<Event> eventPage = new PageImpl<>(events, pageable, 1);
 
-        when(eventRepository.findAll(pageable)).thenReturn(eventPage);
-        when(bookingRepository.existsByUserIdAndEventId(regularUserId, eventId)).thenReturn(false);
-        when(eventMapper.eventToEventResponse(event, false)).thenReturn(eventResponse);
+        when(eventCatalog.getPage(isNull(), eq(pageable), any()))
+                .thenReturn(new PageImpl<>(List.of(snapshot(eventId)), pageable, 1));
+        when(bookedEvents.bookedAmong(regularUserId, List.of(eventId))).thenReturn(Set.of());
 
         Page<EventDto.EventResponse> responsePage = eventService.getAllEvents(pageable);
 
@@ -278,17 +351,32 @@ class EventServiceImplTest {
         assertFalse(responsePage.getContent().get(0).getIsCurrentUserBooked());
     }
 
+    @Test
+    void getAllEvents_ResolvesBookedFlagsForWholePageAtOnce() {
+        mockSecurityContext(regularUser);
+        Pageable pageable = PageRequest.of(0, 10);
+        UUID otherEventId = UUID.randomUUID();
+
+        when(eventCatalog.getPage(isNull(), eq(pageable), any()))
+                .thenReturn(new PageImpl<>(List.of(snapshot(eventId), snapshot(otherEventId)), pageable, 2));
+        when(bookedEvents.bookedAmong(regularUserId, List.of(eventId, otherEventId))).thenReturn(Set.of(eventId));
+
+        Page<EventDto.EventResponse> responsePage = eventService.getAllEvents(pageable);
+
+        assertTrue(responsePage.getContent().get(0).getIsCurrentUserBooked());
+        assertFalse(responsePage.getContent().get(1).getIsCurrentUserBooked());
+        verify(bookedEvents, never()).isBooked(any(), any());
+    }
+
     @Test
     void getEventsByCategory_Success() {
         mockSecurityContext(regularUser);
         Pageable pageable = PageRequest.of(0, 10);
         EventCategory category = EventCategory.CONFERENCE;
-        List<Event> events = Collections.singletonList(event);
-        Page<Event> eventPage = new PageImpl<>(events, pageable, 1);
 
-        when(eventRepository.findByCategory(category, pageable)).thenReturn(eventPage);
-        when(bookingRepository.existsByUserIdAndEventId(regularUserId, eventId)).thenReturn(false);
-        when(eventMapper.eventToEventResponse(event, false)).thenReturn(eventResponse);
+        when(eventCatalog.getPage(eq(category), eq(pageable), any()))
+                .thenReturn(new PageImpl<>(List.of(snapshot(eventId)), pageable, 1));
+        when(bookedEvents.bookedAmong(regularUserId, List.of(eventId))).thenReturn(Set.of());
 
         Page<EventDto.EventResponse> responsePage = eventService.getEventsByCategory(category, pageable);
 
@@ -306,6 +394,131 @@ class EventServiceImplTest {
         assertEquals(0, responsePage.getTotalElements());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void filterEvents_QueriesBySpecificationAndSetsBookedFlags() {
+        mockSecurityContext(regularUser);
+        Pageable pageable = PageRequest.of(0, 10);
+        EventDto.EventFilter filter = EventDto.EventFilter.builder()
+                .categories(Set.of(EventCategory.CONFERENCE))
+                .minPrice(BigDecimal.TEN)
+                .venue("Cairo")
+                .seatsAvailable(true)
+                .upcomingOnly(true)
+                .build();
+        when(eventRepository.findAll(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(event), pageable, 1));
+        when(eventMapper.eventToEventResponse(event, null)).thenReturn(snapshot(eventId));
+        when(bookedEvents.bookedAmong(regularUserId, List.of(eventId))).thenReturn(Set.of(eventId));
+
+        Page<EventDto.EventResponse> responsePage = eventService.filterEvents(filter, pageable);
+
+        assertEquals(1, responsePage.getTotalElements());
+        assertTrue(responsePage.getContent().get(0).getIsCurrentUserBooked());
+    }
+
+    @Test
+    void getEventsAfter_FirstPageFetchesOneExtraRowForTheCursor() {
+        mockSecurityContext(regularUser);
+        EventSummaryRow first = mock(EventSummaryRow.class);
+        when(first.getId()).thenReturn(eventId);
+        when(first.getEventDate()).thenReturn(event.getEventDate());
+        EventSummaryRow following = mock(EventSummaryRow.class);
+        when(eventRepository.findSummariesByCategoryOrderByEventDate(EventCategory.CONFERENCE, PageRequest.of(0, 2)))
+                .thenReturn(List.of(first, following));
+        when(eventMapper.eventSummaryRowToEventSummary(first))
+                .thenReturn(EventDto.EventSummary.builder().id(eventId).build());
+        when(bookedEvents.bookedAmong(regularUserId, List.of(eventId))).thenReturn(Set.of(eventId));
+
+        CursorPage<EventDto.EventSummary> page = eventService.getEventsAfter(EventCategory.CONFERENCE, null, 1,
+                false);
+
+        assertEquals(1, page.getContent().size());
+        assertTrue(page.getContent().get(0).getIsCurrentUserBooked());
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(event.getEventDate().toInstant(), next.at().toInstant());
+        assertEquals(eventId, next.id());
+        assertNull(page.getTotalElements());
+        verify(eventRepository, never()).countByCategory(any());
+    }
+
+    @Test
+    void getEventsAfter_LastPageHasNoCursorAndCountsOnRequest() {
+        KeysetCursor after = new KeysetCursor(OffsetDateTime.now(), UUID.randomUUID());
+        EventSummaryRow row = mock(EventSummaryRow.class);
+        when(eventRepository.findSummariesAfterOrderByEventDate(after.at(), after.id(), PageRequest.of(0, 11)))
+                .thenReturn(List.of(row));
+        when(eventMapper.eventSummaryRowToEventSummary(row))
+                .thenReturn(EventDto.EventSummary.builder().id(eventId).build());
+        when(eventRepository.count()).thenReturn(42L);
+
+        CursorPage<EventDto.EventSummary> page = eventService.getEventsAfter(null, after.encode(), 10, true);
+
+        assertEquals(1, page.getContent().size());
+        assertNull(page.getNextCursor());
+        assertEquals(42L, page.getTotalElements());
+    }
+
+    @Test
+    void getEventsAfter_RejectsBadSizeAndCursor() {
+        assertThrows(IllegalArgumentException.class, () -> eventService.getEventsAfter(null, null, 0, false));
+        assertThrows(IllegalArgumentException.class, () -> eventService.getEventsAfter(null, null, 101, false));
+        assertThrows(IllegalArgumentException.class, () -> eventService.getEventsAfter(null, "garbage", 10, false));
+    }
+
+    @Test
+    void getEventsByIds_OneQueryInRequestOrderWithNotFoundMarkers() {
+        mockSecurityContext(regularUser);
+        UUID missing = UUID.randomUUID();
+        when(eventRepository.findAllByIdWithAdminCreator(Set.of(missing, eventId))).thenReturn(List.of(event));
+        when(eventMapper.eventToEventResponse(event, null)).thenReturn(snapshot(eventId));
+        when(bookedEvents.bookedAmong(regularUserId, List.of(eventId))).thenReturn(Set.of(eventId));
+
+        List<BatchItem<EventDto.EventResponse>> items = eventService.getEventsByIds(List.of(missing, eventId, missing));
+
+        assertEquals(List.of(missing, eventId, missing), items.stream().map(BatchItem::getId).toList());
+        assertFalse(items.get(0).isFound());
+        assertTrue(items.get(1).isFound());
+        assertTrue(items.get(1).getItem().getIsCurrentUserBooked());
+        assertFalse(items.get(2).isFound());
+        verify(eventCatalog, never()).getEvent(any(), any());
+    }
+
+    @Test
+    void getEventsByIds_RejectsEmptyList() {
+        assertThrows(IllegalArgumentException.class, () -> eventService.getEventsByIds(List.of()));
+    }
+
+    @Test
+    void getEventChanges_SetsBookedFlagsOnChangedEvents() {
+        mockSecurityContext(regularUser);
+        EventDto.ChangesResponse changes = EventDto.ChangesResponse.builder()
+                .changed(List.of(snapshot(eventId)))
+                .deleted(List.of(UUID.randomUUID()))
+                .nextToken("token")
+                .build();
+        when(eventChangeLog.changesSince("since", 100)).thenReturn(changes);
+        when(bookedEvents.bookedAmong(regularUserId, List.of(eventId))).thenReturn(Set.of(eventId));
+
+        EventDto.ChangesResponse response = eventService.getEventChanges("since", 100);
+
+        assertTrue(response.getChanged().get(0).getIsCurrentUserBooked());
+        assertEquals("token", response.getNextToken());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void filterEvents_RejectsInvertedRanges() {
+        EventDto.EventFilter prices = EventDto.EventFilter.builder()
+                .minPrice(BigDecimal.TEN).maxPrice(BigDecimal.ONE).build();
+        OffsetDateTime now = OffsetDateTime.now();
+        EventDto.EventFilter dates = EventDto.EventFilter.builder().from(now).to(now.minusDays(1)).build();
+
+        assertThrows(IllegalArgumentException.class, () -> eventService.filterEvents(prices, PageRequest.of(0, 10)));
+        assertThrows(IllegalArgumentException.class, () -> eventService.filterEvents(dates, PageRequest.of(0, 10)));
+        verify(eventRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
     @Test
     void updateEventImage_Success_NewImage() throws IOException {
         mockSecurityContext(adminUser);
@@ -313,7 +526,7 @@ class EventServiceImplTest {
         when(mockImageFile.isEmpty()).thenReturn(false);
         when(fileUploadService.storeFile(mockImageFile, eventId)).thenReturn("new_image.jpg");
         when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(bookingRepository.existsByUserIdAndEventId(adminUserId, eventId)).thenReturn(false);
+        when(bookedEvents.isBooked(adminUserId, eventId)).thenReturn(false);
         when(eventMapper.eventToEventResponse(any(Event.class), eq(false))).thenAnswer(invocation -> {
             Event savedEvent = invocation.getArgument(0);
             return EventDto.EventResponse.builder().id(savedEvent.getId()).name(savedEvent.getName())
@@ -335,7 +548,7 @@ class EventServiceImplTest {
         when(eventRepository.findById(eventId)).thenReturn(Optional.of(event)); // Event has "image.jpg"
         when(mockImageFile.isEmpty()).thenReturn(true); // Simulate removing image by passing empty file
         when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(bookingRepository.existsByUserIdAndEventId(adminUserId, eventId)).thenReturn(false);
+        when(bookedEvents.isBooked(adminUserId, eventId)).thenReturn(false);
         when(eventMapper.eventToEventResponse(any(Event.class), eq(false))).thenAnswer(invocation -> {
             Event savedEvent = invocation.getArgument(0);
             return EventDto.EventResponse.builder().id(savedEvent.getId()).name(savedEvent.getName())
@@ -383,7 +596,7 @@ class EventServiceImplTest {
         // Storing new image succeeds
         when(fileUploadService.storeFile(mockImageFile, eventId)).thenReturn("new_image.jpg");
         when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(bookingRepository.existsByUserIdAndEventId(adminUserId, eventId)).thenReturn(false);
+        when(bookedEvents.isBooked(adminUserId, eventId)).thenReturn(false);
         when(eventMapper.eventToEventResponse(any(Event.class), eq(false))).thenAnswer(invocation -> {
             Event savedEvent = invocation.getArgument(0);
             return EventDto.EventResponse.builder().id(savedEvent.getId()).imageUrl(savedEvent.getImageUrl())
@@ -0,0 +1,156 @@
+package com.areeb.event_booking_system.services.event.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.areeb.event_booking_system.dtos.event.EventDto;
+import com.areeb.event_booking_system.mappers.EventMapper;
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.repository.event.EventCounter;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+
+@ExtendWith(MockitoExtension.class)
+class EventCatalogCacheTest {
+
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private EventMapper eventMapper;
+    @Mock
+    private Supplier<Event> loader;
+
+    private static final OffsetDateTime UPDATED_AT = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+
+    private EventCatalogCache catalog;
+    private Event event;
+    private final UUID eventId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        // counters expire immediately so every hit refreshes them
+        catalog = new EventCatalogCache(eventRepository, eventMapper, 100, 10, Duration.ofMinutes(5), Duration.ZERO,
+                Duration.ZERO, 1);
+        event = Event.builder().id(eventId).name("Concert").currentBookingsCount(3).version(4L).build();
+        when(eventMapper.eventToEventResponse(any(Event.class), isNull())).thenAnswer(invocation -> {
+            Event mapped = invocation.getArgument(0);
+            return EventDto.EventResponse.builder().id(mapped.getId()).name(mapped.getName())
+                    .currentBookingsCount(mapped.getCurrentBookingsCount()).version(mapped.getVersion()).build();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.stop();
+    }
+
+    @Test
+    void getEvent_HitOverlaysFreshCountOnACopy() {
+        when(loader.get()).thenReturn(event);
+        when(eventRepository.findCountersByIdIn(List.of(eventId))).thenReturn(List.of(counter(eventId, 7)));
+
+        EventDto.EventResponse first = catalog.getEvent(eventId, loader);
+        EventDto.EventResponse second = catalog.getEvent(eventId, loader);
+
+        assertEquals(3, first.getCurrentBookingsCount());
+        assertEquals(7, second.getCurrentBookingsCount());
+        assertNotSame(first, second);
+        verify(loader, times(1)).get();
+    }
+
+    @Test
+    void invalidate_DropsOnlyOlderVersions() {
+        when(loader.get()).thenReturn(event);
+        when(eventRepository.findCountersByIdIn(List.of(eventId))).thenReturn(List.of(counter(eventId, 3)));
+        catalog.getEvent(eventId, loader);
+
+        catalog.invalidate(eventId, 4);
+        catalog.getEvent(eventId, loader);
+        verify(loader, times(1)).get();
+
+        catalog.invalidate(eventId, 5);
+        catalog.getEvent(eventId, loader);
+        verify(loader, times(2)).get();
+    }
+
+    @Test
+    void getPage_CachedUntilAnyEventIsWritten() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Event> page = new PageImpl<>(List.of(event), pageable, 1);
+        @SuppressWarnings("unchecked")
+        Supplier<Page<Event>> pageLoader = mock(Supplier.class);
+        when(pageLoader.get()).thenReturn(page);
+        when(eventRepository.findCountersByIdIn(List.of(eventId))).thenReturn(List.of(counter(eventId, 3)));
+
+        catalog.getPage(null, pageable, pageLoader);
+        Page<EventDto.EventResponse> cached = catalog.getPage(null, pageable, pageLoader);
+        assertEquals(1, cached.getTotalElements());
+        verify(pageLoader, times(1)).get();
+
+        catalog.invalidate(UUID.randomUUID(), 0);
+        catalog.getPage(null, pageable, pageLoader);
+        verify(pageLoader, times(2)).get();
+        // page loads warm the per-event entries too
+        catalog.getEvent(eventId, loader);
+        verify(loader, never()).get();
+    }
+
+    @Test
+    void getVersion_AnswersFromCachedSnapshotWithoutLoading() {
+        assertTrue(catalog.getVersion(eventId).isEmpty());
+
+        when(loader.get()).thenReturn(event);
+        when(eventRepository.findCountersByIdIn(List.of(eventId))).thenReturn(List.of(counter(eventId, 9)));
+        catalog.getEvent(eventId, loader);
+
+        EventDto.EventVersion version = catalog.getVersion(eventId).orElseThrow();
+        assertEquals(4L, version.getVersion());
+        assertEquals(9, version.getCurrentBookingsCount());
+        assertEquals(UPDATED_AT, version.getUpdatedAt());
+        verify(loader, times(1)).get();
+        verify(eventMapper, times(1)).eventToEventResponse(any(Event.class), isNull());
+    }
+
+    private static EventCounter counter(UUID id, int count) {
+        return new EventCounter() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public Integer getCurrentBookingsCount() {
+                return count;
+            }
+
+            @Override
+            public OffsetDateTime getUpdatedAt() {
+                return UPDATED_AT;
+            }
+        };
+    }
+}
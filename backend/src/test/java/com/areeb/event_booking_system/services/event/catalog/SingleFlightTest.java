@@ -0,0 +1,93 @@
+package com.areeb.event_booking_system.services.event.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, Integer> flights = new SingleFlight<>();
+
+    @Test
+    void load_ConcurrentCallersShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> flights.load("event", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return 42;
+                })));
+            }
+            while (loads.get() == 0) {
+                Thread.onSpinWait();
+            }
+            // give the other callers time to join the running load
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertFalse(flights.isLoading("event"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void load_PropagatesLoaderException() {
+        IllegalStateException failure = new IllegalStateException("down");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> flights.load("event", () -> {
+                    throw failure;
+                }));
+
+        assertSame(failure, thrown);
+        assertEquals(7, flights.load("event", () -> 7));
+    }
+
+    @Test
+    void loadAsync_SkipsWhileLoadingAndRecoversFromRejection() {
+        List<Runnable> queued = new ArrayList<>();
+        flights.loadAsync("event", () -> 1, queued::add);
+        flights.loadAsync("event", () -> 2, queued::add);
+        assertEquals(1, queued.size());
+        assertTrue(flights.isLoading("event"));
+
+        queued.get(0).run();
+        assertFalse(flights.isLoading("event"));
+
+        flights.loadAsync("event", () -> 3, task -> {
+            throw new RejectedExecutionException();
+        });
+        assertFalse(flights.isLoading("event"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
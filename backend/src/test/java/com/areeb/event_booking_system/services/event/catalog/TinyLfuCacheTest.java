@@ -0,0 +1,83 @@
+package com.areeb.event_booking_system.services.event.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TinyLfuCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void put_OneOffKeysDoNotDisplaceHotOnes() {
+        TinyLfuCache<String, Integer> cache = new TinyLfuCache<>(100, 60_000, clock::get);
+        for (int i = 0; i < 50; i++) {
+            cache.put("hot-" + i, i);
+            for (int hit = 0; hit < 10; hit++) {
+                cache.get("hot-" + i);
+            }
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("scan-" + i, i);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, cache.get("hot-" + i));
+        }
+        assertEquals(100, cache.size());
+    }
+
+    @Test
+    void get_CountsHitsMissesAndDropsExpired() {
+        TinyLfuCache<String, Integer> cache = new TinyLfuCache<>(10, 1_000, clock::get);
+        cache.put("a", 1);
+
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        clock.set(1_000);
+        assertNull(cache.get("a"));
+
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_KeepsExistingEntryUnlessReplaced() {
+        TinyLfuCache<String, Integer> cache = new TinyLfuCache<>(10, 1_000, clock::get);
+        cache.put("a", 2);
+
+        cache.put("a", 1, existing -> existing <= 1);
+        assertEquals(2, cache.get("a"));
+        cache.put("a", 3, existing -> existing <= 3);
+        assertEquals(3, cache.get("a"));
+
+        cache.removeIf("a", value -> value < 3);
+        assertEquals(3, cache.get("a"));
+        cache.removeIf("a", value -> value < 4);
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void lookup_ServesExpiredEntryAsStaleWithinWindow() {
+        TinyLfuCache<String, Integer> cache = new TinyLfuCache<>(10, 1_000, 500, clock::get);
+        cache.put("a", 1);
+
+        assertFalse(cache.lookup("a").stale());
+        clock.set(1_200);
+        TinyLfuCache.Lookup<Integer> stale = cache.lookup("a");
+        assertEquals(1, stale.value());
+        assertTrue(stale.stale());
+
+        cache.put("a", 2);
+        assertFalse(cache.lookup("a").stale());
+        clock.set(2_700);
+        assertNull(cache.lookup("a"));
+    }
+}
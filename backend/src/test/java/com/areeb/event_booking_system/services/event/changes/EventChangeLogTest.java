@@ -0,0 +1,144 @@
+package com.areeb.event_booking_system.services.event.changes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.areeb.event_booking_system.dtos.event.EventDto;
+import com.areeb.event_booking_system.mappers.EventMapper;
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+
+@ExtendWith(MockitoExtension.class)
+class EventChangeLogTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private EventMapper eventMapper;
+
+    private EventChangeLog changeLog;
+    private final UUID eventId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        changeLog = new EventChangeLog(jdbcTemplate, eventRepository, eventMapper, Duration.ofDays(30));
+    }
+
+    // Writers run inside transactions that already hold event row locks, so the change log must not add a
+    // lock of its own that could be taken in a different order.
+    @Test
+    void recordChange_OnlyStampsTheEventRow() {
+        changeLog.recordChange(eventId);
+
+        verify(jdbcTemplate).update(startsWith("UPDATE events SET change_xid = pg_current_xact_id()"), eq(eventId));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void recordDeletion_OnlyWritesTheTombstone() {
+        changeLog.recordDeletion(eventId);
+
+        verify(jdbcTemplate).update(startsWith("INSERT INTO event_tombstones"), eq(eventId), any(Timestamp.class));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void changesSince_StopsAtTheOldestRunningTransaction() {
+        UUID deletedId = UUID.randomUUID();
+        UUID laterId = UUID.randomUUID();
+        UUID afterId = UUID.randomUUID();
+        String token = new SyncToken(10, afterId, Instant.now()).encode();
+        when(jdbcTemplate.queryForObject(EventChangeLog.HORIZON_SQL, String.class)).thenReturn("20");
+        when(jdbcTemplate.query(eq(EventChangeLog.CHANGED_OR_DELETED_SQL), any(RowMapper.class), eq("10"),
+                eq(afterId), eq("20"), eq("10"), eq(afterId), eq("20"), eq(3)))
+                .thenReturn(List.of(new EventChangeLog.Change(eventId, 11, false),
+                        new EventChangeLog.Change(deletedId, 12, true),
+                        new EventChangeLog.Change(laterId, 14, false)));
+        Event event = Event.builder().id(eventId).build();
+        when(eventRepository.findAllByIdWithAdminCreator(List.of(eventId))).thenReturn(List.of(event));
+        when(eventMapper.eventToEventResponse(eq(event), isNull()))
+                .thenReturn(EventDto.EventResponse.builder().id(eventId).build());
+
+        EventDto.ChangesResponse response = changeLog.changesSince(token, 2);
+
+        assertEquals(List.of(eventId), response.getChanged().stream().map(EventDto.EventResponse::getId).toList());
+        assertEquals(List.of(deletedId), response.getDeleted());
+        assertTrue(response.isHasMore());
+        SyncToken next = SyncToken.decode(response.getNextToken());
+        assertEquals(12, next.xid());
+        assertEquals(deletedId, next.eventId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void changesSince_WithoutTokenListsTheCatalogAndSkipsTombstones() {
+        when(jdbcTemplate.queryForObject(EventChangeLog.HORIZON_SQL, String.class)).thenReturn("20");
+        when(jdbcTemplate.query(eq(EventChangeLog.CHANGED_SQL), any(RowMapper.class), eq("0"), eq(SyncToken.NONE),
+                eq("20"), eq(101))).thenReturn(List.of());
+        when(eventRepository.findAllByIdWithAdminCreator(List.of())).thenReturn(List.of());
+
+        EventDto.ChangesResponse response = changeLog.changesSince(null, 100);
+
+        assertFalse(response.isHasMore());
+        assertEquals(0, SyncToken.decode(response.getNextToken()).xid());
+        verify(jdbcTemplate, never()).query(eq(EventChangeLog.CHANGED_OR_DELETED_SQL), any(RowMapper.class),
+                any(Object[].class));
+    }
+
+    @Test
+    void changesSince_TokenOlderThanRetentionAsksForResync() {
+        String token = new SyncToken(10, eventId, Instant.now().minus(Duration.ofDays(31))).encode();
+
+        EventDto.ChangesResponse response = changeLog.changesSince(token, 100);
+
+        assertTrue(response.isResyncRequired());
+        assertTrue(response.getChanged().isEmpty());
+        verifyNoInteractions(jdbcTemplate, eventRepository);
+    }
+
+    @Test
+    void changesSince_RejectsBadTokenAndSize() {
+        assertThrows(IllegalArgumentException.class, () -> changeLog.changesSince("not a token", 100));
+        assertThrows(IllegalArgumentException.class, () -> changeLog.changesSince(null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> changeLog.changesSince(null, EventChangeLog.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void compact_DeletesTombstonesPastRetention() {
+        when(jdbcTemplate.update(startsWith("DELETE FROM event_tombstones"), any(Object.class))).thenReturn(3);
+
+        changeLog.compact();
+
+        verify(jdbcTemplate).update(anyString(), any(Object.class));
+    }
+}
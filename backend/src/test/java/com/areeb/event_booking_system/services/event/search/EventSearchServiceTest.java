@@ -0,0 +1,139 @@
+package com.areeb.event_booking_system.services.event.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.areeb.event_booking_system.dtos.event.EventDto;
+import com.areeb.event_booking_system.mappers.EventMapper;
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.models.user.User;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+import com.areeb.event_booking_system.repository.event.EventSearchRow;
+import com.areeb.event_booking_system.services.booking.booked.BookedEventsCache;
+
+@ExtendWith(MockitoExtension.class)
+class EventSearchServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private EventMapper eventMapper;
+    @Mock
+    private BookedEventsCache bookedEvents;
+
+    @InjectMocks
+    private EventSearchService searchService;
+
+    @Test
+    void toTsQuery_PrefixMatchesOnlyLettersAndDigits() {
+        assertEquals("jazz:* & fest:* & 2026:*", EventSearchService.toTsQuery("Jazz-fest 2026!"));
+        assertEquals("café:* & o:*", EventSearchService.toTsQuery("  Café & o'  café |"));
+        assertThrows(IllegalArgumentException.class, () -> EventSearchService.toTsQuery("&|!:*"));
+    }
+
+    @Test
+    void searchCursor_RoundTripsAndRejectsGarbage() {
+        SearchCursor cursor = new SearchCursor(0.35f, UUID.randomUUID());
+
+        assertEquals(cursor, SearchCursor.decode(cursor.encode()));
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode("AAAA"));
+    }
+
+    @Test
+    void search_FullPageReturnsCursorAfterLastHit() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        when(eventRepository.search("jazz:*", 3)).thenReturn(List.of(row(first, 0.9f), row(second, 0.5f),
+                row(third, 0.1f)));
+        when(eventRepository.findAllByIdWithAdminCreator(List.of(first, second)))
+                .thenReturn(List.of(event(second), event(first)));
+        when(eventMapper.eventToEventResponse(any(Event.class), isNull())).thenAnswer(invocation -> EventDto.EventResponse
+                .builder().id(invocation.<Event>getArgument(0).getId()).build());
+
+        User user = User.builder().id(UUID.randomUUID()).build();
+        when(bookedEvents.bookedAmong(eq(user.getId()), anyCollection())).thenReturn(Set.of(second));
+
+        EventDto.SearchResponse response = searchService.search("jazz", null, 2, user);
+
+        assertEquals(List.of(first, second), response.getHits().stream().map(hit -> hit.getEvent().getId()).toList());
+        assertFalse(response.getHits().get(0).getEvent().getIsCurrentUserBooked());
+        assertTrue(response.getHits().get(1).getEvent().getIsCurrentUserBooked());
+        assertEquals("<mark>Jazz</mark> Night", response.getHits().get(0).getHighlightedName());
+        assertNotNull(response.getNextCursor());
+        assertEquals(new SearchCursor(0.5f, second), SearchCursor.decode(response.getNextCursor()));
+    }
+
+    @Test
+    void search_CursorContinuesAfterRankAndId() {
+        UUID last = UUID.randomUUID();
+        String cursor = new SearchCursor(0.5f, last).encode();
+        when(eventRepository.searchAfter("jazz:*", 0.5f, last, 21)).thenReturn(List.of());
+        when(eventRepository.findAllByIdWithAdminCreator(List.of())).thenReturn(List.of());
+
+        EventDto.SearchResponse response = searchService.search("jazz", cursor, 20, null);
+
+        assertEquals(0, response.getHits().size());
+        assertNull(response.getNextCursor());
+        verify(eventRepository).searchAfter("jazz:*", 0.5f, last, 21);
+    }
+
+    @Test
+    void search_RejectsOversizedPage() {
+        assertThrows(IllegalArgumentException.class, () -> searchService.search("jazz", null, 101, null));
+    }
+
+    private static Event event(UUID id) {
+        return Event.builder().id(id).name("Jazz Night").build();
+    }
+
+    private static EventSearchRow row(UUID id, float rank) {
+        return new EventSearchRow() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public Float getRank() {
+                return rank;
+            }
+
+            @Override
+            public String getHighlightedName() {
+                return "<mark>Jazz</mark> Night";
+            }
+
+            @Override
+            public String getHighlightedVenue() {
+                return "Hall";
+            }
+
+            @Override
+            public String getSnippet() {
+                return "";
+            }
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.areeb.event_booking_system.services.event.suggest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.areeb.event_booking_system.dtos.event.EventDto;
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.models.event.EventCategory;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+import com.areeb.event_booking_system.repository.event.EventSuggestionRow;
+
+@ExtendWith(MockitoExtension.class)
+class EventSuggesterTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private EventSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        suggester = new EventSuggester(eventRepository, 1_000);
+    }
+
+    @Test
+    void rebuild_KeepsWritesMadeWhileLoading() {
+        UUID loaded = UUID.randomUUID();
+        UUID deletedWhileLoading = UUID.randomUUID();
+        Event createdWhileLoading = Event.builder().id(UUID.randomUUID()).name("Board Games").venue("Cafe")
+                .category(EventCategory.OTHER).eventDate(OffsetDateTime.now().plusDays(2)).build();
+        when(eventRepository.findSuggestionRowsByEventDateAfter(any())).thenAnswer(invocation -> {
+            suggester.put(createdWhileLoading);
+            suggester.remove(deletedWhileLoading);
+            return List.of(row(loaded, "Board Meeting"), row(deletedWhileLoading, "Board Retreat"));
+        });
+
+        suggester.rebuild();
+
+        List<UUID> ids = suggester.suggest("board", 10).stream().map(EventDto.Suggestion::getEventId).toList();
+        assertEquals(2, ids.size());
+        assertTrue(ids.containsAll(List.of(loaded, createdWhileLoading.getId())));
+    }
+
+    @Test
+    void suggest_CapsLimit() {
+        for (int i = 0; i < 30; i++) {
+            suggester.put(Event.builder().id(UUID.randomUUID()).name("Talk " + i).venue("Hall")
+                    .category(EventCategory.SEMINAR).eventDate(OffsetDateTime.now().plusDays(1)).build());
+        }
+
+        assertEquals(EventSuggester.MAX_LIMIT, suggester.suggest("talk", 100).size());
+    }
+
+    private static EventSuggestionRow row(UUID id, String name) {
+        return new EventSuggestionRow() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getVenue() {
+                return "Hall";
+            }
+
+            @Override
+            public EventCategory getCategory() {
+                return EventCategory.BUSINESS;
+            }
+
+            @Override
+            public OffsetDateTime getEventDate() {
+                return OffsetDateTime.now().plusDays(1);
+            }
+
+            @Override
+            public Integer getCurrentBookingsCount() {
+                return 0;
+            }
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package com.areeb.event_booking_system.services.event.suggest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.areeb.event_booking_system.dtos.event.EventDto;
+import com.areeb.event_booking_system.models.event.EventCategory;
+
+class PrefixIndexTest {
+
+    private final OffsetDateTime now = OffsetDateTime.parse("2026-06-01T10:00:00Z");
+    private final PrefixIndex index = new PrefixIndex(1_000);
+
+    @Test
+    void suggest_MatchesAnyWordAndMultiWordPrefixes() {
+        UUID jazz = put("Jazz Festival", "Cairo Opera House", EventCategory.FESTIVAL, 5, 10);
+
+        assertEquals(List.of(jazz), eventIds(index.suggest("fest", 10, now)));
+        assertEquals(List.of(jazz), eventIds(index.suggest("JAZZ  fe", 10, now)));
+        assertEquals("Cairo Opera House", only(index.suggest("opera", 10, now), EventDto.SuggestionType.VENUE));
+        assertEquals("FESTIVAL", only(index.suggest("festiv", 10, now), EventDto.SuggestionType.CATEGORY));
+        assertTrue(index.suggest("zzz", 10, now).isEmpty());
+    }
+
+    @Test
+    void suggest_RanksByBookingsThenDateAndSkipsPastEvents() {
+        UUID quiet = put("Rock Night", "Hall A", EventCategory.CONCERT, 2, 5);
+        UUID busy = put("Rock Fest", "Hall B", EventCategory.CONCERT, 200, 30);
+        UUID soon = put("Rock Jam", "Hall C", EventCategory.CONCERT, 2, 1);
+        put("Rock Past", "Hall D", EventCategory.CONCERT, 999, -1);
+
+        assertEquals(List.of(busy, soon, quiet), eventIds(index.suggest("rock", 10, now)));
+        assertEquals(List.of(busy), eventIds(index.suggest("rock", 1, now)));
+    }
+
+    @Test
+    void put_ReplacesOldKeysAndRemoveDropsEvent() {
+        UUID id = UUID.randomUUID();
+        index.put(new PrefixIndex.Entry(id, "Café Talks", "Zamalek", EventCategory.SEMINAR, now.plusDays(3), 0));
+        assertEquals(List.of(id), eventIds(index.suggest("cafe", 10, now)));
+
+        index.put(new PrefixIndex.Entry(id, "Tech Talks", "Zamalek", EventCategory.SEMINAR, now.plusDays(3), 0));
+        assertTrue(eventIds(index.suggest("cafe", 10, now)).isEmpty());
+        assertEquals(List.of(id), eventIds(index.suggest("tech", 10, now)));
+
+        index.remove(id);
+        assertTrue(index.suggest("ta", 10, now).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    private UUID put(String name, String venue, EventCategory category, int bookings, int daysAhead) {
+        UUID id = UUID.randomUUID();
+        index.put(new PrefixIndex.Entry(id, name, venue, category, now.plusDays(daysAhead), bookings));
+        return id;
+    }
+
+    private static List<UUID> eventIds(List<EventDto.Suggestion> suggestions) {
+        return suggestions.stream()
+                .filter(suggestion -> suggestion.getType() == EventDto.SuggestionType.EVENT)
+                .map(EventDto.Suggestion::getEventId)
+                .toList();
+    }
+
+    private static String only(List<EventDto.Suggestion> suggestions, EventDto.SuggestionType type) {
+        List<String> texts = suggestions.stream().filter(suggestion -> suggestion.getType() == type)
+                .map(EventDto.Suggestion::getText).toList();
+        assertEquals(1, texts.size());
+        return texts.get(0);
+    }
+}
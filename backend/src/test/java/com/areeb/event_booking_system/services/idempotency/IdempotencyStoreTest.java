@@ -0,0 +1,122 @@
+package com.areeb.event_booking_system.services.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    private static final String KEY = "user@example.com:retry-1";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(jdbcTemplate, 100, Duration.ofHours(1), Duration.ofSeconds(5),
+                Duration.ofMinutes(1), 10);
+    }
+
+    @Test
+    void begin_AfterComplete_ReplaysFromMemory() throws Exception {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(), any(), any(), any()))
+                .thenReturn(List.of(KEY));
+        assertTrue(store.begin(KEY, "fp").isEmpty());
+        StoredResponse response = new StoredResponse("fp", 201, "application/json", "{}".getBytes());
+        store.complete(KEY, response);
+
+        assertSame(response, store.begin(KEY, "fp").orElseThrow());
+        // only the first call reached the database
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(String.class), any(), any(), any(), any());
+    }
+
+    @Test
+    void begin_DifferentFingerprint_Rejected() throws Exception {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(), any(), any(), any()))
+                .thenReturn(List.of(KEY));
+        store.begin(KEY, "fp");
+        store.complete(KEY, new StoredResponse("fp", 201, "application/json", "{}".getBytes()));
+
+        IdempotencyConflictException e = assertThrows(IdempotencyConflictException.class,
+                () -> store.begin(KEY, "other"));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, e.getStatus());
+    }
+
+    @Test
+    void begin_ConcurrentDuplicates_WaitForFirstRequest() throws Exception {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(), any(), any(), any()))
+                .thenReturn(List.of(KEY));
+        assertTrue(store.begin(KEY, "fp").isEmpty());
+
+        int duplicates = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(duplicates);
+        CountDownLatch started = new CountDownLatch(duplicates);
+        List<Future<Optional<StoredResponse>>> results = new ArrayList<>();
+        for (int i = 0; i < duplicates; i++) {
+            results.add(executor.submit(() -> {
+                started.countDown();
+                return store.begin(KEY, "fp");
+            }));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        StoredResponse response = new StoredResponse("fp", 201, "application/json", "{}".getBytes());
+        store.complete(KEY, response);
+
+        for (Future<Optional<StoredResponse>> result : results) {
+            assertSame(response, result.get(5, TimeUnit.SECONDS).orElseThrow());
+        }
+        executor.shutdown();
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(String.class), any(), any(), any(), any());
+    }
+
+    @Test
+    void begin_AfterAbandon_RunsAgain() throws Exception {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(), any(), any(), any()))
+                .thenReturn(List.of(KEY));
+        store.begin(KEY, "fp");
+        store.abandon(KEY);
+
+        assertTrue(store.begin(KEY, "fp").isEmpty());
+    }
+
+    @Test
+    void begin_InProgressElsewhere_TimesOut() {
+        store = new IdempotencyStore(jdbcTemplate, 100, Duration.ofHours(1), Duration.ofMillis(50),
+                Duration.ofMinutes(1), 10);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(), any(), any(), any()))
+                .thenReturn(List.of());
+
+        IdempotencyConflictException e = assertThrows(IdempotencyConflictException.class,
+                () -> store.begin(KEY, "fp"));
+        assertEquals(HttpStatus.CONFLICT, e.getStatus());
+    }
+}
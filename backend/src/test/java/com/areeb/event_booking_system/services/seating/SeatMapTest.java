@@ -0,0 +1,55 @@
+package com.areeb.event_booking_system.services.seating;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.areeb.event_booking_system.dtos.seating.SeatMapDto;
+
+class SeatMapTest {
+
+    @Test
+    void bestRun_EmptyRow_Centred() {
+        SeatRow row = new SeatRow("Stalls", "A", 10, new BitSet());
+
+        assertEquals(4, row.bestRun(2));
+        assertEquals(0, row.bestRun(10));
+        assertEquals(-1, row.bestRun(11));
+    }
+
+    @Test
+    void bestRun_SkipsTakenSeats() {
+        BitSet taken = new BitSet();
+        taken.set(3, 7);
+        SeatRow row = new SeatRow("Stalls", "A", 10, taken);
+
+        // seats 1-3 and 8-10 are free; both runs are equally far from the middle, the first wins
+        assertEquals(1, row.bestRun(2));
+        assertEquals(0, row.bestRun(3));
+        assertEquals(-1, row.bestRun(4));
+        assertEquals(6, row.available());
+    }
+
+    @Test
+    void bestAvailable_PrefersFrontRow() {
+        BitSet fullFront = new BitSet();
+        fullFront.set(0, 8);
+        fullFront.clear(2);
+        SeatMap map = new SeatMap(List.of(
+                new SeatRow("Stalls", "A", 8, fullFront),
+                new SeatRow("Stalls", "B", 8, new BitSet())));
+
+        List<SeatMapDto.SeatRef> single = map.bestAvailable(1);
+        List<SeatMapDto.SeatRef> pair = map.bestAvailable(2);
+
+        assertEquals("A", single.get(0).getRow());
+        assertEquals(3, single.get(0).getSeat());
+        assertEquals("B", pair.get(0).getRow());
+        assertEquals(List.of(4, 5), pair.stream().map(SeatMapDto.SeatRef::getSeat).toList());
+        assertTrue(map.bestAvailable(9).isEmpty());
+    }
+}
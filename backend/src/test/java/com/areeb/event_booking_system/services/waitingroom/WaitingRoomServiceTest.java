@@ -0,0 +1,173 @@
+package com.areeb.event_booking_system.services.waitingroom;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.areeb.event_booking_system.dtos.waitingroom.WaitingRoomDto;
+import com.areeb.event_booking_system.exceptions.AdmissionRequiredException;
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.models.user.User;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+
+@ExtendWith(MockitoExtension.class)
+class WaitingRoomServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private InMemoryWaitingRoomStore store;
+    private WaitingRoomService waitingRoomService;
+    private UUID eventId;
+
+    @BeforeEach
+    void setUp() {
+        store = spy(new InMemoryWaitingRoomStore());
+        waitingRoomService = new WaitingRoomService(store, eventRepository, 1000);
+        eventId = UUID.randomUUID();
+        waitingRoomService.sync(eventId, 2);
+    }
+
+    @Test
+    void join_IsIdempotentPerUser() {
+        User user = user();
+
+        WaitingRoomDto.QueueStatus first = waitingRoomService.join(eventId, user);
+        WaitingRoomDto.QueueStatus second = waitingRoomService.join(eventId, user);
+
+        assertEquals(first.getToken(), second.getToken());
+        assertEquals(1, second.getPosition());
+        assertFalse(second.isAdmitted());
+    }
+
+    @Test
+    void admit_AdmitsRatePerTickInArrivalOrder() {
+        stubActiveRooms(room(eventId, 2));
+        List<User> users = List.of(user(), user(), user(), user(), user());
+        List<WaitingRoomDto.QueueStatus> joined = users.stream().map(u -> waitingRoomService.join(eventId, u)).toList();
+        assertEquals(5, joined.get(4).getPosition());
+        assertEquals(3, joined.get(4).getEtaSeconds());
+
+        waitingRoomService.admit();
+
+        assertTrue(waitingRoomService.status(eventId, joined.get(1).getToken(), users.get(1)).isAdmitted());
+        WaitingRoomDto.QueueStatus third = waitingRoomService.status(eventId, joined.get(2).getToken(), users.get(2));
+        assertFalse(third.isAdmitted());
+        assertEquals(1, third.getPosition());
+    }
+
+    @Test
+    void admit_NeverRunsAheadOfIssuedTickets() {
+        stubActiveRooms(room(eventId, 2));
+        User early = user();
+        waitingRoomService.join(eventId, early);
+        for (int i = 0; i < 5; i++) {
+            waitingRoomService.admit();
+        }
+
+        User late = user();
+        WaitingRoomDto.QueueStatus status = waitingRoomService.join(eventId, late);
+
+        assertEquals(1, status.getPosition());
+        assertThrows(AdmissionRequiredException.class,
+                () -> waitingRoomService.claimAdmission(eventId, status.getToken(), late));
+    }
+
+    @Test
+    void admit_PicksUpRoomsChangedOnOtherNodes() {
+        UUID openedElsewhere = UUID.randomUUID();
+        stubActiveRooms(room(openedElsewhere, 5));
+
+        waitingRoomService.admit();
+
+        assertTrue(waitingRoomService.isActive(openedElsewhere));
+        assertFalse(waitingRoomService.isActive(eventId));
+    }
+
+    @Test
+    void claimAdmission_RejectsMissingForeignAndUsedTokens() {
+        stubActiveRooms(room(eventId, 2));
+        User owner = user();
+        UUID token = waitingRoomService.join(eventId, owner).getToken();
+        waitingRoomService.admit();
+
+        assertThrows(AdmissionRequiredException.class, () -> waitingRoomService.claimAdmission(eventId, null, owner));
+        assertThrows(AdmissionRequiredException.class,
+                () -> waitingRoomService.claimAdmission(eventId, token, user()));
+        assertDoesNotThrow(() -> waitingRoomService.claimAdmission(eventId, token, owner));
+        assertThrows(AdmissionRequiredException.class,
+                () -> waitingRoomService.claimAdmission(eventId, token, owner));
+
+        waitingRoomService.release(token);
+
+        assertDoesNotThrow(() -> waitingRoomService.claimAdmission(eventId, token, owner));
+    }
+
+    @Test
+    void claimAdmission_LostRaceForToken_Rejects() {
+        stubActiveRooms(room(eventId, 2));
+        User owner = user();
+        UUID token = waitingRoomService.join(eventId, owner).getToken();
+        waitingRoomService.admit();
+        // another request marked the token used between the lookup and the update
+        doReturn(false).when(store).markUsed(token);
+
+        assertThrows(AdmissionRequiredException.class,
+                () -> waitingRoomService.claimAdmission(eventId, token, owner));
+    }
+
+    @Test
+    void claimAdmission_NoWaitingRoom_PassesWithoutToken() {
+        UUID openEvent = UUID.randomUUID();
+
+        assertDoesNotThrow(() -> waitingRoomService.claimAdmission(openEvent, null, user()));
+    }
+
+    @Test
+    void sync_NullRate_ClosesRoom() {
+        User user = user();
+        waitingRoomService.join(eventId, user);
+
+        waitingRoomService.sync(eventId, null);
+
+        assertFalse(waitingRoomService.isActive(eventId));
+        assertDoesNotThrow(() -> waitingRoomService.claimAdmission(eventId, null, user));
+    }
+
+    @Test
+    void loadActiveRooms_RegistersFutureEventsWithRate() {
+        Event event = room(UUID.randomUUID(), 50);
+        stubActiveRooms(event);
+
+        waitingRoomService.loadActiveRooms();
+
+        assertTrue(waitingRoomService.isActive(event.getId()));
+    }
+
+    private void stubActiveRooms(Event... events) {
+        when(eventRepository.findWithWaitingRoomAndEventDateAfter(any())).thenReturn(List.of(events));
+    }
+
+    private Event room(UUID id, int rate) {
+        return Event.builder().id(id).waitingRoomRate(rate).build();
+    }
+
+    private User user() {
+        return User.builder().id(UUID.randomUUID()).build();
+    }
+}
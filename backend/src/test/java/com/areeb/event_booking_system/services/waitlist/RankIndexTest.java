@@ -0,0 +1,55 @@
+package com.areeb.event_booking_system.services.waitlist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class RankIndexTest {
+
+    @Test
+    void countBefore_TracksJoinsAndLeaves() {
+        RankIndex index = new RankIndex();
+        for (long sequence = 1; sequence <= 10; sequence++) {
+            index.add(sequence);
+        }
+
+        index.remove(1);
+        index.remove(4);
+
+        assertEquals(0, index.countBefore(2));
+        assertEquals(2, index.countBefore(5));
+        assertEquals(7, index.countBefore(10));
+        assertEquals(8, index.size());
+        assertFalse(index.contains(4));
+    }
+
+    @Test
+    void add_IsIdempotent() {
+        RankIndex index = new RankIndex();
+        index.add(3);
+        index.add(3);
+        index.remove(7);
+
+        assertEquals(1, index.size());
+        assertEquals(1, index.countBefore(10));
+    }
+
+    @Test
+    void add_GrowsPastInitialCapacity() {
+        RankIndex index = new RankIndex();
+        int entries = 100_000;
+        for (long sequence = 1; sequence <= entries; sequence++) {
+            index.add(sequence);
+        }
+        for (long sequence = 1; sequence <= entries; sequence += 2) {
+            index.remove(sequence);
+        }
+
+        assertTrue(index.contains(entries));
+        assertEquals(entries / 2 - 1, index.countBefore(entries));
+        // sequences beyond anything stored count every waiting entry
+        assertEquals(entries / 2, index.countBefore(entries * 4L));
+    }
+}
@@ -0,0 +1,163 @@
+package com.areeb.event_booking_system.services.waitlist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.areeb.event_booking_system.dtos.waitlist.WaitlistDto;
+import com.areeb.event_booking_system.models.booking.Booking;
+import com.areeb.event_booking_system.models.booking.WaitlistEntry;
+import com.areeb.event_booking_system.models.event.Event;
+import com.areeb.event_booking_system.models.user.User;
+import com.areeb.event_booking_system.repository.booking.BookingRepository;
+import com.areeb.event_booking_system.repository.booking.WaitlistRepository;
+import com.areeb.event_booking_system.repository.event.EventRepository;
+import com.areeb.event_booking_system.services.booking.booked.BookedEventsCache;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistServiceTest {
+
+    @Mock
+    private WaitlistRepository waitlistRepository;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private WaitlistNotifier notifier;
+    @Mock
+    private BookedEventsCache bookedEvents;
+
+    @InjectMocks
+    private WaitlistService waitlistService;
+
+    private Event soldOutEvent;
+    private User currentUser;
+
+    @BeforeEach
+    void setUp() {
+        soldOutEvent = Event.builder()
+                .id(UUID.randomUUID())
+                .name("Sold Out")
+                .eventDate(OffsetDateTime.now().plusDays(3))
+                .maxCapacity(2)
+                .currentBookingsCount(2)
+                .price(BigDecimal.TEN)
+                .build();
+        currentUser = User.builder().id(UUID.randomUUID()).username("waiter").build();
+    }
+
+    @Test
+    void join_SoldOut_RanksBehindEveryoneWaiting() {
+        UUID eventId = soldOutEvent.getId();
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(soldOutEvent));
+        when(waitlistRepository.findByUserIdAndEventId(currentUser.getId(), eventId)).thenReturn(Optional.empty());
+        when(waitlistRepository.nextSequence(eventId)).thenReturn(6L);
+        when(waitlistRepository.save(any(WaitlistEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        // sequences 2 and 4 already left or were promoted
+        when(waitlistRepository.findSequencesByEventId(eventId)).thenReturn(List.of(1L, 3L, 5L));
+
+        WaitlistDto.WaitlistStatus status = waitlistService.join(eventId, currentUser);
+
+        assertEquals(4, status.getPosition());
+    }
+
+    @Test
+    void join_TicketsAvailable_Rejected() {
+        soldOutEvent.setCurrentBookingsCount(1);
+        when(eventRepository.findById(soldOutEvent.getId())).thenReturn(Optional.of(soldOutEvent));
+
+        assertThrows(IllegalArgumentException.class, () -> waitlistService.join(soldOutEvent.getId(), currentUser));
+        verify(waitlistRepository, never()).save(any());
+    }
+
+    @Test
+    void getStatus_PositionFollowsDepartures() {
+        UUID eventId = soldOutEvent.getId();
+        WaitlistEntry entry = WaitlistEntry.builder().id(UUID.randomUUID()).sequence(3).build();
+        when(waitlistRepository.findByUserIdAndEventId(currentUser.getId(), eventId)).thenReturn(Optional.of(entry));
+        when(waitlistRepository.findSequencesByEventId(eventId)).thenReturn(List.of(1L, 2L, 3L));
+        assertEquals(3, waitlistService.getStatus(eventId, currentUser).getPosition());
+
+        WaitlistEntry head = WaitlistEntry.builder().id(UUID.randomUUID()).sequence(1).user(User.builder()
+                .id(UUID.randomUUID()).build()).build();
+        when(waitlistRepository.findHeadForUpdate(eventId)).thenReturn(Optional.of(head));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        waitlistService.promote(soldOutEvent, 1);
+
+        assertEquals(2, waitlistService.getStatus(eventId, currentUser).getPosition());
+    }
+
+    @Test
+    void promote_BooksHeadAndNotifies() {
+        UUID eventId = soldOutEvent.getId();
+        User head = User.builder().id(UUID.randomUUID()).build();
+        WaitlistEntry entry = WaitlistEntry.builder().id(UUID.randomUUID()).sequence(1).user(head).build();
+        when(waitlistRepository.findHeadForUpdate(eventId)).thenReturn(Optional.of(entry));
+        when(bookingRepository.existsByUserIdAndEventId(head.getId(), eventId)).thenReturn(false);
+        UUID bookingId = UUID.randomUUID();
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(bookingId);
+            return booking;
+        });
+
+        assertEquals(1, waitlistService.promote(soldOutEvent, 1));
+
+        ArgumentCaptor<Booking> booking = ArgumentCaptor.forClass(Booking.class);
+        verify(bookingRepository).save(booking.capture());
+        assertEquals(head, booking.getValue().getUser());
+        verify(waitlistRepository).deleteEntryById(entry.getId());
+        verify(notifier).promoted(head.getId(), eventId, bookingId);
+    }
+
+    @Test
+    void promote_SkipsUsersWhoAlreadyBooked() {
+        UUID eventId = soldOutEvent.getId();
+        User booked = User.builder().id(UUID.randomUUID()).build();
+        WaitlistEntry stale = WaitlistEntry.builder().id(UUID.randomUUID()).sequence(1).user(booked).build();
+        when(waitlistRepository.findHeadForUpdate(eventId)).thenReturn(Optional.of(stale), Optional.empty());
+        when(bookingRepository.existsByUserIdAndEventId(booked.getId(), eventId)).thenReturn(true);
+
+        assertEquals(0, waitlistService.promote(soldOutEvent, 1));
+        verify(waitlistRepository).deleteEntryById(stale.getId());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void promote_FillsFreedSeatsOnePerUser() {
+        UUID eventId = soldOutEvent.getId();
+        WaitlistEntry first = WaitlistEntry.builder().id(UUID.randomUUID()).sequence(1)
+                .user(User.builder().id(UUID.randomUUID()).build()).build();
+        WaitlistEntry second = WaitlistEntry.builder().id(UUID.randomUUID()).sequence(2)
+                .user(User.builder().id(UUID.randomUUID()).build()).build();
+        when(waitlistRepository.findHeadForUpdate(eventId))
+                .thenReturn(Optional.of(first), Optional.of(second), Optional.empty());
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertEquals(2, waitlistService.promote(soldOutEvent, 3));
+
+        ArgumentCaptor<Booking> bookings = ArgumentCaptor.forClass(Booking.class);
+        verify(bookingRepository, times(2)).save(bookings.capture());
+        assertTrue(bookings.getAllValues().stream().allMatch(booking -> booking.getQuantity() == 1));
+    }
+}